@@ -27,12 +27,18 @@ import org.junit.Before;
 import org.junit.Test;
 import org.talend.dataprep.api.action.ActionDefinition;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.transformation.actions.AbstractMetadataBaseTest;
 import org.talend.dataprep.transformation.actions.ActionMetadataTestUtils;
 import org.talend.dataprep.transformation.actions.category.ActionCategory;
 import org.talend.dataprep.transformation.api.action.ActionTestWorkbench;
+import org.talend.dataprep.transformation.pipeline.Pipeline;
+import org.talend.dataprep.transformation.pipeline.node.BasicNode;
 
 /**
  * Unit test for the ChangeNumberFormat action.
@@ -420,6 +426,66 @@ public class ChangeNumberFormatTest extends AbstractMetadataBaseTest {
         assertEquals(expectedRow3.values(), row3.values());
     }
 
+    @Test
+    public void should_process_rows_in_parallel_as_sequentially() throws Exception {
+        // given
+        parameters.put(FROM_SEPARATORS, EU_SEPARATORS);
+        parameters.put(TARGET_PATTERN, EU_PATTERN);
+        final RowMetadata rowMetadata = new RowMetadata(Arrays.asList( //
+                column().id(0).name("name").type(Type.STRING).build(), //
+                column().id(1).name("amount").type(Type.STRING).build()));
+        final List<DataSetRow> rows = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            final Map<String, String> values = new HashMap<>();
+            values.put("0000", "name" + i);
+            values.put("0001", (i * 7919L) + "," + (i % 100));
+            final DataSetRow row = new DataSetRow(rowMetadata, values);
+            row.setTdpId((long) i);
+            rows.add(row);
+        }
+
+        // when
+        final List<Map<String, Object>> sequential = run(rows, 1);
+        final List<Map<String, Object>> parallel = run(rows, 4);
+
+        // then
+        assertEquals(rows.size(), parallel.size());
+        assertEquals(sequential, parallel);
+    }
+
+    private List<Map<String, Object>> run(List<DataSetRow> rows, int parallelism) {
+        final RowMetadata rowMetadata = rows.get(0).getRowMetadata();
+        final DataSetMetadata dataSetMetadata = new DataSetMetadata();
+        dataSetMetadata.setRowMetadata(rowMetadata.clone());
+        final DataSet dataSet = new DataSet();
+        dataSet.setMetadata(dataSetMetadata);
+        dataSet.setRecords(rows.stream().map(DataSetRow::clone));
+        final List<Map<String, Object>> output = new ArrayList<>();
+        final Pipeline pipeline = Pipeline.Builder.builder() //
+                .withActionRegistry(actionRegistry) //
+                .withInitialMetadata(dataSetMetadata.getRowMetadata(), true) //
+                .withActions(Collections.singletonList(factory.create(action, parameters))) //
+                .withStatisticsAdapter(new StatisticsAdapter(40)) //
+                .withParallelism(parallelism) //
+                .withOutput(() -> new BasicNode() {
+
+                    @Override
+                    public void receive(DataSetRow row, RowMetadata metadata) {
+                        output.add(new HashMap<>(row.values()));
+                    }
+
+                    @Override
+                    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+                        for (DataSetRow row : rows) {
+                            receive(row, metadata);
+                        }
+                    }
+                }) //
+                .build();
+        pipeline.execute(dataSet);
+        return output;
+    }
+
     @Test
     public void should_accept_column() {
         assertTrue(action.acceptField(getColumn(Type.NUMERIC)));
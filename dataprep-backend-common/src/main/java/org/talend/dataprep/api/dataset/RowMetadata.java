@@ -18,7 +18,9 @@ import java.text.DecimalFormat;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import javax.annotation.Nonnull;
@@ -55,6 +57,9 @@ public class RowMetadata implements Serializable {
 
     private int nextId = 0;
 
+    /** Column id to column in {@link #columns}, lazily computed and reset each time columns change. */
+    private transient volatile Map<String, ColumnMetadata> columnsById;
+
     /**
      * Default empty constructor.
      */
@@ -104,6 +109,7 @@ public class RowMetadata implements Serializable {
      */
     public void setColumns(List<ColumnMetadata> columnMetadata) {
         columns.clear();
+        columnsById = null;
         nextId = 0;
         columnMetadata.forEach(this::addColumn);
     }
@@ -123,11 +129,12 @@ public class RowMetadata implements Serializable {
      * row metadata and <tt>null</tt> otherwise
      */
     public ColumnMetadata deleteColumnById(String id) {
-        ColumnMetadata column = getById(id);
-        if (column != null && columns.remove(column)) {
-            return column;
+        final int position = indexOf(id);
+        if (position < 0) {
+            return null;
         }
-        return null;
+        columnsById = null;
+        return columns.remove(position);
     }
 
     private ColumnMetadata addColumn(ColumnMetadata columnMetadata, int index) {
@@ -148,6 +155,7 @@ public class RowMetadata implements Serializable {
             }
         }
         columns.add(index, columnMetadata);
+        columnsById = null;
         return columnMetadata;
     }
 
@@ -167,12 +175,36 @@ public class RowMetadata implements Serializable {
         if (wantedId == null) {
             return null;
         }
-        for (ColumnMetadata column : columns) {
-            if (wantedId.equals(column.getId())) {
+        Map<String, ColumnMetadata> current = columnsById;
+        if (current != null) {
+            final ColumnMetadata column = current.get(wantedId);
+            // column id may have been changed without this metadata knowing it
+            if (column == null || wantedId.equals(column.getId())) {
                 return column;
             }
         }
-        return null;
+        current = new HashMap<>(columns.size() * 2);
+        for (ColumnMetadata column : columns) {
+            current.putIfAbsent(column.getId(), column);
+        }
+        columnsById = current;
+        return current.get(wantedId);
+    }
+
+    /**
+     * @param wantedId the wanted column id.
+     * @return the position of the column in {@link #columns} or -1 if not found.
+     */
+    private int indexOf(String wantedId) {
+        final ColumnMetadata column = getById(wantedId);
+        if (column != null) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i) == column) {
+                    return i;
+                }
+            }
+        }
+        return -1;
     }
 
     /**
@@ -203,6 +235,7 @@ public class RowMetadata implements Serializable {
                 int position = findColumnPosition(reference.getColumns(), referenceColumn.getId());
                 referenceColumn.setDiffFlagValue(Flag.DELETE.getValue());
                 columns.add(position, referenceColumn);
+                columnsById = null;
             }
         });
 
@@ -258,17 +291,12 @@ public class RowMetadata implements Serializable {
     }
 
     public void update(@Nonnull String columnId, @Nonnull ColumnMetadata column) {
-        if (getById(columnId) == null) {
+        final int updatePos = indexOf(columnId);
+        if (updatePos < 0) {
             return;
         }
-        int updatePos = 0;
-        for (ColumnMetadata columnMetadata : columns) {
-            if (columnId.equals(columnMetadata.getId())) {
-                break;
-            }
-            updatePos++;
-        }
         columns.set(updatePos, column);
+        columnsById = null;
     }
 
     /**
@@ -281,13 +309,8 @@ public class RowMetadata implements Serializable {
      * @return The column id of the newly inserted column.
      */
     public String insertAfter(@Nonnull String columnId, @Nonnull ColumnMetadata column) {
-        int insertIndex = 0;
-        for (ColumnMetadata columnMetadata : columns) {
-            insertIndex++;
-            if (columnId.equals(columnMetadata.getId())) {
-                break;
-            }
-        }
+        final int position = indexOf(columnId);
+        final int insertIndex = position < 0 ? columns.size() : position + 1;
         addColumn(column, insertIndex);
         return column.getId();
     }
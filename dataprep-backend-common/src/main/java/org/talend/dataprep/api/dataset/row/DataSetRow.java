@@ -14,7 +14,6 @@
 package org.talend.dataprep.api.dataset.row;
 
 import static java.util.stream.Collectors.joining;
-import static java.util.stream.StreamSupport.stream;
 import static org.talend.dataprep.api.dataset.row.FlagNames.INTERNAL_PROPERTY_PREFIX;
 import static org.talend.dataprep.api.dataset.row.FlagNames.TDP_INVALID;
 
@@ -22,7 +21,6 @@ import java.io.Serializable;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.commons.lang.StringUtils;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
@@ -30,7 +28,12 @@ import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.type.Type;
 
 /**
- * A DataSetRow is a row of a dataset. Values in data set row are <b>alphabetically</b> ordered by name.
+ * A DataSetRow is a row of a dataset. Values in data set row are <b>alphabetically</b> ordered by name (unless row was
+ * obtained with {@link #order(List)}, in this case values follow the columns order).
+ * <p>
+ * Values are stored in a dense array, the mapping between a column id and its slot in the array is held by a
+ * {@link RowLayout} shared by all rows with the same keys.
+ * </p>
  */
 public class DataSetRow implements Cloneable, Serializable {
 
@@ -50,8 +53,14 @@ public class DataSetRow implements Cloneable, Serializable {
     /** Metadata information (columns...) about this DataSetRow */
     private RowMetadata rowMetadata;
 
-    /** Values of the dataset row. */
-    private Map<String, String> values = new TreeMap<>();
+    /** An empty value array (rows allocate their values on first set). */
+    private static final String[] NO_VALUES = new String[0];
+
+    /** Layout (key to slot mapping) of the values of this row. */
+    private RowLayout layout = RowLayout.SORTED;
+
+    /** Values of the dataset row (slot as defined in {@link #layout}, length may be greater than layout size). */
+    private String[] values = NO_VALUES;
 
     /** True if this row is deleted. */
     private boolean deleted;
@@ -117,12 +126,68 @@ public class DataSetRow implements Cloneable, Serializable {
         } else if (FlagNames.TDP_ID.equals(id)) {
             setTdpId(Long.parseLong(value));
         } else {
-            values.put(id, value);
+            put(id, value);
         }
 
         return this;
     }
 
+    /**
+     * Put a value in this row's values, adding a new slot if <code>id</code> is not yet in row.
+     *
+     * @param id - the key
+     * @param value - the value
+     */
+    private void put(final String id, final String value) {
+        int slot = layout.indexOf(id);
+        if (slot < 0) {
+            final int size = layout.size();
+            final RowLayout newLayout = layout.with(id);
+            slot = newLayout.indexOf(id);
+            if (size == values.length) {
+                final int expectedSize = rowMetadata == null ? 0 : rowMetadata.size();
+                values = Arrays.copyOf(values, Math.max(size + (size >> 1) + 1, expectedSize));
+            }
+            System.arraycopy(values, slot, values, slot + 1, size - slot);
+            layout = newLayout;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Remove the value for <code>id</code> in this row's values.
+     *
+     * @param id - the key
+     * @return <code>true</code> if row contained a value for <code>id</code>.
+     */
+    private boolean remove(final String id) {
+        final int slot = layout.indexOf(id);
+        if (slot < 0) {
+            return false;
+        }
+        final int size = layout.size();
+        System.arraycopy(values, slot + 1, values, slot, size - slot - 1);
+        values[size - 1] = null;
+        layout = layout.without(id);
+        return true;
+    }
+
+    private boolean containsKey(final String id) {
+        return layout.indexOf(id) >= 0;
+    }
+
+    /**
+     * @return A copy of this row's values (following this row's order).
+     */
+    private Map<String, String> asMap() {
+        final int size = layout.size();
+        final Map<String, String> map = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            map.put(layout.id(i), values[i]);
+        }
+        return map;
+    }
+
     /**
      * Get the value associated with the provided key
      *
@@ -131,9 +196,10 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     public String get(final String id) {
         if (StringUtils.startsWith(id, INTERNAL_PROPERTY_PREFIX)) {
-            return getInternalValues().get(id);
+            return TDP_INVALID.equals(id) ? getInvalidColumnIds() : null;
         } else {
-            return values.get(id);
+            final int slot = layout.indexOf(id);
+            return slot < 0 ? null : values[slot];
         }
     }
 
@@ -170,25 +236,25 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     public Map<String, Object> values() {
 
-        final Map<String, Object> result = new LinkedHashMap<>(values.size() + 1);
-
         // put all invalid column ids
         getInternalValues().entrySet().forEach(e -> {
             if (!StringUtils.isEmpty(e.getValue())) {
-                values.put(e.getKey(), e.getValue());
+                put(e.getKey(), e.getValue());
             }
         });
 
+        final Map<String, Object> result = new LinkedHashMap<>(layout.size() * 2 + 2);
+
         // if not old value, no diff to compute
         if (this.oldValue == null) {
-            result.putAll(values);
+            result.putAll(asMap());
             return result;
         }
 
         // row is no more deleted : we write row values with the *NEW* flag
         if (oldValue.isDeleted() && !isDeleted()) {
             result.put(FlagNames.ROW_DIFF_KEY, Flag.NEW.getValue());
-            result.putAll(values);
+            result.putAll(asMap());
         }
         // row has been deleted : we write row values with the *DELETED* flag
         else if (!oldValue.isDeleted() && isDeleted()) {
@@ -203,15 +269,15 @@ public class DataSetRow implements Cloneable, Serializable {
         final Map<String, Object> originalValues = oldValue.values();
 
         // compute the new value (column is not found in old value)
-        values.entrySet().forEach(entry -> {
-            if (!originalValues.containsKey(entry.getKey())) {
-                diff.put(entry.getKey(), Flag.NEW.getValue());
+        for (int i = 0; i < layout.size(); i++) {
+            if (!originalValues.containsKey(layout.id(i))) {
+                diff.put(layout.id(i), Flag.NEW.getValue());
             }
-        });
+        }
 
         // compute the deleted values (column is deleted)
         originalValues.entrySet().forEach(entry -> {
-            if (!values.containsKey(entry.getKey())) {
+            if (!containsKey(entry.getKey())) {
                 diff.put(entry.getKey(), Flag.DELETE.getValue());
                 // put back the original entry so that the value can be displayed
                 set(entry.getKey(), (String) entry.getValue());
@@ -219,16 +285,17 @@ public class DataSetRow implements Cloneable, Serializable {
         });
 
         // compute the update values (column is still here but value is different)
-        values.entrySet().forEach(entry -> {
-            if (originalValues.containsKey(entry.getKey())) {
-                final Object originalValue = originalValues.get(entry.getKey());
-                if (!StringUtils.equals(entry.getValue(), (String) originalValue)) {
-                    diff.put(entry.getKey(), Flag.UPDATE.getValue());
+        for (int i = 0; i < layout.size(); i++) {
+            final String id = layout.id(i);
+            if (originalValues.containsKey(id)) {
+                final Object originalValue = originalValues.get(id);
+                if (!StringUtils.equals(values[i], (String) originalValue)) {
+                    diff.put(id, Flag.UPDATE.getValue());
                 }
             }
-        });
+        }
 
-        result.putAll(values);
+        result.putAll(asMap());
         if (!diff.isEmpty()) {
             result.put(FlagNames.DIFF_KEY, diff);
         }
@@ -252,7 +319,8 @@ public class DataSetRow implements Cloneable, Serializable {
         deleted = false;
         oldValue = null;
         rowId = null;
-        values.clear();
+        Arrays.fill(values, 0, layout.size(), null);
+        layout = layout.root();
         invalidColumnIds.clear();
     }
 
@@ -261,7 +329,9 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     @Override
     public DataSetRow clone() {
-        final DataSetRow clone = new DataSetRow(rowMetadata, values);
+        final DataSetRow clone = new DataSetRow(rowMetadata);
+        clone.layout = layout;
+        clone.values = Arrays.copyOf(values, layout.size());
         clone.invalidColumnIds.addAll(invalidColumnIds);
         clone.setDeleted(this.isDeleted());
         clone.setTdpId(this.rowId);
@@ -289,7 +359,24 @@ public class DataSetRow implements Cloneable, Serializable {
         if (o == null || getClass() != o.getClass())
             return false;
         DataSetRow that = (DataSetRow) o;
-        return Objects.equals(deleted, that.deleted) && Objects.equals(values, that.values) && Objects.equals(rowId, that.rowId);
+        return Objects.equals(deleted, that.deleted) && valuesEquals(that) && Objects.equals(rowId, that.rowId);
+    }
+
+    /**
+     * Compares values regardless of their order (same semantic as {@link Map#equals(Object)}).
+     */
+    private boolean valuesEquals(DataSetRow that) {
+        final int size = layout.size();
+        if (size != that.layout.size()) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            final int otherSlot = that.layout.indexOf(layout.id(i));
+            if (otherSlot < 0 || !Objects.equals(values[i], that.values[otherSlot])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -297,14 +384,19 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(deleted, values);
+        // Same value as Map#hashCode() for values
+        int valuesHashCode = 0;
+        for (int i = 0; i < layout.size(); i++) {
+            valuesHashCode += Objects.hashCode(layout.id(i)) ^ Objects.hashCode(values[i]);
+        }
+        return Objects.hash(deleted, valuesHashCode);
     }
 
     @Override
     public String toString() {
         return "DataSetRow{" + //
                 "rowMetadata=" + rowMetadata + //
-                ", values=" + values + //
+                ", values=" + asMap() + //
                 ", deleted=" + deleted + //
                 ", oldValue=" + oldValue + //
                 ", rowId=" + rowId + //
@@ -325,18 +417,14 @@ public class DataSetRow implements Cloneable, Serializable {
         if (columns.isEmpty()) {
             return this;
         }
-        if (columns.size() < values.size()) {
-            throw new IllegalArgumentException("Expected " + values.size() + " columns but got " + columns.size());
-        }
-
-        Map<String, String> orderedValues = new LinkedHashMap<>();
-        for (ColumnMetadata column : columns) {
-            final String id = column.getId();
-            orderedValues.put(id, values.get(id));
+        if (columns.size() < layout.size()) {
+            throw new IllegalArgumentException("Expected " + layout.size() + " columns but got " + columns.size());
         }
 
+        final RowLayout.Reordering reordering = layout.reorder(columns);
         final DataSetRow dataSetRow = new DataSetRow(rowMetadata);
-        dataSetRow.values = orderedValues;
+        dataSetRow.layout = reordering.getLayout();
+        dataSetRow.values = reordering.apply(values);
         return dataSetRow;
     }
 
@@ -360,12 +448,19 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     public boolean deleteColumnById(String id) {
         rowMetadata.deleteColumnById(id);
+        return remove(id);
+    }
 
-        if (values.containsKey(id)) {
-            values.remove(id);
-            return true;
+    /**
+     * Removes the values of the columns in <code>ids</code> from this row. Unlike {@link #deleteColumnById(String)}, this
+     * method does not modify this row's metadata.
+     *
+     * @param ids The ids of the values to remove.
+     */
+    public void removeValues(Collection<String> ids) {
+        for (String id : ids) {
+            remove(id);
         }
-        return false;
     }
 
     /**
@@ -377,16 +472,29 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     @SafeVarargs
     public final String[] toArray(Predicate<Map.Entry<String, String>>... filters) {
-        Stream<Map.Entry<String, String>> stream = stream(values.entrySet().spliterator(), false);
-        // Apply filters
-        for (Predicate<Map.Entry<String, String>> filter : filters) {
-            stream = stream.filter(filter);
-        }
-        // Get as string array the selected columns
-        final List<String> strings = stream.map(Map.Entry::getValue) //
-                .map(String::valueOf) //
-                .collect(Collectors.toList());
-        return strings.toArray(new String[strings.size()]);
+        final int size = layout.size();
+        final String[] strings = new String[size];
+        final SlotEntry entry = new SlotEntry();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            // Apply filters
+            boolean accept = true;
+            if (filters.length > 0) {
+                entry.key = layout.id(i);
+                entry.value = values[i];
+                for (Predicate<Map.Entry<String, String>> filter : filters) {
+                    if (!filter.test(entry)) {
+                        accept = false;
+                        break;
+                    }
+                }
+            }
+            // Get as string array the selected columns
+            if (accept) {
+                strings[count++] = String.valueOf(values[i]);
+            }
+        }
+        return count == size ? strings : Arrays.copyOf(strings, count);
     }
 
     public Long getTdpId() {
@@ -402,7 +510,12 @@ public class DataSetRow implements Cloneable, Serializable {
      * <code>false</code> otherwise.
      */
     public boolean isEmpty() {
-        return values.isEmpty() || values.values().stream().filter(s -> !StringUtils.isEmpty(s)).count() == 0;
+        for (int i = 0; i < layout.size(); i++) {
+            if (!StringUtils.isEmpty(values[i])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -419,17 +532,16 @@ public class DataSetRow implements Cloneable, Serializable {
 
     public DataSetRow filter(List<ColumnMetadata> filteredColumns) {
         final Set<String> columnsToKeep = filteredColumns.stream().map(ColumnMetadata::getId).collect(Collectors.toSet());
-        final Set<String> columnsToDelete = values.entrySet().stream()
-                .filter(e -> !columnsToKeep.contains(e.getKey())) //
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toSet());
         final RowMetadata rowMetadataClone = rowMetadata.clone();
-        final LinkedHashMap<String, String> filteredValues = new LinkedHashMap<>(this.values);
-        for (String columnId : columnsToDelete) {
-            filteredValues.remove(columnId);
-            rowMetadataClone.deleteColumnById(columnId);
+        final DataSetRow filteredDataSetRow = new DataSetRow(rowMetadataClone);
+        for (int i = 0; i < layout.size(); i++) {
+            final String columnId = layout.id(i);
+            if (columnsToKeep.contains(columnId)) {
+                filteredDataSetRow.set(columnId, String.valueOf(values[i]));
+            } else {
+                rowMetadataClone.deleteColumnById(columnId);
+            }
         }
-        final DataSetRow filteredDataSetRow = new DataSetRow(rowMetadataClone, filteredValues);
         filteredDataSetRow.invalidColumnIds.addAll(invalidColumnIds);
         return filteredDataSetRow;
     }
@@ -471,10 +583,40 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     public Map<String, String> getInternalValues() {
         final Map<String, String> internalValues = new HashMap<>(1);
-        internalValues.put(TDP_INVALID, invalidColumnIds.stream().collect(joining(",")));
+        internalValues.put(TDP_INVALID, getInvalidColumnIds());
         return internalValues;
     }
 
+    private String getInvalidColumnIds() {
+        return invalidColumnIds.isEmpty() ? StringUtils.EMPTY : invalidColumnIds.stream().collect(joining(","));
+    }
+
+    /**
+     * A reusable {@link Map.Entry} used to present a slot to {@link #toArray(Predicate[])} filters without allocating
+     * an entry per value.
+     */
+    private static class SlotEntry implements Map.Entry<String, String> {
+
+        private String key;
+
+        private String value;
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public String setValue(String value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     /**
      * A wrapper implementation of {@link DataSetRow} that prevents changes on previous values and set empty string for
      * all new columns. This implementation allows modification on {@link RowMetadata}.
@@ -0,0 +1,304 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.api.dataset.row;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Compact binary format of rows, used to store rows and read them back without any JSON parsing (e.g. rows kept for
+ * type detection, cached transformation results). Each row is written as:
+ * <ul>
+ * <li>a flag byte ({@link #DELETED}, {@link #HAS_TDP_ID}, higher bits are free for callers)</li>
+ * <li>the tdp id (if any)</li>
+ * <li>the number of values, followed by each value as a key code and a length-prefixed UTF-8 string.</li>
+ * </ul>
+ * Keys (column ids and internal values) are coded with a dictionary built while writing: the first occurrence of a key
+ * is followed by the key itself, next occurrences only use the key code. Keys may also be defined up front (see
+ * {@link Writer#defineKey(String)}) so that rows only use their codes.
+ * </p>
+ */
+public final class RowCodec {
+
+    /** Flag of a deleted row. */
+    public static final int DELETED = 1;
+
+    /** Flag of a row with a tdp id. */
+    public static final int HAS_TDP_ID = 2;
+
+    private RowCodec() {
+    }
+
+    /**
+     * Writes rows in {@link RowCodec} format.
+     */
+    public static class Writer {
+
+        /** Key to key code (see {@link RowCodec}). */
+        private final Map<String, Integer> keyCodes = new HashMap<>();
+
+        /** Number of codes in dictionary. */
+        private int dictionarySize;
+
+        private DataOutput output;
+
+        /**
+         * @param output Where to write rows.
+         */
+        public Writer(DataOutput output) {
+            this.output = output;
+        }
+
+        /**
+         * Changes where next rows are written (key dictionary is kept: output must follow previous one).
+         *
+         * @param output Where to write next rows.
+         */
+        public void setOutput(DataOutput output) {
+            this.output = output;
+        }
+
+        /**
+         * Writes the beginning of a row: its flags, its tdp id (if any) and its number of values. The values must then
+         * be written with {@link #writeValue(String, String)}.
+         *
+         * @param row The row to write.
+         * @param flags Additional flags of the row (higher bits than {@link #DELETED} and {@link #HAS_TDP_ID}).
+         * @param size The number of values of the row.
+         * @throws IOException In case of write error.
+         */
+        public void writeRowStart(DataSetRow row, int flags, int size) throws IOException {
+            final Long tdpId = row.getTdpId();
+            output.writeByte(flags | (row.isDeleted() ? DELETED : 0) | (tdpId != null ? HAS_TDP_ID : 0));
+            if (tdpId != null) {
+                output.writeLong(tdpId);
+            }
+            writeVarInt(size);
+        }
+
+        /**
+         * Writes a value of current row.
+         *
+         * @param key The key (column id or internal value name) of the value.
+         * @param value The value (<code>null</code> allowed).
+         * @throws IOException In case of write error.
+         */
+        public void writeValue(String key, String value) throws IOException {
+            final Integer code = keyCodes.get(key);
+            if (code != null) {
+                writeVarInt(code);
+            } else {
+                final int newCode = dictionarySize++;
+                keyCodes.put(key, newCode);
+                writeVarInt(newCode);
+                writeString(key);
+            }
+            writeString(value);
+        }
+
+        /**
+         * Adds a key to the dictionary and writes it (to be read with {@link Reader#defineKey()}).
+         *
+         * @param key The key to define.
+         * @throws IOException In case of write error.
+         */
+        public void defineKey(String key) throws IOException {
+            keyCodes.putIfAbsent(key, dictionarySize);
+            dictionarySize++;
+            writeString(key);
+        }
+
+        /**
+         * Writes a string, its length is written before its UTF-8 bytes (0 is used for <code>null</code>).
+         *
+         * @param value The string to write (<code>null</code> allowed).
+         * @throws IOException In case of write error.
+         */
+        public void writeString(String value) throws IOException {
+            if (value == null) {
+                writeVarInt(0);
+            } else {
+                final byte[] bytes = value.getBytes(UTF_8);
+                writeVarInt(bytes.length + 1);
+                output.write(bytes);
+            }
+        }
+
+        /**
+         * Writes a positive int on 1 to 5 bytes (7 bits per byte).
+         *
+         * @param value The value to write.
+         * @throws IOException In case of write error.
+         */
+        public void writeVarInt(int value) throws IOException {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                output.writeByte((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            output.writeByte(remaining);
+        }
+    }
+
+    /**
+     * Reads rows written by {@link Writer}, buffers are reused from one row to the other.
+     */
+    public static class Reader {
+
+        private final DataInput input;
+
+        /** Key dictionary (see {@link RowCodec}). */
+        private final List<String> keys = new ArrayList<>();
+
+        private byte[] buffer = new byte[256];
+
+        /** Flags of the current row. */
+        private int flags;
+
+        /** Tdp id of the current row (if flags has {@link #HAS_TDP_ID}). */
+        private long tdpId;
+
+        /** Number of values in the current row. */
+        private int size;
+
+        private int[] codes = new int[16];
+
+        private String[] values = new String[16];
+
+        /**
+         * @param input Where to read rows from.
+         */
+        public Reader(DataInput input) {
+            this.input = input;
+        }
+
+        /**
+         * @return The flags of the next row (to be read with {@link #readRow(int)} if it's a row).
+         * @throws IOException In case of read error.
+         */
+        public int readFlags() throws IOException {
+            return input.readUnsignedByte();
+        }
+
+        /**
+         * Reads the tdp id and the values of a row whose flags were read with {@link #readFlags()}.
+         *
+         * @param flags The flags of the row.
+         * @throws IOException In case of read error.
+         */
+        public void readRow(int flags) throws IOException {
+            this.flags = flags;
+            if ((flags & HAS_TDP_ID) != 0) {
+                tdpId = input.readLong();
+            }
+            size = readVarInt();
+            if (codes.length < size) {
+                codes = new int[size];
+                values = new String[size];
+            }
+            for (int i = 0; i < size; i++) {
+                final int code = readVarInt();
+                if (code == keys.size()) {
+                    keys.add(readString());
+                }
+                codes[i] = code;
+                values[i] = readString();
+            }
+        }
+
+        /**
+         * @return <code>true</code> if current row is deleted.
+         */
+        public boolean isDeleted() {
+            return (flags & DELETED) != 0;
+        }
+
+        /**
+         * @return The tdp id of current row, <code>null</code> if it has none.
+         */
+        public Long getTdpId() {
+            return (flags & HAS_TDP_ID) != 0 ? tdpId : null;
+        }
+
+        /**
+         * @return The number of values of current row.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return The key of the <code>index</code>-th value of current row.
+         */
+        public String getKey(int index) {
+            return keys.get(codes[index]);
+        }
+
+        /**
+         * @return The <code>index</code>-th value of current row (<code>null</code> if a <code>null</code> value was
+         * written).
+         */
+        public String getValue(int index) {
+            return values[index];
+        }
+
+        /**
+         * Reads a key written by {@link Writer#defineKey(String)} and adds it to the dictionary.
+         *
+         * @throws IOException In case of read error.
+         */
+        public void defineKey() throws IOException {
+            keys.add(readString());
+        }
+
+        /**
+         * @return A string written by {@link Writer#writeString(String)}.
+         * @throws IOException In case of read error.
+         */
+        public String readString() throws IOException {
+            final int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (buffer.length < length) {
+                buffer = new byte[Math.max(length, buffer.length * 2)];
+            }
+            input.readFully(buffer, 0, length);
+            return new String(buffer, 0, length, UTF_8);
+        }
+
+        /**
+         * @return An int written by {@link Writer#writeVarInt(int)}.
+         * @throws IOException In case of read error.
+         */
+        public int readVarInt() throws IOException {
+            int value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = input.readByte();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.api.dataset.row;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+
+/**
+ * <p>
+ * An immutable description of the keys held by a {@link DataSetRow}: it maps a column id to a slot in the row's value
+ * array. Layouts are shared between all rows that hold the same keys in the same order, so a row only carries a dense
+ * <code>String[]</code> of values and a reference to its layout.
+ * </p>
+ * <p>
+ * A layout is either <i>sorted</i> (keys are kept in natural order, this is the default {@link DataSetRow} iteration
+ * order) or <i>ordered</i> (keys are kept in insertion order, this is the layout produced by
+ * {@link DataSetRow#order(List)}). Transitions to other layouts (add or remove a key, reorder) are cached so rows
+ * built the same way end up on the very same layout instance. Cache is bounded: once cached layouts hold more than
+ * {@link #MAX_CACHED_KEYS} keys, all transitions are dropped and cache starts again from the roots.
+ * </p>
+ */
+class RowLayout implements Serializable {
+
+    /** Root of all sorted layouts (no key). */
+    static final RowLayout SORTED = new RowLayout(new String[0], true);
+
+    /** Root of all ordered layouts (no key). */
+    static final RowLayout ORDERED = new RowLayout(new String[0], false);
+
+    /** Serialization UID. */
+    private static final long serialVersionUID = 1L;
+
+    /** Max number of cached transitions per layout (prevents unbounded growth with arbitrary keys). */
+    private static final int MAX_TRANSITIONS = 64;
+
+    /** Max number of keys held by all cached layouts (about 16 MB of references). */
+    static final int MAX_CACHED_KEYS = 1 << 22;
+
+    /** Number of keys held by layouts cached since last {@link #clearCache()}. */
+    private static final AtomicInteger CACHED_KEYS = new AtomicInteger();
+
+    /** The keys of this layout (slot i holds the value of key ids[i]). */
+    private final String[] ids;
+
+    /** <code>true</code> if keys are kept in natural order. */
+    private final boolean sorted;
+
+    /** Key to slot index, only used for ordered layouts (sorted layouts use a binary search). */
+    private transient volatile Map<String, Integer> index;
+
+    /** Cached layouts obtained by adding a key to this layout. */
+    private transient volatile ConcurrentMap<String, RowLayout> additions;
+
+    /** Cached layouts obtained by removing a key from this layout. */
+    private transient volatile ConcurrentMap<String, RowLayout> removals;
+
+    /** Last reordering computed from this layout (rows of a same stream are usually ordered the same way). */
+    private transient volatile Reordering lastReordering;
+
+    private RowLayout(String[] ids, boolean sorted) {
+        this.ids = ids;
+        this.sorted = sorted;
+    }
+
+    /**
+     * @return The number of keys in this layout.
+     */
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * @param slot A slot index (from 0 to {@link #size()} - 1).
+     * @return The key stored at <code>slot</code>.
+     */
+    String id(int slot) {
+        return ids[slot];
+    }
+
+    /**
+     * @return <code>true</code> if keys are kept in natural order, <code>false</code> if kept in insertion order.
+     */
+    boolean isSorted() {
+        return sorted;
+    }
+
+    /**
+     * @return The empty layout that uses the same ordering as this one.
+     */
+    RowLayout root() {
+        return sorted ? SORTED : ORDERED;
+    }
+
+    /**
+     * @param id A key.
+     * @return The slot of <code>id</code> in this layout or -1 if key is not in layout.
+     */
+    int indexOf(String id) {
+        if (sorted) {
+            final int slot = Arrays.binarySearch(ids, id);
+            return slot < 0 ? -1 : slot;
+        }
+        Map<String, Integer> current = index;
+        if (current == null) {
+            current = new HashMap<>(ids.length * 2);
+            for (int i = 0; i < ids.length; i++) {
+                current.put(ids[i], i);
+            }
+            index = current;
+        }
+        final Integer slot = current.get(id);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * @param id A key that is <b>not</b> in this layout.
+     * @return The layout that holds all keys of this layout plus <code>id</code>.
+     */
+    RowLayout with(String id) {
+        ConcurrentMap<String, RowLayout> current = additions;
+        if (current == null) {
+            synchronized (this) {
+                if (additions == null) {
+                    additions = new ConcurrentHashMap<>();
+                }
+                current = additions;
+            }
+        }
+        final RowLayout cached = current.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        final String[] newIds = new String[ids.length + 1];
+        final int insertion = sorted ? -Arrays.binarySearch(ids, id) - 1 : ids.length;
+        System.arraycopy(ids, 0, newIds, 0, insertion);
+        newIds[insertion] = id;
+        System.arraycopy(ids, insertion, newIds, insertion + 1, ids.length - insertion);
+        return cache(current, id, new RowLayout(newIds, sorted));
+    }
+
+    /**
+     * @param id A key that is in this layout.
+     * @return The layout that holds all keys of this layout except <code>id</code>.
+     */
+    RowLayout without(String id) {
+        ConcurrentMap<String, RowLayout> current = removals;
+        if (current == null) {
+            synchronized (this) {
+                if (removals == null) {
+                    removals = new ConcurrentHashMap<>();
+                }
+                current = removals;
+            }
+        }
+        final RowLayout cached = current.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        final int slot = indexOf(id);
+        final String[] newIds = new String[ids.length - 1];
+        System.arraycopy(ids, 0, newIds, 0, slot);
+        System.arraycopy(ids, slot + 1, newIds, slot, ids.length - slot - 1);
+        return cache(current, id, new RowLayout(newIds, sorted));
+    }
+
+    /**
+     * Drops all cached transitions (layouts already used by rows remain valid).
+     */
+    static void clearCache() {
+        CACHED_KEYS.set(0);
+        SORTED.clearTransitions();
+        ORDERED.clearTransitions();
+    }
+
+    private static RowLayout cache(ConcurrentMap<String, RowLayout> transitions, String id, RowLayout layout) {
+        if (transitions.size() >= MAX_TRANSITIONS) {
+            return layout;
+        }
+        final RowLayout previous = transitions.putIfAbsent(id, layout);
+        if (previous != null) {
+            return previous;
+        }
+        if (CACHED_KEYS.addAndGet(layout.size()) > MAX_CACHED_KEYS) {
+            clearCache();
+        }
+        return layout;
+    }
+
+    private synchronized void clearTransitions() {
+        additions = null;
+        removals = null;
+    }
+
+    /**
+     * @param columns The columns that give the new order of the keys.
+     * @return A {@link Reordering} to move values from this layout to an ordered layout that follows
+     * <code>columns</code>.
+     */
+    Reordering reorder(List<ColumnMetadata> columns) {
+        final Reordering cached = lastReordering;
+        if (cached != null && cached.matches(columns)) {
+            return cached;
+        }
+        // Column ids may appear more than once, only first occurrence is kept
+        final Set<String> distinctIds = new LinkedHashSet<>(columns.size() * 2);
+        for (ColumnMetadata column : columns) {
+            distinctIds.add(column.getId());
+        }
+        final String[] orderedIds = distinctIds.toArray(new String[distinctIds.size()]);
+        final int[] sourceSlots = new int[orderedIds.length];
+        for (int i = 0; i < orderedIds.length; i++) {
+            sourceSlots[i] = indexOf(orderedIds[i]);
+        }
+        final Reordering reordering = new Reordering(columns, new RowLayout(orderedIds, false), sourceSlots);
+        lastReordering = reordering;
+        return reordering;
+    }
+
+    /**
+     * A cached move of values from a layout to an ordered layout.
+     */
+    static class Reordering {
+
+        /** Column ids as given when reordering was computed (possibly with duplicates). */
+        private final String[] columnIds;
+
+        /** The layout after reorder. */
+        private final RowLayout layout;
+
+        /** For each slot in the new layout, the slot in the original layout (-1 if value is missing). */
+        private final int[] sourceSlots;
+
+        private Reordering(List<ColumnMetadata> columns, RowLayout layout, int[] sourceSlots) {
+            this.columnIds = new String[columns.size()];
+            for (int i = 0; i < columnIds.length; i++) {
+                columnIds[i] = columns.get(i).getId();
+            }
+            this.layout = layout;
+            this.sourceSlots = sourceSlots;
+        }
+
+        private boolean matches(List<ColumnMetadata> columns) {
+            if (columns.size() != columnIds.length) {
+                return false;
+            }
+            for (int i = 0; i < columnIds.length; i++) {
+                if (!Objects.equals(columnIds[i], columns.get(i).getId())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return The ordered layout.
+         */
+        RowLayout getLayout() {
+            return layout;
+        }
+
+        /**
+         * @param values The values (in original layout).
+         * @return A new value array for the ordered layout.
+         */
+        String[] apply(String[] values) {
+            final String[] orderedValues = new String[sourceSlots.length];
+            for (int i = 0; i < sourceSlots.length; i++) {
+                final int sourceSlot = sourceSlots[i];
+                orderedValues[i] = sourceSlot < 0 ? null : values[sourceSlot];
+            }
+            return orderedValues;
+        }
+    }
+}
@@ -35,4 +35,18 @@ public interface FilterService {
      * @see ActionFactory#create(ActionDefinition, Map)
      */
     Predicate<DataSetRow> build(String filterAsString, RowMetadata rowMetadata);
+
+    /**
+     * Builds a filter that only depends on columns accepted by <code>columns</code> and that matches (at least) all rows
+     * matched by <code>filterAsString</code>.
+     *
+     * @param filterAsString A filter as string (see {@link #build(String, RowMetadata)}).
+     * @param columns A predicate that accepts the ids of the columns the returned filter may use.
+     * @return <code>filterAsString</code> if filter only depends on accepted columns, a less selective filter if only
+     * some parts of the filter depend on accepted columns, or <code>null</code> if no such filter exists. Default
+     * implementation always returns <code>null</code>.
+     */
+    default String relax(String filterAsString, Predicate<String> columns) {
+        return null;
+    }
 }
@@ -42,6 +42,8 @@ import org.talend.dataprep.util.NumericHelper;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public class SimpleFilterService implements FilterService {
 
@@ -109,6 +111,73 @@ public class SimpleFilterService implements FilterService {
         }
     }
 
+    @Override
+    public String relax(String filterAsString, Predicate<String> columns) {
+        if (isEmpty(filterAsString)) {
+            return filterAsString;
+        }
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            final JsonNode root = mapper.reader().readTree(filterAsString);
+            final JsonNode relaxed = relaxFilter(root, columns);
+            if (relaxed == root) {
+                return filterAsString;
+            }
+            return relaxed == null ? null : relaxed.toString();
+        } catch (Exception e) {
+            throw new TalendRuntimeException(BaseErrorCodes.UNABLE_TO_PARSE_FILTER, e);
+        }
+    }
+
+    /**
+     * @return <code>currentNode</code> if filter only uses accepted columns, a new (less selective) filter node if only
+     * some parts of it do, <code>null</code> otherwise.
+     */
+    private JsonNode relaxFilter(JsonNode currentNode, Predicate<String> columns) {
+        final Iterator<String> propertiesIterator = currentNode.fieldNames();
+        if (!propertiesIterator.hasNext()) {
+            return null;
+        }
+        final String operation = propertiesIterator.next();
+        final JsonNode operationContent = currentNode.elements().next();
+        switch (operation) {
+        case AND: {
+            checkValidMultiPredicate(operationContent);
+            final JsonNode left = relaxFilter(operationContent.get(0), columns);
+            final JsonNode right = relaxFilter(operationContent.get(1), columns);
+            if (left == null || right == null) {
+                // (a and b) implies a: keep the part that can be evaluated
+                return left == null ? right : left;
+            }
+            return left == operationContent.get(0) && right == operationContent.get(1) ? currentNode
+                    : binaryNode(AND, left, right);
+        }
+        case OR: {
+            checkValidMultiPredicate(operationContent);
+            final JsonNode left = relaxFilter(operationContent.get(0), columns);
+            final JsonNode right = relaxFilter(operationContent.get(1), columns);
+            if (left == null || right == null) {
+                return null;
+            }
+            return left == operationContent.get(0) && right == operationContent.get(1) ? currentNode
+                    : binaryNode(OR, left, right);
+        }
+        case NOT:
+            // a relaxed filter can not be negated
+            return relaxFilter(operationContent, columns) == operationContent ? currentNode : null;
+        default:
+            // a filter with no column applies to all columns
+            final JsonNode field = operationContent.get("field");
+            return field != null && columns.test(field.asText()) ? currentNode : null;
+        }
+    }
+
+    private static JsonNode binaryNode(String operation, JsonNode left, JsonNode right) {
+        final ObjectNode node = JsonNodeFactory.instance.objectNode();
+        node.putArray(operation).add(left).add(right);
+        return node;
+    }
+
     private Predicate<DataSetRow> buildFilter(JsonNode currentNode, RowMetadata rowMetadata) {
         final Iterator<JsonNode> children = currentNode.elements();
         final JsonNode operationContent = children.next();
@@ -80,6 +80,9 @@ public class AnalyzerService {
 
     private final CategoryRecognizerBuilder builder;
 
+    /** Number of analyzers used by {@link #partitioned(List, Analysis...)}. */
+    private int parallelism = 1;
+
     public AnalyzerService() {
         this(CategoryRecognizerBuilder.newBuilder().lucene());
     }
@@ -117,6 +120,14 @@ public class AnalyzerService {
         return indexesLocation;
     }
 
+    /**
+     * @param parallelism The number of worker threads used by {@link #partitioned(List, Analysis...) partitioned}
+     * analyzers (1 to analyze all records on calling thread).
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     private static AbstractFrequencyAnalyzer buildPatternAnalyzer(List<ColumnMetadata> columns) {
         // deal with specific date, even custom date pattern
         final DateTimePatternRecognizer dateTimePatternFrequencyAnalyzer = new DateTimePatternRecognizer();
@@ -285,14 +296,46 @@ public class AnalyzerService {
         }
     }
 
+    /**
+     * Similarly to {@link #build(List, Analysis...)} but records are analyzed by several analyzers (one per worker
+     * thread, see {@link #setParallelism(int)}) whose results are merged. Analysis that can't be merged (see
+     * {@link Analysis#isMergeable()}) are still performed by a single analyzer.
+     *
+     * @param columns A list of columns, may be null or empty.
+     * @param settings A varargs with {@link Analysis}. Duplicates are possible in varargs but will be considered only
+     * once.
+     * @return A ready to use {@link Analyzer}.
+     * @see PartitionedAnalyzer
+     */
+    public Analyzer<Analyzers.Result> partitioned(List<ColumnMetadata> columns, Analysis... settings) {
+        final List<Analysis> mergeable = new ArrayList<>();
+        final List<Analysis> sequential = new ArrayList<>();
+        for (Analysis setting : settings) {
+            if (setting != null) {
+                (setting.isMergeable() ? mergeable : sequential).add(setting);
+            }
+        }
+        if (parallelism <= 1 || mergeable.isEmpty() || columns == null || columns.isEmpty()) {
+            return build(columns, settings);
+        }
+        final Analysis[] mergeableSettings = mergeable.toArray(new Analysis[mergeable.size()]);
+        final List<Analyzer<Analyzers.Result>> partitions = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            partitions.add(build(columns, mergeableSettings));
+        }
+        final Analyzer<Analyzers.Result> sequentialAnalyzer = sequential.isEmpty() ? null
+                : build(columns, sequential.toArray(new Analysis[sequential.size()]));
+        return new PartitionedAnalyzer(partitions, sequentialAnalyzer);
+    }
+
     public Analyzer<Analyzers.Result> full(final List<ColumnMetadata> columns) {
         // Configure quality & semantic analysis (if column metadata information is present in stream).
-        return build(columns, Analysis.QUALITY, Analysis.CARDINALITY, Analysis.FREQUENCY, Analysis.PATTERNS, Analysis.LENGTH,
+        return partitioned(columns, Analysis.QUALITY, Analysis.CARDINALITY, Analysis.FREQUENCY, Analysis.PATTERNS, Analysis.LENGTH,
                 Analysis.SEMANTIC, Analysis.QUANTILES, Analysis.SUMMARY, Analysis.HISTOGRAM);
     }
 
     public Analyzer<Analyzers.Result> qualityAnalysis(List<ColumnMetadata> columns) {
-        return build(columns, Analysis.QUALITY, Analysis.SUMMARY, Analysis.SEMANTIC);
+        return partitioned(columns, Analysis.QUALITY, Analysis.SUMMARY, Analysis.SEMANTIC);
     }
 
     /**
@@ -315,56 +358,69 @@ public class AnalyzerService {
         /**
          * Basic type discovery (integer, string...).
          */
-        TYPE(DataTypeOccurences.class),
+        TYPE(DataTypeOccurences.class, true),
         /**
          * Semantic type discovery (us_code, fr_phone...)
          */
-        SEMANTIC(SemanticType.class),
+        SEMANTIC(SemanticType.class, false),
         /**
          * Histogram computation.
          */
-        HISTOGRAM(StreamDateHistogramStatistics.class),
+        HISTOGRAM(StreamDateHistogramStatistics.class, false),
         /**
          * Data quality (empty, invalid, valid...)
          */
-        QUALITY(ValueQualityStatistics.class),
+        QUALITY(ValueQualityStatistics.class, true),
         /**
          * Cardinality (distinct, duplicates)
          */
-        CARDINALITY(CardinalityStatistics.class),
+        CARDINALITY(CardinalityStatistics.class, true),
         /**
          * String patterns
          */
-        PATTERNS(PatternFrequencyStatistics.class),
+        PATTERNS(PatternFrequencyStatistics.class, true),
         /**
          * Text length (min / max length)
          */
-        LENGTH(TextLengthStatistics.class),
+        LENGTH(TextLengthStatistics.class, true),
         /**
          * Quantiles
          */
-        QUANTILES(QuantileStatistics.class),
+        QUANTILES(QuantileStatistics.class, false),
         /**
          * Min / Max / Variance for numeric values
          */
-        SUMMARY(SummaryStatistics.class),
+        SUMMARY(SummaryStatistics.class, false),
         /**
          * Value to frequency map
          */
-        FREQUENCY(DataTypeFrequencyStatistics.class);
+        FREQUENCY(DataTypeFrequencyStatistics.class, true);
 
         private final Class resultClass;
 
+        private final boolean mergeable;
+
         private final Analysis[] dependencies;
 
-        Analysis(Class resultClass, Analysis... dependencies) {
+        Analysis(Class resultClass, boolean mergeable, Analysis... dependencies) {
             this.resultClass = resultClass;
+            this.mergeable = mergeable;
             this.dependencies = dependencies;
         }
 
         public Class getResultClass() {
             return resultClass;
         }
+
+        /**
+         * @return <code>true</code> if analyzers of this analysis can analyze separate parts of the records and merge
+         * their results (see {@link Analyzer#merge(Analyzer)}), <code>false</code> if analysis needs to see all records
+         * (e.g. histograms or quantiles) or if merged results are not known to equal a single analyzer's ones (semantic
+         * types and summary statistics).
+         */
+        public boolean isMergeable() {
+            return mergeable;
+        }
     }
 
     private class ResourceMonitoredAnalyzer implements Analyzer<Analyzers.Result> {
@@ -404,7 +460,11 @@ public class AnalyzerService {
 
         @Override
         public Analyzer<Analyzers.Result> merge(Analyzer<Analyzers.Result> analyzer) {
-            return analyzer.merge(analyzer);
+            // Wrapped analyzers only know how to merge with their own kind
+            if (analyzer instanceof ResourceMonitoredAnalyzer) {
+                return this.analyzer.merge(((ResourceMonitoredAnalyzer) analyzer).analyzer);
+            }
+            return this.analyzer.merge(analyzer);
         }
 
         @Override
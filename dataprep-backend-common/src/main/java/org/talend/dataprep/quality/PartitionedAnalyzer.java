@@ -0,0 +1,256 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.quality;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.daikon.exception.TalendRuntimeException;
+import org.talend.dataprep.BaseErrorCodes;
+import org.talend.dataquality.common.inference.Analyzer;
+import org.talend.dataquality.common.inference.Analyzers;
+
+/**
+ * <p>
+ * An {@link Analyzer} that spreads records over several analyzers (one per worker thread) and merges their results (see
+ * {@link Analyzer#merge(Analyzer)}) once all records are analyzed.
+ * </p>
+ * <p>
+ * Analysis that can't be merged (see {@link AnalyzerService.Analysis#isMergeable()}) are performed by a single
+ * analyzer that receives all records on calling thread, in the order they were received. Results of this analyzer are
+ * added to the merged results.
+ * </p>
+ * <p>
+ * Results of a partitioned analyzer can in turn be merged with another analyzer (see {@link #merge(Analyzer)}) as long
+ * as they don't include analysis that can't be merged.
+ * </p>
+ *
+ * @see AnalyzerService#partitioned(List, AnalyzerService.Analysis...)
+ */
+public class PartitionedAnalyzer implements Analyzer<Analyzers.Result> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedAnalyzer.class);
+
+    private static final AtomicInteger WORKER_COUNT = new AtomicInteger();
+
+    /** Number of records sent to a worker at once. */
+    private static final int BATCH_SIZE = 1000;
+
+    /** The analyzers for mergeable analysis (one per worker). */
+    private final List<Analyzer<Analyzers.Result>> partitions;
+
+    /** The analyzer for analysis that can't be merged (<code>null</code> if there's none). */
+    private final Analyzer<Analyzers.Result> sequential;
+
+    /** Analyzers in <code>partitions</code> not currently used by a worker. */
+    private final transient BlockingQueue<Analyzer<Analyzers.Result>> available;
+
+    private final transient Deque<Future<?>> inFlight = new ArrayDeque<>();
+
+    private transient ExecutorService executor;
+
+    private List<String[]> batch = new ArrayList<>(BATCH_SIZE);
+
+    private boolean ended;
+
+    /** The analyzer with merged results of <code>partitions</code> (<code>null</code> until first needed). */
+    private Analyzer<Analyzers.Result> merged;
+
+    private List<Analyzers.Result> result;
+
+    /**
+     * @param partitions The analyzers for mergeable analysis, one per worker thread.
+     * @param sequential The analyzer for analysis that can't be merged, <code>null</code> if there's none.
+     */
+    PartitionedAnalyzer(List<Analyzer<Analyzers.Result>> partitions, Analyzer<Analyzers.Result> sequential) {
+        this.partitions = partitions;
+        this.sequential = sequential;
+        this.available = new ArrayBlockingQueue<>(partitions.size(), false, partitions);
+    }
+
+    @Override
+    public void init() {
+        partitions.forEach(Analyzer::init);
+        if (sequential != null) {
+            sequential.init();
+        }
+    }
+
+    /**
+     * Analyzes <code>record</code>. Please note record is analyzed later by a worker thread, so caller must not modify
+     * <code>record</code> once passed to this method.
+     *
+     * @param record The record to analyze.
+     * @return <code>true</code>.
+     */
+    @Override
+    public boolean analyze(String... record) {
+        batch.add(record);
+        if (batch.size() >= BATCH_SIZE) {
+            submit();
+        }
+        if (sequential != null) {
+            sequential.analyze(record);
+        }
+        return true;
+    }
+
+    @Override
+    public void end() {
+        if (ended) {
+            return;
+        }
+        if (!batch.isEmpty()) {
+            submit();
+        }
+        drain(true);
+        shutdown();
+        partitions.forEach(Analyzer::end);
+        if (sequential != null) {
+            sequential.end();
+        }
+        ended = true;
+    }
+
+    @Override
+    public List<Analyzers.Result> getResult() {
+        if (result == null) {
+            result = getMerged().getResult();
+            if (sequential != null) {
+                final List<Analyzers.Result> sequentialResult = sequential.getResult();
+                for (int i = 0; i < Math.min(result.size(), sequentialResult.size()); i++) {
+                    final Analyzers.Result columnResult = result.get(i);
+                    sequentialResult.get(i).getResults().values().forEach(columnResult::add);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Merges results of this analyzer with <code>another</code> one. Analysis that can't be merged (see
+     * {@link AnalyzerService.Analysis#isMergeable()}) need to see all records, so neither analyzer must perform some.
+     *
+     * @param another Another partitioned analyzer, or an analyzer for the same columns and analysis.
+     * @return An analyzer whose results are the merged results of both analyzers.
+     * @throws UnsupportedOperationException If one of the analyzers performs analysis that can't be merged.
+     */
+    @Override
+    public Analyzer<Analyzers.Result> merge(Analyzer<Analyzers.Result> another) {
+        final Analyzer<Analyzers.Result> other;
+        if (another instanceof PartitionedAnalyzer) {
+            final PartitionedAnalyzer partitionedAnalyzer = (PartitionedAnalyzer) another;
+            if (partitionedAnalyzer.sequential != null) {
+                throw new UnsupportedOperationException("Unable to merge analysis that need all records.");
+            }
+            other = partitionedAnalyzer.getMerged();
+        } else {
+            other = another;
+        }
+        if (sequential != null) {
+            throw new UnsupportedOperationException("Unable to merge analysis that need all records.");
+        }
+        return getMerged().merge(other);
+    }
+
+    /**
+     * Ends analysis (if not already done) and merges results of all partitions.
+     *
+     * @return The analyzer with merged results of all partitions.
+     */
+    private Analyzer<Analyzers.Result> getMerged() {
+        if (merged == null) {
+            end();
+            Analyzer<Analyzers.Result> current = partitions.get(0);
+            for (int i = 1; i < partitions.size(); i++) {
+                current = current.merge(partitions.get(i));
+            }
+            merged = current;
+        }
+        return merged;
+    }
+
+    @Override
+    public void close() throws Exception {
+        shutdown();
+        for (Analyzer<Analyzers.Result> partition : partitions) {
+            partition.close();
+        }
+        if (sequential != null) {
+            sequential.close();
+        }
+    }
+
+    private void submit() {
+        if (executor == null) {
+            LOGGER.debug("Starting {} worker(s) for statistics.", partitions.size());
+            executor = Executors.newFixedThreadPool(partitions.size(), r -> {
+                final Thread thread = new Thread(r, "Statistics-Worker-" + WORKER_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        final List<String[]> records = batch;
+        batch = new ArrayList<>(BATCH_SIZE);
+        inFlight.add(executor.submit(() -> {
+            // Any partition can analyze the batch: results are merged at the end
+            final Analyzer<Analyzers.Result> partition = available.take();
+            try {
+                for (String[] record : records) {
+                    partition.analyze(record);
+                }
+            } finally {
+                available.add(partition);
+            }
+            return null;
+        }));
+        drain(false);
+    }
+
+    /**
+     * Waits for submitted batches.
+     *
+     * @param all <code>true</code> to wait for all submitted batches, <code>false</code> to only wait for oldest batch
+     * when too many batches are in progress.
+     */
+    private void drain(boolean all) {
+        while (!inFlight.isEmpty() && (all || inFlight.peek().isDone() || inFlight.size() > partitions.size() * 2)) {
+            try {
+                inFlight.poll().get();
+            } catch (InterruptedException e) {
+                shutdown();
+                Thread.currentThread().interrupt();
+                throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+            } catch (ExecutionException e) {
+                shutdown();
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e.getCause());
+            }
+        }
+    }
+
+    private void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        inFlight.clear();
+    }
+}
@@ -15,6 +15,7 @@ package org.talend.dataprep.transformation.api.action.context;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -61,8 +62,8 @@ public class ActionContext implements Serializable {
     /** Link to the transformation context. */
     private final TransformationContext parent;
 
-    /** A map of object (used to reuse objects across row process). */
-    private transient Map<String, Object> context = new HashMap<>();
+    /** A map of object (used to reuse objects across row process, rows may be processed by several threads). */
+    private transient Map<String, Object> context = new ConcurrentHashMap<>();
 
     private RowMetadata rowMetadata;
 
@@ -184,8 +185,14 @@ public class ActionContext implements Serializable {
         T value = (T) getContext().get(key);
         if (value == null) {
             value = supplier.apply(parameters);
-            getContext().put(key, value);
-            LOGGER.debug("adding {}->{} in this context {}", key, value, this);
+            if (value != null) {
+                final T previous = (T) getContext().putIfAbsent(key, value);
+                if (previous != null) {
+                    // Another thread created the object in the meantime
+                    return previous;
+                }
+                LOGGER.debug("adding {}->{} in this context {}", key, value, this);
+            }
         }
         return value;
     }
@@ -197,6 +204,21 @@ public class ActionContext implements Serializable {
         return getContext().values();
     }
 
+    /**
+     * @return A new {@link ActionContext} for the same action (same parent, parameters and filter) that does not share
+     * any object with this one: action must be compiled again with the copy. Copies are cleaned up with the parent
+     * {@link TransformationContext}.
+     */
+    public ActionContext copy() {
+        final ActionContext copy = new ActionContext(parent, null);
+        copy.parameters = parameters;
+        copy.filter = filter;
+        if (parent != null) {
+            parent.addCopy(copy);
+        }
+        return copy;
+    }
+
     /**
      * @return A new {@link ActionContext} instance that can not be modified: an immutable ActionContext will <b>not</b>
      * let action add a new column, but allows to get previously created ones.
@@ -221,7 +243,7 @@ public class ActionContext implements Serializable {
 
     private Map<String, Object> getContext() {
         if (context == null) {
-            context = new HashMap<>();
+            context = new ConcurrentHashMap<>();
         }
 
         return context;
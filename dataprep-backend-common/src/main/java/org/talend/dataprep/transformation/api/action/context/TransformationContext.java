@@ -15,9 +15,12 @@ package org.talend.dataprep.transformation.api.action.context;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 
 import org.apache.commons.lang.ClassUtils;
@@ -40,6 +43,9 @@ public final class TransformationContext implements Serializable {
     /** Map of action context for each action instance within a transformation. */
     private final transient Map<DataSetRowAction, ActionContext> contexts = new HashMap<>();
 
+    /** Copies of action contexts (see {@link ActionContext#copy()}). */
+    private final transient List<ActionContext> copies = new CopyOnWriteArrayList<>();
+
     /** The context itself. */
     private final transient Map<String, Object> context;
 
@@ -75,10 +81,21 @@ public final class TransformationContext implements Serializable {
      * @return all the action contexts.
      */
     private Collection<ActionContext> getAllActionsContexts() {
-        return contexts.values();
+        final List<ActionContext> allActionsContexts = new ArrayList<>(contexts.values());
+        allActionsContexts.addAll(copies);
+        return allActionsContexts;
+    }
+
+    /**
+     * Adds a copy of an action context, so its entries are cleaned up with this context.
+     *
+     * @param copy The action context copy.
+     */
+    void addCopy(ActionContext copy) {
+        copies.add(copy);
     }
 
-    public void freezeActionContext(ActionContext actionContext) {
+    public synchronized void freezeActionContext(ActionContext actionContext) {
         contexts.replaceAll((action, ac) -> {
             if (ac == actionContext) {
                 return actionContext.asImmutable();
@@ -0,0 +1,93 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline;
+
+import org.talend.dataprep.transformation.pipeline.link.BasicLink;
+import org.talend.dataprep.transformation.pipeline.node.ActionNode;
+import org.talend.dataprep.transformation.pipeline.node.CompileNode;
+import org.talend.dataprep.transformation.pipeline.node.FusedActionNode;
+import org.talend.dataprep.transformation.pipeline.node.ParallelNode;
+import org.talend.dataprep.transformation.pipeline.node.StepNode;
+
+/**
+ * A utility class to transform a pipeline (with nodes) and run its action nodes in a
+ * {@link org.talend.dataprep.transformation.pipeline.node.ParallelNode}.
+ */
+public class ParallelNodeTransformer {
+
+    private ParallelNodeTransformer() {
+    }
+
+    /**
+     * Groups each sequence of action-related nodes ({@link CompileNode}, {@link ActionNode}, {@link FusedActionNode} and
+     * {@link StepNode})
+     * accessible from <code>node</code> into a {@link ParallelNode}. Nodes between these sequences (statistics, type
+     * detection...) are left unchanged and still run on the calling thread.
+     * <p>
+     * <b>Note:</b> transformation is done in place (pipeline reachable from <code>node</code> is modified). Caller is
+     * responsible for checking actions in pipeline can be run in parallel.
+     * </p>
+     *
+     * @param node The pipeline (as {@link Node}) to transform.
+     * @param parallelism The number of worker threads for the action nodes.
+     * @param chunkSize The number of rows sent to a worker at once.
+     * @return The transformed pipeline.
+     */
+    public static Node transform(Node node, int parallelism, int chunkSize) {
+        Node previous = null;
+        Node current = node;
+        while (current != null) {
+            if (previous != null && isActionNode(current)) {
+                final Node entry = current;
+                Node last = current;
+                boolean hasAction = false;
+                while (true) {
+                    hasAction |= !(last instanceof CompileNode);
+                    final Node next = next(last);
+                    if (next == null || !isActionNode(next)) {
+                        break;
+                    }
+                    last = next;
+                }
+                final Node downstream = next(last);
+                if (hasAction) {
+                    final Link downstreamLink = last.getLink();
+                    final ParallelNode parallelNode = new ParallelNode(entry, last, parallelism, chunkSize);
+                    parallelNode.setLink(downstreamLink);
+                    previous.setLink(new BasicLink(parallelNode));
+                    previous = parallelNode;
+                } else {
+                    previous = last;
+                }
+                current = downstream;
+            } else {
+                previous = current;
+                current = next(current);
+            }
+        }
+        return node;
+    }
+
+    private static boolean isActionNode(Node node) {
+        return node instanceof CompileNode || node instanceof ActionNode || node instanceof FusedActionNode
+                || node instanceof StepNode;
+    }
+
+    /**
+     * @return The node after <code>node</code> if it is linked with a {@link BasicLink}, <code>null</code> otherwise.
+     */
+    private static Node next(Node node) {
+        final Link link = node.getLink();
+        return link instanceof BasicLink ? link.getTarget() : null;
+    }
+}
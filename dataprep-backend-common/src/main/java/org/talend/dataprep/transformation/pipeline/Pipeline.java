@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
@@ -32,6 +33,7 @@ import org.talend.dataprep.api.action.ActionDefinition;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.filter.FilterService;
 import org.talend.dataprep.api.preparation.PreparationMessage;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.quality.AnalyzerService;
@@ -44,6 +46,8 @@ import org.talend.dataprep.transformation.pipeline.builder.ActionNodesBuilder;
 import org.talend.dataprep.transformation.pipeline.builder.NodeBuilder;
 import org.talend.dataprep.transformation.pipeline.node.BasicNode;
 import org.talend.dataprep.transformation.pipeline.node.FilteredNode;
+import org.talend.dataprep.transformation.pipeline.node.ParallelNode;
+import org.talend.dataprep.transformation.pipeline.node.TypeDetectionNode;
 
 public class Pipeline implements Node, RuntimeNode, Serializable {
 
@@ -55,6 +59,9 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
 
     private Node node;
 
+    /** Number of rows sent at once to the pipeline (1 to send rows one by one). */
+    private int batchSize = 1;
+
     /** Flag used to know if the pipeline is stopped or not. */
     private final AtomicBoolean isStopped = new AtomicBoolean();
 
@@ -81,6 +88,16 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
         this.node = node;
     }
 
+    /**
+     * @param node The source node (the node in the pipeline that submit content to the pipeline).
+     * @param batchSize The number of rows sent at once to the pipeline (1 to send rows one by one).
+     * @see Builder to create a new instance of this class.
+     */
+    public Pipeline(Node node, int batchSize) {
+        this.node = node;
+        this.batchSize = batchSize;
+    }
+
     public void execute(DataSet dataSet) {
         final RowMetadata rowMetadata = dataSet.getMetadata().getRowMetadata().clone();
         try (Stream<DataSetRow> records = dataSet.getRecords()) {
@@ -89,6 +106,7 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
             synchronized (isFinished) {
 
                 AtomicLong counter = new AtomicLong();
+                final List<DataSetRow> batch = new ArrayList<>(Math.max(batchSize, 0));
 
                 // we use map/allMatch to stop the stream when isStopped = true
                 // with only forEach((row) -> if(isStopped)) for ex we just stop the processed code
@@ -96,17 +114,33 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
                 // to replace when java introduce more useful functions to stream (ex: takeWhile)
                 records //
                         .map(row -> { //
-                            node.exec().receive(row, rowMetadata);
+                            if (batchSize > 1) {
+                                // Source may reuse row instances, keep a copy until batch is sent
+                                batch.add(row.clone());
+                                if (batch.size() >= batchSize) {
+                                    sendBatch(batch, rowMetadata);
+                                }
+                            } else {
+                                node.exec().receive(row, rowMetadata);
+                            }
                             counter.addAndGet(1L);
                             return row;
                         }) //
                         .allMatch(row -> !isStopped.get());
+                if (!batch.isEmpty()) {
+                    sendBatch(batch, rowMetadata);
+                }
                 LOG.debug("{} rows sent in the pipeline", counter.get());
                 node.exec().signal(Signal.END_OF_STREAM);
             }
         }
     }
 
+    private void sendBatch(List<DataSetRow> batch, RowMetadata rowMetadata) {
+        node.exec().receiveBatch(batch.toArray(new DataSetRow[batch.size()]), rowMetadata);
+        batch.clear();
+    }
+
     public void setNode(Node node) {
         this.node = node;
     }
@@ -128,6 +162,11 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
         throw new UnsupportedOperationException("Pipeline only manage single rows as input");
     }
 
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        node.exec().receiveBatch(rows, metadata);
+    }
+
     @Override
     public Link getLink() {
         return node.getLink();
@@ -174,7 +213,7 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
 
     @Override
     public Node copyShallow() {
-        return new Pipeline(node);
+        return new Pipeline(node, batchSize);
     }
 
     public Node getNode() {
@@ -203,12 +242,26 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
 
         private Function<RowMetadata, Predicate<DataSetRow>> outFilter;
 
+        private String outFilterDefinition;
+
+        private FilterService filterService;
+
         private boolean needGlobalStatistics = true;
 
         private AnalyzerService analyzerService;
 
         private PreparationMessage preparation;
 
+        private int parallelism = 1;
+
+        private int batchSize = 1;
+
+        private long reservoirMemoryThreshold = TypeDetectionNode.DEFAULT_MEMORY_THRESHOLD;
+
+        private long typeDetectionSampleSize = 0;
+
+        private int statisticsQueueSize = 0;
+
         public static Builder builder() {
             return new Builder();
         }
@@ -271,17 +324,72 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
 
         public Builder withFilterOut(Function<RowMetadata, Predicate<DataSetRow>> outFilter) {
             this.outFilter = outFilter;
+            this.outFilterDefinition = null;
+            this.filterService = null;
             return this;
         }
 
-        public Pipeline build() {
-            final NodeBuilder current;
-            if (inFilter != null) {
-                current = NodeBuilder.filteredSource(inFilter);
-            } else {
-                current = NodeBuilder.source();
-            }
+        /**
+         * Sets the out filter using its definition: when possible, the filter (or a less selective version of it) is
+         * evaluated before actions, so actions don't run on rows filtered out afterwards.
+         *
+         * @param outFilter The filter as string (see {@link FilterService#build(String, RowMetadata)}).
+         * @param filterService The {@link FilterService} to build filter.
+         */
+        public Builder withFilterOut(String outFilter, FilterService filterService) {
+            this.outFilter = rowMetadata -> filterService.build(outFilter, rowMetadata);
+            this.outFilterDefinition = outFilter;
+            this.filterService = filterService;
+            return this;
+        }
+
+        /**
+         * @param parallelism The number of threads used to run actions (1 to run actions on the calling thread).
+         */
+        public Builder withParallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * @param batchSize The number of rows sent at once to the pipeline (1 to send rows one by one).
+         * @see RuntimeNode#receiveBatch(DataSetRow[], RowMetadata)
+         */
+        public Builder withBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * @param reservoirMemoryThreshold The max number of bytes a type detection node may use to keep rows in memory
+         * (rows are stored in a temporary file above it).
+         */
+        public Builder withReservoirMemoryThreshold(long reservoirMemoryThreshold) {
+            this.reservoirMemoryThreshold = reservoirMemoryThreshold;
+            return this;
+        }
+
+        /**
+         * @param typeDetectionSampleSize The number of rows used to decide types of global statistics before rows are
+         * written (0 to wait for all rows). Written metadata is corrected if all rows give other types.
+         * @see TypeDetectionNode
+         */
+        public Builder withTypeDetectionSampleSize(long typeDetectionSampleSize) {
+            this.typeDetectionSampleSize = typeDetectionSampleSize;
+            return this;
+        }
 
+        /**
+         * @param statisticsQueueSize The max number of chunks of rows waiting for statistics analysis in background, so
+         * rows are written without waiting for statistics (0 to analyze rows before they are written).
+         * @see org.talend.dataprep.transformation.pipeline.node.StatisticsNode
+         */
+        public Builder withStatisticsQueueSize(int statisticsQueueSize) {
+            this.statisticsQueueSize = statisticsQueueSize;
+            return this;
+        }
+
+        public Pipeline build() {
             // Apply actions
             final List<RunnableAction> runnableActions;
             if (preparation != null) {
@@ -310,37 +418,81 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
             }
 
             // Build nodes for actions
-            final Node actionsNode = ActionNodesBuilder.builder() //
+            final ActionNodesBuilder actionNodesBuilder = ActionNodesBuilder.builder() //
                     .initialMetadata(rowMetadata) //
                     .actions(runnableActions) //
                     // statistics requests
                     .needStatisticsBefore(!completeMetadata) //
                     .needStatisticsAfter(needGlobalStatistics) //
                     .allowSchemaAnalysis(allowMetadataChange) //
+                    .reservoirMemoryThreshold(reservoirMemoryThreshold) //
+                    .typeDetectionSampleSize(typeDetectionSampleSize) //
+                    .statisticsQueueSize(statisticsQueueSize) //
                     // statistics dependencies/arguments
                     .actionRegistry(actionRegistry) //
                     .analyzerService(analyzerService) //
-                    .statisticsAdapter(adapter) //
-                    .build();
+                    .statisticsAdapter(adapter);
+            final Node actionsNode = actionNodesBuilder.build();
+
+            // Evaluate out filter before actions when it only depends on columns left unchanged by actions
+            Predicate<DataSetRow> sourceFilter = inFilter;
+            Function<RowMetadata, Predicate<DataSetRow>> postFilter = outFilter;
+            if (canFilterBeforeActions()) {
+                final Set<String> untouchedColumns = actionNodesBuilder.getUntouchedColumns();
+                final String preFilter = filterService.relax(outFilterDefinition, untouchedColumns::contains);
+                if (preFilter != null) {
+                    LOG.debug("Evaluating filter '{}' before actions.", preFilter);
+                    final Predicate<DataSetRow> preFilterPredicate = filterService.build(preFilter, rowMetadata);
+                    sourceFilter = sourceFilter == null ? preFilterPredicate : sourceFilter.and(preFilterPredicate);
+                    if (preFilter.equals(outFilterDefinition)) {
+                        // Filter is exact, no need to evaluate it again after actions
+                        postFilter = null;
+                    }
+                }
+            }
+            final NodeBuilder current;
+            if (sourceFilter != null) {
+                current = NodeBuilder.filteredSource(sourceFilter);
+            } else {
+                current = NodeBuilder.source();
+            }
 
+            Node node;
             if (preparation != null) {
                 LOG.debug("Applying step node transformations...");
                 actionsNode.logStatus(LOG, "Before transformation\n{}");
-                final Node node = StepNodeTransformer.transform(actionsNode, preparation.getSteps());
-                current.to(node);
+                node = StepNodeTransformer.transform(actionsNode, preparation.getSteps());
                 node.logStatus(LOG, "After transformation\n{}");
             } else {
-                current.to(actionsNode);
+                node = actionsNode;
             }
+            if (parallelism > 1) {
+                if (actionNodesBuilder.allowParallelExecution()) {
+                    LOG.debug("Running actions using {} thread(s).", parallelism);
+                    node = ParallelNodeTransformer.transform(node, parallelism, ParallelNode.DEFAULT_CHUNK_SIZE);
+                } else {
+                    LOG.debug("Actions can not run in parallel, running actions using a single thread.");
+                }
+            }
+            current.to(node);
 
             // Output
-            if (outFilter != null) {
-                current.to(new FilteredNode(outFilter));
+            if (postFilter != null) {
+                current.to(new FilteredNode(postFilter));
             }
             current.to(outputSupplier.get());
             current.to(monitorSupplier.get());
             // Finally build pipeline
-            return new Pipeline(current.build());
+            return new Pipeline(current.build(), batchSize);
+        }
+
+        /**
+         * @return <code>true</code> if rows filtered out by out filter can be removed before actions: filtering rows
+         * earlier must not change statistics computed by the pipeline (they are computed on all rows).
+         */
+        private boolean canFilterBeforeActions() {
+            return outFilterDefinition != null && filterService != null && actionRegistry != null && rowMetadata != null
+                    && completeMetadata && !needGlobalStatistics;
         }
     }
 }
@@ -17,6 +17,8 @@ import org.talend.dataprep.transformation.pipeline.link.BasicLink;
 import org.talend.dataprep.transformation.pipeline.link.CloneLink;
 import org.talend.dataprep.transformation.pipeline.node.ActionNode;
 import org.talend.dataprep.transformation.pipeline.node.CompileNode;
+import org.talend.dataprep.transformation.pipeline.node.FusedActionNode;
+import org.talend.dataprep.transformation.pipeline.node.ParallelNode;
 import org.talend.dataprep.transformation.pipeline.node.SourceNode;
 import org.talend.dataprep.transformation.pipeline.node.StepNode;
 
@@ -52,6 +54,21 @@ public class PipelineConsoleDump extends Visitor {
         super.visitCompile(compileNode);
     }
 
+    @Override
+    public void visitFusedAction(FusedActionNode fusedActionNode) {
+        buildMonitorInformation(fusedActionNode);
+        builder.append("FUSED ACTIONS").append(" [");
+        for (int i = 0; i < fusedActionNode.getActions().size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(fusedActionNode.getActions().get(i).getName()).append(" (status: ")
+                    .append(fusedActionNode.getActionContexts().get(i).getActionStatus()).append(")");
+        }
+        builder.append("]").append('\n');
+        super.visitFusedAction(fusedActionNode);
+    }
+
     @Override
     public void visitSource(SourceNode sourceNode) {
         builder.append("-> SOURCE").append('\n');
@@ -86,6 +103,16 @@ public class PipelineConsoleDump extends Visitor {
         super.visitCloneLink(cloneLink);
     }
 
+    @Override
+    public void visitParallel(ParallelNode parallelNode) {
+        builder.append("PARALLEL (").append(parallelNode.getParallelism()).append(" workers) {").append('\n');
+        parallelNode.getEntryNode().accept(this);
+        builder.append("}").append('\n');
+        if (parallelNode.getLink() != null) {
+            parallelNode.getLink().accept(this);
+        }
+    }
+
     @Override
     public void visitStepNode(StepNode stepNode) {
         builder.append("STEP NODE (").append(stepNode.getStep().toString()).append(")\n");
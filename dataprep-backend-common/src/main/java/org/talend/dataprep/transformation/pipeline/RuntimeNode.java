@@ -24,6 +24,17 @@ public interface RuntimeNode {
      */
     void receive(DataSetRow[] rows, RowMetadata[] metadatas);
 
+    /**
+     * Called by an incoming {@link RuntimeLink} when a batch of consecutive rows is submitted to the pipeline. Unlike
+     * {@link #receive(DataSetRow[], RowMetadata[])} (one row per zipped branch), all rows of a batch come from the same
+     * branch, in stream order, and share the same metadata. Rows of a batch are distinct instances: a node may keep a
+     * reference to them.
+     *
+     * @param rows The {@link DataSetRow rows} to be processed by this node.
+     * @param metadata The {@link RowMetadata row metadata} to be used when processing the <code>rows</code>.
+     */
+    void receiveBatch(DataSetRow[] rows, RowMetadata metadata);
+
     /**
      * Sends a {@link Signal event} to the node. Signals are data-independent events to indicate external events (such
      * as end of the stream). Node implementations are responsible of the signal propagation using the
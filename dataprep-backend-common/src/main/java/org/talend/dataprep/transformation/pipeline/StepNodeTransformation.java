@@ -14,6 +14,7 @@ package org.talend.dataprep.transformation.pipeline;
 
 import static java.util.Optional.ofNullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -26,6 +27,7 @@ import org.talend.dataprep.transformation.pipeline.builder.NodeBuilder;
 import org.talend.dataprep.transformation.pipeline.link.BasicLink;
 import org.talend.dataprep.transformation.pipeline.node.ActionNode;
 import org.talend.dataprep.transformation.pipeline.node.CompileNode;
+import org.talend.dataprep.transformation.pipeline.node.FusedActionNode;
 import org.talend.dataprep.transformation.pipeline.node.SourceNode;
 import org.talend.dataprep.transformation.pipeline.node.StepNode;
 
@@ -42,6 +44,8 @@ class StepNodeTransformation extends Visitor {
 
     private State DEFAULT = new DefaultState();
 
+    private State FUSED = new FusedState();
+
     private State state = DISPATCH;
 
     private NodeBuilder builder = NodeBuilder.source();
@@ -80,6 +84,26 @@ class StepNodeTransformation extends Visitor {
         state = state.process(node);
     }
 
+    /**
+     * @return The next step to use for an action (root step is skipped).
+     */
+    private Step nextStep() {
+        // Sanity check: there should be enough Step for all Compile/Action couple in pipeline.
+        if (!steps.hasNext()) {
+            throw new IllegalArgumentException("Not enough steps to transform pipeline.");
+        }
+        Step nextStep = steps.next();
+        if (Step.ROOT_STEP.getId().equals(nextStep.getId())) {
+            LOGGER.debug("Unable to use step '{}' (root step).", nextStep.getId());
+            if (steps.hasNext()) {
+                nextStep = steps.next();
+            } else {
+                LOGGER.error("Unable to use root step as first step and no remaining steps.");
+            }
+        }
+        return nextStep;
+    }
+
     @Override
     public void visitAction(ActionNode actionNode) {
         processNode(actionNode);
@@ -92,6 +116,12 @@ class StepNodeTransformation extends Visitor {
         super.visitCompile(compileNode);
     }
 
+    @Override
+    public void visitFusedAction(FusedActionNode fusedActionNode) {
+        processNode(fusedActionNode);
+        super.visitFusedAction(fusedActionNode);
+    }
+
     @Override
     public void visitNode(Node node) {
         processNode(node);
@@ -126,6 +156,8 @@ class StepNodeTransformation extends Visitor {
             if (node instanceof CompileNode) {
                 ofNullable(previous).ifPresent(n -> n.setLink(null));
                 newState = new StepState(previous);
+            } else if (node instanceof FusedActionNode) {
+                newState = FUSED;
             } else {
                 newState = DEFAULT;
             }
@@ -148,25 +180,13 @@ class StepNodeTransformation extends Visitor {
         @Override
         public State process(Node node) {
             if (node instanceof CompileNode) {
-                // Sanity check: there should be enough Step for all Compile/Action couple in pipeline.
-                if (!steps.hasNext()) {
-                    throw new IllegalArgumentException("Not enough steps to transform pipeline.");
-                }
+                final Step nextStep = nextStep();
 
                 // Continue (create StepNode)
                 final NodeCopy copy = new NodeCopy();
                 node.accept(copy);
 
                 // insert a StepNode within the pipeline builder
-                Step nextStep = steps.next();
-                if (Step.ROOT_STEP.getId().equals(nextStep.getId())) {
-                    LOGGER.debug("Unable to use step '{}' (root step).", nextStep.getId());
-                    if (steps.hasNext()) {
-                        nextStep = steps.next();
-                    } else {
-                        LOGGER.error("Unable to use root step as first step and no remaining steps.");
-                    }
-                }
                 final StepNode stepNode = new StepNode(nextStep, copy.getCopy(), copy.getLastNode());
                 // and plug the previous link to the new StepNode
                 ofNullable(previous).ifPresent(n -> n.setLink(new BasicLink(stepNode)));
@@ -252,6 +272,24 @@ class StepNodeTransformation extends Visitor {
 
     }
 
+    /**
+     * State when copying a {@link FusedActionNode}: the copy consumes one step for each of its actions.
+     */
+    private class FusedState implements State {
+
+        @Override
+        public State process(Node node) {
+            final FusedActionNode fusedActionNode = (FusedActionNode) node;
+            final int size = fusedActionNode.getActions().size();
+            final List<Step> fusedSteps = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                fusedSteps.add(nextStep());
+            }
+            builder.to(fusedActionNode.withSteps(fusedSteps));
+            return DISPATCH;
+        }
+    }
+
     /**
      * No specific action to take, continue building node as they previously were.
      */
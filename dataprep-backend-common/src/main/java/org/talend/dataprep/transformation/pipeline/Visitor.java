@@ -16,6 +16,8 @@ import org.talend.dataprep.transformation.pipeline.link.BasicLink;
 import org.talend.dataprep.transformation.pipeline.link.CloneLink;
 import org.talend.dataprep.transformation.pipeline.node.ActionNode;
 import org.talend.dataprep.transformation.pipeline.node.CompileNode;
+import org.talend.dataprep.transformation.pipeline.node.FusedActionNode;
+import org.talend.dataprep.transformation.pipeline.node.ParallelNode;
 import org.talend.dataprep.transformation.pipeline.node.SourceNode;
 import org.talend.dataprep.transformation.pipeline.node.StepNode;
 
@@ -35,6 +37,10 @@ public abstract class Visitor {
         doNodeVisit(compileNode);
     }
 
+    public void visitFusedAction(FusedActionNode fusedActionNode) {
+        doNodeVisit(fusedActionNode);
+    }
+
     public void visitSource(SourceNode sourceNode) {
         doNodeVisit(sourceNode);
     }
@@ -55,6 +61,11 @@ public abstract class Visitor {
         doNodeVisit(node);
     }
 
+    public void visitParallel(ParallelNode parallelNode) {
+        parallelNode.getEntryNode().accept(this);
+        doNodeVisit(parallelNode);
+    }
+
     public void visitCloneLink(CloneLink cloneLink) {
         final Node[] nodes = cloneLink.getNodes();
         for (Node node : nodes) {
@@ -1,26 +1,38 @@
 package org.talend.dataprep.transformation.pipeline.builder;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.action.ActionDefinition;
 import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.preparation.Action;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.quality.AnalyzerService;
 import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.api.action.DataSetRowAction;
+import org.talend.dataprep.transformation.api.action.context.ActionContext;
 import org.talend.dataprep.transformation.api.action.context.TransformationContext;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
 import org.talend.dataprep.transformation.pipeline.Node;
 import org.talend.dataprep.transformation.pipeline.node.ActionNode;
 import org.talend.dataprep.transformation.pipeline.node.CleanUpNode;
 import org.talend.dataprep.transformation.pipeline.node.CompileNode;
+import org.talend.dataprep.transformation.pipeline.node.FusedActionNode;
+import org.talend.dataprep.transformation.pipeline.node.ProjectionNode;
+import org.talend.dataprep.transformation.pipeline.node.TypeDetectionNode;
 
 public class ActionNodesBuilder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ActionNodesBuilder.class);
 
+    /** Behavior of the actions that can be fused together (see {@link FusedActionNode}). */
+    private static final EnumSet<ActionDefinition.Behavior> FUSIBLE_BEHAVIOR = EnumSet.of(ActionDefinition.Behavior.VALUES_COLUMN);
+
     private RowMetadata initialMetadata;
 
     private final List<RunnableAction> actions = new ArrayList<>();
@@ -32,6 +44,12 @@ public class ActionNodesBuilder {
 
     private boolean allowSchemaAnalysis = true;
 
+    private long reservoirMemoryThreshold = TypeDetectionNode.DEFAULT_MEMORY_THRESHOLD;
+
+    private long typeDetectionSampleSize = 0;
+
+    private int statisticsQueueSize = 0;
+
     // analyse dependencies
     private ActionRegistry actionRegistry;
 
@@ -68,6 +86,32 @@ public class ActionNodesBuilder {
         return this;
     }
 
+    /**
+     * @param reservoirMemoryThreshold The max number of bytes a type detection node may use to keep rows in memory.
+     */
+    public ActionNodesBuilder reservoirMemoryThreshold(final long reservoirMemoryThreshold) {
+        this.reservoirMemoryThreshold = reservoirMemoryThreshold;
+        return this;
+    }
+
+    /**
+     * @param typeDetectionSampleSize The number of rows used to decide types in statistics after actions (0 to wait for
+     * all rows).
+     */
+    public ActionNodesBuilder typeDetectionSampleSize(final long typeDetectionSampleSize) {
+        this.typeDetectionSampleSize = typeDetectionSampleSize;
+        return this;
+    }
+
+    /**
+     * @param statisticsQueueSize The max number of chunks of rows waiting for statistics analysis in background (0 to
+     * analyze rows before they are sent to next nodes).
+     */
+    public ActionNodesBuilder statisticsQueueSize(final int statisticsQueueSize) {
+        this.statisticsQueueSize = statisticsQueueSize;
+        return this;
+    }
+
     public ActionNodesBuilder actionRegistry(final ActionRegistry actionRegistry) {
         this.actionRegistry = actionRegistry;
         return this;
@@ -83,6 +127,28 @@ public class ActionNodesBuilder {
         return this;
     }
 
+    /**
+     * @return <code>true</code> if the actions can be run by several threads (no action needs a context shared by all
+     * rows).
+     * @see org.talend.dataprep.transformation.pipeline.ParallelNodeTransformer
+     */
+    public boolean allowParallelExecution() {
+        final ActionsStaticProfiler profiler = new ActionsStaticProfiler(actionRegistry);
+        return profiler.profile(initialMetadata.getColumns(), actions, null).allowParallelExecution();
+    }
+
+    /**
+     * @return The ids of the columns (in initial metadata) that no action modifies, deletes or changes type of.
+     * @see org.talend.dataprep.transformation.pipeline.Pipeline.Builder
+     */
+    public Set<String> getUntouchedColumns() {
+        if (actionRegistry == null) {
+            return Collections.emptySet();
+        }
+        final ActionsStaticProfiler profiler = new ActionsStaticProfiler(actionRegistry);
+        return profiler.getUntouchedColumns(initialMetadata.getColumns(), actions);
+    }
+
     /**
      * Build the actions pipeline
      */
@@ -92,6 +158,9 @@ public class ActionNodesBuilder {
                 .actionRegistry(actionRegistry) //
                 .statisticsAdapter(statisticsAdapter) //
                 .allowSchemaAnalysis(allowSchemaAnalysis) //
+                .reservoirMemoryThreshold(reservoirMemoryThreshold) //
+                .typeDetectionSampleSize(typeDetectionSampleSize) //
+                .statisticsQueueSize(statisticsQueueSize) //
                 .actions(actions) //
                 .columns(initialMetadata.getColumns());
 
@@ -104,6 +173,20 @@ public class ActionNodesBuilder {
             builder.to(statisticsNodesBuilder.buildPreStatistics());
         }
 
+        // values of columns deleted before being read by any action are removed from rows as soon as possible
+        final Set<Action> deadActions;
+        if (actionRegistry != null) {
+            final ActionsStaticProfiler profiler = new ActionsStaticProfiler(actionRegistry);
+            deadActions = profiler.getDeadActions(actions);
+            final Set<String> unusedColumns = profiler.getUnusedColumns(initialMetadata.getColumns(), actions, deadActions);
+            if (!unusedColumns.isEmpty()) {
+                LOGGER.debug("Values of columns {} are not used by actions.", unusedColumns);
+                builder.to(new ProjectionNode(unusedColumns));
+            }
+        } else {
+            deadActions = Collections.emptySet();
+        }
+
         // transformation context is the parent of every action context
         // it will hold all the action context
         // that makes it the perfect entry point to clean up all the contexts
@@ -114,11 +197,25 @@ public class ActionNodesBuilder {
         // * a reservoir if fresh statistics are needed for the action
         // * a compile node
         // * an action node
+        // consecutive actions that only modify values of their column are fused in a single node
+        final List<RunnableAction> fusibleActions = new ArrayList<>();
         for (final RunnableAction nextAction : actions) {
+            // actions that modify a column deleted later are replaced by a no op (step alignment needs the action)
+            if (deadActions.contains(nextAction)) {
+                LOGGER.debug("Action '{}' modifies a column deleted later, skip it.", nextAction.getName());
+                fusibleActions.add(noOp(nextAction));
+                continue;
+            }
             // some actions need fresh statistics
             // in those cases, we gather the rows in a reservoir node that triggers statistics computation
             // before dispatching each row to the next node
             final Node neededReservoir = statisticsNodesBuilder.buildIntermediateStatistics(nextAction);
+            if (neededReservoir == null && isFusible(nextAction)) {
+                fusibleActions.add(nextAction);
+                continue;
+            }
+            appendActions(builder, context, fusibleActions);
+            fusibleActions.clear();
             if (neededReservoir != null) {
                 builder.to(neededReservoir);
             }
@@ -127,6 +224,7 @@ public class ActionNodesBuilder {
             builder.to(new CompileNode(nextAction, context.create(rowAction, initialMetadata)));
             builder.to(new ActionNode(nextAction, context.in(rowAction)));
         }
+        appendActions(builder, context, fusibleActions);
 
         // global analysis after actions
         // when it is explicitly asked and the actions changes the columns
@@ -139,4 +237,48 @@ public class ActionNodesBuilder {
 
         return builder.build();
     }
+
+    /**
+     * @return An action with same name and parameters as <code>action</code> that leaves rows unchanged.
+     */
+    private static RunnableAction noOp(RunnableAction action) {
+        return RunnableAction.Builder.builder() //
+                .withName(action.getName()) //
+                .withParameters(action.getParameters()) //
+                .build();
+    }
+
+    /**
+     * @return <code>true</code> if <code>action</code> can be fused with other actions (i.e. action only modifies values
+     * of its column).
+     */
+    private boolean isFusible(RunnableAction action) {
+        if (actionRegistry == null) {
+            return false;
+        }
+        final ActionDefinition actionDefinition = actionRegistry.get(action.getName());
+        return actionDefinition != null && FUSIBLE_BEHAVIOR.equals(actionDefinition.getBehavior());
+    }
+
+    /**
+     * Appends <code>fusibleActions</code> to <code>builder</code>: a single action is appended as a compile and an action
+     * node, several actions are appended as a {@link FusedActionNode}.
+     */
+    private void appendActions(NodeBuilder builder, TransformationContext context, List<RunnableAction> fusibleActions) {
+        if (fusibleActions.isEmpty()) {
+            return;
+        }
+        if (fusibleActions.size() == 1) {
+            final RunnableAction action = fusibleActions.get(0);
+            final DataSetRowAction rowAction = action.getRowAction();
+            builder.to(new CompileNode(action, context.create(rowAction, initialMetadata)));
+            builder.to(new ActionNode(action, context.in(rowAction)));
+        } else {
+            final List<ActionContext> actionContexts = new ArrayList<>(fusibleActions.size());
+            for (RunnableAction action : fusibleActions) {
+                actionContexts.add(context.create(action.getRowAction(), initialMetadata));
+            }
+            builder.to(new FusedActionNode(new ArrayList<>(fusibleActions), actionContexts));
+        }
+    }
 }
@@ -16,14 +16,17 @@ public class ActionsProfile {
 
     private final Predicate<ColumnMetadata> filterForPatternAnalysis;
 
+    private final boolean allowParallelExecution;
+
     public ActionsProfile(final boolean needFullAnalysis, final boolean needOnlyInvalidAnalysis,
             final Predicate<ColumnMetadata> filterForFullAnalysis, final Predicate<ColumnMetadata> filterForInvalidAnalysis,
-            final Predicate<ColumnMetadata> filterForPatternAnalysis) {
+            final Predicate<ColumnMetadata> filterForPatternAnalysis, final boolean allowParallelExecution) {
         this.needFullAnalysis = needFullAnalysis;
         this.needOnlyInvalidAnalysis = needOnlyInvalidAnalysis;
         this.filterForFullAnalysis = filterForFullAnalysis;
         this.filterForInvalidAnalysis = filterForInvalidAnalysis;
         this.filterForPatternAnalysis = filterForPatternAnalysis;
+        this.allowParallelExecution = allowParallelExecution;
     }
 
     public Predicate<ColumnMetadata> getFilterForFullAnalysis() {
@@ -45,4 +48,12 @@ public class ActionsProfile {
     public boolean needOnlyInvalidAnalysis() {
         return needOnlyInvalidAnalysis;
     }
+
+    /**
+     * @return <code>true</code> if no action needs a context shared by all rows, so rows can be processed by several
+     * threads.
+     */
+    public boolean allowParallelExecution() {
+        return allowParallelExecution;
+    }
 }
@@ -2,21 +2,33 @@ package org.talend.dataprep.transformation.pipeline.builder;
 
 import static java.util.stream.Collectors.toSet;
 import static org.talend.dataprep.transformation.actions.common.ImplicitParameters.COLUMN_ID;
+import static org.talend.dataprep.transformation.actions.common.ImplicitParameters.FILTER;
+import static org.talend.dataprep.transformation.actions.common.ImplicitParameters.SCOPE;
 
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang.StringUtils;
 import org.talend.dataprep.api.action.ActionDefinition;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.preparation.Action;
 import org.talend.dataprep.parameters.Parameter;
 import org.talend.dataprep.parameters.ParameterType;
+import org.talend.dataprep.transformation.actions.category.ScopeCategory;
 import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
 
 class ActionsStaticProfiler {
 
+    /** Behavior of actions that only modify values of their column. */
+    private static final Set<ActionDefinition.Behavior> COLUMN_VALUES_BEHAVIOR = EnumSet
+            .of(ActionDefinition.Behavior.VALUES_COLUMN);
+
+    /** Behavior of actions that delete their column. */
+    private static final Set<ActionDefinition.Behavior> DELETE_COLUMN_BEHAVIOR = EnumSet
+            .of(ActionDefinition.Behavior.METADATA_DELETE_COLUMNS);
+
     private final ActionRegistry actionRegistry;
 
     public ActionsStaticProfiler(final ActionRegistry actionRegistry) {
@@ -35,6 +47,147 @@ class ActionsStaticProfiler {
         return actionToMetadata;
     }
 
+    /**
+     * Finds actions whose result is never used: actions that only modify values of a column that is deleted later in
+     * <code>actions</code>, with no action reading this column in between.
+     *
+     * @param actions The actions to analyze (in execution order).
+     * @return The dead actions (compared by identity).
+     */
+    public Set<Action> getDeadActions(final List<? extends Action> actions) {
+        final Set<Action> deadActions = Collections.newSetFromMap(new IdentityHashMap<>());
+        // Columns deleted by a following action and not read since
+        final Set<String> deletedColumns = new HashSet<>();
+        for (int i = actions.size() - 1; i >= 0; i--) {
+            final Action action = actions.get(i);
+            final ActionDefinition actionDefinition = actionRegistry.get(action.getName());
+            final String columnId = action.getParameters().get(COLUMN_ID.getKey());
+            if (actionDefinition == null || readsAllColumns(action, actionDefinition)) {
+                deletedColumns.clear();
+            } else if (isColumnDelete(action, actionDefinition)) {
+                deletedColumns.add(columnId);
+            } else if (isColumnLocal(action, actionDefinition) && deletedColumns.contains(columnId)) {
+                deadActions.add(action);
+            } else {
+                deletedColumns.removeIf(column -> references(action, column));
+            }
+        }
+        return deadActions;
+    }
+
+    /**
+     * Finds the columns in <code>columns</code> that are deleted by an action before any other action reads them: values
+     * of these columns don't need to be kept in rows.
+     *
+     * @param columns The columns before actions.
+     * @param actions The actions to analyze (in execution order).
+     * @param ignoredActions Actions to ignore (e.g. dead actions, see {@link #getDeadActions(List)}).
+     * @return The ids of the unused columns.
+     */
+    public Set<String> getUnusedColumns(final List<ColumnMetadata> columns, final List<? extends Action> actions,
+            final Set<Action> ignoredActions) {
+        final Set<String> unreadColumns = columns.stream().map(ColumnMetadata::getId).collect(toSet());
+        final Set<String> unusedColumns = new HashSet<>();
+        for (final Action action : actions) {
+            if (ignoredActions.contains(action)) {
+                continue;
+            }
+            final ActionDefinition actionDefinition = actionRegistry.get(action.getName());
+            if (actionDefinition == null || readsAllColumns(action, actionDefinition) || needsStatistics(actionDefinition)) {
+                // Statistics computed from here may be stored in step metadata, they need actual values.
+                break;
+            }
+            final String columnId = action.getParameters().get(COLUMN_ID.getKey());
+            if (isColumnDelete(action, actionDefinition) && unreadColumns.remove(columnId)) {
+                unusedColumns.add(columnId);
+            } else {
+                unreadColumns.removeIf(column -> references(action, column));
+            }
+        }
+        return unusedColumns;
+    }
+
+    /**
+     * Finds the columns in <code>columns</code> whose values, type and presence are left unchanged by all
+     * <code>actions</code>: a row filter that only depends on these columns gives the same result before and after
+     * actions.
+     *
+     * @param columns The columns before actions.
+     * @param actions The actions to analyze.
+     * @return The ids of the columns left unchanged by actions (empty if an action may change any column).
+     */
+    public Set<String> getUntouchedColumns(final List<ColumnMetadata> columns, final List<? extends Action> actions) {
+        final Set<String> untouchedColumns = columns.stream().map(ColumnMetadata::getId).collect(toSet());
+        for (final Action action : actions) {
+            final ActionDefinition actionDefinition = actionRegistry.get(action.getName());
+            if (actionDefinition == null || changesAllColumns(actionDefinition)) {
+                return Collections.emptySet();
+            }
+            final Set<ActionDefinition.Behavior> behavior = actionDefinition.getBehavior();
+            final String columnId = action.getParameters().get(COLUMN_ID.getKey());
+            if (behavior.contains(ActionDefinition.Behavior.VALUES_MULTIPLE_COLUMNS)) {
+                untouchedColumns.removeIf(column -> references(action, column));
+            } else if (behavior.contains(ActionDefinition.Behavior.VALUES_COLUMN)
+                    || behavior.contains(ActionDefinition.Behavior.METADATA_CHANGE_TYPE)
+                    || behavior.contains(ActionDefinition.Behavior.METADATA_DELETE_COLUMNS)) {
+                if (columnId == null) {
+                    return Collections.emptySet();
+                }
+                untouchedColumns.remove(columnId);
+            }
+        }
+        return untouchedColumns;
+    }
+
+    /**
+     * @return <code>true</code> if an action with this definition may change values of any column, or if its result
+     * depends on other rows (so filtering rows before this action would change its result).
+     */
+    private static boolean changesAllColumns(ActionDefinition actionDefinition) {
+        final Set<ActionDefinition.Behavior> behavior = actionDefinition.getBehavior();
+        return behavior.contains(ActionDefinition.Behavior.VALUES_ALL) //
+                || behavior.contains(ActionDefinition.Behavior.METADATA_CHANGE_ROW) //
+                || behavior.contains(ActionDefinition.Behavior.FORBID_DISTRIBUTED) //
+                || needsStatistics(actionDefinition);
+    }
+
+    private static boolean readsAllColumns(Action action, ActionDefinition actionDefinition) {
+        final ScopeCategory scope = ScopeCategory.from(action.getParameters().get(SCOPE.getKey()));
+        final Set<ActionDefinition.Behavior> behavior = actionDefinition.getBehavior();
+        return (scope != ScopeCategory.COLUMN && scope != ScopeCategory.CELL) //
+                || behavior.contains(ActionDefinition.Behavior.VALUES_ALL) //
+                || behavior.contains(ActionDefinition.Behavior.METADATA_CHANGE_ROW);
+    }
+
+    private static boolean needsStatistics(ActionDefinition actionDefinition) {
+        final Set<ActionDefinition.Behavior> behavior = actionDefinition.getBehavior();
+        return behavior.contains(ActionDefinition.Behavior.NEED_STATISTICS_PATTERN)
+                || behavior.contains(ActionDefinition.Behavior.NEED_STATISTICS_INVALID);
+    }
+
+    private static boolean isColumnDelete(Action action, ActionDefinition actionDefinition) {
+        // A filter on delete may keep values for some rows
+        return DELETE_COLUMN_BEHAVIOR.equals(actionDefinition.getBehavior())
+                && StringUtils.isBlank(action.getParameters().get(FILTER.getKey()));
+    }
+
+    private static boolean isColumnLocal(Action action, ActionDefinition actionDefinition) {
+        return COLUMN_VALUES_BEHAVIOR.equals(actionDefinition.getBehavior());
+    }
+
+    /**
+     * @return <code>true</code> if <code>columnId</code> is mentioned in one of the <code>action</code>'s parameters
+     * (column parameters, filter...).
+     */
+    private static boolean references(Action action, String columnId) {
+        for (String value : action.getParameters().values()) {
+            if (value != null && value.contains(columnId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public ActionsProfile profile(final List<ColumnMetadata> columns, final List<RunnableAction> actions,
             final Map<Action, ActionDefinition> actionToMetadata) {
         final Map<Action, ActionDefinition> metadataByAction = actionToMetadata == null ? getActionMetadataByAction(actions)
@@ -45,6 +198,7 @@ class ActionsStaticProfiler {
         final Set<String> valueModifiedColumns = new HashSet<>();
         final Set<String> metadataModifiedColumns = new HashSet<>();
         int createColumnActions = 0;
+        boolean allowParallelExecution = true;
 
         for (final Action action : actions) {
             final ActionDefinition actionMetadata = actionRegistry.get(action.getName());
@@ -86,6 +240,10 @@ class ActionsStaticProfiler {
                 case METADATA_CHANGE_NAME:
                     // Do nothing: no need to re-analyze where only name was changed.
                     break;
+                case FORBID_DISTRIBUTED:
+                    // Action needs a context shared by all rows.
+                    allowParallelExecution = false;
+                    break;
                 default:
                     break;
                 }
@@ -103,7 +261,7 @@ class ActionsStaticProfiler {
         Predicate<ColumnMetadata> filterForInvalidAnalysis = new FilterForInvalidAnalysis(filterForFullAnalysis, metadataModifiedColumns);
 
         return new ActionsProfile(needFullAnalysis, needOnlyInvalidAnalysis, filterForFullAnalysis, filterForInvalidAnalysis,
-                filterForInvalidAnalysis);
+                filterForInvalidAnalysis, allowParallelExecution);
     }
 
     private static class FilterForFullAnalysis implements SerializablePredicate<ColumnMetadata> {
@@ -43,6 +43,12 @@ public class StatisticsNodesBuilder {
 
     private boolean allowSchemaAnalysis = true;
 
+    private long reservoirMemoryThreshold = TypeDetectionNode.DEFAULT_MEMORY_THRESHOLD;
+
+    private long typeDetectionSampleSize = 0;
+
+    private int statisticsQueueSize = 0;
+
     private ActionsProfile actionsProfile;
 
     private Map<Action, ActionDefinition> actionToMetadata;
@@ -74,6 +80,34 @@ public class StatisticsNodesBuilder {
         return this;
     }
 
+    /**
+     * @param reservoirMemoryThreshold The max number of bytes a type detection node may use to keep rows in memory.
+     */
+    public StatisticsNodesBuilder reservoirMemoryThreshold(final long reservoirMemoryThreshold) {
+        this.reservoirMemoryThreshold = reservoirMemoryThreshold;
+        return this;
+    }
+
+    /**
+     * @param typeDetectionSampleSize The number of rows used to decide types before rows are sent to next nodes in post
+     * statistics (0 to wait for all rows).
+     * @see TypeDetectionNode
+     */
+    public StatisticsNodesBuilder typeDetectionSampleSize(final long typeDetectionSampleSize) {
+        this.typeDetectionSampleSize = typeDetectionSampleSize;
+        return this;
+    }
+
+    /**
+     * @param statisticsQueueSize The max number of chunks of rows waiting for statistics analysis in background (0 to
+     * analyze rows before they are sent to next nodes).
+     * @see StatisticsNode
+     */
+    public StatisticsNodesBuilder statisticsQueueSize(final int statisticsQueueSize) {
+        this.statisticsQueueSize = statisticsQueueSize;
+        return this;
+    }
+
     public StatisticsNodesBuilder actions(final List<RunnableAction> actions) {
         this.actions = actions;
         return this;
@@ -102,7 +136,8 @@ public class StatisticsNodesBuilder {
 
         performActionsProfiling();
         if (actionsProfile.needFullAnalysis()) {
-            return NodeBuilder.from(getTypeDetectionNode(actionsProfile.getFilterForFullAnalysis()))
+            // No action after post statistics: types may be decided on a sample and corrected at the end
+            return NodeBuilder.from(getTypeDetectionNode(actionsProfile.getFilterForFullAnalysis(), typeDetectionSampleSize))
                     .to(getInvalidDetectionNode(actionsProfile.getFilterForInvalidAnalysis()))
                     .to(getFullStatisticsNode(actionsProfile.getFilterForInvalidAnalysis())).build();
         }
@@ -190,7 +225,7 @@ public class StatisticsNodesBuilder {
      * Create a full analyzer
      */
     private Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> getQualityAnalyzer() {
-        return c -> analyzerService.build(c, AnalyzerService.Analysis.QUALITY);
+        return c -> analyzerService.partitioned(c, AnalyzerService.Analysis.QUALITY);
     }
 
     /**
@@ -201,13 +236,18 @@ public class StatisticsNodesBuilder {
     }
 
     private Node getTypeDetectionNode(final Predicate<ColumnMetadata> columnFilter) {
-        return allowSchemaAnalysis ? new TypeDetectionNode(columnFilter, statisticsAdapter, analyzerService::schemaAnalysis)
+        return getTypeDetectionNode(columnFilter, 0);
+    }
+
+    private Node getTypeDetectionNode(final Predicate<ColumnMetadata> columnFilter, final long sampleSize) {
+        return allowSchemaAnalysis ? new TypeDetectionNode(columnFilter, statisticsAdapter, analyzerService::schemaAnalysis,
+                reservoirMemoryThreshold, sampleSize)
                 : new BasicNode();
     }
 
     private Node getPatternDetectionNode(final Predicate<ColumnMetadata> columnFilter) {
         return allowSchemaAnalysis ? new TypeDetectionNode(columnFilter, statisticsAdapter,
-                c -> analyzerService.build(c, AnalyzerService.Analysis.PATTERNS)) : new BasicNode();
+                c -> analyzerService.build(c, AnalyzerService.Analysis.PATTERNS), reservoirMemoryThreshold) : new BasicNode();
     }
 
     private Node getInvalidDetectionNode(final Predicate<ColumnMetadata> columnFilter) {
@@ -215,10 +255,10 @@ public class StatisticsNodesBuilder {
     }
 
     private Node getQualityStatisticsNode(final Predicate<ColumnMetadata> columnFilter) {
-        return new StatisticsNode(getQualityAnalyzer(), columnFilter, statisticsAdapter);
+        return new StatisticsNode(getQualityAnalyzer(), columnFilter, statisticsAdapter, statisticsQueueSize);
     }
 
     private Node getFullStatisticsNode(final Predicate<ColumnMetadata> columnFilter) {
-        return new StatisticsNode(getFullAnalyzer(), columnFilter, statisticsAdapter);
+        return new StatisticsNode(getFullAnalyzer(), columnFilter, statisticsAdapter, statisticsQueueSize);
     }
 }
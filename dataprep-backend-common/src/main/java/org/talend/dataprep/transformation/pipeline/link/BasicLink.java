@@ -22,6 +22,11 @@ public class BasicLink implements Link, RuntimeLink {
         target.exec().receive(rows, metadatas);
     }
 
+    @Override
+    public void emitBatch(DataSetRow[] rows, RowMetadata metadata) {
+        target.exec().receiveBatch(rows, metadata);
+    }
+
     @Override
     public void accept(Visitor visitor) {
         visitor.visitBasicLink(this);
@@ -36,6 +36,18 @@ public class CloneLink implements Link, RuntimeLink {
         }
     }
 
+    @Override
+    public void emitBatch(DataSetRow[] rows, RowMetadata metadata) {
+        initClonedMetadata(metadata);
+        for (int i = 0; i < nodes.length; ++i) {
+            final DataSetRow[] clonedRows = new DataSetRow[rows.length];
+            for (int j = 0; j < rows.length; j++) {
+                clonedRows[j] = rows[j].clone();
+            }
+            nodes[i].exec().receiveBatch(clonedRows, clonedMetadata[i]);
+        }
+    }
+
     @Override
     public void signal(Signal signal) {
         for (Node node : nodes) {
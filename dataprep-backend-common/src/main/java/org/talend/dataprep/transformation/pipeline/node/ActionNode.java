@@ -12,6 +12,8 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import java.util.concurrent.atomic.LongAdder;
+
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.transformation.actions.common.RunnableAction;
@@ -26,9 +28,9 @@ public class ActionNode extends BasicNode implements Monitored {
 
     private final ActionContext actionContext;
 
-    private long totalTime;
+    private final LongAdder totalTime = new LongAdder();
 
-    private int count;
+    private final LongAdder count = new LongAdder();
 
     public ActionNode(RunnableAction action, ActionContext actionContext) {
         this.action = action;
@@ -40,20 +42,10 @@ public class ActionNode extends BasicNode implements Monitored {
         final DataSetRow actionRow;
         final long start = System.currentTimeMillis();
         try {
-            switch (actionContext.getActionStatus()) {
-            case NOT_EXECUTED:
-            case OK:
-                actionRow = action.getRowAction().apply(row, actionContext);
-                break;
-            case DONE:
-            case CANCELED:
-            default:
-                actionRow = row;
-                break;
-            }
+            actionRow = apply(row);
         } finally {
-            totalTime += System.currentTimeMillis() - start;
-            count++;
+            totalTime.add(System.currentTimeMillis() - start);
+            count.increment();
         }
         row.setRowMetadata(actionContext.getRowMetadata());
         if (link != null) {
@@ -61,6 +53,40 @@ public class ActionNode extends BasicNode implements Monitored {
         }
     }
 
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        final DataSetRow[] actionRows = new DataSetRow[rows.length];
+        final long start = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < rows.length; i++) {
+                actionRows[i] = apply(rows[i]);
+            }
+        } finally {
+            totalTime.add(System.currentTimeMillis() - start);
+            count.add(rows.length);
+        }
+        final RowMetadata rowMetadata = actionContext.getRowMetadata();
+        for (DataSetRow row : rows) {
+            row.setRowMetadata(rowMetadata);
+        }
+        if (link != null) {
+            link.exec().emitBatch(actionRows, rowMetadata);
+        }
+    }
+
+    private DataSetRow apply(DataSetRow row) {
+        // Action may change its status while processing rows (status is checked for each row)
+        switch (actionContext.getActionStatus()) {
+        case NOT_EXECUTED:
+        case OK:
+            return action.getRowAction().apply(row, actionContext);
+        case DONE:
+        case CANCELED:
+        default:
+            return row;
+        }
+    }
+
     @Override
     public void accept(Visitor visitor) {
         visitor.visitAction(this);
@@ -73,12 +99,12 @@ public class ActionNode extends BasicNode implements Monitored {
 
     @Override
     public long getTotalTime() {
-        return totalTime;
+        return totalTime.sum();
     }
 
     @Override
     public long getCount() {
-        return count;
+        return count.sum();
     }
 
     public RunnableAction getAction() {
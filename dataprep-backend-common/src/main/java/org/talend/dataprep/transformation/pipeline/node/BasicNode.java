@@ -34,6 +34,17 @@ public class BasicNode implements Node, RuntimeNode {
         }
     }
 
+    /**
+     * Forwards the batch as is to the next node. Subclasses that override {@link #receive(DataSetRow, RowMetadata)}
+     * must also override this method (processing rows one by one is always a valid implementation).
+     */
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        if (link != null) {
+            link.exec().emitBatch(rows, metadata);
+        }
+    }
+
     @Override
     public Link getLink() {
         return link;
@@ -34,6 +34,23 @@ public class CompileNode extends BasicNode {
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
+        compile(metadata);
+        row.setRowMetadata(actionContext.getRowMetadata());
+        link.exec().emit(row, actionContext.getRowMetadata());
+    }
+
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        // Rows of a batch share the same metadata: compile check is done once for the whole batch
+        compile(metadata);
+        final RowMetadata compiledMetadata = actionContext.getRowMetadata();
+        for (DataSetRow row : rows) {
+            row.setRowMetadata(compiledMetadata);
+        }
+        link.exec().emitBatch(rows, compiledMetadata);
+    }
+
+    private void compile(RowMetadata metadata) {
         boolean needCompile = actionContext.getActionStatus() == ActionContext.ActionStatus.NOT_EXECUTED;
         if (actionContext.getRowMetadata() == null || hashCode != metadata.hashCode()) {
             actionContext.setRowMetadata(metadata.clone());
@@ -43,8 +60,6 @@ public class CompileNode extends BasicNode {
         if (needCompile) {
             action.getRowAction().compile(actionContext);
         }
-        row.setRowMetadata(actionContext.getRowMetadata());
-        link.exec().emit(row, actionContext.getRowMetadata());
     }
 
     @Override
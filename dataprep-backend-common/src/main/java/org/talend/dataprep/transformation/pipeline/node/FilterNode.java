@@ -12,6 +12,7 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import java.util.Arrays;
 import java.util.function.BiPredicate;
 
 import org.talend.dataprep.api.dataset.RowMetadata;
@@ -38,6 +39,19 @@ public class FilterNode extends BasicNode {
         }
     }
 
+    @Override
+    public void receiveBatch(final DataSetRow[] rows, final RowMetadata metadata) {
+        if (filters == null) {
+            return;
+        }
+        final DataSetRow[] filteredRows = Arrays.stream(rows) //
+                .filter(row -> filters[0].test(row, metadata)) //
+                .toArray(DataSetRow[]::new);
+        if (filteredRows.length > 0) {
+            super.receiveBatch(filteredRows, metadata);
+        }
+    }
+
     @Override
     public void receive(final DataSetRow[] rows, final RowMetadata[] metadatas) {
         if (test(rows, metadatas)) {
@@ -12,6 +12,7 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import java.util.Arrays;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -31,14 +32,26 @@ public class FilteredNode extends BasicNode {
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
+        if (getInstance(metadata).test(row)) {
+            super.receive(row, metadata);
+        }
+    }
+
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        final DataSetRow[] filteredRows = Arrays.stream(rows).filter(getInstance(metadata)).toArray(DataSetRow[]::new);
+        if (filteredRows.length > 0) {
+            super.receiveBatch(filteredRows, metadata);
+        }
+    }
+
+    private Predicate<DataSetRow> getInstance(RowMetadata metadata) {
         synchronized (filter) {
             if (instance == null) {
                 instance = filter.apply(metadata);
             }
         }
-        if (instance.test(row)) {
-            super.receive(row, metadata);
-        }
+        return instance;
     }
 
     @Override
@@ -12,6 +12,7 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import java.util.Arrays;
 import java.util.function.Predicate;
 
 import org.talend.dataprep.api.dataset.RowMetadata;
@@ -33,6 +34,14 @@ public class FilteredSourceNode extends SourceNode {
         }
     }
 
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        final DataSetRow[] filteredRows = Arrays.stream(rows).filter(filter).toArray(DataSetRow[]::new);
+        if (filteredRows.length > 0) {
+            super.receiveBatch(filteredRows, metadata);
+        }
+    }
+
     @Override
     public Node copyShallow() {
         return new FilteredSourceNode(filter);
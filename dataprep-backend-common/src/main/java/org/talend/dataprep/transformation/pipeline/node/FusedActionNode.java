@@ -0,0 +1,226 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.transformation.actions.common.RunnableAction;
+import org.talend.dataprep.transformation.api.action.context.ActionContext;
+import org.talend.dataprep.transformation.pipeline.Monitored;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Visitor;
+
+/**
+ * <p>
+ * A node that compiles and applies a chain of actions that only modify values of their column (see
+ * {@link org.talend.dataprep.api.action.ActionDefinition.Behavior#VALUES_COLUMN}). This node replaces the
+ * {@link CompileNode} / {@link ActionNode} couples of these actions: metadata check, timing and emit to next node are
+ * done once for the whole chain instead of once per action.
+ * </p>
+ * <p>
+ * When a preparation is available, the node also holds the {@link Step step} of each action, and updates step's row
+ * metadata the same way a {@link StepNode} does.
+ * </p>
+ *
+ * @see org.talend.dataprep.transformation.pipeline.builder.ActionNodesBuilder
+ */
+public class FusedActionNode extends BasicNode implements Monitored {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FusedActionNode.class);
+
+    private final List<RunnableAction> actions;
+
+    private final List<ActionContext> actionContexts;
+
+    private final List<Step> steps;
+
+    private final LongAdder totalTime = new LongAdder();
+
+    private final LongAdder count = new LongAdder();
+
+    private int hashCode = 0;
+
+    /**
+     * @param actions The actions to apply (in this order).
+     * @param actionContexts The action context of each action in <code>actions</code>.
+     */
+    public FusedActionNode(List<RunnableAction> actions, List<ActionContext> actionContexts) {
+        this(actions, actionContexts, Collections.emptyList());
+    }
+
+    /**
+     * @param actions The actions to apply (in this order).
+     * @param actionContexts The action context of each action in <code>actions</code>.
+     * @param steps The step of each action in <code>actions</code> (or an empty list if there's no step).
+     */
+    public FusedActionNode(List<RunnableAction> actions, List<ActionContext> actionContexts, List<Step> steps) {
+        this.actions = actions;
+        this.actionContexts = actionContexts;
+        this.steps = steps;
+    }
+
+    @Override
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        final DataSetRow actionRow;
+        final long start = System.currentTimeMillis();
+        try {
+            compile(metadata);
+            actionRow = apply(row);
+        } finally {
+            totalTime.add(System.currentTimeMillis() - start);
+            count.increment();
+        }
+        final RowMetadata rowMetadata = getRowMetadata();
+        row.setRowMetadata(rowMetadata);
+        if (link != null) {
+            link.exec().emit(actionRow, rowMetadata);
+        }
+    }
+
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        final DataSetRow[] actionRows = new DataSetRow[rows.length];
+        final long start = System.currentTimeMillis();
+        try {
+            compile(metadata);
+            for (int i = 0; i < rows.length; i++) {
+                actionRows[i] = apply(rows[i]);
+            }
+        } finally {
+            totalTime.add(System.currentTimeMillis() - start);
+            count.add(rows.length);
+        }
+        final RowMetadata rowMetadata = getRowMetadata();
+        for (DataSetRow row : rows) {
+            row.setRowMetadata(rowMetadata);
+        }
+        if (link != null) {
+            link.exec().emitBatch(actionRows, rowMetadata);
+        }
+    }
+
+    /**
+     * Compiles all actions if needed. Actions only modify values, so a change in incoming metadata is checked once for the
+     * whole chain.
+     */
+    private void compile(RowMetadata metadata) {
+        final RowMetadata incoming = stepMetadata(0, metadata);
+        final boolean metadataChanged = actionContexts.get(0).getRowMetadata() == null || hashCode != incoming.hashCode();
+        RowMetadata input = incoming;
+        for (int i = 0; i < actions.size(); i++) {
+            final ActionContext actionContext = actionContexts.get(i);
+            boolean needCompile = actionContext.getActionStatus() == ActionContext.ActionStatus.NOT_EXECUTED;
+            if (metadataChanged) {
+                actionContext.setRowMetadata(stepMetadata(i, input).clone());
+                needCompile = true; // Metadata changed, force re-compile
+            }
+            if (needCompile) {
+                actions.get(i).getRowAction().compile(actionContext);
+            }
+            input = actionContext.getRowMetadata();
+        }
+        if (metadataChanged) {
+            hashCode = incoming.hashCode();
+        }
+    }
+
+    /**
+     * @return The row metadata to use for the action at <code>index</code>: the one stored in the action's step if any
+     * (see {@link StepNode}), <code>metadata</code> otherwise.
+     */
+    private RowMetadata stepMetadata(int index, RowMetadata metadata) {
+        if (steps.isEmpty()) {
+            return metadata;
+        }
+        final Step step = steps.get(index);
+        if (step.getRowMetadata() != null) {
+            return step.getRowMetadata();
+        }
+        if (Step.ROOT_STEP.getId().equals(step.getId())) {
+            LOGGER.warn("Trying to update row metadata on root step.");
+        } else {
+            step.setRowMetadata(metadata);
+        }
+        return metadata;
+    }
+
+    private DataSetRow apply(DataSetRow row) {
+        DataSetRow current = row;
+        for (int i = 0; i < actions.size(); i++) {
+            final ActionContext actionContext = actionContexts.get(i);
+            current.setRowMetadata(actionContext.getRowMetadata());
+            switch (actionContext.getActionStatus()) {
+            case NOT_EXECUTED:
+            case OK:
+                current = actions.get(i).getRowAction().apply(current, actionContext);
+                break;
+            case DONE:
+            case CANCELED:
+            default:
+                break;
+            }
+        }
+        return current;
+    }
+
+    private RowMetadata getRowMetadata() {
+        return actionContexts.get(actionContexts.size() - 1).getRowMetadata();
+    }
+
+    @Override
+    public void accept(Visitor visitor) {
+        visitor.visitFusedAction(this);
+    }
+
+    @Override
+    public Node copyShallow() {
+        return new FusedActionNode(actions, actionContexts, steps);
+    }
+
+    /**
+     * @param steps The step of each action in this node.
+     * @return A copy of this node that updates <code>steps</code>.
+     */
+    public FusedActionNode withSteps(List<Step> steps) {
+        return new FusedActionNode(actions, actionContexts, steps);
+    }
+
+    @Override
+    public long getTotalTime() {
+        return totalTime.sum();
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    public List<RunnableAction> getActions() {
+        return actions;
+    }
+
+    public List<ActionContext> getActionContexts() {
+        return actionContexts;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+}
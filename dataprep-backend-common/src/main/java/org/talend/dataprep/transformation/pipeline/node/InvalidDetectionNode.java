@@ -63,6 +63,30 @@ public class InvalidDetectionNode extends ColumnFilteredNode implements Monitore
         }
     }
 
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        if (rows.length == 0) {
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        try {
+            // Rows of a batch share the same metadata: configure columns once for the whole batch
+            performColumnFilter(rows[0], metadata);
+            if (configuredAnalyzer == null) {
+                this.configuredAnalyzer = getAnalyzerService().build(filteredColumns, AnalyzerService.Analysis.QUALITY);
+                this.invalidMarker = new InvalidMarker(filteredColumns, configuredAnalyzer);
+            }
+            final DataSetRow[] markedRows = new DataSetRow[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                markedRows[i] = invalidMarker.apply(rows[i]);
+            }
+            super.receiveBatch(markedRows, metadata);
+        } finally {
+            totalTime += System.currentTimeMillis() - start;
+            count += rows.length;
+        }
+    }
+
     private AnalyzerService getAnalyzerService() {
         if (analyzerService == null) {
             this.analyzerService = Providers.get(AnalyzerService.class);
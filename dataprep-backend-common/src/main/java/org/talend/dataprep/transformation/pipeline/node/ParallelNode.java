@@ -0,0 +1,443 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.daikon.exception.TalendRuntimeException;
+import org.talend.dataprep.BaseErrorCodes;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.api.action.context.ActionContext;
+import org.talend.dataprep.transformation.pipeline.*;
+import org.talend.dataprep.transformation.pipeline.link.BasicLink;
+
+/**
+ * <p>
+ * A node that runs a segment of the pipeline (from <code>entryNode</code> to <code>lastNode</code>) on several threads.
+ * Incoming rows are grouped in chunks of <code>chunkSize</code> rows, each chunk is processed by a worker thread and
+ * processed chunks are emitted to the next node <b>in the order they were received</b>: nodes after this one still see
+ * rows in the original (tdpId) order and on the calling thread.
+ * </p>
+ * <p>
+ * Actions keep objects that are not thread-safe in their context (formats, patterns...), so each worker runs its own
+ * copy of the segment with its own {@link ActionContext action contexts}, compiled on the worker thread (segments with
+ * nodes other than action nodes are shared by workers, these nodes must be thread-safe). The first row
+ * is processed by the segment itself on the calling thread: the row metadata it emits is used for all rows that have
+ * the same metadata, so nodes after this one see the same metadata instance as for a sequential execution.
+ * </p>
+ */
+public class ParallelNode extends BasicNode {
+
+    /** Default number of rows sent to a worker at once. */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelNode.class);
+
+    private static final AtomicInteger WORKER_COUNT = new AtomicInteger();
+
+    private final Node entryNode;
+
+    private final Node lastNode;
+
+    private final int parallelism;
+
+    private final int chunkSize;
+
+    private final CollectLink collectLink = new CollectLink();
+
+    /** The copy of the segment used by each worker thread. */
+    private final transient ThreadLocal<RuntimeNode> workerSegment = new ThreadLocal<>();
+
+    /** Row metadata emitted by this node (for rows processed by workers, an equal instance is emitted instead). */
+    private final transient List<RowMetadata> emittedMetadata = new ArrayList<>();
+
+    /** Chunks submitted to workers (in submission order). */
+    private final transient Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+
+    private transient ExecutorService executor;
+
+    /** The chunk currently filled with incoming rows. */
+    private transient Chunk pending;
+
+    private boolean compiled;
+
+    /**
+     * @param entryNode The first node of the segment to run in parallel.
+     * @param lastNode The last node of the segment to run in parallel (its link is replaced by this node).
+     * @param parallelism The number of worker threads.
+     * @param chunkSize The number of rows sent to a worker at once.
+     */
+    public ParallelNode(Node entryNode, Node lastNode, int parallelism, int chunkSize) {
+        this.entryNode = entryNode;
+        this.lastNode = lastNode;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        lastNode.setLink(collectLink);
+    }
+
+    @Override
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        if (!compiled) {
+            // First row goes through segment on current thread (allow nodes to compile)
+            final Chunk chunk = new Chunk(1);
+            chunk.add(row, metadata);
+            process(chunk, entryNode.exec());
+            emit(chunk);
+            compiled = true;
+            return;
+        }
+        // Source may reuse row instances, keep a copy until worker processed it
+        enqueue(row.clone(), metadata);
+    }
+
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        for (DataSetRow row : rows) {
+            if (!compiled) {
+                receive(row, metadata);
+            } else {
+                // Rows of a batch are distinct instances, no need for a copy
+                enqueue(row, metadata);
+            }
+        }
+    }
+
+    private void enqueue(DataSetRow row, RowMetadata metadata) {
+        if (pending == null) {
+            pending = new Chunk(chunkSize);
+        }
+        pending.add(row, metadata);
+        if (pending.size() >= chunkSize) {
+            submit(pending);
+            pending = null;
+        }
+    }
+
+    @Override
+    public void receive(DataSetRow[] rows, RowMetadata[] metadatas) {
+        for (int i = 0; i < rows.length; i++) {
+            receive(rows[i], metadatas[i]);
+        }
+    }
+
+    @Override
+    public void signal(Signal signal) {
+        try {
+            if (signal == Signal.CANCEL) {
+                inFlight.forEach(f -> f.cancel(true));
+                inFlight.clear();
+                pending = null;
+            } else {
+                if (pending != null) {
+                    submit(pending);
+                    pending = null;
+                }
+                drain(true);
+            }
+        } finally {
+            shutdown();
+        }
+        super.signal(signal);
+    }
+
+    private void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void submit(Chunk chunk) {
+        if (executor == null) {
+            LOGGER.debug("Starting {} worker(s) for parallel execution.", parallelism);
+            executor = Executors.newFixedThreadPool(parallelism, r -> {
+                final Thread thread = new Thread(r, "Pipeline-Worker-" + WORKER_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        inFlight.add(executor.submit(() -> {
+            RuntimeNode segment = workerSegment.get();
+            if (segment == null) {
+                segment = copySegment().exec();
+                workerSegment.set(segment);
+            }
+            process(chunk, segment);
+            return chunk;
+        }));
+        drain(false);
+    }
+
+    /**
+     * Emits processed chunks to next node, in submission order.
+     *
+     * @param all <code>true</code> to wait for all submitted chunks, <code>false</code> to only emit chunks already
+     * processed (or wait for oldest chunk when too many chunks are in progress).
+     */
+    private void drain(boolean all) {
+        while (!inFlight.isEmpty() && (all || inFlight.peek().isDone() || inFlight.size() > parallelism * 2)) {
+            try {
+                emit(inFlight.poll().get());
+            } catch (InterruptedException e) {
+                shutdown();
+                Thread.currentThread().interrupt();
+                throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+            } catch (ExecutionException e) {
+                shutdown();
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e.getCause());
+            }
+        }
+    }
+
+    private void process(Chunk chunk, RuntimeNode entry) {
+        collectLink.current.set(chunk);
+        try {
+            forEachBatch(chunk.rows, chunk.metadata, entry::receive, entry::receiveBatch);
+        } finally {
+            collectLink.current.remove();
+        }
+    }
+
+    private void emit(Chunk chunk) {
+        if (link == null) {
+            return;
+        }
+        final RuntimeLink runtimeLink = link.exec();
+        forEachBatch(chunk.processedRows, chunk.processedMetadata, (row, metadata) -> {
+            final RowMetadata emitted = emitted(metadata);
+            row.setRowMetadata(emitted);
+            runtimeLink.emit(row, emitted);
+        }, (rows, metadata) -> {
+            final RowMetadata emitted = emitted(metadata);
+            for (DataSetRow row : rows) {
+                row.setRowMetadata(emitted);
+            }
+            runtimeLink.emitBatch(rows, emitted);
+        });
+    }
+
+    /**
+     * @return The row metadata to emit for rows processed with <code>metadata</code>: an already emitted instance
+     * equal to <code>metadata</code> (if any), <code>metadata</code> otherwise.
+     */
+    private RowMetadata emitted(RowMetadata metadata) {
+        for (RowMetadata emitted : emittedMetadata) {
+            if (emitted == metadata || emitted.equals(metadata)) {
+                return emitted;
+            }
+        }
+        emittedMetadata.add(metadata);
+        return metadata;
+    }
+
+    /**
+     * @return A copy of the segment (from entry node to last node) with its own action contexts. Action contexts shared
+     * by several nodes of the segment (e.g. {@link CompileNode} and {@link ActionNode} of the same action) are shared
+     * by the copies of these nodes. If the segment contains nodes other than action nodes, the segment itself is
+     * returned (such nodes must then be thread-safe).
+     */
+    private Node copySegment() {
+        final List<Node> copies = copy(entryNode, lastNode, new IdentityHashMap<>());
+        if (copies == null) {
+            LOGGER.debug("Segment can not be copied, sharing segment between workers.");
+            return entryNode;
+        }
+        copies.get(copies.size() - 1).setLink(collectLink);
+        return copies.get(0);
+    }
+
+    /**
+     * @return The copies of the nodes from <code>first</code> to <code>last</code> (linked with {@link BasicLink}), the
+     * last copy is not linked. Returns <code>null</code> if one of the nodes can not be copied.
+     */
+    private static List<Node> copy(Node first, Node last, Map<ActionContext, ActionContext> contexts) {
+        final List<Node> copies = new ArrayList<>();
+        Node current = first;
+        while (true) {
+            final Node copy = copy(current, contexts);
+            if (copy == null) {
+                return null;
+            }
+            if (!copies.isEmpty()) {
+                copies.get(copies.size() - 1).setLink(new BasicLink(copy));
+            }
+            copies.add(copy);
+            if (current == last) {
+                return copies;
+            }
+            current = current.getLink().getTarget();
+        }
+    }
+
+    private static Node copy(Node node, Map<ActionContext, ActionContext> contexts) {
+        if (node instanceof CompileNode) {
+            final CompileNode compileNode = (CompileNode) node;
+            return new CompileNode(compileNode.getAction(), copy(compileNode.getActionContext(), contexts));
+        } else if (node instanceof ActionNode) {
+            final ActionNode actionNode = (ActionNode) node;
+            return new ActionNode(actionNode.getAction(), copy(actionNode.getActionContext(), contexts));
+        } else if (node instanceof FusedActionNode) {
+            final FusedActionNode fusedActionNode = (FusedActionNode) node;
+            final List<ActionContext> actionContexts = new ArrayList<>(fusedActionNode.getActionContexts().size());
+            for (ActionContext actionContext : fusedActionNode.getActionContexts()) {
+                actionContexts.add(copy(actionContext, contexts));
+            }
+            return new FusedActionNode(fusedActionNode.getActions(), actionContexts, fusedActionNode.getSteps());
+        } else if (node instanceof StepNode) {
+            final StepNode stepNode = (StepNode) node;
+            final List<Node> copies = copy(stepNode.getEntryNode(), stepNode.getLastNode(), contexts);
+            return copies == null ? null : new StepNode(stepNode.getStep(), copies.get(0), copies.get(copies.size() - 1));
+        } else {
+            return null;
+        }
+    }
+
+    private static ActionContext copy(ActionContext actionContext, Map<ActionContext, ActionContext> contexts) {
+        return contexts.computeIfAbsent(actionContext, ActionContext::copy);
+    }
+
+    /**
+     * Groups consecutive rows that share the same metadata instance in batches.
+     *
+     * @param rows The rows to group.
+     * @param metadata The metadata of each row in <code>rows</code>.
+     * @param single Called for batches of a single row.
+     * @param batch Called for batches of more than one row.
+     */
+    private static void forEachBatch(List<DataSetRow> rows, List<RowMetadata> metadata,
+            BiConsumer<DataSetRow, RowMetadata> single, BiConsumer<DataSetRow[], RowMetadata> batch) {
+        int start = 0;
+        while (start < rows.size()) {
+            final RowMetadata batchMetadata = metadata.get(start);
+            int end = start + 1;
+            while (end < rows.size() && metadata.get(end) == batchMetadata) {
+                end++;
+            }
+            if (end - start == 1) {
+                single.accept(rows.get(start), batchMetadata);
+            } else {
+                batch.accept(rows.subList(start, end).toArray(new DataSetRow[end - start]), batchMetadata);
+            }
+            start = end;
+        }
+    }
+
+    @Override
+    public void accept(Visitor visitor) {
+        visitor.visitParallel(this);
+    }
+
+    @Override
+    public Node copyShallow() {
+        return new ParallelNode(entryNode, lastNode, parallelism, chunkSize);
+    }
+
+    public Node getEntryNode() {
+        return entryNode;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * A group of rows to be processed by a worker, and the rows emitted by the segment for them.
+     */
+    private static class Chunk {
+
+        private final List<DataSetRow> rows;
+
+        private final List<RowMetadata> metadata;
+
+        private final List<DataSetRow> processedRows;
+
+        private final List<RowMetadata> processedMetadata;
+
+        private Chunk(int size) {
+            rows = new ArrayList<>(size);
+            metadata = new ArrayList<>(size);
+            processedRows = new ArrayList<>(size);
+            processedMetadata = new ArrayList<>(size);
+        }
+
+        private void add(DataSetRow row, RowMetadata rowMetadata) {
+            rows.add(row);
+            metadata.add(rowMetadata);
+        }
+
+        private int size() {
+            return rows.size();
+        }
+    }
+
+    /**
+     * Link plugged after the last node of the segment: collects emitted rows in the chunk processed by current thread.
+     */
+    private static class CollectLink implements Link, RuntimeLink {
+
+        private final transient ThreadLocal<Chunk> current = new ThreadLocal<>();
+
+        @Override
+        public void emit(DataSetRow row, RowMetadata metadata) {
+            final Chunk chunk = current.get();
+            chunk.processedRows.add(row);
+            chunk.processedMetadata.add(metadata);
+        }
+
+        @Override
+        public void emit(DataSetRow[] rows, RowMetadata[] metadatas) {
+            for (int i = 0; i < rows.length; i++) {
+                emit(rows[i], metadatas[i]);
+            }
+        }
+
+        @Override
+        public void emitBatch(DataSetRow[] rows, RowMetadata metadata) {
+            for (DataSetRow row : rows) {
+                emit(row, metadata);
+            }
+        }
+
+        @Override
+        public void signal(Signal signal) {
+            // Signals are sent by the ParallelNode to the next node
+        }
+
+        @Override
+        public void accept(Visitor visitor) {
+            // End of the parallel segment
+        }
+
+        @Override
+        public RuntimeLink exec() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import java.util.Set;
+
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.Node;
+
+/**
+ * A node that removes values of columns no action reads (e.g. columns deleted by an action before any other action use
+ * them), so following nodes don't carry these values. Row metadata is left unchanged: columns are still removed from
+ * metadata by the action that deletes them.
+ *
+ * @see org.talend.dataprep.transformation.pipeline.builder.ActionNodesBuilder
+ */
+public class ProjectionNode extends BasicNode {
+
+    private final Set<String> unusedColumns;
+
+    /**
+     * @param unusedColumns The ids of the columns whose values can be removed from rows.
+     */
+    public ProjectionNode(Set<String> unusedColumns) {
+        this.unusedColumns = unusedColumns;
+    }
+
+    @Override
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        row.removeValues(unusedColumns);
+        super.receive(row, metadata);
+    }
+
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        for (DataSetRow row : rows) {
+            row.removeValues(unusedColumns);
+        }
+        super.receiveBatch(rows, metadata);
+    }
+
+    @Override
+    public Node copyShallow() {
+        return new ProjectionNode(unusedColumns);
+    }
+
+    public Set<String> getUnusedColumns() {
+        return unusedColumns;
+    }
+}
@@ -0,0 +1,188 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import java.io.*;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.dataset.row.RowCodec;
+import org.talend.dataprep.util.FilesHelper;
+
+/**
+ * <p>
+ * Stores rows in a compact binary format (see {@link RowCodec}) so they can be replayed later (in the same order).
+ * Rows are kept in memory as long as they fit in <code>memoryThreshold</code> bytes, and are moved to a temporary file
+ * once this threshold is reached.
+ * </p>
+ */
+class RowReservoir implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RowReservoir.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final long memoryThreshold;
+
+    private final boolean compress;
+
+    private MemoryOutputStream memory = new MemoryOutputStream();
+
+    private DataOutputStream output = new DataOutputStream(memory);
+
+    private final RowCodec.Writer writer = new RowCodec.Writer(output);
+
+    private File file;
+
+    private Deflater deflater;
+
+    private long count;
+
+    /**
+     * @param memoryThreshold The max number of bytes to keep in memory before rows are moved to a temporary file.
+     * @param compress <code>true</code> to compress rows moved to temporary file.
+     */
+    RowReservoir(long memoryThreshold, boolean compress) {
+        this.memoryThreshold = memoryThreshold;
+        this.compress = compress;
+    }
+
+    /**
+     * Stores the values of <code>columns</code> in <code>row</code>, with row's state (deleted, tdp id and internal
+     * values).
+     *
+     * @param row The row to store.
+     * @param columns The columns to store values of.
+     * @throws IOException In case of write error.
+     */
+    void add(DataSetRow row, List<ColumnMetadata> columns) throws IOException {
+        final Map<String, String> internalValues = row.getInternalValues();
+        int size = columns.size();
+        for (String internalValue : internalValues.values()) {
+            if (StringUtils.isNotEmpty(internalValue)) {
+                size++;
+            }
+        }
+        writer.writeRowStart(row, 0, size);
+        for (ColumnMetadata column : columns) {
+            writer.writeValue(column.getId(), row.get(column.getId()));
+        }
+        for (Map.Entry<String, String> entry : internalValues.entrySet()) {
+            if (StringUtils.isNotEmpty(entry.getValue())) {
+                writer.writeValue(entry.getKey(), entry.getValue());
+            }
+        }
+        count++;
+        if (file == null && memory.size() > memoryThreshold) {
+            spill();
+        }
+    }
+
+    /**
+     * @return The number of stored rows.
+     */
+    long size() {
+        return count;
+    }
+
+    /**
+     * Replays all stored rows (in the order they were added). Each row is a new {@link DataSetRow} instance.
+     *
+     * @param rowMetadata The row metadata of the replayed rows.
+     * @param consumer The consumer of the replayed rows.
+     * @throws IOException In case of read error.
+     */
+    void replay(RowMetadata rowMetadata, Consumer<DataSetRow> consumer) throws IOException {
+        output.flush();
+        try (DataInputStream input = new DataInputStream(openInput())) {
+            final RowCodec.Reader reader = new RowCodec.Reader(input);
+            for (long i = 0; i < count; i++) {
+                reader.readRow(reader.readFlags());
+                final DataSetRow row = new DataSetRow(rowMetadata);
+                row.setDeleted(reader.isDeleted());
+                row.setTdpId(reader.getTdpId());
+                for (int j = 0; j < reader.size(); j++) {
+                    // Stored null values are replayed as empty values
+                    row.set(reader.getKey(j), StringUtils.defaultString(reader.getValue(j)));
+                }
+                consumer.accept(row);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            output.close();
+        } catch (IOException e) {
+            LOGGER.error("Unable to close reservoir (causing potential temp file delete issues).", e);
+        }
+        memory = null;
+        if (deflater != null) {
+            deflater.end();
+        }
+        if (file != null) {
+            FilesHelper.deleteQuietly(file);
+        }
+    }
+
+    // Move rows currently in memory to a temporary file, next rows are directly written to this file
+    private void spill() throws IOException {
+        LOGGER.debug("Reservoir exceeds {} byte(s), moving {} row(s) to disk.", memoryThreshold, count);
+        output.flush();
+        file = File.createTempFile("TypeDetection", ".rows");
+        OutputStream fileOutput = new FileOutputStream(file);
+        if (compress) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+            fileOutput = new DeflaterOutputStream(fileOutput, deflater, BUFFER_SIZE);
+        }
+        final DataOutputStream fileDataOutput = new DataOutputStream(new BufferedOutputStream(fileOutput, BUFFER_SIZE));
+        memory.writeTo(fileDataOutput);
+        memory = null;
+        output = fileDataOutput;
+        writer.setOutput(output);
+    }
+
+    private InputStream openInput() throws IOException {
+        if (file == null) {
+            return memory.toInputStream();
+        }
+        // Finish file content (compressed stream needs to write its trailer)
+        output.close();
+        InputStream fileInput = new FileInputStream(file);
+        if (compress) {
+            fileInput = new InflaterInputStream(fileInput);
+        }
+        return new BufferedInputStream(fileInput, BUFFER_SIZE);
+    }
+
+    /**
+     * A {@link ByteArrayOutputStream} that allows to read its content without copy.
+     */
+    private static class MemoryOutputStream extends ByteArrayOutputStream {
+
+        private InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+}
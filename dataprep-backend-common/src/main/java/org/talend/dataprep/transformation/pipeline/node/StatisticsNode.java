@@ -12,12 +12,18 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.talend.daikon.exception.TalendRuntimeException;
+import org.talend.dataprep.BaseErrorCodes;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
@@ -35,23 +41,62 @@ import org.talend.dataquality.common.inference.Analyzers;
  * <p>
  * Please note this class does not perform invalid values detection (see {@link InvalidDetectionNode} for this).
  * </p>
+ * <p>
+ * When created with a queue size, node only copies the analyzed values of a row in a bounded queue and immediately
+ * sends the row to next node: values are analyzed by a background thread. Node waits for this thread on
+ * {@link Signal#END_OF_STREAM} (so statistics are available to next nodes when they receive the signal), and the calling
+ * thread waits if the queue is full.
+ * </p>
  */
 public class StatisticsNode extends ColumnFilteredNode {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(StatisticsNode.class);
 
+    private static final AtomicInteger WORKER_COUNT = new AtomicInteger();
+
+    /** Number of rows put at once in the queue. */
+    private static final int CHUNK_SIZE = 100;
+
+    /** Marks the end of the values in the queue. */
+    private static final List<String[]> END_OF_VALUES = new ArrayList<>();
+
     private final Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer;
 
     private final StatisticsAdapter adapter;
 
+    private final int queueSize;
+
     private Analyzer<Analyzers.Result> configuredAnalyzer;
 
+    private transient BlockingQueue<List<String[]>> queue;
+
+    private transient Thread worker;
+
+    private transient volatile Exception failure;
+
+    private List<String[]> chunk = new ArrayList<>(CHUNK_SIZE);
+
     public StatisticsNode(Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer,
                           Predicate<? super ColumnMetadata> filter,
                           StatisticsAdapter adapter) {
+        this(analyzer, filter, adapter, 0);
+    }
+
+    /**
+     * @param analyzer The function that creates analyzer for the filtered columns.
+     * @param filter The filter to apply on columns.
+     * @param adapter The adapter used to store statistics in columns.
+     * @param queueSize The max number of chunks of rows waiting for analysis in background (0 to analyze rows on calling
+     * thread before they are sent to next node).
+     */
+    public StatisticsNode(Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer,
+                          Predicate<? super ColumnMetadata> filter,
+                          StatisticsAdapter adapter,
+                          int queueSize) {
         super(filter);
         this.analyzer = analyzer;
         this.adapter = adapter;
+        this.queueSize = queueSize;
     }
 
     /**
@@ -69,11 +114,12 @@ public class StatisticsNode extends ColumnFilteredNode {
     /**
      * Creates a default analyzer with te specified analyzer service.
      * This analyzer performs quality, cardinality, frequency, patterns, the length, quantiles, summary and histogram analysis.
+     * Records are analyzed in parallel if analyzer service allows it (see {@link AnalyzerService#partitioned}).
      *
      * @param analyzerService the provided analyzer service
      */
     public static Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> getDefaultAnalyzer(AnalyzerService analyzerService) {
-        return c -> analyzerService.build(c, //
+        return c -> analyzerService.partitioned(c, //
                 AnalyzerService.Analysis.QUALITY, //
                 AnalyzerService.Analysis.CARDINALITY, //
                 AnalyzerService.Analysis.FREQUENCY, //
@@ -91,16 +137,113 @@ public class StatisticsNode extends ColumnFilteredNode {
             this.configuredAnalyzer = analyzer.apply(filteredColumns);
         }
         if (!row.isDeleted()) {
-            configuredAnalyzer.analyze(row.filter(filteredColumns).order(filteredColumns).toArray(DataSetRow.SKIP_TDP_ID));
+            analyze(row.filter(filteredColumns).order(filteredColumns).toArray(DataSetRow.SKIP_TDP_ID));
         }
         super.receive(row, metadata);
     }
 
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        if (rows.length == 0) {
+            return;
+        }
+        // Rows of a batch share the same metadata: configure columns once for the whole batch
+        performColumnFilter(rows[0], metadata);
+        if (configuredAnalyzer == null) {
+            this.configuredAnalyzer = analyzer.apply(filteredColumns);
+        }
+        for (DataSetRow row : rows) {
+            if (!row.isDeleted()) {
+                analyze(row.filter(filteredColumns).order(filteredColumns).toArray(DataSetRow.SKIP_TDP_ID));
+            }
+        }
+        super.receiveBatch(rows, metadata);
+    }
+
+    private void analyze(String[] values) {
+        if (queueSize <= 0) {
+            configuredAnalyzer.analyze(values);
+            return;
+        }
+        chunk.add(values);
+        if (chunk.size() >= CHUNK_SIZE) {
+            put(chunk);
+            chunk = new ArrayList<>(CHUNK_SIZE);
+        }
+    }
+
+    // Waits if queue is full (worker thread is started on first chunk)
+    private void put(List<String[]> values) {
+        if (failure != null) {
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, failure);
+        }
+        if (worker == null) {
+            queue = new ArrayBlockingQueue<>(queueSize);
+            worker = new Thread(this::analyzeQueue, "Statistics-Worker-" + WORKER_COUNT.incrementAndGet());
+            worker.setDaemon(true);
+            worker.start();
+        }
+        try {
+            queue.put(values);
+        } catch (InterruptedException e) {
+            worker.interrupt();
+            Thread.currentThread().interrupt();
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    // Worker thread: analyzes values until END_OF_VALUES (values are still consumed after a failure so put never blocks)
+    private void analyzeQueue() {
+        try {
+            List<String[]> values;
+            while ((values = queue.take()) != END_OF_VALUES) {
+                if (failure == null) {
+                    try {
+                        values.forEach(configuredAnalyzer::analyze);
+                    } catch (Exception e) {
+                        failure = e;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            failure = e;
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for the analysis of all values put in queue.
+     */
+    private void waitForWorker() {
+        if (!chunk.isEmpty()) {
+            put(chunk);
+            chunk = new ArrayList<>(CHUNK_SIZE);
+        }
+        if (worker == null) {
+            return;
+        }
+        try {
+            queue.put(END_OF_VALUES);
+            worker.join();
+        } catch (InterruptedException e) {
+            worker.interrupt();
+            Thread.currentThread().interrupt();
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+        } finally {
+            worker = null;
+        }
+        if (failure != null) {
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, failure);
+        }
+    }
+
     @Override
     public void signal(Signal signal) {
         if (signal == Signal.END_OF_STREAM || signal == Signal.CANCEL || signal == Signal.STOP) {
+            waitForWorker();
             if (configuredAnalyzer != null) {
                 adapter.adapt(filteredColumns, configuredAnalyzer.getResult());
+                close();
             } else {
                 LOGGER.warn("No data received.");
             }
@@ -108,8 +251,18 @@ public class StatisticsNode extends ColumnFilteredNode {
         super.signal(signal);
     }
 
+    // Release analyzer resources (e.g. worker threads of a partitioned analyzer)
+    private void close() {
+        try {
+            configuredAnalyzer.close();
+        } catch (Exception e) {
+            LOGGER.warn("Unable to close analyzer.", e);
+        }
+        configuredAnalyzer = null;
+    }
+
     @Override
     public Node copyShallow() {
-        return new StatisticsNode(analyzer, filter, adapter);
+        return new StatisticsNode(analyzer, filter, adapter, queueSize);
     }
 }
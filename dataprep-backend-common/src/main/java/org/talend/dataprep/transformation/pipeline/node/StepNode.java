@@ -52,8 +52,31 @@ public class StepNode extends BasicNode {
         return step;
     }
 
+    public Node getEntryNode() {
+        return entryNode;
+    }
+
+    public Node getLastNode() {
+        return lastNode;
+    }
+
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
+        entryNode.exec().receive(row, prepare(metadata));
+    }
+
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        entryNode.exec().receiveBatch(rows, prepare(metadata));
+    }
+
+    /**
+     * Links last node of step to the node after this step (if not already done).
+     *
+     * @param metadata The metadata of received row(s).
+     * @return The metadata to use for the rows in this step.
+     */
+    private RowMetadata prepare(RowMetadata metadata) {
         Optional<RowMetadata> stepMetadata = Optional.ofNullable(step.getRowMetadata());
         final RowMetadata rowMetadata = stepMetadata.isPresent() ? stepMetadata.get() : metadata;
         if (!stepMetadata.isPresent()) {
@@ -69,7 +92,7 @@ public class StepNode extends BasicNode {
             final RuntimeLink stepLink = getLink().exec();
             lastNode.setLink(new StepLink(stepLink));
         }
-        entryNode.exec().receive(row, rowMetadata);
+        return rowMetadata;
     }
 
     @Override
@@ -108,6 +131,11 @@ public class StepNode extends BasicNode {
                     stepLink.emit(rows, metadatas);
                 }
 
+                @Override
+                public void emitBatch(DataSetRow[] rows, RowMetadata metadata) {
+                    stepLink.emitBatch(rows, metadata);
+                }
+
                 @Override
                 public void signal(Signal signal) {
                     stepLink.signal(signal);
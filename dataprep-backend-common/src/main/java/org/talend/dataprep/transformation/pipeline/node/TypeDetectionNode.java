@@ -12,49 +12,57 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.talend.daikon.exception.TalendRuntimeException;
 import org.talend.dataprep.BaseErrorCodes;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
-import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
-import org.talend.dataprep.api.dataset.row.FlagNames;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.transformation.pipeline.Monitored;
 import org.talend.dataprep.transformation.pipeline.Node;
 import org.talend.dataprep.transformation.pipeline.Signal;
 import org.talend.dataprep.transformation.pipeline.Visitor;
-import org.talend.dataprep.util.FilesHelper;
 import org.talend.dataquality.common.inference.Analyzer;
 import org.talend.dataquality.common.inference.Analyzers;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
+/**
+ * <p>
+ * A node that detects type of columns: rows are kept (see {@link RowReservoir}) until the end of the stream, then
+ * column types are updated in row metadata and stored rows are sent to the next node.
+ * </p>
+ * <p>
+ * When a sample size is set, this node is <i>optimistic</i>: types are decided on the first rows (the sample), and all
+ * next rows are sent to next node as soon as received. Analysis continues on all rows, and row metadata is corrected at
+ * the end of the stream (i.e. before next nodes receive {@link Signal#END_OF_STREAM}) if full analysis gives other
+ * types. Nodes after this one may then have processed rows with the types inferred from the sample.
+ * </p>
+ */
 public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
 
+    /** Default max number of bytes used to keep rows in memory (rows are stored in a temporary file above it). */
+    public static final long DEFAULT_MEMORY_THRESHOLD = 16L * 1024 * 1024;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(TypeDetectionNode.class);
 
-    private final JsonGenerator generator;
+    /** Number of rows sent at once to next node once type detection is done. */
+    private static final int REPLAY_BATCH_SIZE = 200;
+
+    private final RowReservoir reservoir;
+
+    private final long memoryThreshold;
 
-    private final File reservoir;
+    private final long sampleSize;
 
     private final Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer;
 
@@ -66,79 +74,159 @@ public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
 
     private Analyzer<Analyzers.Result> resultAnalyzer;
 
+    /** Analyzer of the first <code>sampleSize</code> rows (only used in optimistic mode). */
+    private Analyzer<Analyzers.Result> sampleAnalyzer;
+
+    /** <code>true</code> once types were decided on sample: rows are then sent to next node as soon as received. */
+    private boolean streaming;
+
     private long count;
 
     public TypeDetectionNode(Predicate<ColumnMetadata> filter, StatisticsAdapter adapter,
             Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer) {
+        this(filter, adapter, analyzer, DEFAULT_MEMORY_THRESHOLD);
+    }
+
+    /**
+     * @param memoryThreshold The max number of bytes used to keep rows in memory while types are detected. Above this
+     * threshold, rows are stored (compressed) in a temporary file.
+     */
+    public TypeDetectionNode(Predicate<ColumnMetadata> filter, StatisticsAdapter adapter,
+            Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer, long memoryThreshold) {
+        this(filter, adapter, analyzer, memoryThreshold, 0);
+    }
+
+    /**
+     * @param memoryThreshold The max number of bytes used to keep rows in memory while types are detected. Above this
+     * threshold, rows are stored (compressed) in a temporary file.
+     * @param sampleSize The number of rows used to decide types before rows are sent to next node (0 to wait for all
+     * rows).
+     */
+    public TypeDetectionNode(Predicate<ColumnMetadata> filter, StatisticsAdapter adapter,
+            Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer, long memoryThreshold, long sampleSize) {
         super(filter);
         this.analyzer = analyzer;
         this.filter = filter;
         this.adapter = adapter;
-        try {
-            reservoir = File.createTempFile("TypeDetection", ".zip");
-            JsonFactory factory = new JsonFactory();
-            generator = factory.createGenerator(new GZIPOutputStream(new FileOutputStream(reservoir), true));
-            generator.writeStartObject();
-            generator.writeFieldName("records");
-            generator.writeStartArray();
-        } catch (IOException e) {
-            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
-        }
+        this.memoryThreshold = memoryThreshold;
+        this.sampleSize = sampleSize;
+        this.reservoir = new RowReservoir(memoryThreshold, true);
     }
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
         performColumnFilter(row, metadata);
-        store(row, metadata.getColumns());
         analyze(row);
         count++;
+        if (streaming) {
+            super.receive(row, metadata);
+            return;
+        }
+        store(row, metadata.getColumns());
+        if (count == sampleSize) {
+            endSample();
+        }
     }
 
-    // Store row in temporary file
-    private void store(DataSetRow row, List<ColumnMetadata> columns) {
-        try {
-            generator.writeStartObject();
-            columns.forEach(column -> {
-                try {
-                    generator.writeStringField(column.getId(), row.get(column.getId()));
-                } catch (IOException e) {
-                    throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
-                }
-            });
-            if (row.isDeleted()) {
-                generator.writeBooleanField("_deleted", true);
-            }
-            final Optional<Long> tdpId = Optional.ofNullable(row.getTdpId());
-            if (tdpId.isPresent()) {
-                generator.writeNumberField(FlagNames.TDP_ID, tdpId.get());
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        if (rows.length == 0) {
+            return;
+        }
+        // Rows of a batch share the same metadata: configure columns once for the whole batch
+        performColumnFilter(rows[0], metadata);
+        final List<ColumnMetadata> columns = metadata.getColumns();
+        int i = 0;
+        for (; i < rows.length && !streaming; i++) {
+            store(rows[i], columns);
+            analyze(rows[i]);
+            count++;
+            if (count == sampleSize) {
+                endSample();
             }
-            for (Map.Entry<String, String> entry : row.getInternalValues().entrySet()) {
-                generator.writeStringField(entry.getKey(), entry.getValue());
+        }
+        if (i < rows.length) {
+            // Types were decided on sample, send the remaining rows
+            final DataSetRow[] remainingRows = i == 0 ? rows : Arrays.copyOfRange(rows, i, rows.length);
+            for (DataSetRow row : remainingRows) {
+                analyze(row);
             }
-            generator.writeEndObject();
+            count += remainingRows.length;
+            super.receiveBatch(remainingRows, metadata);
+        }
+    }
+
+    // Store row in reservoir
+    private void store(DataSetRow row, List<ColumnMetadata> columns) {
+        try {
+            reservoir.add(row, columns);
         } catch (IOException e) {
             throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
     }
 
-    // Analyze row using lazily configured analyzer
+    // Analyze row using lazily configured analyzer(s)
     private void analyze(DataSetRow row) {
         if (!row.isDeleted()) {
             // Lazy initialization of the result analyzer
             if (resultAnalyzer == null) {
                 resultAnalyzer = analyzer.apply(filteredColumns);
             }
+            final boolean inSample = sampleSize > 0 && !streaming;
+            if (inSample && sampleAnalyzer == null) {
+                sampleAnalyzer = analyzer.apply(filteredColumns);
+            }
             final String[] values = row.filter(filteredColumns) //
                     .order(rowMetadata.getColumns()) //
                     .toArray(DataSetRow.SKIP_TDP_ID.and(e -> filteredColumnNames.contains(e.getKey())));
             try {
                 resultAnalyzer.analyze(values);
+                if (inSample) {
+                    sampleAnalyzer.analyze(values);
+                }
             } catch (Exception e) {
                 LOGGER.debug("Unable to analyze row '{}'.", Arrays.toString(values), e);
             }
         }
     }
 
+    // Decide types on sample, and send stored rows to next node
+    private void endSample() {
+        LOGGER.debug("Deciding types on the first {} row(s).", count);
+        try {
+            if (rowMetadata != null && sampleAnalyzer != null) {
+                adapt(sampleAnalyzer);
+            }
+            replay();
+        } catch (Exception e) {
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+        } finally {
+            sampleAnalyzer = null;
+            reservoir.close();
+        }
+        streaming = true;
+    }
+
+    // Adapt row metadata to infer type (adapter takes care of type-forced columns)
+    private void adapt(Analyzer<Analyzers.Result> typeAnalyzer) throws Exception {
+        typeAnalyzer.end();
+        final List<ColumnMetadata> columns = rowMetadata.getColumns();
+        adapter.adapt(columns, typeAnalyzer.getResult(), filter);
+        typeAnalyzer.close();
+    }
+
+    // Send stored records to next node
+    private void replay() throws IOException {
+        final List<DataSetRow> batch = new ArrayList<>(REPLAY_BATCH_SIZE);
+        reservoir.replay(rowMetadata, r -> {
+            batch.add(r);
+            if (batch.size() == REPLAY_BATCH_SIZE) {
+                emit(batch);
+            }
+        });
+        emit(batch);
+    }
+
     @Override
     public void accept(Visitor visitor) {
         visitor.visitNode(this);
@@ -146,7 +234,7 @@ public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
 
     @Override
     public Node copyShallow() {
-        return new TypeDetectionNode(filter, adapter, analyzer);
+        return new TypeDetectionNode(filter, adapter, analyzer, memoryThreshold, sampleSize);
     }
 
     @Override
@@ -155,39 +243,54 @@ public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
         final long start = System.currentTimeMillis();
         try {
             if (signal == Signal.END_OF_STREAM || signal == Signal.CANCEL || signal == Signal.STOP) {
-                // End temporary output
-                generator.writeEndArray();
-                generator.writeEndObject();
-                generator.flush();
-                // Send stored records to next steps
-                final ObjectMapper mapper = new ObjectMapper();
-                if (rowMetadata != null && resultAnalyzer != null) {
-                    // Adapt row metadata to infer type (adapter takes care of type-forced columns)
-                    resultAnalyzer.end();
-                    final List<ColumnMetadata> columns = rowMetadata.getColumns();
-                    adapter.adapt(columns, resultAnalyzer.getResult(), filter);
-                    resultAnalyzer.close();
-                }
-                // Continue process
-                try (JsonParser parser = mapper.getFactory().createParser(new GZIPInputStream(new FileInputStream(reservoir)))) {
-                    final DataSet dataSet = mapper.reader(DataSet.class).readValue(parser);
-                    dataSet.getRecords().forEach(r -> link.exec().emit(r, rowMetadata));
+                if (streaming) {
+                    // Rows were already sent, correct types (if needed) using all rows
+                    if (rowMetadata != null && resultAnalyzer != null) {
+                        final Map<String, String> sampleTypes = getTypes();
+                        adapt(resultAnalyzer);
+                        final Map<String, String> types = getTypes();
+                        if (!sampleTypes.equals(types)) {
+                            LOGGER.debug("Types inferred on sample ({}) corrected to {}.", sampleTypes, types);
+                        }
+                    }
+                } else {
+                    if (rowMetadata != null && resultAnalyzer != null) {
+                        adapt(resultAnalyzer);
+                    }
+                    // Continue process
+                    replay();
                 }
             }
         } catch (Exception e) {
             LOGGER.warn("Unable to perform delayed analysis.", e);
         } finally {
-            try {
-                generator.close();
-            } catch (IOException e) {
-                LOGGER.error("Unable to close JSON generator (causing potential temp file delete issues).", e);
-            }
-            FilesHelper.deleteQuietly(reservoir);
+            reservoir.close();
             totalTime += System.currentTimeMillis() - start;
         }
         super.signal(signal);
     }
 
+    private Map<String, String> getTypes() {
+        final Map<String, String> types = new HashMap<>();
+        for (ColumnMetadata column : rowMetadata.getColumns()) {
+            types.put(column.getId(), column.getType());
+        }
+        return types;
+    }
+
+    // Emit rows in batch to next node and clear batch
+    private void emit(List<DataSetRow> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (batch.size() == 1) {
+            link.exec().emit(batch.get(0), rowMetadata);
+        } else {
+            link.exec().emitBatch(batch.toArray(new DataSetRow[batch.size()]), rowMetadata);
+        }
+        batch.clear();
+    }
+
     @Override
     public long getTotalTime() {
         return totalTime;
@@ -367,4 +367,123 @@ public class DataSetRowTest {
         // then
         assertThat(row.values().get(TDP_INVALID), CoreMatchers.is("0004,0001"));
     }
+
+    @Test
+    public void should_keep_values_ordered_when_set_in_any_order() throws Exception {
+        // given
+        final DataSetRow row = new DataSetRow(new RowMetadata());
+
+        // when
+        row.set("0002", "c");
+        row.set("0000", "a");
+        row.set("0001", "b");
+        row.set("0000", "aa");
+
+        // then
+        assertArrayEquals(new String[] { "aa", "b", "c" }, row.toArray());
+        assertEquals("aa", row.get("0000"));
+        assertNull(row.get("0003"));
+    }
+
+    @Test
+    public void should_delete_column_value() throws Exception {
+        // given
+        final DataSetRow row = createRow(defaultValues(), false);
+
+        // when
+        final boolean deleted = row.deleteColumnById("firstName");
+        final boolean deletedTwice = row.deleteColumnById("firstName");
+
+        // then
+        assertTrue(deleted);
+        assertFalse(deletedTwice);
+        assertNull(row.get("firstName"));
+        assertArrayEquals(new String[] { "18", "1", "Tata" }, row.toArray());
+    }
+
+    @Test
+    public void should_remove_values_without_metadata_change() throws Exception {
+        // given
+        final DataSetRow row = createRow(defaultValues(), false);
+        final int columnCount = row.getRowMetadata().size();
+
+        // when
+        row.removeValues(Arrays.asList("firstName", "age", "unknown"));
+
+        // then
+        assertNull(row.get("firstName"));
+        assertNull(row.get("age"));
+        assertArrayEquals(new String[] { "1", "Tata" }, row.toArray());
+        assertEquals(columnCount, row.getRowMetadata().size());
+    }
+
+    @Test
+    public void should_append_new_values_after_order() throws Exception {
+        // given
+        final DataSetRow row = createRow(defaultValues(), false);
+        final List<ColumnMetadata> newOrder = new ArrayList<>();
+        newOrder.add(column().computedId("lastName").type(Type.STRING).build());
+        newOrder.add(column().computedId("id").type(Type.STRING).build());
+        newOrder.add(column().computedId("age").type(Type.STRING).build());
+        newOrder.add(column().computedId("firstName").type(Type.STRING).build());
+        newOrder.add(column().computedId("missing").type(Type.STRING).build());
+
+        // when
+        final DataSetRow ordered = row.order(newOrder);
+        ordered.set("another", "value");
+
+        // then
+        assertArrayEquals(new String[] { "Tata", "1", "18", "Toto", "null", "value" }, ordered.toArray());
+        assertNull(row.get("another"));
+    }
+
+    @Test
+    public void should_be_equal_regardless_of_order() throws Exception {
+        // given
+        final DataSetRow row = createRow(defaultValues(), false);
+        final List<ColumnMetadata> newOrder = new ArrayList<>();
+        newOrder.add(column().computedId("lastName").type(Type.STRING).build());
+        newOrder.add(column().computedId("id").type(Type.STRING).build());
+        newOrder.add(column().computedId("age").type(Type.STRING).build());
+        newOrder.add(column().computedId("firstName").type(Type.STRING).build());
+
+        // when
+        final DataSetRow ordered = row.order(newOrder);
+
+        // then
+        assertEquals(row, ordered);
+        assertEquals(row.hashCode(), ordered.hashCode());
+    }
+
+    @Test
+    public void should_not_share_values_with_clone() throws Exception {
+        // given
+        final DataSetRow row = createRow(defaultValues(), false);
+
+        // when
+        final DataSetRow clone = row.clone();
+        clone.set("id", "2");
+        clone.set("newColumn", "new");
+
+        // then
+        assertEquals("1", row.get("id"));
+        assertNull(row.get("newColumn"));
+        assertEquals("2", clone.get("id"));
+        assertEquals("new", clone.get("newColumn"));
+    }
+
+    @Test
+    public void should_reuse_cleared_row() throws Exception {
+        // given
+        final DataSetRow row = createRow(defaultValues(), false);
+
+        // when
+        row.clear();
+        row.set("id", "2");
+
+        // then
+        assertEquals(1, row.values().size());
+        assertEquals("2", row.get("id"));
+        assertNull(row.get("firstName"));
+    }
 }
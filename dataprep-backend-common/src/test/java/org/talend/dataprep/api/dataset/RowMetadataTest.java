@@ -303,6 +303,28 @@ public class RowMetadataTest {
         assertFalse(row2.compatible(row4));
     }
 
+    @Test
+    public void should_find_column_by_id_after_changes() {
+        // given
+        List<ColumnMetadata> columns = new ArrayList<>();
+        columns.add(getColumnMetadata("toto", 0));
+        columns.add(getColumnMetadata("titi", 1));
+        RowMetadata rowMetadata = new RowMetadata(columns);
+        assertEquals("titi", rowMetadata.getById("0001").getName());
+
+        // when
+        rowMetadata.insertAfter("0000", getColumnMetadata("tata"));
+        rowMetadata.deleteColumnById("0000");
+        rowMetadata.update("0001", getColumnMetadata("tutu", 1));
+
+        // then
+        assertNull(rowMetadata.getById("0000"));
+        assertEquals("tata", rowMetadata.getById("0002").getName());
+        assertEquals("tutu", rowMetadata.getById("0001").getName());
+        assertEquals("0002", rowMetadata.getColumns().get(0).getId());
+        assertNull(rowMetadata.getById(null));
+    }
+
     @Test
     public void shouldReturnTrueForRowMetadata() throws Exception {
         assertThat(RowMetadata.class, isSerializable());
@@ -0,0 +1,64 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.api.dataset.row;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+
+public class RowCodecTest {
+
+    @Test
+    public void should_read_written_rows() throws Exception {
+        // given
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final RowCodec.Writer writer = new RowCodec.Writer(new DataOutputStream(bytes));
+        final DataSetRow row = new DataSetRow(new RowMetadata());
+        writer.writeVarInt(1);
+        writer.defineKey("0000");
+        for (long i = 0; i < 300; i++) {
+            row.setTdpId(i % 2 == 0 ? i : null);
+            row.setDeleted(i == 10);
+            writer.writeRowStart(row, 0x80, 2);
+            writer.writeValue("0000", "value \u00e9 " + i);
+            writer.writeValue("0001", i % 3 == 0 ? null : "");
+        }
+
+        // when
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        final RowCodec.Reader reader = new RowCodec.Reader(input);
+        final int headerSize = reader.readVarInt();
+        reader.defineKey();
+
+        // then
+        assertEquals(1, headerSize);
+        for (long i = 0; i < 300; i++) {
+            final int flags = reader.readFlags();
+            assertEquals(0x80, flags & 0x80);
+            reader.readRow(flags);
+            assertEquals(i % 2 == 0 ? Long.valueOf(i) : null, reader.getTdpId());
+            assertEquals(i == 10, reader.isDeleted());
+            assertEquals(2, reader.size());
+            assertEquals("0000", reader.getKey(0));
+            assertEquals("value \u00e9 " + i, reader.getValue(0));
+            assertEquals("0001", reader.getKey(1));
+            assertEquals(i % 3 == 0 ? null : "", reader.getValue(1));
+        }
+    }
+}
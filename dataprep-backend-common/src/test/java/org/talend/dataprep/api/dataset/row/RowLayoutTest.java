@@ -0,0 +1,53 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.api.dataset.row;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class RowLayoutTest {
+
+    @Test
+    public void should_share_cached_layouts() throws Exception {
+        // given
+        RowLayout.clearCache();
+
+        // when
+        final RowLayout layout = RowLayout.SORTED.with("0000").with("0001");
+
+        // then
+        assertSame(layout, RowLayout.SORTED.with("0000").with("0001"));
+        assertSame(RowLayout.SORTED.with("0000"), layout.without("0001"));
+    }
+
+    @Test
+    public void should_drop_cached_layouts_when_cache_is_full() throws Exception {
+        // given
+        RowLayout.clearCache();
+        final RowLayout first = RowLayout.SORTED.with("0000");
+        assertSame(first, RowLayout.SORTED.with("0000"));
+
+        // when: a chain of n layouts holds n * (n + 1) / 2 keys
+        RowLayout layout = first;
+        int keys = 1;
+        for (int i = 1; keys <= RowLayout.MAX_CACHED_KEYS; i++) {
+            layout = layout.with(String.valueOf(i));
+            keys += layout.size();
+        }
+
+        // then
+        assertNotSame(first, RowLayout.SORTED.with("0000"));
+        assertEquals("0000", RowLayout.SORTED.with("0000").id(0));
+    }
+}
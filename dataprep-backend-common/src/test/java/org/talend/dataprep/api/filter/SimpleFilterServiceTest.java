@@ -1050,4 +1050,98 @@ public class SimpleFilterServiceTest {
         //then
     }
 
+    @Test
+    public void should_keep_filter_when_relaxed_on_used_columns() throws Exception {
+        //given
+        final String filtersDefinition = "{" +
+                "   \"and\": [" +
+                "       {" +
+                "           \"eq\": {" +
+                "               \"field\": \"0001\"," +
+                "               \"value\": \"toto\"" +
+                "           }" +
+                "       }," +
+                "       {" +
+                "           \"not\": {" +
+                "               \"empty\": {" +
+                "                   \"field\": \"0002\"" +
+                "               }" +
+                "           }" +
+                "       }" +
+                "   ]" +
+                "}";
+
+        //when
+        final String relaxed = service.relax(filtersDefinition, c -> true);
+
+        //then
+        assertThat(relaxed, is(filtersDefinition));
+    }
+
+    @Test
+    public void should_relax_AND_filter() throws Exception {
+        //given
+        final String filtersDefinition = "{" +
+                "   \"and\": [" +
+                "       {" +
+                "           \"eq\": {" +
+                "               \"field\": \"0001\"," +
+                "               \"value\": \"toto\"" +
+                "           }" +
+                "       }," +
+                "       {" +
+                "           \"eq\": {" +
+                "               \"field\": \"0002\"," +
+                "               \"value\": \"tata\"" +
+                "           }" +
+                "       }" +
+                "   ]" +
+                "}";
+
+        //when
+        final String relaxed = service.relax(filtersDefinition, "0001"::equals);
+        final Predicate<DataSetRow> filter = service.build(relaxed, rowMetadata);
+
+        //then
+        row.set("0001", "toto");
+        row.set("0002", "other");
+        assertThat(filter.test(row), is(true));
+        row.set("0001", "other");
+        assertThat(filter.test(row), is(false));
+    }
+
+    @Test
+    public void should_not_relax_OR_NOT_and_all_columns_filters() throws Exception {
+        //given
+        final String orDefinition = "{" +
+                "   \"or\": [" +
+                "       {" +
+                "           \"eq\": {" +
+                "               \"field\": \"0001\"," +
+                "               \"value\": \"toto\"" +
+                "           }" +
+                "       }," +
+                "       {" +
+                "           \"eq\": {" +
+                "               \"field\": \"0002\"," +
+                "               \"value\": \"tata\"" +
+                "           }" +
+                "       }" +
+                "   ]" +
+                "}";
+        final String notDefinition = "{" +
+                "   \"not\": " + orDefinition.replace("\"or\"", "\"and\"") +
+                "}";
+        final String allColumnsDefinition = "{" +
+                "   \"eq\": {" +
+                "       \"value\": \"toto\"" +
+                "   }" +
+                "}";
+
+        //then
+        assertThat(service.relax(orDefinition, "0001"::equals), is((String) null));
+        assertThat(service.relax(notDefinition, "0001"::equals), is((String) null));
+        assertThat(service.relax(allColumnsDefinition, c -> true), is((String) null));
+    }
+
 }
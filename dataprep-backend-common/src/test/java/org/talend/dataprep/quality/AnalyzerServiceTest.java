@@ -2,12 +2,15 @@ package org.talend.dataprep.quality;
 
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataquality.common.inference.Analyzer;
 import org.talend.dataquality.common.inference.Analyzers;
 
@@ -59,4 +62,53 @@ public class AnalyzerServiceTest {
             }
         }
     }
+
+    @Test
+    public void partitionedShouldComputeSameStatisticsAsSingleAnalyzer() throws Exception {
+        // Given
+        final AnalyzerService.Analysis[] analysis = { AnalyzerService.Analysis.QUALITY,
+                AnalyzerService.Analysis.CARDINALITY, AnalyzerService.Analysis.FREQUENCY,
+                AnalyzerService.Analysis.PATTERNS, AnalyzerService.Analysis.LENGTH, AnalyzerService.Analysis.QUANTILES,
+                AnalyzerService.Analysis.SEMANTIC, AnalyzerService.Analysis.SUMMARY };
+        final List<ColumnMetadata> expected = columns();
+        final List<ColumnMetadata> actual = columns();
+        service.setParallelism(4);
+
+        // When
+        try (Analyzer<Analyzers.Result> single = service.build(expected, analysis);
+                Analyzer<Analyzers.Result> partitioned = service.partitioned(actual, analysis)) {
+            assertTrue(partitioned instanceof PartitionedAnalyzer);
+            for (int i = 0; i < 5000; i++) {
+                final String[] record = record(i);
+                single.analyze(record);
+                partitioned.analyze(record);
+            }
+            single.end();
+            partitioned.end();
+            final StatisticsAdapter adapter = new StatisticsAdapter(40);
+            adapter.adapt(expected, single.getResult());
+            adapter.adapt(actual, partitioned.getResult());
+        }
+
+        // Then
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getStatistics(), actual.get(i).getStatistics());
+            assertEquals(expected.get(i).getDomain(), actual.get(i).getDomain());
+        }
+    }
+
+    private static List<ColumnMetadata> columns() {
+        return Arrays.asList( //
+                ColumnMetadata.Builder.column().id(0).name("code").type(Type.STRING).build(), //
+                ColumnMetadata.Builder.column().id(1).name("amount").type(Type.INTEGER).build());
+    }
+
+    /**
+     * @return A record with a few distinct values (each with a distinct frequency), so frequency tables are exact.
+     */
+    private static String[] record(int i) {
+        final int bucket = i < 2500 ? 0 : i < 3700 ? 1 : i < 4400 ? 2 : i < 4800 ? 3 : 4;
+        final String amount = i % 250 == 0 ? "" : String.valueOf((int) Math.pow(10, bucket) + bucket);
+        return new String[] { "code-" + (char) ('a' + bucket), amount };
+    }
 }
@@ -0,0 +1,179 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.quality;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.talend.dataquality.common.inference.Analyzer;
+import org.talend.dataquality.common.inference.Analyzers;
+
+public class PartitionedAnalyzerTest {
+
+    @Test
+    public void should_analyze_all_records_and_merge_results() throws Exception {
+        // given
+        final List<Analyzers.Result> mergedResult = Collections.emptyList();
+        final CountingAnalyzer partition1 = new CountingAnalyzer(mergedResult);
+        final CountingAnalyzer partition2 = new CountingAnalyzer(Collections.emptyList());
+
+        // when
+        final List<Analyzers.Result> result;
+        try (PartitionedAnalyzer analyzer = new PartitionedAnalyzer(Arrays.asList(partition1, partition2), null)) {
+            for (int i = 0; i < 5500; i++) {
+                analyzer.analyze(String.valueOf(i));
+            }
+            result = analyzer.getResult();
+        }
+
+        // then
+        assertSame(mergedResult, result);
+        assertEquals(5500, partition1.count + partition2.count);
+        assertSame(partition2, partition1.merged);
+        assertEquals(1, partition1.ended);
+        assertEquals(1, partition2.ended);
+        assertTrue(partition1.closed);
+        assertTrue(partition2.closed);
+    }
+
+    @Test
+    public void should_send_all_records_in_order_to_sequential_analyzer() throws Exception {
+        // given
+        final CountingAnalyzer partition = new CountingAnalyzer(Collections.emptyList());
+        final Analyzer<Analyzers.Result> sequential = mockAnalyzer();
+        when(sequential.getResult()).thenReturn(Collections.emptyList());
+
+        // when
+        try (PartitionedAnalyzer analyzer = new PartitionedAnalyzer(Collections.singletonList(partition), sequential)) {
+            for (int i = 0; i < 1500; i++) {
+                analyzer.analyze(String.valueOf(i));
+            }
+            analyzer.end();
+            analyzer.getResult();
+        }
+
+        // then
+        assertEquals(1500, partition.count);
+        assertNull(partition.merged);
+        final InOrder inOrder = inOrder(sequential);
+        for (int i = 0; i < 1500; i++) {
+            inOrder.verify(sequential).analyze(String.valueOf(i));
+        }
+        verify(sequential, times(1)).end();
+    }
+
+    @Test
+    public void should_merge_with_another_partitioned_analyzer() throws Exception {
+        // given
+        final CountingAnalyzer partition1 = new CountingAnalyzer(Collections.emptyList());
+        final CountingAnalyzer partition2 = new CountingAnalyzer(Collections.emptyList());
+        final CountingAnalyzer otherPartition1 = new CountingAnalyzer(Collections.emptyList());
+        final CountingAnalyzer otherPartition2 = new CountingAnalyzer(Collections.emptyList());
+
+        // when
+        try (PartitionedAnalyzer analyzer = new PartitionedAnalyzer(Arrays.asList(partition1, partition2), null);
+                PartitionedAnalyzer other = new PartitionedAnalyzer(Arrays.asList(otherPartition1, otherPartition2),
+                        null)) {
+            for (int i = 0; i < 2500; i++) {
+                analyzer.analyze(String.valueOf(i));
+                other.analyze(String.valueOf(i));
+            }
+            final Analyzer<Analyzers.Result> merged = analyzer.merge(other);
+
+            // then
+            assertSame(partition1, merged);
+            assertSame(otherPartition1, partition1.merged);
+            assertSame(otherPartition2, otherPartition1.merged);
+            assertEquals(2500, otherPartition1.count + otherPartition2.count);
+            assertEquals(1, otherPartition1.ended);
+            assertEquals(1, otherPartition2.ended);
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void should_not_merge_analysis_that_need_all_records() throws Exception {
+        // given
+        final CountingAnalyzer partition = new CountingAnalyzer(Collections.emptyList());
+        final Analyzer<Analyzers.Result> sequential = mockAnalyzer();
+
+        // when
+        try (PartitionedAnalyzer analyzer = new PartitionedAnalyzer(Collections.singletonList(partition), sequential)) {
+            analyzer.merge(new CountingAnalyzer(Collections.emptyList()));
+        }
+
+        // then : should throw UnsupportedOperationException
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Analyzer<Analyzers.Result> mockAnalyzer() {
+        return mock(Analyzer.class);
+    }
+
+    /**
+     * An analyzer that counts analyzed records and remembers the analyzer it was merged with.
+     */
+    private static class CountingAnalyzer implements Analyzer<Analyzers.Result> {
+
+        private final List<Analyzers.Result> result;
+
+        private volatile int count;
+
+        private int ended;
+
+        private boolean closed;
+
+        private Analyzer<Analyzers.Result> merged;
+
+        private CountingAnalyzer(List<Analyzers.Result> result) {
+            this.result = result;
+        }
+
+        @Override
+        public void init() {
+            // Nothing to do
+        }
+
+        @Override
+        public boolean analyze(String... record) {
+            count++; // NOSONAR (a partition is used by one worker at a time)
+            return true;
+        }
+
+        @Override
+        public void end() {
+            ended++;
+        }
+
+        @Override
+        public List<Analyzers.Result> getResult() {
+            return result;
+        }
+
+        @Override
+        public Analyzer<Analyzers.Result> merge(Analyzer<Analyzers.Result> another) {
+            merged = another;
+            return this;
+        }
+
+        @Override
+        public void close() throws Exception {
+            closed = true;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.talend.dataprep.transformation.pipeline.link.BasicLink;
 import org.talend.dataprep.transformation.pipeline.link.CloneLink;
 import org.talend.dataprep.transformation.pipeline.node.ActionNode;
 import org.talend.dataprep.transformation.pipeline.node.CompileNode;
+import org.talend.dataprep.transformation.pipeline.node.FusedActionNode;
 import org.talend.dataprep.transformation.pipeline.node.SourceNode;
 import org.talend.dataprep.transformation.pipeline.node.StepNode;
 
@@ -38,6 +39,12 @@ public class NodeClassVisitor extends Visitor {
         super.visitCompile(compileNode);
     }
 
+    @Override
+    public void visitFusedAction(FusedActionNode fusedActionNode) {
+        traversedClasses.add(fusedActionNode.getClass());
+        super.visitFusedAction(fusedActionNode);
+    }
+
     @Override
     public void visitSource(SourceNode sourceNode) {
         traversedClasses.add(sourceNode.getClass());
@@ -0,0 +1,124 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline;
+
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.transformation.actions.common.RunnableAction;
+import org.talend.dataprep.transformation.api.action.context.ActionContext;
+import org.talend.dataprep.transformation.api.action.context.TransformationContext;
+import org.talend.dataprep.transformation.pipeline.builder.NodeBuilder;
+import org.talend.dataprep.transformation.pipeline.node.ActionNode;
+import org.talend.dataprep.transformation.pipeline.node.BasicNode;
+import org.talend.dataprep.transformation.pipeline.node.CompileNode;
+
+/**
+ * Compares rows sent one by one (batch size of 1, as before batches) with rows sent in batches through a pipeline of
+ * compile / action nodes. Run with {@link #main(String[])} (not run as part of unit tests).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PipelineBatchBenchmark {
+
+    private static final int ROWS = 100000;
+
+    private static final int COLUMNS = 10;
+
+    private static final int ACTIONS = 5;
+
+    @Param({ "1", "200" })
+    public int batchSize;
+
+    private DataSetMetadata metadata;
+
+    private List<DataSetRow> rows;
+
+    @Setup
+    public void setUp() {
+        final RowMetadata rowMetadata = new RowMetadata();
+        for (int i = 0; i < COLUMNS; i++) {
+            rowMetadata.addColumn(column().id(i).name("column" + i).type(Type.STRING).build());
+        }
+        metadata = new DataSetMetadata();
+        metadata.setRowMetadata(rowMetadata);
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            final Map<String, String> values = new HashMap<>();
+            for (int j = 0; j < COLUMNS; j++) {
+                values.put(rowMetadata.getColumns().get(j).getId(), "value " + i + '/' + j);
+            }
+            final DataSetRow row = new DataSetRow(rowMetadata, values);
+            row.setTdpId((long) i);
+            rows.add(row);
+        }
+    }
+
+    @Benchmark
+    public void pipeline(Blackhole blackhole) {
+        final TransformationContext transformationContext = new TransformationContext();
+        NodeBuilder builder = NodeBuilder.source();
+        for (int i = 0; i < ACTIONS; i++) {
+            final String columnId = metadata.getRowMetadata().getColumns().get(i).getId();
+            // Cheap and idempotent action (rows are reused across invocations): measures the cost of the pipeline itself
+            final RunnableAction action = new RunnableAction((row, context) -> {
+                row.set(columnId, row.get(columnId).trim());
+                return row;
+            });
+            final ActionContext actionContext = new ActionContext(transformationContext);
+            builder = builder.to(new CompileNode(action, actionContext)).to(new ActionNode(action, actionContext));
+        }
+        builder.to(new BasicNode() {
+
+            @Override
+            public void receive(DataSetRow row, RowMetadata metadata) {
+                blackhole.consume(row);
+            }
+
+            @Override
+            public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+                for (DataSetRow row : rows) {
+                    blackhole.consume(row);
+                }
+            }
+        });
+
+        final DataSet dataSet = new DataSet();
+        dataSet.setMetadata(metadata);
+        dataSet.setRecords(rows.stream());
+        new Pipeline(builder.build(), batchSize).execute(dataSet);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PipelineBatchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
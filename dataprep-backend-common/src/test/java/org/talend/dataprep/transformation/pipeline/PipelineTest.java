@@ -14,21 +14,32 @@ package org.talend.dataprep.transformation.pipeline;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
 import static org.talend.dataprep.transformation.pipeline.Signal.END_OF_STREAM;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hamcrest.CoreMatchers;
 import org.junit.Before;
 import org.junit.Test;
+import org.talend.dataprep.api.action.ActionDefinition;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.filter.SimpleFilterService;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.api.action.DataSetRowAction;
 import org.talend.dataprep.transformation.api.action.context.ActionContext;
@@ -194,6 +205,62 @@ public class PipelineTest {
         assertFalse(actionContext.has("Executed"));
     }
 
+    @Test
+    public void testFusedActions() throws Exception {
+        // Given
+        final RunnableAction first = new RunnableAction() {
+
+            @Override
+            public DataSetRowAction getRowAction() {
+                return (r, context) -> r.set("0000", r.get("0000") + "1");
+            }
+        };
+        final RunnableAction second = new RunnableAction() {
+
+            @Override
+            public DataSetRowAction getRowAction() {
+                return (r, context) -> r.set("0000", r.get("0000") + "2");
+            }
+        };
+        final ActionContext firstContext = new ActionContext(new TransformationContext());
+        final ActionContext secondContext = new ActionContext(new TransformationContext());
+        final FusedActionNode fusedActionNode = new FusedActionNode(Arrays.asList(first, second),
+                Arrays.asList(firstContext, secondContext));
+        final Node node = NodeBuilder.source().to(fusedActionNode).to(output).build();
+        final RowMetadata rowMetadata = new RowMetadata();
+        final DataSetRow row = new DataSetRow(rowMetadata);
+        row.set("0000", "0");
+
+        // when
+        node.exec().receive(row, rowMetadata);
+
+        // then
+        assertEquals("012", output.getRow().get("0000"));
+        assertNotNull(firstContext.getRowMetadata());
+        assertNotNull(secondContext.getRowMetadata());
+        assertEquals(1, fusedActionNode.getCount());
+    }
+
+    @Test
+    public void testProjection() throws Exception {
+        // Given
+        final Node node = NodeBuilder.source().to(new ProjectionNode(Collections.singleton("0001"))).to(output).build();
+        final RowMetadata rowMetadata = new RowMetadata();
+        rowMetadata.addColumn(column().id(0).name("col0").type(Type.STRING).build());
+        rowMetadata.addColumn(column().id(1).name("col1").type(Type.STRING).build());
+        final DataSetRow row = new DataSetRow(rowMetadata);
+        row.set("0000", "value0");
+        row.set("0001", "value1");
+
+        // when
+        node.exec().receive(row, rowMetadata);
+
+        // then
+        assertEquals("value0", output.getRow().get("0000"));
+        assertNull(output.getRow().get("0001"));
+        assertEquals(2, output.getMetadata().size());
+    }
+
     @Test
     public void testCloneLink() throws Exception {
         // Given
@@ -288,6 +355,36 @@ public class PipelineTest {
         assertThat(output.getSignal(), is(END_OF_STREAM));
     }
 
+    @Test
+    public void testPipelineWithBatch() throws Exception {
+        // given
+        final TestNode batchOutput = new TestNode();
+        final Pipeline pipeline = new Pipeline(NodeBuilder.source().to(batchOutput).build(), 2);
+        final RowMetadata rowMetadata = new RowMetadata();
+        final List<DataSetRow> records = new ArrayList<>();
+        for (long i = 0; i < 5; i++) {
+            final DataSetRow row = new DataSetRow(rowMetadata);
+            row.setTdpId(i);
+            records.add(row);
+        }
+
+        final DataSet dataSet = new DataSet();
+        final DataSetMetadata metadata = new DataSetMetadata();
+        metadata.setRowMetadata(rowMetadata);
+        dataSet.setMetadata(metadata);
+        dataSet.setRecords(records.stream());
+
+        // when
+        pipeline.execute(dataSet);
+
+        // then
+        assertThat(batchOutput.getReceivedRows().size(), is(5));
+        for (int i = 0; i < 5; i++) {
+            assertThat(batchOutput.getReceivedRows().get(i).getTdpId(), is((long) i));
+        }
+        assertThat(batchOutput.getReceivedSignals(), CoreMatchers.hasItem(END_OF_STREAM));
+    }
+
     @Test
     public void testCancelledPipeline() throws Exception {
         // given
@@ -399,6 +496,79 @@ public class PipelineTest {
         // then : should throw UnsupportedOperationException
     }
 
+    @Test
+    public void should_evaluate_filter_before_actions() throws Exception {
+        // given: filter on a column left unchanged by the action
+        final AtomicInteger applied = new AtomicInteger();
+
+        // when
+        runFiltered("{\"eq\":{\"field\":\"0000\",\"value\":\"keep\"}}", applied);
+
+        // then: action only ran on rows that match the filter
+        assertEquals(2, output.getCount());
+        assertEquals(2, applied.get());
+    }
+
+    @Test
+    public void should_evaluate_filter_after_actions_when_action_modifies_filtered_column() throws Exception {
+        // given: filter on the column modified by the action
+        final AtomicInteger applied = new AtomicInteger();
+
+        // when
+        runFiltered("{\"eq\":{\"field\":\"0001\",\"value\":\"VALUE\"}}", applied);
+
+        // then: action ran on all rows, filter is evaluated on modified values
+        assertEquals(4, output.getCount());
+        assertEquals(4, applied.get());
+    }
+
+    private void runFiltered(String filter, AtomicInteger applied) {
+        final ActionDefinition definition = mock(ActionDefinition.class);
+        when(definition.getBehavior()).thenReturn(EnumSet.of(ActionDefinition.Behavior.VALUES_COLUMN));
+        final ActionRegistry actionRegistry = mock(ActionRegistry.class);
+        when(actionRegistry.get("uppercase")).thenReturn(definition);
+
+        final Map<String, String> parameters = new HashMap<>();
+        parameters.put("column_id", "0001");
+        parameters.put("scope", "column");
+        final RunnableAction action = RunnableAction.Builder.builder() //
+                .withName("uppercase") //
+                .withParameters(parameters) //
+                .withRow((row, context) -> {
+                    applied.incrementAndGet();
+                    row.set("0001", row.get("0001").toUpperCase());
+                    return row;
+                }) //
+                .build();
+
+        final RowMetadata rowMetadata = new RowMetadata(Arrays.asList( //
+                column().id(0).name("status").type(Type.STRING).build(), //
+                column().id(1).name("value").type(Type.STRING).build()));
+        final List<DataSetRow> rows = new ArrayList<>();
+        for (String status : Arrays.asList("keep", "drop", "keep", "drop")) {
+            final Map<String, String> values = new HashMap<>();
+            values.put("0000", status);
+            values.put("0001", status.equals("keep") ? "value" : "Value");
+            rows.add(new DataSetRow(rowMetadata, values));
+        }
+        final DataSetMetadata dataSetMetadata = new DataSetMetadata();
+        dataSetMetadata.setRowMetadata(rowMetadata);
+        final DataSet dataSet = new DataSet();
+        dataSet.setMetadata(dataSetMetadata);
+        dataSet.setRecords(rows.stream());
+
+        final Pipeline pipeline = Pipeline.Builder.builder() //
+                .withActionRegistry(actionRegistry) //
+                .withInitialMetadata(rowMetadata, true) //
+                .withActions(Collections.singletonList(action)) //
+                .withStatisticsAdapter(new StatisticsAdapter(40)) //
+                .withGlobalStatistics(false) //
+                .withFilterOut(filter, new SimpleFilterService()) //
+                .withOutput(() -> output) //
+                .build();
+        pipeline.execute(dataSet);
+    }
+
     // Equivalent for a DisposableBean (has a public destroy() method).
     public interface Destroyable { //NOSONAR
 
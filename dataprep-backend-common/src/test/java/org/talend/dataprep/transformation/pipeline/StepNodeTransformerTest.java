@@ -16,12 +16,16 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static org.hamcrest.CoreMatchers.hasItems;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.pipeline.builder.NodeBuilder;
 import org.talend.dataprep.transformation.pipeline.node.*;
 
@@ -111,6 +115,36 @@ public class StepNodeTransformerTest {
         assertEquals(2, stepNodeCount.get());
     }
 
+    @Test
+    public void shouldAssignStepsToFusedActions() throws Exception {
+        // given
+        final Step firstStep = new Step(null, null, "");
+        final Step secondStep = new Step(null, null, "");
+        Node node = NodeBuilder //
+                .from(new TestNode()) //
+                .to(new FusedActionNode(asList(new RunnableAction(), new RunnableAction()), asList(null, null))) //
+                .to(new BasicNode()) //
+                .build();
+
+        // when
+        final Node processed = StepNodeTransformer.transform(node, asList(ROOT, firstStep, secondStep));
+
+        // then
+        final List<FusedActionNode> fusedActionNodes = new ArrayList<>();
+        processed.accept(new Visitor() {
+
+            @Override
+            public void visitFusedAction(FusedActionNode fusedActionNode) {
+                fusedActionNodes.add(fusedActionNode);
+                super.visitFusedAction(fusedActionNode);
+            }
+        });
+        assertEquals(1, fusedActionNodes.size());
+        assertEquals(2, fusedActionNodes.get(0).getSteps().size());
+        assertSame(firstStep, fusedActionNodes.get(0).getSteps().get(0));
+        assertSame(secondStep, fusedActionNodes.get(0).getSteps().get(1));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void shouldFailCreateStepNode() throws Exception {
         // given
@@ -48,6 +48,15 @@ public class TestLink extends BasicLink {
         super.emit(rows, metadatas);
     }
 
+    @Override
+    public void emitBatch(DataSetRow[] rows, RowMetadata metadata) {
+        this.emittedRows.addAll(Arrays.asList(rows));
+        for (int i = 0; i < rows.length; i++) {
+            this.emittedMetadata.add(metadata);
+        }
+        super.emitBatch(rows, metadata);
+    }
+
     @Override
     public void signal(Signal signal) {
         this.emittedSignals.add(signal);
@@ -44,6 +44,15 @@ public class TestNode extends BasicNode {
         super.receive(rows, metadatas);
     }
 
+    @Override
+    public void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+        this.receivedRows.addAll(Arrays.asList(rows));
+        for (int i = 0; i < rows.length; i++) {
+            this.receivedMetadata.add(metadata);
+        }
+        super.receiveBatch(rows, metadata);
+    }
+
     @Override
     public void signal(Signal signal) {
         this.receivedSignals.add(signal);
@@ -51,6 +51,31 @@ public class FilterNodeTest {
         assertThat(link.getEmittedMetadata(), contains(metadata1));
     }
 
+    @Test
+    public void receiveBatch_should_filter_with_simple_predicate() throws Exception {
+        // given
+        final RowMetadata metadata = new RowMetadata();
+        final DataSetRow row0 = new DataSetRow(new HashMap<>());
+        row0.setTdpId(0L); // does not pass the predicate
+        final DataSetRow row1 = new DataSetRow(new HashMap<>());
+        row1.setTdpId(1L); // pass the predicate
+        final DataSetRow row2 = new DataSetRow(new HashMap<>());
+        row2.setTdpId(2L); // pass the predicate
+
+        final TestLink link = new TestLink(new BasicNode());
+
+        final FilterNode node = new FilterNode((row, rowMetadata) -> row.getTdpId() > 0);
+        node.setLink(link);
+
+        // when
+        node.receiveBatch(new DataSetRow[] { row0, row1, row2 }, metadata);
+
+        // then
+        assertThat(link.getEmittedRows(), hasSize(2));
+        assertThat(link.getEmittedRows(), contains(row1, row2));
+        assertThat(link.getEmittedMetadata(), contains(metadata, metadata));
+    }
+
     @Test
     public void receive_multi_should_filter_with_multi_predicate() throws Exception {
         // given
@@ -0,0 +1,84 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.TestNode;
+import org.talend.dataprep.transformation.pipeline.link.BasicLink;
+
+public class ParallelNodeTest {
+
+    @Test
+    public void receive_should_emit_rows_in_original_order() throws Exception {
+        // given
+        final BasicNode entry = new BasicNode();
+        final BasicNode last = new BasicNode();
+        entry.setLink(new BasicLink(last));
+        final ParallelNode node = new ParallelNode(entry, last, 4, 10);
+        final TestNode output = new TestNode();
+        node.setLink(new BasicLink(output));
+
+        // when
+        final RowMetadata metadata = new RowMetadata();
+        final DataSetRow row = new DataSetRow(new HashMap<>());
+        for (long i = 0; i < 1000; i++) {
+            row.setTdpId(i); // row instance is reused (as sources do)
+            node.receive(row, metadata);
+        }
+        node.signal(Signal.END_OF_STREAM);
+
+        // then
+        final List<DataSetRow> receivedRows = output.getReceivedRows();
+        assertThat(receivedRows, hasSize(1000));
+        for (int i = 0; i < receivedRows.size(); i++) {
+            assertEquals(i, receivedRows.get(i).getTdpId().longValue());
+        }
+        assertThat(output.getReceivedSignals(), contains(Signal.END_OF_STREAM));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void signal_should_rethrow_worker_exception() throws Exception {
+        // given
+        final BasicNode entry = new BasicNode() {
+
+            @Override
+            public void receive(DataSetRow row, RowMetadata metadata) {
+                if (row.getTdpId() > 1) {
+                    throw new IllegalStateException("Expected failure.");
+                }
+                super.receive(row, metadata);
+            }
+        };
+        final ParallelNode node = new ParallelNode(entry, entry, 2, 10);
+        node.setLink(new BasicLink(new TestNode()));
+
+        // when
+        final DataSetRow row = new DataSetRow(new HashMap<>());
+        for (long i = 0; i < 5; i++) {
+            row.setTdpId(i);
+            node.receive(row, new RowMetadata());
+        }
+        node.signal(Signal.END_OF_STREAM);
+    }
+}
@@ -0,0 +1,75 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import static org.junit.Assert.*;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+public class RowReservoirTest {
+
+    @Test
+    public void replay_should_return_rows_kept_in_memory() throws Exception {
+        assertReplay(Long.MAX_VALUE, false);
+    }
+
+    @Test
+    public void replay_should_return_rows_stored_on_disk() throws Exception {
+        assertReplay(0, true);
+        assertReplay(0, false);
+    }
+
+    private static void assertReplay(long memoryThreshold, boolean compress) throws Exception {
+        // given
+        final RowMetadata rowMetadata = new RowMetadata();
+        rowMetadata.addColumn(column().id(0).name("col0").type(Type.STRING).build());
+        rowMetadata.addColumn(column().id(1).name("col1").type(Type.STRING).build());
+        final DataSetRow row = new DataSetRow(rowMetadata);
+        final List<DataSetRow> replayed = new ArrayList<>();
+
+        // when
+        try (RowReservoir reservoir = new RowReservoir(memoryThreshold, compress)) {
+            for (long i = 0; i < 100; i++) {
+                row.clear(); // row instance is reused (as sources do)
+                row.setTdpId(i);
+                row.set("0000", "value \u00e9 " + i);
+                row.set("0001", i % 2 == 0 ? null : "");
+                row.setDeleted(i == 10);
+                if (i == 20) {
+                    row.setInvalid("0000");
+                }
+                reservoir.add(row, rowMetadata.getColumns());
+            }
+            reservoir.replay(rowMetadata, replayed::add);
+        }
+
+        // then
+        assertEquals(100, replayed.size());
+        for (int i = 0; i < replayed.size(); i++) {
+            final DataSetRow replayedRow = replayed.get(i);
+            assertEquals(i, replayedRow.getTdpId().longValue());
+            assertEquals("value \u00e9 " + i, replayedRow.get("0000"));
+            assertEquals("", replayedRow.get("0001"));
+            assertEquals(i == 10, replayedRow.isDeleted());
+            assertEquals(i == 20, replayedRow.isInvalid("0000"));
+            assertSame(rowMetadata, replayedRow.getRowMetadata());
+        }
+    }
+}
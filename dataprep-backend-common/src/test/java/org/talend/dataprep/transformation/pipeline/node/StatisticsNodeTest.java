@@ -0,0 +1,78 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.dataset.StatisticsAdapter;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.TestNode;
+import org.talend.dataprep.transformation.pipeline.link.BasicLink;
+import org.talend.dataquality.common.inference.Analyzer;
+import org.talend.dataquality.common.inference.Analyzers;
+
+public class StatisticsNodeTest {
+
+    @Test
+    public void receive_should_analyze_values_on_calling_thread() throws Exception {
+        assertStatistics(0);
+    }
+
+    @Test
+    public void receive_should_analyze_values_in_background() throws Exception {
+        assertStatistics(2);
+    }
+
+    private static void assertStatistics(int queueSize) throws Exception {
+        // given
+        final StatisticsAdapter adapter = mock(StatisticsAdapter.class);
+        final Analyzer<Analyzers.Result> analyzer = mockAnalyzer();
+        final StatisticsNode node = new StatisticsNode(c -> analyzer, c -> true, adapter, queueSize);
+        final TestNode output = new TestNode();
+        node.setLink(new BasicLink(output));
+
+        // when
+        final RowMetadata metadata = new RowMetadata();
+        metadata.addColumn(column().id(0).name("col0").type(Type.STRING).build());
+        for (long i = 0; i < 1050; i++) {
+            final DataSetRow row = new DataSetRow(metadata);
+            row.setTdpId(i);
+            row.set("0000", String.valueOf(i));
+            node.receive(row, metadata);
+        }
+        assertThat(output.getReceivedRows(), hasSize(1050));
+        node.signal(Signal.END_OF_STREAM);
+
+        // then
+        final InOrder inOrder = inOrder(analyzer, adapter);
+        for (int i = 0; i < 1050; i++) {
+            inOrder.verify(analyzer).analyze(String.valueOf(i));
+        }
+        inOrder.verify(adapter).adapt(any(), any());
+        verify(analyzer, times(1)).close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Analyzer<Analyzers.Result> mockAnalyzer() {
+        return mock(Analyzer.class);
+    }
+}
@@ -0,0 +1,92 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.dataset.StatisticsAdapter;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.TestNode;
+import org.talend.dataprep.transformation.pipeline.link.BasicLink;
+import org.talend.dataquality.common.inference.Analyzer;
+import org.talend.dataquality.common.inference.Analyzers;
+
+public class TypeDetectionNodeTest {
+
+    @Test
+    public void receive_should_wait_for_end_of_stream() throws Exception {
+        // given
+        final StatisticsAdapter adapter = mock(StatisticsAdapter.class);
+        final TypeDetectionNode node = new TypeDetectionNode(c -> true, adapter, c -> mockAnalyzer());
+        final TestNode output = new TestNode();
+        node.setLink(new BasicLink(output));
+
+        // when
+        sendRows(node, 5);
+
+        // then
+        assertThat(output.getReceivedRows(), hasSize(0));
+        node.signal(Signal.END_OF_STREAM);
+        assertThat(output.getReceivedRows(), hasSize(5));
+        verify(adapter, times(1)).adapt(any(), any(), any());
+    }
+
+    @Test
+    public void receive_should_send_rows_once_sample_is_analyzed() throws Exception {
+        // given
+        final StatisticsAdapter adapter = mock(StatisticsAdapter.class);
+        final TypeDetectionNode node = new TypeDetectionNode(c -> true, adapter, c -> mockAnalyzer(),
+                TypeDetectionNode.DEFAULT_MEMORY_THRESHOLD, 2);
+        final TestNode output = new TestNode();
+        node.setLink(new BasicLink(output));
+
+        // when
+        sendRows(node, 5);
+
+        // then
+        assertThat(output.getReceivedRows(), hasSize(5));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, output.getReceivedRows().get(i).getTdpId().longValue());
+        }
+        verify(adapter, times(1)).adapt(any(), any(), any());
+        node.signal(Signal.END_OF_STREAM);
+        // Types are checked again using all rows
+        verify(adapter, times(2)).adapt(any(), any(), any());
+        assertThat(output.getReceivedRows(), hasSize(5));
+    }
+
+    private static void sendRows(TypeDetectionNode node, int count) {
+        final RowMetadata metadata = new RowMetadata();
+        metadata.addColumn(column().id(0).name("col0").type(Type.STRING).build());
+        for (long i = 0; i < count; i++) {
+            final DataSetRow row = new DataSetRow(metadata);
+            row.setTdpId(i);
+            row.set("0000", String.valueOf(i));
+            node.receive(row, metadata);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Analyzer<Analyzers.Result> mockAnalyzer() {
+        return mock(Analyzer.class);
+    }
+}
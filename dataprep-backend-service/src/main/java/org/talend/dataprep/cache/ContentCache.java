@@ -56,6 +56,9 @@ public interface ContentCache {
     /**
      * Allow callers to create an entry in cache for given <code>preparationId</code> at step <code>stepId</code>.
      * Please note content is not passed in parameters but return of this method also callers to write in entry.
+     * Implementations may only make the entry available once returned stream is closed: callers should
+     * {@link #evict(ContentCacheKey) evict} the entry before closing the stream if its content can't be completely
+     * written.
      *
      * @param key content cache key.
      * @param timeToLive The {@link TimeToLive TTL} for the new cache entry.
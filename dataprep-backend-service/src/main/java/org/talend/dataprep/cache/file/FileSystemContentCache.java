@@ -15,15 +15,18 @@ package org.talend.dataprep.cache.file;
 import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.*;
-import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.BiConsumer;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.StringUtils;
@@ -32,8 +35,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.cache.ContentCache;
 import org.talend.dataprep.cache.ContentCacheKey;
@@ -43,7 +44,37 @@ import org.talend.dataprep.metrics.Timed;
 import org.talend.dataprep.metrics.VolumeMetered;
 
 /**
+ * <p>
  * File system cache implementation.
+ * </p>
+ * <p>
+ * Entries are stored in <code>location/cache/xx/key[.expiration time]</code> where <code>xx</code> is a shard directory
+ * computed from the key (so that no directory holds all entries). Lookups use an in-memory index of the entries
+ * (key, path, expiration time and size) loaded from disk at startup and kept up to date by this cache, so they don't
+ * depend on the number of entries.
+ * </p>
+ * <p>
+ * Total size of entries may be limited (see {@link #maxSize}): once an entry is written, least recently used entries
+ * are evicted to keep total size under the limit (the new entry is never evicted, callers may read it right away).
+ * Least recently used entries read more often than the new entry (read frequencies are estimated with a
+ * {@link FrequencySketch}) are spared (at most {@link #EVICTION_WINDOW} of them), so that a large entry read once
+ * doesn't evict many frequently read ones.
+ * </p>
+ * <p>
+ * New entries are written to a temporary file (<code>key.xxx.tmp</code>) which is renamed to the entry path once the
+ * stream returned by {@link #put(ContentCacheKey, TimeToLive)} is closed: readers never see partially written entries,
+ * and an entry evicted while being written (e.g. because its computation failed) is discarded. Temporary files are
+ * only deleted at startup once they're no longer modified (see {@link #TEMP_MAX_AGE}). Lookups of an entry
+ * being written by another thread wait for the write to complete, so that concurrent requests for the same content
+ * reuse it instead of computing it again. The wait is short (at most {@link #MAX_WRITE_WAIT} ms) not to hold request
+ * threads: an entry still being written after that is a miss.
+ * </p>
+ * <p>
+ * Small and frequently read entries (e.g. step metadata or sample content) are also kept off-heap in direct
+ * {@link ByteBuffer buffers} (see {@link #memoryMaxSize}), so that they're read without any file access. An entry is
+ * promoted to memory once it's been read {@link #PROMOTION_FREQUENCY} times, and demoted (its file is still there)
+ * when memory is needed for a more frequently used entry.
+ * </p>
  */
 @Component
 @ConditionalOnProperty(name = "service.cache", havingValue = "file")
@@ -54,18 +85,132 @@ public class FileSystemContentCache implements ContentCache {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemContentCache.class);
 
+    /**
+     * Expiration time of permanent entries.
+     */
+    private static final long PERMANENT = Long.MAX_VALUE;
+
+    /**
+     * Suffix of entries being written.
+     */
+    private static final String TEMP_SUFFIX = "tmp";
+
+    /**
+     * Min time (in ms) since last modification of a temporary file before it's considered as left by an interrupted
+     * write (a write in progress, possibly by another instance sharing the cache location, keeps modifying it).
+     */
+    private static final long TEMP_MAX_AGE = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * Max time (in ms) a lookup waits for an entry being written (entry is missing if write is not complete by then).
+     */
+    private static final long MAX_WRITE_WAIT = TimeUnit.SECONDS.toMillis(2);
+
+    /**
+     * Max number of least recently used entries spared by an eviction because they're read more often than the new
+     * entry.
+     */
+    private static final int EVICTION_WINDOW = 16;
+
+    /**
+     * Min access frequency of an entry to be kept in memory.
+     */
+    private static final int PROMOTION_FREQUENCY = 4;
+
     /**
      * Where to store cache entries.
      */
     private final String location;
 
+    /**
+     * Max total size (in bytes) of entries (no limit if <= 0).
+     */
+    private final long maxSize;
+
+    /**
+     * Max total size (in bytes) of entries kept in memory (no memory tier if <= 0).
+     */
+    private final long memoryMaxSize;
+
+    /**
+     * Max size (in bytes) of an entry kept in memory.
+     */
+    private final long memoryEntryMaxSize;
+
+    /**
+     * The live entries of this cache, indexed by key.
+     */
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The live entries of this cache, from least to most recently used (guarded by itself), so that eviction does not
+     * need to sort entries.
+     */
+    private final LinkedHashMap<String, Entry> recency = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The entries being written (not yet in {@link #entries}).
+     */
+    private final Set<Write> writes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Recent read frequency of keys (including keys not in cache), counters are halved every 16k reads.
+     */
+    private final FrequencySketch frequencies = new FrequencySketch(1 << 16, 1 << 14);
+
+    /**
+     * Total size (in bytes) of entries (guarded by <code>this</code>).
+     */
+    private long size;
+
+    /**
+     * Total size (in bytes) of entries kept in memory (guarded by <code>this</code>).
+     */
+    private long memorySize;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Constructor for a cache with no size limit.
+     *
+     * @param location where to store cache entries.
+     */
+    public FileSystemContentCache(String location) {
+        this(location, -1);
+    }
+
+    /**
+     * Constructor for a cache with no memory tier.
+     *
+     * @param location where to store cache entries.
+     * @param maxSize max total size (in bytes) of entries (no limit if <= 0).
+     */
+    public FileSystemContentCache(String location, long maxSize) {
+        this(location, maxSize, 0, 0);
+    }
+
     /**
      * Default constructor.
      *
      * @param location where to store cache entries.
+     * @param maxSize max total size (in bytes) of entries (no limit if <= 0).
+     * @param memoryMaxSize max total size (in bytes) of entries kept in memory (no memory tier if <= 0).
+     * @param memoryEntryMaxSize max size (in bytes) of an entry kept in memory.
      */
     @Autowired
-    public FileSystemContentCache(@Value("${service.cache.file.location}") String location) {
+    public FileSystemContentCache(@Value("${service.cache.file.location}") String location,
+            @Value("${service.cache.file.max.size:-1}") long maxSize,
+            @Value("${service.cache.file.memory.size:0}") long memoryMaxSize,
+            @Value("${service.cache.file.memory.entry.max.size:8388608}") long memoryEntryMaxSize) {
+        this.maxSize = maxSize;
+        this.memoryMaxSize = memoryMaxSize;
+        this.memoryEntryMaxSize = Math.min(memoryEntryMaxSize, Integer.MAX_VALUE);
         if (!location.endsWith("/")) {
             location += "/";
         }
@@ -78,108 +223,414 @@ public class FileSystemContentCache implements ContentCache {
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
+        loadEntries();
+        synchronized (this) {
+            enforceMaxSize(null, null);
+        }
     }
 
     /**
-     * Checks if the timeToLive (TTL) of a cache entry is ok for the cache entry.
+     * Checks if the expiration time of a cache entry is ok for the cache entry.
      *
-     * @param timeToLive The TTL of the cache entry.
-     * @return <code>true</code> is TTL is greater than current time (+ {@link #EVICTION_PERIOD}), <code>false</code>
-     * otherwise (or if time to live is not a number).
+     * @param expiration The expiration time of the cache entry.
+     * @return <code>true</code> is expiration time is greater than current time (+ {@link #EVICTION_PERIOD}),
+     * <code>false</code> otherwise.
      */
-    private static boolean isLiveEntry(String timeToLive) {
-        // deal with permanent content
-        if (StringUtils.isBlank(timeToLive)) {
+    private static boolean isLiveEntry(long expiration) {
+        return expiration == PERMANENT || expiration > System.currentTimeMillis() + EVICTION_PERIOD;
+    }
+
+    /**
+     * @param timeToLive The {@link TimeToLive TTL} of a new entry (<code>null</code> allowed).
+     * @return The expiration time of the new entry.
+     */
+    private static long getExpiration(TimeToLive timeToLive) {
+        if (timeToLive == null || timeToLive.getTime() <= 0) {
+            return PERMANENT;
+        }
+        return System.currentTimeMillis() + timeToLive.getTime();
+    }
+
+    /**
+     * Compute the path for the given key.
+     *
+     * @param key the cache key entry.
+     * @param expiration the expiration time of the entry.
+     * @return the path for the entry key.
+     */
+    private Path computeEntryPath(String key, long expiration) {
+        // 256 shards, named after the lower bits of key's hash code
+        final String shard = Integer.toHexString((key.hashCode() & 0xFF) | 0x100).substring(1);
+        String path = location + shard + '/' + key;
+        if (expiration != PERMANENT) {
+            path += '.' + String.valueOf(expiration);
+        }
+        final Path result = Paths.get(path);
+        LOGGER.trace("path entry for {} is {}", key, result);
+        return result;
+    }
+
+    /**
+     * Loads live entries from disk (entries written in a previous run are still available).
+     */
+    private void loadEntries() {
+        final Path root = Paths.get(location);
+        if (!root.toFile().exists()) {
+            return;
+        }
+        try {
+            Files.walkFileTree(root, new FileSystemVisitor((file, suffix) -> {
+                final String fileName = file.getFileName().toString();
+                if (TEMP_SUFFIX.equals(suffix)) {
+                    if (file.toFile().lastModified() < System.currentTimeMillis() - TEMP_MAX_AGE) {
+                        // left by an interrupted write
+                        FileUtils.deleteQuietly(file.toFile());
+                    }
+                    return;
+                }
+                final String key;
+                final long expiration;
+                if (StringUtils.isEmpty(suffix)) {
+                    key = fileName;
+                    expiration = PERMANENT;
+                } else {
+                    try {
+                        expiration = Long.parseLong(suffix);
+                    } catch (NumberFormatException e) {
+                        LOGGER.debug("Ignore file '{}'", file);
+                        return;
+                    }
+                    key = StringUtils.substringBeforeLast(fileName, ".");
+                }
+                if (isLiveEntry(expiration)) {
+                    final Entry entry = new Entry(file, expiration, file.toFile().length());
+                    entry.lastAccess = file.toFile().lastModified();
+                    entries.merge(key, entry, (e1, e2) -> e1.expiration >= e2.expiration ? e1 : e2);
+                }
+            }, false));
+            synchronized (this) {
+                size = entries.values().stream().mapToLong(e -> e.size).sum();
+                synchronized (recency) {
+                    entries.entrySet().stream() //
+                            .sorted(Comparator.comparingLong(
+                                    (Map.Entry<String, Entry> e) -> e.getValue().lastAccess)) //
+                            .forEach(e -> recency.put(e.getKey(), e.getValue()));
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("Unable to load cache entries.", e);
+        }
+        LOGGER.info("{} cache entries ({} bytes) loaded from '{}'.", entries.size(), size, location);
+    }
+
+    /**
+     * Waits (at most {@link #MAX_WRITE_WAIT} ms) for the completion of entries being written for <code>key</code> (by
+     * other threads).
+     *
+     * @param key the cache key entry.
+     */
+    private void awaitWrites(ContentCacheKey key) {
+        final long deadline = System.currentTimeMillis() + MAX_WRITE_WAIT;
+        for (Write write : writes) {
+            if (!write.key.equals(key.getKey()) || write.owner == Thread.currentThread()) {
+                continue;
+            }
+            LOGGER.debug("[{}] Wait for cache entry being written.", key);
+            try {
+                final long wait = deadline - System.currentTimeMillis();
+                if (wait <= 0 || !write.done.await(wait, TimeUnit.MILLISECONDS)) {
+                    LOGGER.debug("[{}] Cache entry still being written, ignored.", key);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param key the cache key entry.
+     * @return The live entry for <code>key</code> or <code>null</code> if there's none.
+     */
+    private Entry findEntry(ContentCacheKey key) {
+        final Entry entry = entries.get(key.getKey());
+        if (entry == null) {
+            return null;
+        }
+        // 0 if file was deleted (e.g. evicted by another instance sharing the cache location)
+        final long modified = entry.path.toFile().lastModified();
+        if (!isLiveEntry(entry.expiration) || modified == 0L) {
+            // expired (or deleted) entry, file is left to the janitor
+            removeEntry(key.getKey(), entry);
+            return null;
+        }
+        if (entry.content != null && entry.contentModified != modified) {
+            // file was written again since it was promoted, memory copy is stale
+            synchronized (this) {
+                demote(entry);
+            }
+        }
+        entry.lastAccess = System.currentTimeMillis();
+        synchronized (recency) {
+            recency.get(key.getKey());
+        }
+        LOGGER.debug("cache entry for #{} is {}", key, entry.path);
+        return entry;
+    }
+
+    /**
+     * Adds an entry to the index, the entry it replaces (if any) is evicted.
+     */
+    private synchronized void addEntry(String key, Entry entry) {
+        final Entry previous = entries.put(key, entry);
+        synchronized (recency) {
+            recency.put(key, entry);
+        }
+        if (previous != null) {
+            size -= previous.size;
+            demote(previous);
+            if (!previous.path.equals(entry.path)) {
+                markAsEvicted(previous.path);
+            }
+        }
+        size += entry.size;
+        if (entry.content != null) {
+            memorySize += entry.size;
+        }
+    }
+
+    /**
+     * Removes an entry from the index (file is left untouched).
+     *
+     * @return <code>true</code> if entry was removed, <code>false</code> if <code>key</code> is no longer associated
+     * to <code>entry</code>.
+     */
+    private synchronized boolean removeEntry(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            synchronized (recency) {
+                recency.remove(key, entry);
+            }
+            size -= entry.size;
+            demote(entry);
             return true;
         }
+        return false;
+    }
 
+    /**
+     * Releases memory copy of an entry (if any), must be called while holding <code>this</code> lock.
+     */
+    private void demote(Entry entry) {
+        if (entry.content != null) {
+            entry.content = null;
+            memorySize -= entry.size;
+        }
+    }
+
+    /**
+     * Reads an entry from disk and keeps it in memory if it's small and used enough, and if there's enough memory
+     * (less used entries are demoted if needed). Memory is reserved before the entry is read, so that no memory is
+     * allocated when the entry can't be kept in memory.
+     *
+     * @return The content of the entry, or <code>null</code> if entry can't be kept in memory.
+     */
+    private InputStream promote(String key, Entry entry) throws IOException {
+        if (memoryMaxSize <= 0 || entry.size > memoryEntryMaxSize || entry.size > memoryMaxSize
+                || frequencies.frequency(key) < PROMOTION_FREQUENCY) {
+            return null;
+        }
+        synchronized (this) {
+            if (entries.get(key) != entry || entry.content != null || entry.promoting || !makeRoom(key, entry.size)) {
+                return null;
+            }
+            entry.promoting = true;
+            memorySize += entry.size;
+        }
+        ByteBuffer content = null;
         try {
-            return Long.parseLong(timeToLive) > (System.currentTimeMillis() + EVICTION_PERIOD);
-        } catch (NumberFormatException e) {
-            LOGGER.debug("Invalid time to live '{}', consider entry as invalid.", timeToLive, e);
+            final long modified = entry.path.toFile().lastModified();
+            final ByteBuffer buffer = ByteBuffer.allocateDirect((int) entry.size);
+            try (FileChannel channel = FileChannel.open(entry.path)) {
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // read until buffer is full
+                }
+            }
+            // content is not kept if file was modified while read
+            if (!buffer.hasRemaining() && modified == entry.path.toFile().lastModified()) {
+                buffer.flip();
+                content = buffer;
+            }
+            synchronized (this) {
+                entry.promoting = false;
+                if (content != null && entries.get(key) == entry) {
+                    entry.contentModified = modified;
+                    entry.content = content.asReadOnlyBuffer();
+                    LOGGER.debug("[{}] Cache entry promoted to memory ({} bytes).", key, entry.size);
+                } else {
+                    memorySize -= entry.size;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                entry.promoting = false;
+                memorySize -= entry.size;
+            }
+            throw e;
+        }
+        return content == null ? null : new ByteBufferInputStream(content.asReadOnlyBuffer());
+    }
+
+    /**
+     * Demotes least used entries from memory so that <code>needed</code> bytes fit in memory, unless they are used
+     * more than the entry to promote.
+     *
+     * @return <code>true</code> if there's room for <code>needed</code> bytes.
+     */
+    private boolean makeRoom(String candidateKey, long needed) {
+        long excess = memorySize + needed - memoryMaxSize;
+        if (excess <= 0) {
+            return true;
+        }
+        final int frequency = frequencies.frequency(candidateKey);
+        final List<Entry> victims = new ArrayList<>();
+        final List<Map.Entry<String, Entry>> leastUsed = entries.entrySet().stream() //
+                .filter(e -> e.getValue().content != null) //
+                .sorted(Comparator.comparingInt((Map.Entry<String, Entry> e) -> frequencies.frequency(e.getKey())) //
+                        .thenComparingLong(e -> e.getValue().lastAccess)) //
+                .collect(Collectors.toList());
+        for (Map.Entry<String, Entry> victim : leastUsed) {
+            if (excess <= 0) {
+                break;
+            }
+            if (frequencies.frequency(victim.getKey()) > frequency) {
+                return false;
+            }
+            victims.add(victim.getValue());
+            excess -= victim.getValue().size;
+        }
+        if (excess > 0) {
             return false;
         }
+        victims.forEach(this::demote);
+        return true;
     }
 
     /**
-     * Compute the path for the given key.
+     * Makes a written entry available (unless it was aborted), and evicts entries if needed.
      *
-     * @param key the cache key entry.
-     * @param timeToLive an optional time to live when performing content cache lookup (<code>null</code> allowed).
-     * @return the HDFS path for the entry key.
-     */
-    private Path computeEntryPath(ContentCacheKey key, TimeToLive timeToLive) {
-        String path = location + key.getKey();
-        if (timeToLive != null) {
-            if (timeToLive.getTime() > 0) {
-                path += '.' + String.valueOf(System.currentTimeMillis() + timeToLive.getTime());
-            } else {
-                // Leave path as it is (don't add timestamp).
+     * @param write The entry written.
+     * @param path The path of the entry.
+     * @param expiration The expiration time of the entry.
+     */
+    private void publish(Write write, Path path, long expiration) {
+        try {
+            synchronized (this) {
+                if (write.aborted) {
+                    LOGGER.debug("[{}] Cache entry aborted.", write.key);
+                    Files.deleteIfExists(write.temp);
+                    return;
+                }
+                final Entry entry = new Entry(path, expiration, Files.size(write.temp));
+                Files.move(write.temp, path, REPLACE_EXISTING, ATOMIC_MOVE);
+                addEntry(write.key, entry);
+                enforceMaxSize(write.key, entry);
+                LOGGER.debug("[{}] Cache entry published ({} bytes).", write.key, entry.size);
             }
+        } catch (IOException e) {
+            LOGGER.error("Unable to publish cache entry {}.", write.key, e);
+            FileUtils.deleteQuietly(write.temp.toFile());
+        } finally {
+            writes.remove(write);
+            write.done.countDown();
         }
-        final Path result = Paths.get(path);
-        LOGGER.trace("path entry for {} is {}", key.getKey(), result);
-        return result;
     }
 
-    private Path findEntry(ContentCacheKey key) {
-        final Path path = computeEntryPath(key, null);
-        final File[] files = path.getParent().toFile().listFiles();
-        if (files != null) {
-            for (File file : files) {
-                if (!StringUtils.startsWith(file.getName(), key.getKey())) {
-                    LOGGER.trace("file {} does not match key {}", file.getName(), key.getKey());
+    /**
+     * Evicts least recently used entries until total size is under {@link #maxSize}, must be called while holding
+     * <code>this</code> lock. <code>candidate</code> (the entry just written) is never evicted, and least recently used
+     * entries read more often than <code>candidate</code> are spared (at most {@link #EVICTION_WINDOW} of them).
+     *
+     * @param candidateKey The key of the new entry (<code>null</code> allowed).
+     * @param candidate The new entry (<code>null</code> allowed).
+     */
+    private void enforceMaxSize(String candidateKey, Entry candidate) {
+        if (maxSize <= 0 || size <= maxSize) {
+            return;
+        }
+        final int frequency = candidateKey == null ? Integer.MAX_VALUE : frequencies.frequency(candidateKey);
+        final List<Map.Entry<String, Entry>> victims = new ArrayList<>();
+        long excess = size - maxSize;
+        synchronized (recency) {
+            final List<Map.Entry<String, Entry>> spared = new ArrayList<>();
+            final Iterator<Map.Entry<String, Entry>> leastRecentlyUsed = recency.entrySet().iterator();
+            while (excess > 0 && leastRecentlyUsed.hasNext()) {
+                final Map.Entry<String, Entry> victim = leastRecentlyUsed.next();
+                if (victim.getValue() == candidate) {
                     continue;
                 }
-                if (Paths.get(file.toURI()).equals(path.toAbsolutePath())) {
-                    LOGGER.debug("cache entry for #{} is {}", key, file.toPath());
-                    return file.toPath();
-                }
-                final String suffix = StringUtils.substringAfterLast(file.getName(), ".");
-                if (isLiveEntry(suffix)) {
-                    LOGGER.debug("cache entry for #{} is {}", key, file.toPath());
-                    return file.toPath();
+                if (spared.size() < EVICTION_WINDOW && frequencies.frequency(victim.getKey()) > frequency) {
+                    spared.add(victim);
+                    continue;
                 }
+                victims.add(victim);
+                excess -= victim.getValue().size;
+            }
+            for (Iterator<Map.Entry<String, Entry>> iterator = spared.iterator(); excess > 0 && iterator.hasNext();) {
+                final Map.Entry<String, Entry> victim = iterator.next();
+                victims.add(victim);
+                excess -= victim.getValue().size;
+            }
+        }
+        for (Map.Entry<String, Entry> victim : victims) {
+            if (removeEntry(victim.getKey(), victim.getValue())) {
+                LOGGER.debug("[{}] Cache entry evicted ({} bytes).", victim.getKey(), victim.getValue().size);
+                markAsEvicted(victim.getValue().path);
+                evictions.incrementAndGet();
             }
         }
-        LOGGER.debug("No cache for entry #{}", key);
-        return null;
     }
 
     @Override
     @Timed
     public boolean has(ContentCacheKey key) {
-        final Path path = computeEntryPath(key, null);
-        final File[] files = path.getParent().toFile().listFiles();
-        if (files != null) {
-            for (File file : files) {
-                final String fileName = file.getName();
-                // first check the key...
-                final String prefix = StringUtils.substringBeforeLast(fileName, ".");
-                if (StringUtils.equals(prefix, key.getKey())) {
-                    // ...then the TTL
-                    final String suffix = StringUtils.substringAfterLast(fileName, ".");
-                    if (isLiveEntry(suffix)) {
-                        LOGGER.debug("[{}] Cache hit --> {}", key, fileName);
-                        return true;
-                    }
-                }
-            }
+        awaitWrites(key);
+        if (findEntry(key) != null) {
+            LOGGER.debug("[{}] Cache hit.", key);
+            hits.incrementAndGet();
+            return true;
         }
         LOGGER.debug("[{}] Cache miss.", key);
+        misses.incrementAndGet();
         return false;
     }
 
     @Override
     @VolumeMetered
     public InputStream get(ContentCacheKey key) {
-        final Path path = findEntry(key);
-        if (path == null) {
+        frequencies.increment(key.getKey());
+        awaitWrites(key);
+        final Entry entry = findEntry(key);
+        if (entry == null) {
             LOGGER.debug("No cache for entry #{}", key);
+            misses.incrementAndGet();
             return null;
         }
+        final ByteBuffer memoryContent = entry.content;
+        if (memoryContent != null) {
+            hits.incrementAndGet();
+            memoryHits.incrementAndGet();
+            return new ByteBufferInputStream(memoryContent.duplicate());
+        }
         try {
-            return Files.newInputStream(path);
+            final InputStream promoted = promote(key.getKey(), entry);
+            final InputStream content = promoted != null ? promoted : Files.newInputStream(entry.path);
+            hits.incrementAndGet();
+            return content;
+        } catch (NoSuchFileException e) {
+            LOGGER.debug("Cache entry #{} was deleted.", key, e);
+            removeEntry(key.getKey(), entry);
+            misses.incrementAndGet();
+            return null;
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
@@ -189,16 +640,49 @@ public class FileSystemContentCache implements ContentCache {
     @VolumeMetered
     public OutputStream put(ContentCacheKey key, TimeToLive timeToLive) {
         try {
-            final Path path = computeEntryPath(key, timeToLive);
-            if (!path.toFile().exists()) {
-                try {
-                    FileUtils.touch(path.toFile());
-                } catch (IOException e) {
-                    LOGGER.error("{} Unable to create cache.", key, e);
-                }
-            }
+            final long expiration = getExpiration(timeToLive);
+            final Path path = computeEntryPath(key.getKey(), expiration);
+            Files.createDirectories(path.getParent());
+            final Write write = new Write(key.getKey(),
+                    Files.createTempFile(path.getParent(), key.getKey() + '.', '.' + TEMP_SUFFIX));
+            final OutputStream output = Files.newOutputStream(write.temp);
+            writes.add(write);
             LOGGER.debug("{} Cache add.", key);
-            return Files.newOutputStream(path);
+            return new FilterOutputStream(output) {
+
+                private boolean closed;
+
+                @Override
+                public void write(int b) throws IOException {
+                    write(new byte[] { (byte) b }, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    try {
+                        out.write(b, off, len);
+                    } catch (IOException e) {
+                        write.aborted = true;
+                        throw e;
+                    }
+                }
+
+                @Override
+                public void close() throws IOException {
+                    if (closed) {
+                        return;
+                    }
+                    closed = true;
+                    try {
+                        super.close();
+                    } catch (IOException e) {
+                        write.aborted = true;
+                        throw e;
+                    } finally {
+                        publish(write, path, expiration);
+                    }
+                }
+            };
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
@@ -207,45 +691,44 @@ public class FileSystemContentCache implements ContentCache {
     @Override
     @Timed
     public void evict(ContentCacheKey key) {
-
-        final Path path = computeEntryPath(key, null);
-        final Path parent = path.getParent();
-
-        // defensive programming
-        if (!parent.toFile().exists()) {
-            return;
-        }
-        try {
-            final String keyStr = key.getKey();
-            final BiConsumer<Path, String> evictKey = getEvictionConsumer((entryKey) -> StringUtils.startsWith(entryKey, keyStr));
-            final boolean skipPermanentEntries = false;
-            Files.walkFileTree(Paths.get(location), new FileSystemVisitor(evictKey, skipPermanentEntries));
-        } catch (IOException e) {
-            LOGGER.error("Unable to evict.", e);
-        }
+        final String keyStr = key.getKey();
+        evict(entryKey -> StringUtils.startsWith(entryKey, keyStr));
         LOGGER.debug("[{}] Evict.", key);
     }
 
     @Override
     @Timed
     public void evictMatch(ContentCacheKey key) {
-        final Path path = computeEntryPath(key, null);
-        final Path parent = path.getParent();
+        evict(key.getMatcher());
+        LOGGER.debug("[{}] Evict Match.", key);
+    }
 
-        // defensive programming
-        if (!parent.toFile().exists()) {
-            return;
+    /**
+     * Evicts all entries whose key matches <code>keyMatcher</code>.
+     */
+    private void evict(Predicate<String> keyMatcher) {
+        synchronized (this) {
+            writes.stream().filter(write -> keyMatcher.test(write.key)).forEach(write -> write.aborted = true);
+        }
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (keyMatcher.test(entry.getKey()) && removeEntry(entry.getKey(), entry.getValue())) {
+                markAsEvicted(entry.getValue().path);
+            }
         }
+    }
 
+    /**
+     * Renames an entry's file so that it's no longer loaded and is deleted by the janitor.
+     */
+    private static void markAsEvicted(Path path) {
         try {
-            final Predicate<String> matchKey = key.getMatcher();
-            final BiConsumer<Path, String> evictKey = getEvictionConsumer(matchKey);
-            final boolean skipPermanentEntries = false;
-            Files.walkFileTree(Paths.get(location), new FileSystemVisitor(evictKey, skipPermanentEntries));
+            final Path evictedFile = Paths.get(path.toAbsolutePath().toString() + ".0");
+            Files.move(path, evictedFile, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            LOGGER.debug("Ignored evict issue for '{}'.", path.getFileName(), e);
         } catch (IOException e) {
-            LOGGER.error("Unable to evict.", e);
+            LOGGER.error("Unable to evict {}.", path.getFileName(), e);
         }
-        LOGGER.debug("[{}] Evict Match.", key);
     }
 
     @Override
@@ -255,13 +738,21 @@ public class FileSystemContentCache implements ContentCache {
             return; // Move to itself -> no op.
         }
         try {
-            final Path fromPath = findEntry(from);
-            if (fromPath == null) {
+            final Entry fromEntry = findEntry(from);
+            if (fromEntry == null) {
                 LOGGER.warn("Cache entry '{}' cannot be found to be moved.", from.getKey());
                 return;
             }
-            final Path toPath = computeEntryPath(to, toTimeToLive);
-            Files.move(fromPath, toPath, REPLACE_EXISTING, ATOMIC_MOVE);
+            final long expiration = getExpiration(toTimeToLive);
+            final Path toPath = computeEntryPath(to.getKey(), expiration);
+            Files.createDirectories(toPath.getParent());
+            Files.move(fromEntry.path, toPath, REPLACE_EXISTING, ATOMIC_MOVE);
+            final Entry toEntry = new Entry(toPath, expiration, fromEntry.size);
+            toEntry.lastAccess = fromEntry.lastAccess;
+            toEntry.contentModified = fromEntry.contentModified;
+            toEntry.content = fromEntry.content;
+            removeEntry(from.getKey(), fromEntry);
+            addEntry(to.getKey(), toEntry);
             evict(from);
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
@@ -271,6 +762,16 @@ public class FileSystemContentCache implements ContentCache {
     @Override
     @Timed
     public void clear() {
+        synchronized (this) {
+            writes.forEach(write -> write.aborted = true);
+            entries.values().forEach(entry -> entry.content = null);
+            entries.clear();
+            synchronized (recency) {
+                recency.clear();
+            }
+            size = 0;
+            memorySize = 0;
+        }
         try {
             FileUtils.deleteDirectory(Paths.get(location).toFile());
         } catch (IOException e) {
@@ -278,18 +779,147 @@ public class FileSystemContentCache implements ContentCache {
         }
     }
 
+    /**
+     * @return Total size (in bytes) of cache entries.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * @return Number of lookups ({@link #has(ContentCacheKey)} and {@link #get(ContentCacheKey)}) that found an entry.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
 
-    private BiConsumer<Path, String> getEvictionConsumer(final Predicate<String> keyMatcher) {
-        return (file, suffix) -> {
-            try {
-                if (keyMatcher.test(file.getFileName().toString())) {
-                    final Path evictedFile = Paths.get(file.toAbsolutePath().toString() + ".0");
-                    Files.move(file, evictedFile, REPLACE_EXISTING, ATOMIC_MOVE);
-                }
-            } catch (IOException e) {
-                LOGGER.error("Unable to evict {}.", file.getFileName(), e);
+    /**
+     * @return Total size (in bytes) of cache entries kept in memory.
+     */
+    public synchronized long getMemorySize() {
+        return memorySize;
+    }
+
+    /**
+     * @return Number of {@link #get(ContentCacheKey)} served from memory.
+     */
+    public long getMemoryHitCount() {
+        return memoryHits.get();
+    }
+
+    /**
+     * @return Number of lookups ({@link #has(ContentCacheKey)} and {@link #get(ContentCacheKey)}) that found no entry.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return Number of entries evicted to keep total size under the max size.
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * An entry of the cache.
+     */
+    private static class Entry {
+
+        /** Where entry's content is stored. */
+        private final Path path;
+
+        /** Expiration time of the entry ({@link #PERMANENT} for permanent entries). */
+        private final long expiration;
+
+        /** Size (in bytes) of entry's content. */
+        private final long size;
+
+        /** Last time entry was read or written. */
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        /** Entry's content if entry is kept in memory (read only), <code>null</code> otherwise. */
+        private volatile ByteBuffer content;
+
+        /** Last modification time of entry's file when {@link #content} was read. */
+        private volatile long contentModified;
+
+        /** <code>true</code> while entry is read to be kept in memory (guarded by the cache lock). */
+        private boolean promoting;
+
+        private Entry(Path path, long expiration, long size) {
+            this.path = path;
+            this.expiration = expiration;
+            this.size = size;
+        }
+    }
+
+    /**
+     * An {@link InputStream} over the remaining bytes of a {@link ByteBuffer}.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
             }
-        };
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int length = Math.min(len, buffer.remaining());
+            buffer.get(b, off, length);
+            return length;
+        }
+
+        @Override
+        public long skip(long n) {
+            final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * An entry being written.
+     */
+    private static class Write {
+
+        /** The key of the entry. */
+        private final String key;
+
+        /** Where entry's content is written until published. */
+        private final Path temp;
+
+        /** The thread that writes the entry (it does not wait for its own writes). */
+        private final Thread owner = Thread.currentThread();
+
+        /** Released once entry is published or aborted. */
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        /** <code>true</code> if entry must not be published (evicted or failed while being written). */
+        private volatile boolean aborted;
+
+        private Write(String key, Path temp) {
+            this.key = key;
+            this.temp = temp;
+        }
     }
 
 }
@@ -0,0 +1,97 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.file;
+
+/**
+ * <p>
+ * Approximate access frequency of cache keys (a count-min sketch of 4-bit counters, as used by TinyLFU admission
+ * policies). Memory used does not depend on the number of keys, frequencies may be over estimated in case of hash
+ * collisions.
+ * </p>
+ * <p>
+ * All counters are halved once the number of recorded accesses reaches the sample size, so that frequencies reflect
+ * recent usage (and keys no longer used don't keep high frequencies).
+ * </p>
+ */
+class FrequencySketch {
+
+    /** Max value of a counter. */
+    private static final int MAX_COUNT = 15;
+
+    /** One seed per row of counters. */
+    private static final int[] SEEDS = { 0x97CB3127, 0xB47A4A4F, 0x5C6D5E43, 0x3F9A1B87 };
+
+    private final byte[][] counters;
+
+    private final int mask;
+
+    private final int sampleSize;
+
+    private int additions;
+
+    /**
+     * @param width Number of counters per row (rounded up to a power of 2).
+     * @param sampleSize Number of recorded accesses after which all counters are halved.
+     */
+    FrequencySketch(int width, int sampleSize) {
+        final int size = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        counters = new byte[SEEDS.length][size];
+        mask = size - 1;
+        this.sampleSize = Math.max(1, sampleSize);
+    }
+
+    /**
+     * Records an access to <code>key</code>.
+     */
+    synchronized void increment(String key) {
+        final int hash = key.hashCode();
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            final int index = index(hash, i);
+            if (counters[i][index] < MAX_COUNT) {
+                counters[i][index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * @return The estimated number of recent accesses to <code>key</code>.
+     */
+    synchronized int frequency(String key) {
+        final int hash = key.hashCode();
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            frequency = Math.min(frequency, counters[i][index(hash, i)]);
+        }
+        return frequency;
+    }
+
+    private void reset() {
+        for (byte[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>= 1;
+            }
+        }
+        additions /= 2;
+    }
+
+    private int index(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * 0x9E3779B1;
+        h ^= h >>> 16;
+        return h & mask;
+    }
+}
@@ -46,6 +46,12 @@ public class DataSetGet extends GenericCommand<InputStream> {
 
     private final boolean includeInternalContent;
 
+    /** Tdp id of the first row to get. */
+    private final long fromTdpId;
+
+    /** Max number of rows to get (-1 for all rows). */
+    private final long count;
+
     @Autowired
     private DataSetContentLimit limit;
 
@@ -55,10 +61,24 @@ public class DataSetGet extends GenericCommand<InputStream> {
      * @param dataSetId the requested dataset id.
      */
     public DataSetGet(final String dataSetId, final boolean fullContent, final boolean includeInternalContent) {
+        this(dataSetId, fullContent, includeInternalContent, 1, -1);
+    }
+
+    /**
+     * Constructor to get a range of the dataset rows. Range is ignored when dataset sample is returned.
+     *
+     * @param dataSetId the requested dataset id.
+     * @param fromTdpId the tdp id of the first row to get.
+     * @param count the max number of rows to get (-1 for all rows).
+     */
+    public DataSetGet(final String dataSetId, final boolean fullContent, final boolean includeInternalContent,
+            final long fromTdpId, final long count) {
         super(DATASET_GROUP);
         this.fullContent = fullContent;
         this.dataSetId = dataSetId;
         this.includeInternalContent = includeInternalContent;
+        this.fromTdpId = fromTdpId;
+        this.count = count;
 
         on(HttpStatus.NOT_FOUND).then((req, res) -> {
             throw new TDPException(DATASET_DOES_NOT_EXIST, build().put("id", dataSetId));
@@ -79,7 +99,10 @@ public class DataSetGet extends GenericCommand<InputStream> {
 
     private void configureLimitedDataset(final String dataSetId) {
         execute(() -> {
-            final String url = datasetServiceUrl + "/datasets/" + dataSetId + "/content?metadata=true&includeInternalContent=" + includeInternalContent;
+            String url = datasetServiceUrl + "/datasets/" + dataSetId + "/content?metadata=true&includeInternalContent=" + includeInternalContent;
+            if (fromTdpId > 1 || count >= 0) {
+                url += "&from=" + fromTdpId + "&count=" + count;
+            }
             return new HttpGet(url);
         });
     }
@@ -39,6 +39,10 @@ public class Analyzers implements DisposableBean {
     @Value("#{'${semantic.threshold:40}'}")
     private int semanticThreshold;
 
+    /** Number of worker threads used to compute statistics (1 to compute statistics on calling thread). */
+    @Value("${statistics.parallelism:1}")
+    private int statisticsParallelism;
+
     @Bean
     public StatisticsAdapter statisticsAdapter() {
         return new StatisticsAdapter(semanticThreshold);
@@ -47,9 +51,11 @@ public class Analyzers implements DisposableBean {
     @Bean
     public AnalyzerService analyzerService() {
         LOGGER.info("Data Quality strategy is {} and located in {}", luceneIndexStrategy, dataqualityIndexesLocation);
-        return new AnalyzerService(dataqualityIndexesLocation, //
+        final AnalyzerService analyzerService = new AnalyzerService(dataqualityIndexesLocation, //
                 luceneIndexStrategy, //
                 CategoryRecognizerBuilder.newBuilder().lucene());
+        analyzerService.setParallelism(statisticsParallelism);
+        return analyzerService;
     }
 
     @Override
@@ -62,6 +62,14 @@ public class TaskExecution {
         return getAsyncExecutor();
     }
 
+    /**
+     * @return A {@link TaskExecutor} for background conversions of data set content.
+     */
+    @Bean(name = "dataset#content#executor")
+    TaskExecutor getDataSetContentTaskExecutor() {
+        return getAsyncExecutor();
+    }
+
     /**
      * @return an Authenticated task executor ready to run.
      */
@@ -16,6 +16,7 @@ package org.talend.dataprep.dataset.store.content;
 import java.io.InputStream;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -31,6 +32,7 @@ import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
 import org.talend.dataprep.quality.AnalyzerService;
 import org.talend.dataprep.schema.FormatFamilyFactory;
+import org.talend.dataprep.schema.RowSource;
 import org.talend.dataprep.schema.Serializer;
 import org.talend.dataquality.common.inference.Analyzer;
 import org.talend.dataquality.common.inference.Analyzers;
@@ -121,7 +123,7 @@ public abstract class DataSetContentStore {
 
     /**
      * Similarly to {@link #get(DataSetMetadata)} returns the content of the data set but as a {@link Stream stream} of
-     * {@link DataSetRow rows} instead of JSON content.
+     * {@link DataSetRow rows} instead of JSON content. Rows are read using {@link #rows(DataSetMetadata, long, long)}.
      *
      * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
      * @param limit A limit to pass to raw content supplier (use -1 for "no limit). Used as parameter to call
@@ -129,33 +131,135 @@ public abstract class DataSetContentStore {
      * @return A valid <b>{@link DataSetRow}</b> stream.
      */
     public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit) {
+        return stream(dataSetMetadata, rows(dataSetMetadata, 0, limit), 1);
+    }
+
+    /**
+     * Returns a range of the data set rows: <code>count</code> rows starting at row with tdp id <code>fromTdpId</code>.
+     * Implementations that keep an index of rows (see {@link #rows(DataSetMetadata, long, long)}) do not read rows before
+     * <code>fromTdpId</code>.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param fromTdpId The tdp id of the first row to return (first row of the data set has tdp id 1).
+     * @param count The max number of rows to return (use -1 for "no limit").
+     * @return A valid <b>{@link DataSetRow}</b> stream.
+     */
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long fromTdpId, long count) {
+        final long firstTdpId = Math.max(1, fromTdpId);
+        return stream(dataSetMetadata, rows(dataSetMetadata, firstTdpId - 1, count), firstTdpId);
+    }
+
+    /**
+     * Returns the rows of the data set for analysis purposes. Same as calling {@link #rows(DataSetMetadata, long)} with
+     * limit = sample size.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @return The rows of the data set with their tdp id.
+     * @see #rows(DataSetMetadata, long)
+     */
+    public Stream<DataSetRow> rows(DataSetMetadata dataSetMetadata) {
+        return rows(dataSetMetadata, sampleSize);
+    }
+
+    /**
+     * Returns the rows of the data set for analysis purposes: unlike {@link #stream(DataSetMetadata, long)}, rows are not
+     * analyzed for invalid values (no invalid markers), hence callers that compute their own statistics don't pay for an
+     * extra quality analysis.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param limit A limit for the number of rows (use -1 for "no limit").
+     * @return The rows of the data set with their tdp id, the same {@link DataSetRow} instance may be used for all rows.
+     */
+    public Stream<DataSetRow> rows(DataSetMetadata dataSetMetadata, long limit) {
+        final AtomicLong tdpId = new AtomicLong(1);
+        return rows(dataSetMetadata, 0, limit).map(r -> {
+            r.setTdpId(tdpId.getAndIncrement());
+            return r;
+        });
+    }
+
+    // Adds invalid markers and tdp ids (starting at firstTdpId) to rows
+    private Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, Stream<DataSetRow> rows, long firstTdpId) {
+        AtomicLong tdpId = new AtomicLong(firstTdpId);
+        return rows.map(invalidMarker(dataSetMetadata, firstTdpId - 1)) //
+                .map(r -> { //
+                    r.setTdpId(tdpId.getAndIncrement());
+                    return r;
+                });
+    }
+
+    /**
+     * Returns the function that marks invalid values of rows (see {@link DataSetRow#setInvalid(String)}). Function is
+     * applied to rows in content order, starting at row <code>offset</code>.
+     *
+     * This default implementation detects invalid values with a quality analyzer while rows are read (see
+     * {@link InvalidMarker}). Implementations that keep invalid values (see {@link #updateInvalidValues(DataSetMetadata)})
+     * may override this method so that reads no longer analyze rows.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} rows are read from.
+     * @param offset The index of the first row the function is applied to.
+     * @return A function that marks invalid values of a row and returns the row.
+     */
+    protected Function<DataSetRow, DataSetRow> invalidMarker(DataSetMetadata dataSetMetadata, long offset) {
+        final List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
+        final Analyzer<Analyzers.Result> analyzer = service.build(columns, AnalyzerService.Analysis.QUALITY);
+        return new InvalidMarker(columns, analyzer); // Mark invalid columns as detected by provided analyzer.
+    }
+
+    /**
+     * Computes and keeps the invalid values of the {@link DataSetMetadata data set} so that next reads don't need to
+     * detect them. Must be called again when information invalid values depend on (column types, domains...) changes.
+     * This default implementation does nothing (invalid values are detected on each read).
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to compute invalid values for.
+     * @see #invalidMarker(DataSetMetadata, long)
+     */
+    public void updateInvalidValues(DataSetMetadata dataSetMetadata) {
+        // Nothing to do by default
+    }
+
+    /**
+     * Reads the rows of the {@link DataSetMetadata data set} (with no tdp id nor invalid markers, see
+     * {@link #stream(DataSetMetadata, long)} for this). When the format's {@link Serializer} is also a {@link RowSource},
+     * rows are directly read from raw content, otherwise rows are read from the JSON content (see
+     * {@link #get(DataSetMetadata, long)}). Implementations may override this method to read rows from a more efficient
+     * storage.
+     *
+     * This default implementation has no index of rows: the first <code>offset</code> rows are read and skipped.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param offset The number of rows to skip.
+     * @param limit A limit for the number of rows (use -1 for "no limit").
+     * @return The rows of the data set, the same {@link DataSetRow} instance may be used for all rows. Closing the stream
+     * must release all resources used to read rows.
+     */
+    protected Stream<DataSetRow> rows(DataSetMetadata dataSetMetadata, long offset, long limit) {
+        final long readLimit = limit < 0 ? -1 : offset + limit;
+        final Stream<DataSetRow> rows = readRows(dataSetMetadata, readLimit);
+        if (offset <= 0) {
+            return rows;
+        }
+        final Stream<DataSetRow> range = rows.skip(offset);
+        return limit < 0 ? range : range.limit(limit);
+    }
+
+    private Stream<DataSetRow> readRows(DataSetMetadata dataSetMetadata, long limit) {
+        DataSetContent content = dataSetMetadata.getContent();
+        Serializer serializer = factory.getFormatFamily(content.getFormatFamilyId()).getSerializer();
+        if (serializer instanceof RowSource) {
+            return ((RowSource) serializer).stream(getAsRaw(dataSetMetadata, limit), dataSetMetadata, limit);
+        }
         final InputStream inputStream = get(dataSetMetadata, limit);
         final DataSetRowIterator iterator = new DataSetRowIterator(inputStream);
         final Iterable<DataSetRow> rowIterable = () -> iterator;
-        Stream<DataSetRow> dataSetRowStream = StreamSupport.stream(rowIterable.spliterator(), false);
         // make sure to close the original input stream when closing this one
-        AtomicLong tdpId = new AtomicLong(1);
-        final List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
-        final Analyzer<Analyzers.Result> analyzer = service.build(columns, AnalyzerService.Analysis.QUALITY);
-
-        dataSetRowStream = dataSetRowStream.map(r -> {
-            final String[] values = r.order(columns).toArray(DataSetRow.SKIP_TDP_ID);
-            analyzer.analyze(values);
-            return r;
-        }) //
-        .map(new InvalidMarker(columns, analyzer)) // Mark invalid columns as detected by provided analyzer.
-        .map(r -> { //
-            r.setTdpId(tdpId.getAndIncrement());
-            return r;
-        }).onClose(() -> { //
+        return StreamSupport.stream(rowIterable.spliterator(), false).onClose(() -> {
             try {
                 inputStream.close();
             } catch (Exception e) {
                 throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
             }
         });
-
-        return dataSetRowStream;
     }
 
     /**
@@ -54,6 +54,31 @@ class LimitDataSetContent implements DataSetContentLimit {
             return dataSetRowStream.limit(limit);
         }
 
+        @Override
+        public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long fromTdpId, long count) {
+            // deal with dataset size limit (ignored if limit is <= 0): only rows with tdp id <= limit are returned
+            if (limit > 0) {
+                final long available = Math.max(0, limit - Math.max(1, fromTdpId) + 1);
+                return delegate.stream(dataSetMetadata, fromTdpId, count < 0 ? available : Math.min(count, available));
+            }
+            return delegate.stream(dataSetMetadata, fromTdpId, count);
+        }
+
+        @Override
+        public Stream<DataSetRow> rows(DataSetMetadata dataSetMetadata, long limit) {
+            // deal with dataset size limit (ignored if limit is <= 0)
+            final long max = LimitDataSetContent.this.limit;
+            if (max > 0) {
+                return delegate.rows(dataSetMetadata, limit < 0 ? max : Math.min(limit, max));
+            }
+            return delegate.rows(dataSetMetadata, limit);
+        }
+
+        @Override
+        public void updateInvalidValues(DataSetMetadata dataSetMetadata) {
+            delegate.updateInvalidValues(dataSetMetadata);
+        }
+
         @Override
         public InputStream getAsRaw(DataSetMetadata dataSetMetadata) {
             return delegate.getAsRaw(dataSetMetadata, limit);
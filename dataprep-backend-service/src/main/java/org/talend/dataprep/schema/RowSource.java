@@ -0,0 +1,39 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema;
+
+import java.io.InputStream;
+import java.util.stream.Stream;
+
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * Represents a class able to read a data set content directly as {@link DataSetRow rows}. {@link Serializer serializers}
+ * may implement this interface so rows are read without the JSON serialization (and parsing) of the content.
+ *
+ * @see org.talend.dataprep.dataset.store.content.DataSetContentStore#stream(DataSetMetadata, long)
+ */
+public interface RowSource {
+
+    /**
+     * Process <code>rawContent</code> and returns its rows. Please note the returned stream may reuse the same
+     * {@link DataSetRow} instance for all rows. Closing the returned stream closes <code>rawContent</code>.
+     *
+     * @param rawContent The data set content to process.
+     * @param metadata Data set metadata (use it for column ids).
+     * @param limit A limit for the number of rows (pass -1 for "no limit").
+     * @return A {@link Stream} of the rows in <code>rawContent</code>.
+     */
+    Stream<DataSetRow> stream(InputStream rawContent, DataSetMetadata metadata, long limit);
+}
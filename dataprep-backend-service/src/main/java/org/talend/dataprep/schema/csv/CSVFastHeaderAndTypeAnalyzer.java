@@ -14,19 +14,15 @@
 package org.talend.dataprep.schema.csv;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.util.*;
-import java.util.stream.Collectors;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.math3.util.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.talend.dataprep.api.type.Type;
 
-import au.com.bytecode.opencsv.CSVReader;
-
 /**
  * This class performs header and type analysis on a sample of records (lines).
  * 
@@ -188,18 +184,19 @@ public class CSVFastHeaderAndTypeAnalyzer {
     }
 
     /**
-     * Extracts fields from a line, using CSVReader.
+     * Extracts fields from a line, using {@link CSVTokenizer} (with opencsv default quote and escape chars).
      *
      * @param line line as it's in the CSV raw file
      * @return a list of ordered fields
      */
     private List<String> readLine(String line){
         List<String> result = Collections.emptyList();
-        try (CSVReader csvReader = new CSVReader(new InputStreamReader(IOUtils.toInputStream(line)), separator.getSeparator())) {
-            String[] fields = csvReader.readNext();
-            csvReader.close();
-            if (fields != null && fields.length != 0) {
-                result = Arrays.asList(fields).stream().collect(Collectors.toList());
+        try (CSVTokenizer tokenizer = new CSVTokenizer(new StringReader(line), separator.getSeparator(), '"', '\\')) {
+            if (tokenizer.next() && tokenizer.size() != 0) {
+                result = new ArrayList<>(tokenizer.size());
+                for (int i = 0; i < tokenizer.size(); i++) {
+                    result.add(tokenizer.get(i));
+                }
             }
         } catch (IOException e) {
             LOGGER.info("Unable to read line {i} of sample", line, e);
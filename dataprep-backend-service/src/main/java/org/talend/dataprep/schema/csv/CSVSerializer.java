@@ -14,35 +14,42 @@
 package org.talend.dataprep.schema.csv;
 
 import java.io.*;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Resource;
 
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.schema.RowSource;
 import org.talend.dataprep.schema.Serializer;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 
-import au.com.bytecode.opencsv.CSVReader;
-
 @Service("serializer#csv")
-public class CSVSerializer implements Serializer {
+public class CSVSerializer implements Serializer, RowSource {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CSVSerializer.class);
 
     @Resource(name = "serializer#csv#executor")
     TaskExecutor executor;
 
+    /** Number of threads used to parse CSV content (1 to parse content on a single thread). */
+    @Value("${dataset.csv.parser.parallelism:1}")
+    int parallelism;
+
     @Override
     public InputStream serialize(InputStream rawContent, DataSetMetadata metadata, long limit) {
         try {
@@ -50,15 +57,9 @@ public class CSVSerializer implements Serializer {
             PipedOutputStream jsonOutput = new PipedOutputStream(pipe);
             // Serialize asynchronously for better performance (especially if caller doesn't consume all, see sampling).
             Runnable r = () -> {
-                final Map<String, String> parameters = metadata.getContent().getParameters();
-                final String separator = parameters.get(CSVFormatFamily.SEPARATOR_PARAMETER);
-                try (CSVReader reader = new CSVReader(new InputStreamReader(rawContent, metadata.getEncoding()),
-                        separator.charAt(0),  '\"', '\0')) {
+                final String separator = getSeparator(metadata);
+                try (LineReader reader = openReader(rawContent, metadata)) {
                     JsonGenerator generator = new JsonFactory().createGenerator(jsonOutput);
-                    int i = 0;
-                    while (i++ < metadata.getContent().getNbLinesInHeader()) {
-                        reader.readNext(); // Skip all header lines
-                    }
                     generator.writeStartArray();
                     writeLineContent(reader, metadata, generator, separator, limit);
                     generator.writeEndArray();
@@ -83,6 +84,54 @@ public class CSVSerializer implements Serializer {
         }
     }
 
+    /**
+     * @see RowSource#stream(InputStream, DataSetMetadata, long)
+     */
+    @Override
+    public Stream<DataSetRow> stream(InputStream rawContent, DataSetMetadata metadata, long limit) {
+        final LineReader reader;
+        try {
+            reader = openReader(rawContent, metadata);
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+        final Iterator<DataSetRow> iterator = new RowIterator(reader, metadata, getSeparator(metadata), limit);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false) //
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+                    }
+                });
+    }
+
+    private static String getSeparator(DataSetMetadata metadata) {
+        final Map<String, String> parameters = metadata.getContent().getParameters();
+        return parameters.get(CSVFormatFamily.SEPARATOR_PARAMETER);
+    }
+
+    /**
+     * @return A {@link LineReader} for <code>rawContent</code> positioned after header lines. Content is parsed by
+     * several threads when {@link #parallelism} is greater than 1 and content encoding allows it (see
+     * {@link ParallelCSVReader#isSupported(String)}).
+     */
+    private LineReader openReader(InputStream rawContent, DataSetMetadata metadata) throws IOException {
+        final String separator = getSeparator(metadata);
+        final int nbLinesInHeader = metadata.getContent().getNbLinesInHeader();
+        if (parallelism > 1 && ParallelCSVReader.isSupported(metadata.getEncoding())) {
+            return new ParallelCSVReader(rawContent, metadata.getEncoding(), separator.charAt(0), nbLinesInHeader,
+                    parallelism, ParallelCSVReader.DEFAULT_CHUNK_SIZE);
+        }
+        final CSVTokenizer reader = new CSVTokenizer(new InputStreamReader(rawContent, metadata.getEncoding()),
+                separator.charAt(0), '\"', '\0');
+        int i = 0;
+        while (i++ < nbLinesInHeader) {
+            reader.next(); // Skip all header lines
+        }
+        return reader;
+    }
+
     /**
      * Write the line content.
      *
@@ -93,14 +142,13 @@ public class CSVSerializer implements Serializer {
      * @param limit The maximum number of lines in the exported content.
      * @throws IOException if an error occurs.
      */
-    private void writeLineContent(CSVReader reader, DataSetMetadata metadata, JsonGenerator generator, String separator, long limit)
+    private void writeLineContent(LineReader reader, DataSetMetadata metadata, JsonGenerator generator, String separator, long limit)
             throws IOException {
-        String[] line;
         int current = 0;
 
-        while ((line = reader.readNext()) != null && withinLimit(limit, current)) {
+        while (withinLimit(limit, current) && reader.next()) {
             // skip empty lines
-            if (line.length == 1 && (StringUtils.isEmpty(line[0]) || line[0].charAt(0) == '\u0000')) {
+            if (isEmptyLine(reader)) {
                 continue;
             }
 
@@ -111,18 +159,10 @@ public class CSVSerializer implements Serializer {
                 ColumnMetadata columnMetadata = columns.get(i);
 
                 generator.writeFieldName(columnMetadata.getId());
-
-                // deal with additional content (line.length > columns.size)
-                if (i == columnsSize - 1 && line.length > columnsSize) {
-                    String additionalContent = getRemainingColumns(line, i, separator);
-                    generator.writeString(cleanCharacters(additionalContent));
-                }
-                // deal with fewer content (line.length < columns.size)
-                else if (i < line.length && line[i] != null) {
-                    generator.writeString(cleanCharacters(line[i]));
-                }
-                // deal with null
-                else {
+                final String value = getValue(reader, i, columnsSize, separator);
+                if (value != null) {
+                    generator.writeString(value);
+                } else {
                     generator.writeNull();
                 }
             }
@@ -131,11 +171,39 @@ public class CSVSerializer implements Serializer {
         }
     }
 
-    private boolean withinLimit(long limit, int current) {
+    private static boolean isEmptyLine(LineReader line) {
+        if (line.size() != 1) {
+            return false;
+        }
+        final String value = line.get(0);
+        return StringUtils.isEmpty(value) || value.charAt(0) == '\u0000';
+    }
+
+    /**
+     * @return The value of the column at <code>index</code> in current <code>line</code> (<code>null</code> if line has
+     * no value for this column).
+     */
+    private static String getValue(LineReader line, int index, int columnsSize, String separator) {
+        // deal with additional content (line.size() > columns.size)
+        if (index == columnsSize - 1 && line.size() > columnsSize) {
+            String additionalContent = getRemainingColumns(line, index, separator);
+            return cleanCharacters(additionalContent);
+        }
+        // deal with fewer content (line.size() < columns.size)
+        else if (index < line.size()) {
+            return cleanCharacters(line.get(index));
+        }
+        // deal with null
+        else {
+            return null;
+        }
+    }
+
+    private static boolean withinLimit(long limit, long current) {
         return limit < 0 || current < limit;
     }
 
-    private String cleanCharacters(final String value) {
+    private static String cleanCharacters(final String value) {
         return StringUtils.remove(value, '\u0000');
     }
 
@@ -147,14 +215,96 @@ public class CSVSerializer implements Serializer {
      * @param separator the separator to append.
      * @return the remaining raw (with separators) content of the column.
      */
-    private String getRemainingColumns(String[] line, int start, String separator) {
+    private static String getRemainingColumns(LineReader line, int start, String separator) {
         StringBuilder buffer = new StringBuilder();
-        for (int j = start; j < line.length; j++) {
-            buffer.append(line[j]);
-            if (j < line.length - 1) {
+        for (int j = start; j < line.size(); j++) {
+            buffer.append(line.get(j));
+            if (j < line.size() - 1) {
                 buffer.append(separator);
             }
         }
         return buffer.toString();
     }
+
+    /**
+     * Reads rows from a {@link LineReader} (the same {@link DataSetRow} instance is returned for all lines).
+     */
+    private static class RowIterator implements Iterator<DataSetRow> {
+
+        private final LineReader reader;
+
+        private final List<ColumnMetadata> columns;
+
+        private final String separator;
+
+        private final long limit;
+
+        private final DataSetRow row = new DataSetRow(new RowMetadata());
+
+        private boolean hasLine;
+
+        private long current;
+
+        private RowIterator(LineReader reader, DataSetMetadata metadata, String separator, long limit) {
+            this.reader = reader;
+            this.columns = metadata.getRowMetadata().getColumns();
+            this.separator = separator;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!hasLine && withinLimit(limit, current)) {
+                try {
+                    do {
+                        hasLine = reader.next();
+                    } while (hasLine && isEmptyLine(reader));
+                } catch (IOException e) {
+                    throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+                }
+            }
+            return hasLine;
+        }
+
+        @Override
+        public DataSetRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            row.clear();
+            final int columnsSize = columns.size();
+            for (int i = 0; i < columnsSize; i++) {
+                final String value = getValue(reader, i, columnsSize, separator);
+                row.set(columns.get(i).getId(), value == null ? StringUtils.EMPTY : value);
+            }
+            hasLine = false;
+            current++;
+            return row;
+        }
+    }
+
+    /**
+     * A cursor over the lines of CSV content.
+     */
+    interface LineReader extends Closeable {
+
+        /**
+         * Moves to the next line of CSV content.
+         *
+         * @return <code>false</code> if there's no more line.
+         * @throws IOException In case of read error.
+         */
+        boolean next() throws IOException;
+
+        /**
+         * @return The number of values in current line.
+         */
+        int size();
+
+        /**
+         * @param index A value index (from 0 to {@link #size()} excluded).
+         * @return The value at <code>index</code> in current line.
+         */
+        String get(int index);
+    }
 }
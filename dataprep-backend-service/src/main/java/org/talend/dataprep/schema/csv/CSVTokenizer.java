@@ -0,0 +1,322 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A CSV tokenizer with the same separator, quote and escape semantics as opencsv's <code>CSVReader</code> (non strict
+ * quotes, leading white spaces ignored before a quote), but with much less allocations:
+ * <ul>
+ * <li>Content is read in a reusable char buffer, lines are not copied to {@link String strings}.</li>
+ * <li>Values are kept as slices of this buffer, and a {@link String} is only created when value is
+ * {@link #get(int) requested}. Values that can't be a slice (with escaped quotes or on several lines) are built once
+ * while parsing.</li>
+ * <li>No array is allocated per line.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Values of current line remain valid until next call to {@link #next()}.
+ * </p>
+ */
+class CSVTokenizer implements CSVSerializer.LineReader {
+
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+
+    private final char separator;
+
+    private final char quote;
+
+    private final char escape;
+
+    private char[] buffer = new char[INITIAL_BUFFER_SIZE];
+
+    /** Position of the next char to read in {@link #buffer}. */
+    private int position;
+
+    /** Number of chars in {@link #buffer}. */
+    private int limit;
+
+    private boolean endOfInput;
+
+    /** <code>true</code> if a line feed following a carriage return must be skipped. */
+    private boolean skipLineFeed;
+
+    // Values of current line: either a slice of buffer (start / end) or a built value
+    private int size;
+
+    private int[] starts = new int[16];
+
+    private int[] ends = new int[16];
+
+    private String[] builtValues = new String[16];
+
+    // Current value being parsed
+    private int valueStart;
+
+    private int valueEnd;
+
+    private StringBuilder builder;
+
+    /** Same as opencsv, a "in field" state that is only reset by a separator. */
+    private boolean inField;
+
+    /**
+     * @param reader The CSV content.
+     * @param separator The values separator.
+     * @param quote The quote char.
+     * @param escape The escape char.
+     */
+    CSVTokenizer(Reader reader, char separator, char quote, char escape) {
+        this.reader = reader;
+        this.separator = separator;
+        this.quote = quote;
+        this.escape = escape;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        size = 0;
+        // Current line starts at 0, so slices remain valid if buffer needs to grow
+        compact();
+        boolean inQuotes = false;
+        boolean lineRead = false;
+        int lineStart;
+        while ((lineStart = nextLineStart()) >= 0) {
+            final int lineEnd = lineEnd(lineStart);
+            lineRead = true;
+            if (!inQuotes) {
+                startValue(lineStart);
+            } else {
+                // Continue a quoted value started on previous line
+                appendToBuilder('\n');
+            }
+            inQuotes = parseLine(lineStart, lineEnd, inQuotes);
+            if (!inQuotes) {
+                endValue();
+                return true;
+            }
+        }
+        // End of content: a quoted value not closed before end of content is dropped (same as opencsv).
+        return lineRead && size > 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        final String builtValue = builtValues[index];
+        if (builtValue != null) {
+            return builtValue;
+        }
+        return new String(buffer, starts[index], ends[index] - starts[index]);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Parses chars of a physical line (opencsv parses physical lines too, hence the <code>i - lineStart</code>
+     * positions).
+     *
+     * @return <code>true</code> if line ends in a quoted value.
+     */
+    private boolean parseLine(int lineStart, int lineEnd, boolean quoted) {
+        boolean inQuotes = quoted;
+        for (int i = lineStart; i < lineEnd; i++) {
+            final char c = buffer[i];
+            final boolean hasNext = i + 1 < lineEnd;
+            if (c == escape) {
+                if ((inQuotes || inField) && hasNext && (buffer[i + 1] == quote || buffer[i + 1] == escape)) {
+                    append(i + 1);
+                    i++;
+                }
+                // otherwise escape char is ignored
+            } else if (c == quote) {
+                if ((inQuotes || inField) && hasNext && buffer[i + 1] == quote) {
+                    append(i + 1); // escaped quote
+                    i++;
+                } else {
+                    // Quote in the middle of a value (a,bc"d"ef,g) is kept
+                    if (i - lineStart > 2 && buffer[i - 1] != separator && hasNext && buffer[i + 1] != separator) {
+                        if (isWhitespaceValue()) {
+                            startValue(i + 1); // discard white spaces before quote
+                        } else {
+                            append(i);
+                        }
+                    }
+                    inQuotes = !inQuotes;
+                }
+                inField = !inField;
+            } else if (c == separator && !inQuotes) {
+                endValue();
+                startValue(i + 1);
+                inField = false;
+            } else {
+                append(i);
+                inField = true;
+            }
+        }
+        return inQuotes;
+    }
+
+    private void startValue(int start) {
+        valueStart = start;
+        valueEnd = start;
+        builder = null;
+    }
+
+    // Appends char at position to current value (value remains a slice of buffer as long as chars are contiguous)
+    private void append(int index) {
+        if (builder != null) {
+            builder.append(buffer[index]);
+        } else if (index == valueEnd) {
+            valueEnd++;
+        } else if (valueStart == valueEnd) {
+            valueStart = index;
+            valueEnd = index + 1;
+        } else {
+            appendToBuilder(buffer[index]);
+        }
+    }
+
+    private void appendToBuilder(char c) {
+        if (builder == null) {
+            builder = new StringBuilder(valueEnd - valueStart + 16);
+            builder.append(buffer, valueStart, valueEnd - valueStart);
+        }
+        builder.append(c);
+    }
+
+    private boolean isWhitespaceValue() {
+        if (builder != null) {
+            if (builder.length() == 0) {
+                return false;
+            }
+            for (int i = 0; i < builder.length(); i++) {
+                if (!Character.isWhitespace(builder.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (valueStart == valueEnd) {
+            return false;
+        }
+        for (int i = valueStart; i < valueEnd; i++) {
+            if (!Character.isWhitespace(buffer[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void endValue() {
+        if (size == starts.length) {
+            final int newLength = size * 2;
+            starts = Arrays.copyOf(starts, newLength);
+            ends = Arrays.copyOf(ends, newLength);
+            builtValues = Arrays.copyOf(builtValues, newLength);
+        }
+        starts[size] = valueStart;
+        ends[size] = valueEnd;
+        builtValues[size] = builder == null ? null : builder.toString();
+        size++;
+    }
+
+    /**
+     * @return Position of the next physical line in buffer, or -1 if there's no more line.
+     */
+    private int nextLineStart() throws IOException {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+        if (skipLineFeed) {
+            skipLineFeed = false;
+            if (buffer[position] == '\n') {
+                position++;
+                if (position >= limit && !fill()) {
+                    return -1;
+                }
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Finds the end of the physical line starting at <code>lineStart</code> (line terminators are the same as
+     * {@link java.io.BufferedReader#readLine()}) and moves {@link #position} after line terminator.
+     *
+     * @return The position of the line terminator (or end of content).
+     */
+    private int lineEnd(int lineStart) throws IOException {
+        int i = lineStart;
+        while (true) {
+            for (; i < limit; i++) {
+                final char c = buffer[i];
+                if (c == '\n' || c == '\r') {
+                    position = i + 1;
+                    skipLineFeed = c == '\r';
+                    return i;
+                }
+            }
+            if (!fill()) {
+                position = limit;
+                return limit;
+            }
+        }
+    }
+
+    /**
+     * Reads more content in buffer (buffer grows when full).
+     *
+     * @return <code>false</code> if there's no more content.
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        final int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    // Moves unread chars to the beginning of buffer
+    private void compact() {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema.csv;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Reads CSV lines (same lines as a {@link CSVTokenizer}) using several threads. Content is split in chunks of bytes
+ * that end on a record boundary, and chunks are parsed by worker threads. Lines are returned in content order.
+ * </p>
+ * <p>
+ * Record boundaries are found with a scan of the bytes that only looks for quotes and line terminators: a line feed, a
+ * carriage return or both end a record when the number of quotes since the beginning of the chunk is even (escaped
+ * quotes are doubled, so they don't change parity). This scan is much cheaper than parsing, so it's done on calling
+ * thread. As bytes are scanned before decoding, only encodings that encode quote and line terminators as ASCII (and
+ * never use these bytes in other characters) are supported, see {@link #isSupported(String)}.
+ * </p>
+ * <p>
+ * Content that fits in a single chunk is parsed on calling thread (no worker is started).
+ * </p>
+ */
+class ParallelCSVReader implements CSVSerializer.LineReader {
+
+    /** Default size (in bytes) of a chunk. */
+    static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelCSVReader.class);
+
+    private static final AtomicInteger WORKER_COUNT = new AtomicInteger();
+
+    private static final byte[] BOUNDARY_BYTES = { '"', '\n', '\r' };
+
+    private final InputStream input;
+
+    private final Charset charset;
+
+    private final char separator;
+
+    private final int parallelism;
+
+    /** Chunks being parsed, in content order. */
+    private final Deque<Future<List<String[]>>> inFlight = new ArrayDeque<>();
+
+    private ExecutorService executor;
+
+    /** Bytes read from input and not yet sent in a chunk (always starts on a record boundary). */
+    private byte[] buffer;
+
+    private int length;
+
+    private boolean endOfInput;
+
+    private Iterator<String[]> lines = Collections.emptyIterator();
+
+    private String[] line;
+
+    private int headerLinesToSkip;
+
+    /**
+     * @param input The CSV content.
+     * @param encoding The content encoding (must be {@link #isSupported(String) supported}).
+     * @param separator The CSV separator.
+     * @param nbLinesInHeader The number of lines to skip at the beginning of content.
+     * @param parallelism The number of worker threads.
+     * @param chunkSize The size (in bytes) of chunks sent to workers.
+     */
+    ParallelCSVReader(InputStream input, String encoding, char separator, int nbLinesInHeader, int parallelism,
+            int chunkSize) {
+        this.input = input;
+        this.charset = Charset.forName(encoding);
+        this.separator = separator;
+        this.headerLinesToSkip = nbLinesInHeader;
+        this.parallelism = parallelism;
+        this.buffer = new byte[chunkSize];
+    }
+
+    /**
+     * @param encoding An encoding name.
+     * @return <code>true</code> if content in this encoding can be read by this class.
+     */
+    static boolean isSupported(String encoding) {
+        try {
+            return Arrays.equals(BOUNDARY_BYTES, "\"\n\r".getBytes(encoding));
+        } catch (UnsupportedEncodingException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        while (true) {
+            while (!lines.hasNext()) {
+                submit();
+                if (inFlight.isEmpty()) {
+                    line = null;
+                    return false;
+                }
+                lines = take(inFlight.poll()).iterator();
+            }
+            line = lines.next();
+            if (headerLinesToSkip > 0) {
+                headerLinesToSkip--;
+            } else {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return line.length;
+    }
+
+    @Override
+    public String get(int index) {
+        return line[index];
+    }
+
+    @Override
+    public void close() throws IOException {
+        shutdown();
+        input.close();
+    }
+
+    // Reads chunks until enough chunks are being parsed (or content is fully read)
+    private void submit() throws IOException {
+        while (!endOfInput && inFlight.size() < parallelism * 2) {
+            final byte[] chunk = nextChunk();
+            if (chunk == null) {
+                break;
+            }
+            if (endOfInput && executor == null) {
+                // Content fits in a single chunk: no need for workers
+                final CompletableFuture<List<String[]>> parsed = new CompletableFuture<>();
+                parsed.complete(parse(chunk));
+                inFlight.add(parsed);
+            } else {
+                if (executor == null) {
+                    LOGGER.debug("Starting {} worker(s) for CSV parsing.", parallelism);
+                    executor = Executors.newFixedThreadPool(parallelism, r -> {
+                        final Thread thread = new Thread(r, "CSV-Parser-" + WORKER_COUNT.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+                inFlight.add(executor.submit(() -> parse(chunk)));
+            }
+        }
+    }
+
+    /**
+     * @return The next chunk of content (ends on a record boundary, or at end of content), <code>null</code> if content
+     * is fully read.
+     */
+    private byte[] nextChunk() throws IOException {
+        int scanned = 0;
+        int boundary = 0;
+        boolean inQuotes = false;
+        while (true) {
+            while (length < buffer.length && !endOfInput) {
+                final int read = input.read(buffer, length, buffer.length - length);
+                if (read < 0) {
+                    endOfInput = true;
+                } else {
+                    length += read;
+                }
+            }
+            for (; scanned < length; scanned++) {
+                final byte current = buffer[scanned];
+                if (current == '"') {
+                    inQuotes = !inQuotes;
+                } else if (current == '\n' && !inQuotes) {
+                    boundary = scanned + 1;
+                } else if (current == '\r' && !inQuotes) {
+                    if (scanned + 1 < length) {
+                        // "\r\n" ends on its line feed
+                        if (buffer[scanned + 1] != '\n') {
+                            boundary = scanned + 1;
+                        }
+                    } else if (!endOfInput) {
+                        // Next byte is not read yet (may be a line feed): scan this byte again once read
+                        break;
+                    }
+                }
+            }
+            if (endOfInput) {
+                boundary = length;
+                break;
+            } else if (boundary > 0) {
+                break;
+            }
+            // No record boundary in buffer (very long record): read more
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        if (boundary == 0) {
+            return null;
+        }
+        final byte[] chunk = Arrays.copyOf(buffer, boundary);
+        System.arraycopy(buffer, boundary, buffer, 0, length - boundary);
+        length -= boundary;
+        return chunk;
+    }
+
+    private List<String[]> parse(byte[] chunk) throws IOException {
+        try (CSVTokenizer tokenizer = new CSVTokenizer(new InputStreamReader(new ByteArrayInputStream(chunk), charset),
+                separator, '\"', '\0')) {
+            final List<String[]> parsed = new ArrayList<>();
+            while (tokenizer.next()) {
+                final String[] values = new String[tokenizer.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = tokenizer.get(i);
+                }
+                parsed.add(values);
+            }
+            return parsed;
+        }
+    }
+
+    private List<String[]> take(Future<List<String[]>> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            shutdown();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for CSV parsing.");
+        } catch (ExecutionException e) {
+            shutdown();
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private void shutdown() {
+        for (Future<List<String[]>> chunk : inFlight) {
+            chunk.cancel(true);
+        }
+        inFlight.clear();
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -15,9 +15,12 @@ package org.talend.dataprep.schema.html;
 
 import java.io.*;
 import java.util.List;
+import java.util.stream.Stream;
 
 import javax.annotation.Resource;
 
+import org.apache.commons.lang.StringUtils;
+import org.apache.tika.exception.TikaException;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.ParseContext;
 import org.apache.tika.parser.html.HtmlParser;
@@ -27,15 +30,19 @@ import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.schema.RowSource;
 import org.talend.dataprep.schema.Serializer;
+import org.xml.sax.SAXException;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 
 @Service("serializer#html")
-public class HtmlSerializer implements Serializer {
+public class HtmlSerializer implements Serializer, RowSource {
 
     /** This class' logger. */
     private static final Logger LOGGER = LoggerFactory.getLogger(HtmlSerializer.class);
@@ -57,21 +64,61 @@ public class HtmlSerializer implements Serializer {
         }
     }
 
-    private void deserialize(InputStream rawContent, DataSetMetadata dataSetMetadata, OutputStream jsonOutput, long limit) {
+    /**
+     * @see RowSource#stream(InputStream, DataSetMetadata, long)
+     */
+    @Override
+    public Stream<DataSetRow> stream(InputStream rawContent, DataSetMetadata metadata, long limit) {
+        final List<ColumnMetadata> columns = metadata.getRowMetadata().getColumns();
+        final List<List<String>> lines;
         try {
+            lines = parse(rawContent, columns, limit);
+        } catch (Exception e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        } finally {
+            try {
+                rawContent.close();
+            } catch (IOException e) {
+                LOGGER.error("Unable to close input", e);
+            }
+        }
+        final DataSetRow row = new DataSetRow(new RowMetadata());
+        return lines.stream() //
+                .filter(values -> !values.isEmpty()) // avoid empty record which can fail analysis
+                .map(values -> {
+                    row.clear();
+                    for (int idx = 0; idx < Math.min(values.size(), columns.size()); idx++) {
+                        final String value = values.get(idx);
+                        row.set(columns.get(idx).getId(), value == null ? StringUtils.EMPTY : value);
+                    }
+                    return row;
+                });
+    }
 
-            List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
-            SimpleValuesContentHandler valuesContentHandler = new SimpleValuesContentHandler(columns.size(), limit);
+    /**
+     * @return The values of each line of the HTML table in <code>rawContent</code>.
+     */
+    private static List<List<String>> parse(InputStream rawContent, List<ColumnMetadata> columns, long limit)
+            throws IOException, SAXException, TikaException {
+        SimpleValuesContentHandler valuesContentHandler = new SimpleValuesContentHandler(columns.size(), limit);
+
+        HtmlParser htmlParser = new HtmlParser();
+        Metadata metadata = new Metadata();
+
+        htmlParser.parse(rawContent, valuesContentHandler, metadata, new ParseContext());
+        return valuesContentHandler.getValues();
+    }
 
-            HtmlParser htmlParser = new HtmlParser();
-            Metadata metadata = new Metadata();
+    private void deserialize(InputStream rawContent, DataSetMetadata dataSetMetadata, OutputStream jsonOutput, long limit) {
+        try {
 
-            htmlParser.parse(rawContent, valuesContentHandler, metadata, new ParseContext());
+            List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
+            final List<List<String>> lines = parse(rawContent, columns, limit);
 
             JsonGenerator generator = new JsonFactory().createGenerator(jsonOutput);
             generator.writeStartArray(); // start the record
 
-            for (List<String> values : valuesContentHandler.getValues()) {
+            for (List<String> values : lines) {
 
                 if (values.isEmpty()) {
                     // avoid empty record which can fail analysis
@@ -14,25 +14,42 @@
 package org.talend.dataprep.schema.xls;
 
 import java.io.*;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Resource;
 
+import org.apache.commons.lang.StringUtils;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.json.DataSetRowIterator;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.schema.RowSource;
 import org.talend.dataprep.schema.Serializer;
 import org.talend.dataprep.schema.xls.serialization.XlsRunnable;
 import org.talend.dataprep.schema.xls.serialization.XlsxStreamRunnable;
+import org.talend.dataprep.schema.xls.streaming.StreamingReader;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+/**
+ * Serializer for Excel content. As a {@link RowSource}, rows of XLSX content are read directly with the streaming
+ * reader (with no JSON serialization of the content), which is used by content stores to convert spreadsheets to their
+ * internal format once at import.
+ */
 @Service("serializer#xls")
-public class XlsSerializer implements Serializer {
+public class XlsSerializer implements Serializer, RowSource {
 
     /** Dataprep ready to use jackson object mapper. */
     @Autowired
@@ -86,6 +103,50 @@ public class XlsSerializer implements Serializer {
         }
     }
 
+    /**
+     * @see RowSource#stream(InputStream, DataSetMetadata, long)
+     */
+    @Override
+    public Stream<DataSetRow> stream(InputStream givenInputStream, DataSetMetadata metadata, long limit) {
+        try {
+            InputStream inputStream = givenInputStream;
+            if (!inputStream.markSupported()) {
+                inputStream = new BufferedInputStream(inputStream);
+            }
+            inputStream.mark(Integer.MAX_VALUE);
+            boolean newExcelFormat = XlsUtils.isNewExcelFormat(inputStream);
+            inputStream.reset();
+
+            final Iterator<DataSetRow> iterator;
+            final Closeable resource;
+            if (newExcelFormat) {
+                final Workbook workbook = StreamingReader.builder() //
+                        .bufferSize(4096) //
+                        .rowCacheSize(1) //
+                        .open(inputStream);
+                final Sheet sheet = StringUtils.isEmpty(metadata.getSheetName()) ? //
+                        workbook.getSheetAt(0) : workbook.getSheet(metadata.getSheetName());
+                iterator = new XlsxRowIterator(sheet.iterator(), metadata.getRowMetadata().getColumns(), limit);
+                resource = workbook;
+            } else {
+                // Old format is not streamed: read rows from JSON serialization
+                final InputStream json = serialize(inputStream, metadata, limit);
+                iterator = new DataSetRowIterator(json);
+                resource = json;
+            }
+            final Iterable<DataSetRow> rows = () -> iterator;
+            return StreamSupport.stream(rows.spliterator(), false).onClose(() -> {
+                try {
+                    resource.close();
+                } catch (IOException e) {
+                    throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+                }
+            });
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
     private Runnable serializeNew(InputStream rawContent, DataSetMetadata metadata, long limit, PipedOutputStream jsonOutput) {
         return new XlsxStreamRunnable(jsonOutput, rawContent, metadata, limit, mapper.getFactory());
     }
@@ -95,4 +156,58 @@ public class XlsSerializer implements Serializer {
         return new XlsRunnable(rawContent, jsonOutput, metadata, limit, mapper.getFactory());
     }
 
-}
\ No newline at end of file
+
+    /**
+     * Iterates over the rows of a XLSX sheet (same values as {@link XlsxStreamRunnable}).
+     */
+    private static class XlsxRowIterator implements Iterator<DataSetRow> {
+
+        private final Iterator<Row> sheetRows;
+
+        private final List<ColumnMetadata> columns;
+
+        private final long limit;
+
+        private final DataSetRow row = new DataSetRow(new RowMetadata());
+
+        private Row next;
+
+        private XlsxRowIterator(Iterator<Row> sheetRows, List<ColumnMetadata> columns, long limit) {
+            this.sheetRows = sheetRows;
+            this.columns = columns;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && sheetRows.hasNext()) {
+                final Row sheetRow = sheetRows.next();
+                if (limit > 0 && sheetRow.getRowNum() > limit) {
+                    return false;
+                }
+                if (!isHeaderLine(sheetRow.getRowNum(), columns)) {
+                    next = sheetRow;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public DataSetRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            row.clear();
+            int i = 0;
+            for (ColumnMetadata columnMetadata : columns) {
+                final Cell cell = next.getCell(i);
+                final String cellValue = cell == null ? null : cell.getStringCellValue();
+                row.set(columnMetadata.getId(), cellValue == null ? StringUtils.EMPTY : cellValue);
+                i++;
+            }
+            next = null;
+            return row;
+        }
+    }
+
+}
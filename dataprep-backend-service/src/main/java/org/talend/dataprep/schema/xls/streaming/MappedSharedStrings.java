@@ -0,0 +1,263 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.schema.xls.streaming;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.talend.dataprep.util.FilesHelper;
+
+/**
+ * <p>
+ * Shared strings table of a XLSX workbook, kept off heap: strings are read once from the shared strings part and
+ * written (UTF-8 encoded) to a temporary file, along with a second file holding the offset of each string. Both files
+ * are memory-mapped and strings are decoded only when a cell refers to them, so heap usage does not depend on the
+ * number of shared strings (unlike POI's SharedStringsTable that keeps all strings in memory).
+ * </p>
+ * <p>
+ * The most recently used strings are cached (see {@link StreamingReader.Builder#sharedStringsCacheSize(int)}). This
+ * class is not thread safe.
+ * </p>
+ */
+public class MappedSharedStrings implements AutoCloseable {
+
+    /** Default max size of a mapped region (offsets are longs, so this is a multiple of 8). */
+    private static final int SEGMENT_SIZE = 1 << 30;
+
+    /** Escaped characters in shared strings (see ECMA-376, ST_Xstring). */
+    private static final Pattern ESCAPED_CHARACTER = Pattern.compile("_x([0-9A-Fa-f]{4})_");
+
+    /** The UTF-8 bytes of all strings. */
+    private final File stringsFile;
+
+    /** The offset of each string in {@link #stringsFile} (plus the end offset of the last string). */
+    private final File offsetsFile;
+
+    private final MappedFile strings;
+
+    private final MappedFile offsets;
+
+    private final int count;
+
+    private final Map<Integer, String> cache;
+
+    private MappedSharedStrings(File stringsFile, File offsetsFile, int count, int cacheSize, int segmentSize)
+            throws IOException {
+        this.stringsFile = stringsFile;
+        this.offsetsFile = offsetsFile;
+        this.strings = new MappedFile(stringsFile, segmentSize);
+        this.offsets = new MappedFile(offsetsFile, segmentSize);
+        this.count = count;
+        this.cache = new LinkedHashMap<Integer, String>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Indexes the shared strings of a workbook.
+     *
+     * @param sharedStrings The content of the shared strings part of the workbook (closed by this method).
+     * @param cacheSize The max number of decoded strings kept in memory.
+     * @return The indexed shared strings.
+     * @throws IOException If temporary files can't be written.
+     * @throws XMLStreamException If shared strings can't be parsed.
+     */
+    public static MappedSharedStrings index(InputStream sharedStrings, int cacheSize) throws IOException, XMLStreamException {
+        return index(sharedStrings, cacheSize, SEGMENT_SIZE);
+    }
+
+    static MappedSharedStrings index(InputStream sharedStrings, int cacheSize, int segmentSize)
+            throws IOException, XMLStreamException {
+        final File stringsFile = Files.createTempFile("sst-", ".strings").toFile();
+        final File offsetsFile = Files.createTempFile("sst-", ".offsets").toFile();
+        try {
+            int count = 0;
+            if (sharedStrings != null) {
+                try (InputStream input = sharedStrings;
+                        OutputStream stringsOutput = new BufferedOutputStream(new FileOutputStream(stringsFile));
+                        DataOutputStream offsetsOutput = new DataOutputStream(
+                                new BufferedOutputStream(new FileOutputStream(offsetsFile)))) {
+                    final XMLStreamReader parser = XMLInputFactory.newInstance().createXMLStreamReader(input);
+                    try {
+                        long offset = 0;
+                        offsetsOutput.writeLong(offset);
+                        final StringBuilder value = new StringBuilder();
+                        int phoneticDepth = 0;
+                        while (parser.hasNext()) {
+                            switch (parser.next()) {
+                            case XMLStreamConstants.START_ELEMENT:
+                                switch (parser.getLocalName()) {
+                                case "si":
+                                    value.setLength(0);
+                                    break;
+                                case "rPh": // phonetic run, not part of the value
+                                    phoneticDepth++;
+                                    break;
+                                case "t":
+                                    if (phoneticDepth == 0) {
+                                        value.append(parser.getElementText());
+                                    }
+                                    break;
+                                default:
+                                    break;
+                                }
+                                break;
+                            case XMLStreamConstants.END_ELEMENT:
+                                if ("rPh".equals(parser.getLocalName())) {
+                                    phoneticDepth--;
+                                } else if ("si".equals(parser.getLocalName())) {
+                                    final byte[] bytes = unescape(value).getBytes(UTF_8);
+                                    stringsOutput.write(bytes);
+                                    offset += bytes.length;
+                                    offsetsOutput.writeLong(offset);
+                                    count++;
+                                }
+                                break;
+                            default:
+                                break;
+                            }
+                        }
+                    } finally {
+                        parser.close();
+                    }
+                }
+            }
+            return new MappedSharedStrings(stringsFile, offsetsFile, count, cacheSize, segmentSize);
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            FilesHelper.deleteQuietly(stringsFile);
+            FilesHelper.deleteQuietly(offsetsFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces escaped characters (e.g. <code>_x000D_</code>) the same way POI does when reading shared strings.
+     */
+    private static String unescape(CharSequence value) {
+        final String text = value.toString();
+        if (!text.contains("_x")) {
+            return text;
+        }
+        final StringBuffer unescaped = new StringBuffer();
+        final Matcher matcher = ESCAPED_CHARACTER.matcher(text);
+        while (matcher.find()) {
+            final char character = (char) Integer.parseInt(matcher.group(1), 16);
+            matcher.appendReplacement(unescaped, Matcher.quoteReplacement(String.valueOf(character)));
+        }
+        matcher.appendTail(unescaped);
+        return unescaped.toString();
+    }
+
+    /**
+     * @param index The index of a shared string (as found in cells of type "s").
+     * @return The shared string at <code>index</code>.
+     * @throws IndexOutOfBoundsException If there's no shared string at <code>index</code>.
+     */
+    public String get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("No shared string at index " + index + " (size: " + count + ").");
+        }
+        String value = cache.get(index);
+        if (value == null) {
+            final long start = offsets.getLong(index * 8L);
+            final long end = offsets.getLong((index + 1) * 8L);
+            final byte[] bytes = new byte[(int) (end - start)];
+            strings.get(start, bytes);
+            value = new String(bytes, UTF_8);
+            cache.put(index, value);
+        }
+        return value;
+    }
+
+    /**
+     * @return The number of shared strings.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Deletes the temporary files. Mapped regions are released once garbage collected, the strings must no longer be
+     * used after this method is called.
+     */
+    @Override
+    public void close() {
+        cache.clear();
+        FilesHelper.deleteQuietly(stringsFile);
+        FilesHelper.deleteQuietly(offsetsFile);
+    }
+
+    /**
+     * A read-only file mapped in one or more regions (a single mapped region can't exceed 2GB).
+     */
+    private static class MappedFile {
+
+        private final int segmentSize;
+
+        private final MappedByteBuffer[] segments;
+
+        private MappedFile(File file, int segmentSize) throws IOException {
+            this.segmentSize = segmentSize;
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                final long size = channel.size();
+                segments = new MappedByteBuffer[(int) ((size + segmentSize - 1) / segmentSize)];
+                for (int i = 0; i < segments.length; i++) {
+                    final long position = (long) i * segmentSize;
+                    segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(segmentSize, size - position));
+                }
+            }
+        }
+
+        /**
+         * @param position A position aligned on 8 bytes.
+         * @return The long at <code>position</code>.
+         */
+        private long getLong(long position) {
+            return segments[(int) (position / segmentSize)].getLong((int) (position % segmentSize));
+        }
+
+        /**
+         * Reads <code>bytes.length</code> bytes starting at <code>position</code> (possibly across regions).
+         */
+        private void get(long position, byte[] bytes) {
+            int read = 0;
+            while (read < bytes.length) {
+                final long current = position + read;
+                final ByteBuffer segment = segments[(int) (current / segmentSize)].duplicate();
+                segment.position((int) (current % segmentSize));
+                final int length = Math.min(segment.remaining(), bytes.length - read);
+                segment.get(bytes, read, length);
+                read += length;
+            }
+        }
+    }
+}
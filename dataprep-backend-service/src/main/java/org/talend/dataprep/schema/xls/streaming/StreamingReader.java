@@ -65,6 +65,8 @@ public class StreamingReader implements Iterable<Row>, AutoCloseable {
 
         private int bufferSize = 1024;
 
+        private int sharedStringsCacheSize = 1024;
+
         private String password;
 
         public int getRowCacheSize() {
@@ -79,6 +81,10 @@ public class StreamingReader implements Iterable<Row>, AutoCloseable {
             return password;
         }
 
+        public int getSharedStringsCacheSize() {
+            return sharedStringsCacheSize;
+        }
+
         /**
          * The number of rows to keep in memory at any given point.
          * <p>
@@ -107,6 +113,21 @@ public class StreamingReader implements Iterable<Row>, AutoCloseable {
             return this;
         }
 
+        /**
+         * The number of shared strings to keep in memory at any given point (shared strings are otherwise read from a
+         * memory-mapped temporary file, see {@link MappedSharedStrings}).
+         * <p>
+         * Defaults to 1024
+         * </p>
+         *
+         * @param sharedStringsCacheSize number of shared strings
+         * @return reference to current {@code Builder}
+         */
+        public Builder sharedStringsCacheSize(int sharedStringsCacheSize) {
+            this.sharedStringsCacheSize = sharedStringsCacheSize;
+            return this;
+        }
+
         /**
          * For password protected files specify password to open file. If the password is incorrect a
          * {@code ReadException} is thrown on {@code read}.
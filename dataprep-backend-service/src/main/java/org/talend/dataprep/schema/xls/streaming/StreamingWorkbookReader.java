@@ -34,13 +34,14 @@ import javax.xml.stream.events.XMLEvent;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
 import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
 import org.apache.poi.poifs.crypt.Decryptor;
 import org.apache.poi.poifs.crypt.EncryptionInfo;
 import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.xssf.eventusermodel.XSSFReader;
-import org.apache.poi.xssf.model.SharedStringsTable;
 import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.talend.dataprep.util.FilesHelper;
@@ -64,6 +65,8 @@ public class StreamingWorkbookReader implements Iterable<Sheet>, AutoCloseable {
 
     private OPCPackage pkg;
 
+    private MappedSharedStrings sst;
+
     public StreamingWorkbookReader(StreamingReader.Builder builder) {
         this.sheets = new ArrayList<>();
         this.builder = builder;
@@ -106,6 +109,7 @@ public class StreamingWorkbookReader implements Iterable<Sheet>, AutoCloseable {
     // to override https://bz.apache.org/bugzilla/show_bug.cgi?id=57699
 
     public void init(File f) {
+        boolean initialized = false;
         try {
             if (builder.getPassword() != null) {
                 // Based on: https://poi.apache.org/encryption.html
@@ -120,20 +124,29 @@ public class StreamingWorkbookReader implements Iterable<Sheet>, AutoCloseable {
 
             XSSFReader reader = new XSSFReader(pkg);
 
-            SharedStringsTable sst = reader.getSharedStringsTable();
+            // Don't use reader.getSharedStringsTable(): it loads all shared strings in memory
+            List<PackagePart> sharedStringsParts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+            InputStream sharedStrings = sharedStringsParts.isEmpty() ? null : sharedStringsParts.get(0).getInputStream();
+            sst = MappedSharedStrings.index(sharedStrings, builder.getSharedStringsCacheSize());
             StylesTable styles = reader.getStylesTable();
 
             loadSheets(reader, sst, styles, builder.getRowCacheSize());
+            initialized = true;
         } catch (IOException e) {
             throw new OpenException("Failed to open file", e);
         } catch (OpenXML4JException | XMLStreamException e) {
             throw new ReadException("Unable to read workbook", e);
         } catch (GeneralSecurityException e) {
             throw new ReadException("Unable to read workbook - Decryption failed", e);
+        } finally {
+            if (!initialized && sst != null) {
+                sst.close();
+                sst = null;
+            }
         }
     }
 
-    void loadSheets(XSSFReader reader, SharedStringsTable sst, StylesTable stylesTable, int rowCacheSize)
+    void loadSheets(XSSFReader reader, MappedSharedStrings sst, StylesTable stylesTable, int rowCacheSize)
             throws IOException, InvalidFormatException, XMLStreamException {
         lookupSheetNames(reader.getWorkbookData());
         Iterator<InputStream> iter = reader.getSheetsData();
@@ -200,6 +213,9 @@ public class StreamingWorkbookReader implements Iterable<Sheet>, AutoCloseable {
             }
             pkg.revert();
         } finally {
+            if (sst != null) {
+                sst.close();
+            }
             if (tmp != null) {
                 LOGGER.debug("Deleting tmp file [{}]", tmp.getAbsolutePath());
                 FilesHelper.deleteQuietly(tmp);
@@ -17,6 +17,7 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertThat;
 import static org.talend.dataprep.cache.ContentCache.TimeToLive.DEFAULT;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -24,6 +25,10 @@ import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
@@ -251,15 +256,338 @@ public class FileSystemContentCacheTest {
         Assert.assertTrue(cache.has(key2));
     }
 
+    @Test
+    public void testEntriesAvailableAfterRestart() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("restart");
+        final ContentCacheKey permanentKey = new DummyCacheKey("restart permanent");
+        final ContentCacheKey evictedKey = new DummyCacheKey("restart evicted");
+        addCacheEntry(key, "content", ContentCache.TimeToLive.DEFAULT);
+        addCacheEntry(permanentKey, "permanent content", ContentCache.TimeToLive.PERMANENT);
+        addCacheEntry(evictedKey, "evicted content", ContentCache.TimeToLive.DEFAULT);
+        cache.evict(evictedKey);
+
+        // when
+        final FileSystemContentCache restarted = new FileSystemContentCache(TEST_DIRECTORY);
+
+        // then
+        Assert.assertTrue(restarted.has(key));
+        Assert.assertThat(IOUtils.toString(restarted.get(key)), is("content"));
+        Assert.assertTrue(restarted.has(permanentKey));
+        Assert.assertThat(IOUtils.toString(restarted.get(permanentKey)), is("permanent content"));
+        Assert.assertFalse(restarted.has(evictedKey));
+    }
+
+    @Test
+    public void testOnlyStaleTempFilesDeletedAfterRestart() throws Exception {
+        // given (a write in progress, possibly by another instance, and a write interrupted long ago)
+        final Path shard = Files.createDirectories(Paths.get(TEST_DIRECTORY, "cache", "00"));
+        final Path inProgress = Files.write(shard.resolve("in progress.123.tmp"), "partial".getBytes());
+        final Path interrupted = Files.write(shard.resolve("interrupted.456.tmp"), "partial".getBytes());
+        Assert.assertTrue(interrupted.toFile().setLastModified(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)));
+
+        // when
+        new FileSystemContentCache(TEST_DIRECTORY);
+
+        // then
+        Assert.assertTrue(Files.exists(inProgress));
+        Assert.assertFalse(Files.exists(interrupted));
+    }
+
+    @Test
+    public void testEntriesInShards() throws Exception {
+        // given
+        for (int i = 0; i < 100; i++) {
+            addCacheEntry(new DummyCacheKey("shard " + i), "content", ContentCache.TimeToLive.DEFAULT);
+        }
+
+        // then
+        final File[] files = Paths.get(TEST_DIRECTORY, "cache").toFile().listFiles();
+        Assert.assertNotNull(files);
+        for (File file : files) {
+            Assert.assertTrue(file + " should be a shard directory.", file.isDirectory());
+        }
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        // given a cache that can hold 2 entries of 10 bytes
+        final FileSystemContentCache limitedCache = new FileSystemContentCache(TEST_DIRECTORY, 25);
+        final ContentCacheKey first = new DummyCacheKey("first");
+        final ContentCacheKey second = new DummyCacheKey("second");
+        final ContentCacheKey third = new DummyCacheKey("third");
+        addCacheEntry(limitedCache, first, "0123456789", ContentCache.TimeToLive.DEFAULT);
+        Thread.sleep(10);
+        addCacheEntry(limitedCache, second, "0123456789", ContentCache.TimeToLive.DEFAULT);
+        Assert.assertTrue(limitedCache.has(second));
+        Assert.assertTrue(limitedCache.has(first));
+
+        // when (second is now the least recently used entry and third is looked up as often as second)
+        Assert.assertFalse(limitedCache.has(third));
+        addCacheEntry(limitedCache, third, "0123456789", ContentCache.TimeToLive.DEFAULT);
+
+        // then
+        Assert.assertTrue(limitedCache.has(first));
+        Assert.assertFalse(limitedCache.has(second));
+        Assert.assertTrue(limitedCache.has(third));
+        Assert.assertEquals(20L, limitedCache.getSize());
+        Assert.assertEquals(1L, limitedCache.getEvictionCount());
+    }
+
+    @Test
+    public void testMaxSizeSparesFrequentlyReadEntries() throws Exception {
+        // given a cache that holds a frequently read entry and a more recently written one
+        final FileSystemContentCache limitedCache = new FileSystemContentCache(TEST_DIRECTORY, 25);
+        final ContentCacheKey hot = new DummyCacheKey("hot");
+        final ContentCacheKey cold = new DummyCacheKey("cold");
+        final ContentCacheKey newEntry = new DummyCacheKey("new");
+        addCacheEntry(limitedCache, hot, "0123456789", ContentCache.TimeToLive.DEFAULT);
+        for (int i = 0; i < 5; i++) {
+            IOUtils.toString(limitedCache.get(hot));
+        }
+        addCacheEntry(limitedCache, cold, "0123456789", ContentCache.TimeToLive.DEFAULT);
+
+        // when a new entry needs room (hot is the least recently used entry)
+        addCacheEntry(limitedCache, newEntry, "0123456789", ContentCache.TimeToLive.DEFAULT);
+
+        // then the entry read less often is evicted instead of hot one
+        Assert.assertTrue(limitedCache.has(hot));
+        Assert.assertFalse(limitedCache.has(cold));
+        Assert.assertTrue(limitedCache.has(newEntry));
+        Assert.assertEquals(1L, limitedCache.getEvictionCount());
+        Assert.assertEquals(7L, limitedCache.getHitCount());
+        Assert.assertEquals(1L, limitedCache.getMissCount());
+    }
+
+    @Test
+    public void testMaxSizeNeverEvictsNewEntry() throws Exception {
+        // given a cache that can only hold a frequently read entry
+        final FileSystemContentCache limitedCache = new FileSystemContentCache(TEST_DIRECTORY, 15);
+        final ContentCacheKey hot = new DummyCacheKey("hot");
+        final ContentCacheKey newEntry = new DummyCacheKey("new");
+        addCacheEntry(limitedCache, hot, "0123456789", ContentCache.TimeToLive.DEFAULT);
+        for (int i = 0; i < 5; i++) {
+            IOUtils.toString(limitedCache.get(hot));
+        }
+
+        // when
+        addCacheEntry(limitedCache, newEntry, "9876543210", ContentCache.TimeToLive.DEFAULT);
+
+        // then new entry can be read right after it was written
+        Assert.assertThat(IOUtils.toString(limitedCache.get(newEntry)), is("9876543210"));
+        Assert.assertFalse(limitedCache.has(hot));
+        Assert.assertEquals(10L, limitedCache.getSize());
+        Assert.assertEquals(1L, limitedCache.getEvictionCount());
+    }
+
+    @Test
+    public void testPutIsPublishedOnClose() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("publish");
+        final OutputStream entry = cache.put(key, ContentCache.TimeToLive.DEFAULT);
+        entry.write("partial content".getBytes());
+        entry.flush();
+
+        // then (entry is not visible while being written)
+        Assert.assertFalse(cache.has(key));
+        Assert.assertNull(cache.get(key));
+
+        // when
+        entry.close();
+
+        // then
+        Assert.assertTrue(cache.has(key));
+        Assert.assertThat(IOUtils.toString(cache.get(key)), is("partial content"));
+        final List<Path> tempFiles = new ArrayList<>();
+        Files.walkFileTree(Paths.get(TEST_DIRECTORY, "cache"), new FileSystemVisitor((file, suffix) -> {
+            if ("tmp".equals(suffix)) {
+                tempFiles.add(file);
+            }
+        }));
+        Assert.assertTrue(tempFiles.isEmpty());
+    }
+
+    @Test
+    public void testEvictWhileWritten() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("aborted");
+        addCacheEntry(key, "previous content", ContentCache.TimeToLive.DEFAULT);
+
+        // when (computation fails while writing new content)
+        try (OutputStream entry = cache.put(key, ContentCache.TimeToLive.DEFAULT)) {
+            entry.write("partial content".getBytes());
+            cache.evict(key);
+        }
+
+        // then
+        Assert.assertFalse(cache.has(key));
+        Assert.assertNull(cache.get(key));
+    }
+
+    @Test
+    public void testWaitForEntryBeingWritten() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("single flight");
+        final OutputStream entry = cache.put(key, ContentCache.TimeToLive.DEFAULT);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // when
+            final Future<String> read = executor.submit(() -> {
+                try (InputStream content = cache.get(key)) {
+                    return content == null ? null : IOUtils.toString(content);
+                }
+            });
+            Thread.sleep(200);
+            Assert.assertFalse(read.isDone());
+            entry.write("content".getBytes());
+            entry.close();
+
+            // then
+            Assert.assertThat(read.get(5, TimeUnit.SECONDS), is("content"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEntryStillBeingWrittenIsMissing() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("long write");
+        final OutputStream entry = cache.put(key, ContentCache.TimeToLive.DEFAULT);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // when
+            final Future<Boolean> lookup = executor.submit(() -> cache.has(key));
+
+            // then (lookup does not wait for the end of the write)
+            Assert.assertFalse(lookup.get(5, TimeUnit.SECONDS));
+            entry.write("content".getBytes());
+            entry.close();
+            Assert.assertTrue(cache.has(key));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMemoryTier() throws Exception {
+        // given
+        final FileSystemContentCache tieredCache = new FileSystemContentCache(TEST_DIRECTORY, -1, 100, 50);
+        final ContentCacheKey key = new DummyCacheKey("memory");
+        final ContentCacheKey large = new DummyCacheKey("memory large");
+        addCacheEntry(tieredCache, key, "0123456789", ContentCache.TimeToLive.DEFAULT);
+        addCacheEntry(tieredCache, large, StringUtils.repeat("0123456789", 6), ContentCache.TimeToLive.DEFAULT);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(tieredCache.has(key));
+            Assert.assertThat(IOUtils.toString(tieredCache.get(key)), is("0123456789"));
+            Assert.assertTrue(tieredCache.has(large));
+            Assert.assertThat(IOUtils.toString(tieredCache.get(large)), is(StringUtils.repeat("0123456789", 6)));
+        }
+
+        // then (only small entry is kept in memory, after it was read from disk)
+        Assert.assertEquals(10L, tieredCache.getMemorySize());
+        Assert.assertEquals(1L, tieredCache.getMemoryHitCount());
+
+        // when
+        tieredCache.evict(key);
+
+        // then
+        Assert.assertFalse(tieredCache.has(key));
+        Assert.assertEquals(0L, tieredCache.getMemorySize());
+    }
+
+    @Test
+    public void testMemoryTierDemotion() throws Exception {
+        // given a memory tier for 1 entry
+        final FileSystemContentCache tieredCache = new FileSystemContentCache(TEST_DIRECTORY, -1, 15, 15);
+        final ContentCacheKey first = new DummyCacheKey("first");
+        final ContentCacheKey second = new DummyCacheKey("second");
+        addCacheEntry(tieredCache, first, "0123456789", ContentCache.TimeToLive.DEFAULT);
+        addCacheEntry(tieredCache, second, "9876543210", ContentCache.TimeToLive.DEFAULT);
+        for (int i = 0; i < 4; i++) {
+            IOUtils.toString(tieredCache.get(first));
+        }
+        final long firstInMemoryHits = tieredCache.getMemoryHitCount();
+
+        // when second entry is read more often than first one
+        for (int i = 0; i < 8; i++) {
+            Assert.assertThat(IOUtils.toString(tieredCache.get(second)), is("9876543210"));
+        }
+
+        // then second entry replaced first one in memory
+        Assert.assertEquals(10L, tieredCache.getMemorySize());
+        final long secondInMemoryHits = tieredCache.getMemoryHitCount();
+        Assert.assertThat(IOUtils.toString(tieredCache.get(first)), is("0123456789"));
+        Assert.assertEquals(secondInMemoryHits, tieredCache.getMemoryHitCount());
+        Assert.assertThat(IOUtils.toString(tieredCache.get(second)), is("9876543210"));
+        Assert.assertEquals(secondInMemoryHits + 1, tieredCache.getMemoryHitCount());
+        Assert.assertTrue(secondInMemoryHits > firstInMemoryHits);
+    }
+
+    @Test
+    public void testMemoryTierFull() throws Exception {
+        // given a memory tier that holds a frequently read entry
+        final FileSystemContentCache tieredCache = new FileSystemContentCache(TEST_DIRECTORY, -1, 15, 15);
+        final ContentCacheKey hot = new DummyCacheKey("hot");
+        final ContentCacheKey other = new DummyCacheKey("other");
+        addCacheEntry(tieredCache, hot, "0123456789", ContentCache.TimeToLive.DEFAULT);
+        addCacheEntry(tieredCache, other, "9876543210", ContentCache.TimeToLive.DEFAULT);
+        for (int i = 0; i < 10; i++) {
+            IOUtils.toString(tieredCache.get(hot));
+        }
+        final long memoryHits = tieredCache.getMemoryHitCount();
+
+        // when an entry read less often can't be kept in memory
+        for (int i = 0; i < 5; i++) {
+            Assert.assertThat(IOUtils.toString(tieredCache.get(other)), is("9876543210"));
+        }
+
+        // then it's read from its file
+        Assert.assertEquals(10L, tieredCache.getMemorySize());
+        Assert.assertEquals(memoryHits, tieredCache.getMemoryHitCount());
+    }
+
+    @Test
+    public void testMemoryTierEntryDeletedFromDisk() throws Exception {
+        // given an entry kept in memory
+        final FileSystemContentCache tieredCache = new FileSystemContentCache(TEST_DIRECTORY, -1, 100, 50);
+        final ContentCacheKey key = new DummyCacheKey("memory deleted");
+        addCacheEntry(tieredCache, key, "0123456789", ContentCache.TimeToLive.DEFAULT);
+        for (int i = 0; i < 5; i++) {
+            IOUtils.toString(tieredCache.get(key));
+        }
+        Assert.assertEquals(10L, tieredCache.getMemorySize());
+
+        // when its file is deleted (e.g. entry evicted by another instance)
+        final List<Path> files = new ArrayList<>();
+        Files.walkFileTree(Paths.get(TEST_DIRECTORY, "cache"),
+                new FileSystemVisitor((file, suffix) -> files.add(file)));
+        for (Path file : files) {
+            Files.delete(file);
+        }
+
+        // then
+        Assert.assertNull(tieredCache.get(key));
+        Assert.assertEquals(0L, tieredCache.getMemorySize());
+    }
+
+    private void addCacheEntry(ContentCacheKey key, String content, ContentCache.TimeToLive timeToLive) throws IOException {
+        addCacheEntry(cache, key, content, timeToLive);
+    }
+
     /**
      * Add the cache entry.
      *
+     * @param cache the cache where to add the entry.
      * @param key where to put the cache entry.
      * @param content the cache entry content.
      * @param timeToLive the time to live for entry
      * @throws IOException if an error occurs.
      */
-    private void addCacheEntry(ContentCacheKey key, String content, ContentCache.TimeToLive timeToLive) throws IOException {
+    private static void addCacheEntry(ContentCache cache, ContentCacheKey key, String content,
+            ContentCache.TimeToLive timeToLive) throws IOException {
         try (OutputStream entry = cache.put(key, timeToLive)) {
             entry.write(content.getBytes());
             entry.flush();
@@ -16,6 +16,12 @@ import static org.talend.dataprep.test.SameJSONFile.sameJSONAsFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
@@ -24,6 +30,8 @@ import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.json.DataSetRowIterator;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.schema.AbstractSchemaTestUtils;
 import org.talend.dataprep.schema.IoTestUtils;
 
@@ -131,4 +139,28 @@ public class CSVSerializerTest extends AbstractSchemaTestUtils {
         String expected = "[{\"0000\":\"Carson City\\\\Seine\"}]";
         Assert.assertEquals(expected, actual);
     }
+
+    @Test
+    public void should_stream_same_rows_as_serialized_json() throws IOException {
+        assertSameRows("simple.csv", 1, "first name", "last name");
+        assertSameRows("missing_values.csv", 1, "character", "actor", "active");
+        assertSameRows("additional_values.csv", 1, "name", "email");
+        assertSameRows("two_lines_header.csv", 2, "first name", "last name");
+    }
+
+    private void assertSameRows(String file, int nbLinesInHeader, String... columns) throws IOException {
+        DataSetMetadata datasetMetadata = ioTestUtils.getSimpleDataSetMetadata(columns);
+        datasetMetadata.getContent().setNbLinesInHeader(nbLinesInHeader);
+
+        final List<Map<String, Object>> expected = new ArrayList<>();
+        try (InputStream json = serializer.serialize(this.getClass().getResourceAsStream(file), datasetMetadata, -1)) {
+            new DataSetRowIterator(json).forEachRemaining(row -> expected.add(new HashMap<>(row.values())));
+        }
+        final List<Map<String, Object>> actual;
+        try (Stream<DataSetRow> rows = serializer.stream(this.getClass().getResourceAsStream(file), datasetMetadata, -1)) {
+            actual = rows.map(row -> new HashMap<>(row.values())).collect(Collectors.toList());
+        }
+
+        Assert.assertEquals(expected, actual);
+    }
 }
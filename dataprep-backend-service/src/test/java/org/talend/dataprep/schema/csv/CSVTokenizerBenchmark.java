@@ -0,0 +1,90 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema.csv;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import au.com.bytecode.opencsv.CSVReader;
+
+/**
+ * Compares {@link CSVTokenizer} with opencsv's {@link CSVReader} (reader used before {@link CSVTokenizer}). Run with
+ * {@link #main(String[])} (not run as part of unit tests).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CSVTokenizerBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean quoted;
+
+    private byte[] content;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(0);
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            builder.append(i).append(';');
+            builder.append(quoted ? "\"name " : "name ").append(random.nextInt(1000)).append(quoted ? "\";" : ";");
+            builder.append(random.nextDouble()).append(';');
+            builder.append("2016-01-0").append(1 + random.nextInt(9)).append(';');
+            builder.append(quoted ? "\"a \"\"quoted\"\" value\"" : "a value").append('\n');
+        }
+        content = builder.toString().getBytes(UTF_8);
+    }
+
+    @Benchmark
+    public void openCSV(Blackhole blackhole) throws IOException {
+        try (CSVReader reader = new CSVReader(new InputStreamReader(new ByteArrayInputStream(content), UTF_8), ';', '"',
+                '\0')) {
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                for (String value : line) {
+                    blackhole.consume(value);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void tokenizer(Blackhole blackhole) throws IOException {
+        try (CSVTokenizer tokenizer = new CSVTokenizer(new InputStreamReader(new ByteArrayInputStream(content), UTF_8),
+                ';', '"', '\0')) {
+            while (tokenizer.next()) {
+                for (int i = 0; i < tokenizer.size(); i++) {
+                    blackhole.consume(tokenizer.get(i));
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CSVTokenizerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,100 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema.csv;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.lang.StringUtils;
+import org.junit.Test;
+
+import au.com.bytecode.opencsv.CSVReader;
+
+public class CSVTokenizerTest {
+
+    @Test
+    public void should_read_values() throws Exception {
+        assertEquals(Arrays.asList("[a, b, c]", "[d, , ]"), read("a;b;c\nd;;", '\0'));
+    }
+
+    @Test
+    public void should_read_quoted_values() throws Exception {
+        assertEquals(Arrays.asList("[a;b, c \"quoted\", ]"), read("\"a;b\";\"c \"\"quoted\"\"\";\"\"", '\0'));
+    }
+
+    @Test
+    public void should_read_multi_line_values() throws Exception {
+        assertEquals(Arrays.asList("[1, multi\nline\nvalue, 2]", "[3]"), read("1;\"multi\r\nline\rvalue\";2\r\n3", '\0'));
+    }
+
+    @Test
+    public void should_read_long_lines() throws Exception {
+        final String longValue = StringUtils.repeat("0123456789", 2000);
+        assertEquals(Arrays.asList("[a, " + longValue + "]", "[\"" + longValue + "\"]"),
+                read("a;" + longValue + "\n\"\"\"" + longValue + "\"\"\"", '\0'));
+    }
+
+    @Test
+    public void should_read_same_values_as_opencsv() throws Exception {
+        assertSameAsOpenCSV("a;b\n\nc;d\n", '\0');
+        assertSameAsOpenCSV("a;bc\"d\"ef;g", '\0'); // quotes in the middle of a value
+        assertSameAsOpenCSV("a;  \"b\";c", '\0'); // white spaces before quote
+        assertSameAsOpenCSV("a;\"unclosed\nquote", '\0');
+        assertSameAsOpenCSV("a;\"b\\\"c\";d\\e", '\\'); // escape char
+        assertSameAsOpenCSV("a\u0000b;\"c\u0000\"\"d\"", '\0');
+
+        // Random content with special chars
+        final char[] chars = { 'a', 'b', ' ', ';', '"', '"', '\n', '\r', '\\', '\0' };
+        final Random random = new Random(0);
+        for (int i = 0; i < 10000; i++) {
+            final StringBuilder content = new StringBuilder();
+            final int length = random.nextInt(30);
+            for (int j = 0; j < length; j++) {
+                content.append(chars[random.nextInt(chars.length)]);
+            }
+            assertSameAsOpenCSV(content.toString(), '\0');
+            assertSameAsOpenCSV(content.toString(), '\\');
+        }
+    }
+
+    private static void assertSameAsOpenCSV(String content, char escape) throws IOException {
+        final List<String> expected = new ArrayList<>();
+        try (CSVReader reader = new CSVReader(new StringReader(content), ';', '"', escape)) {
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                expected.add(Arrays.toString(line));
+            }
+        }
+        assertEquals("Content: " + content, expected, read(content, escape));
+    }
+
+    private static List<String> read(String content, char escape) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        try (CSVTokenizer tokenizer = new CSVTokenizer(new StringReader(content), ';', '"', escape)) {
+            while (tokenizer.next()) {
+                final String[] line = new String[tokenizer.size()];
+                for (int i = 0; i < line.length; i++) {
+                    line[i] = tokenizer.get(i);
+                }
+                lines.add(Arrays.toString(line));
+            }
+        }
+        return lines;
+    }
+}
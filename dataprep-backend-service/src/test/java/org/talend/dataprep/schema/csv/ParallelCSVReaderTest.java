@@ -0,0 +1,134 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema.csv;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang.StringUtils;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import au.com.bytecode.opencsv.CSVReader;
+
+public class ParallelCSVReaderTest {
+
+    @Test
+    public void should_read_same_lines_as_csv_reader() throws Exception {
+        // given
+        final StringBuilder content = new StringBuilder("id;name;comment\r\n");
+        for (int i = 0; i < 500; i++) {
+            switch (i % 5) {
+            case 0:
+                content.append(i).append(";\"multi\nline ").append(i).append("\";plain\r\n");
+                break;
+            case 1:
+                content.append(i).append(";\"escaped \"\"quote\"\"\";\"a;b\"\n");
+                break;
+            case 2:
+                content.append("\n"); // empty line
+                break;
+            case 3:
+                content.append(i).append(";").append(StringUtils.repeat("long value ", 20)).append(";\n");
+                break;
+            default:
+                content.append(i).append(";caf\u00e9;\"\"\n");
+            }
+        }
+        content.append("last;line;without line feed");
+
+        // then
+        assertSameLines(content.toString(), 0, 1, 64);
+        assertSameLines(content.toString(), 1, 3, 64);
+        assertSameLines(content.toString(), 1, 4, 1024);
+        assertSameLines(content.toString(), 3, 2, ParallelCSVReader.DEFAULT_CHUNK_SIZE);
+    }
+
+    @Test
+    public void should_read_record_larger_than_chunk() throws Exception {
+        final String content = "a;b\n\"" + StringUtils.repeat("x\n", 100) + "\";c\nd;e\n";
+        assertSameLines(content, 0, 2, 16);
+    }
+
+    @Test
+    public void should_split_content_on_carriage_returns() throws Exception {
+        // given
+        final StringBuilder content = new StringBuilder("id;name\r");
+        for (int i = 0; i < 200; i++) {
+            content.append(i).append(i % 10 == 0 ? ";\"multi\rline\"" : ";name").append(i % 3 == 0 ? "\r\n" : "\r");
+        }
+        final AtomicInteger workerCount = (AtomicInteger) ReflectionTestUtils.getField(ParallelCSVReader.class,
+                "WORKER_COUNT");
+        final int workersBefore = workerCount.get();
+
+        // then
+        assertSameLines(content.toString(), 1, 2, 16);
+        assertSameLines(content.toString(), 0, 3, 17);
+        assertTrue(workerCount.get() > workersBefore);
+    }
+
+    @Test
+    public void should_read_empty_content() throws Exception {
+        assertSameLines("", 0, 2, 16);
+        assertSameLines("header\n", 1, 2, 16);
+    }
+
+    @Test
+    public void should_support_ascii_compatible_encodings() {
+        assertTrue(ParallelCSVReader.isSupported("UTF-8"));
+        assertTrue(ParallelCSVReader.isSupported("windows-1252"));
+        assertTrue(ParallelCSVReader.isSupported("ISO-8859-1"));
+        assertFalse(ParallelCSVReader.isSupported("UTF-16"));
+        assertFalse(ParallelCSVReader.isSupported("UTF-16LE"));
+        assertFalse(ParallelCSVReader.isSupported("unknown"));
+    }
+
+    private static void assertSameLines(String content, int nbLinesInHeader, int parallelism, int chunkSize)
+            throws IOException {
+        final byte[] bytes = content.getBytes(UTF_8);
+
+        final List<String> expected = new ArrayList<>();
+        try (CSVReader reader = new CSVReader(new InputStreamReader(new ByteArrayInputStream(bytes), UTF_8), ';', '"',
+                '\0')) {
+            for (int i = 0; i < nbLinesInHeader; i++) {
+                reader.readNext();
+            }
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                expected.add(Arrays.toString(line));
+            }
+        }
+
+        final List<String> actual = new ArrayList<>();
+        try (ParallelCSVReader reader = new ParallelCSVReader(new ByteArrayInputStream(bytes), "UTF-8", ';',
+                nbLinesInHeader, parallelism, chunkSize)) {
+            while (reader.next()) {
+                final String[] line = new String[reader.size()];
+                for (int i = 0; i < line.length; i++) {
+                    line[i] = reader.get(i);
+                }
+                actual.add(Arrays.toString(line));
+            }
+        }
+
+        assertEquals(expected, actual);
+    }
+}
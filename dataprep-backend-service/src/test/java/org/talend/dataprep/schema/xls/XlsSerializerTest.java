@@ -24,6 +24,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
@@ -38,6 +39,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.dataset.DataSetMetadataBuilder;
 import org.talend.dataprep.schema.AbstractSchemaTestUtils;
@@ -555,6 +557,37 @@ public class XlsSerializerTest extends AbstractSchemaTestUtils {
         Assertions.assertThat(values.get(1)).contains(entry("0003", "12/4/2015 1:01"), entry("0004", "1/15/2016 13:56"));
     }
 
+    @Test
+    public void stream_rows_as_serialized_values() throws Exception {
+
+        // given
+        String fileName = "dates.xlsx";
+        DataSetMetadata dataSetMetadata = getDataSetMetadataFromExcelFile(fileName, "Feuil1");
+        List<Map<String, String>> expected = getValuesFromFile(fileName, dataSetMetadata);
+        // empty cells are serialized as null values and read as empty values
+        expected.forEach(values -> values.replaceAll((column, value) -> StringUtils.defaultString(value)));
+
+        // when
+        List<Map<String, String>> values = new ArrayList<>();
+        try (InputStream inputStream = this.getClass().getResourceAsStream(fileName);
+                Stream<DataSetRow> rows = xlsSerializer.stream(inputStream, dataSetMetadata, -1)) {
+            rows.forEach(row -> {
+                Map<String, String> rowValues = new HashMap<>();
+                dataSetMetadata.getRowMetadata().getColumns().forEach(c -> rowValues.put(c.getId(), row.get(c.getId())));
+                values.add(rowValues);
+            });
+        }
+        long limited;
+        try (InputStream inputStream = this.getClass().getResourceAsStream(fileName);
+                Stream<DataSetRow> rows = xlsSerializer.stream(inputStream, dataSetMetadata, 2)) {
+            limited = rows.count();
+        }
+
+        // then
+        Assert.assertEquals(expected, values);
+        Assert.assertEquals(2, limited);
+    }
+
     /**
      * Return the dataset metadata out of the given file name.
      *
@@ -0,0 +1,91 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema.xls.streaming;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import org.junit.Test;
+
+public class MappedSharedStringsTest {
+
+    private static InputStream sharedStrings(String... items) {
+        final StringBuilder xml = new StringBuilder();
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>");
+        xml.append("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">");
+        for (String item : items) {
+            xml.append("<si>").append(item).append("</si>");
+        }
+        xml.append("</sst>");
+        return new ByteArrayInputStream(xml.toString().getBytes(UTF_8));
+    }
+
+    @Test
+    public void should_read_shared_strings() throws Exception {
+        // given
+        final InputStream content = sharedStrings("<t>simple</t>", //
+                "<r><rPr><b/></rPr><t>rich </t></r><r><t xml:space=\"preserve\">text </t></r>", //
+                "<t>\u6f22\u5b57</t><rPh sb=\"0\" eb=\"2\"><t>\u304b\u3093\u3058</t></rPh>", //
+                "<t>line_x000D_break &amp; escaped</t>", //
+                "<t/>");
+
+        // when
+        try (MappedSharedStrings sst = MappedSharedStrings.index(content, 2)) {
+            // then
+            assertEquals(5, sst.size());
+            assertEquals("simple", sst.get(0));
+            assertEquals("rich text ", sst.get(1));
+            assertEquals("\u6f22\u5b57", sst.get(2));
+            assertEquals("line\rbreak & escaped", sst.get(3));
+            assertEquals("", sst.get(4));
+            // cached and evicted strings are read again
+            assertEquals("simple", sst.get(0));
+            assertEquals("rich text ", sst.get(1));
+        }
+    }
+
+    @Test
+    public void should_read_strings_across_mapped_regions() throws Exception {
+        // given
+        final String[] items = new String[100];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = "<t>value #" + i + " \u00e9</t>";
+        }
+
+        // when
+        try (MappedSharedStrings sst = MappedSharedStrings.index(sharedStrings(items), 0, 16)) {
+            // then
+            assertEquals(100, sst.size());
+            for (int i = 0; i < items.length; i++) {
+                assertEquals("value #" + i + " \u00e9", sst.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void should_read_no_shared_strings() throws Exception {
+        try (MappedSharedStrings sst = MappedSharedStrings.index(null, 10)) {
+            assertEquals(0, sst.size());
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void should_fail_on_unknown_index() throws Exception {
+        try (MappedSharedStrings sst = MappedSharedStrings.index(sharedStrings("<t>simple</t>"), 10)) {
+            sst.get(1);
+        }
+    }
+}
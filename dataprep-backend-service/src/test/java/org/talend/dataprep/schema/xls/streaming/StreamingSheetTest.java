@@ -17,16 +17,19 @@ import static org.junit.Assert.assertNotNull;
 
 import java.io.InputStream;
 import java.util.Iterator;
+import java.util.List;
 
 import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
 
 import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.xssf.eventusermodel.XSSFReader;
-import org.apache.poi.xssf.model.SharedStringsTable;
 import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -34,12 +37,15 @@ public class StreamingSheetTest {
 
     private StreamingSheet streamingSheet;
 
+    private MappedSharedStrings sst;
+
     @Before
     public void setUp() throws Exception {
         OPCPackage pkg = OPCPackage.open(StreamingSheetTest.class.getResourceAsStream("../dates.xlsx"));
         XSSFReader reader = new XSSFReader(pkg);
 
-        SharedStringsTable sst = reader.getSharedStringsTable();
+        List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+        sst = MappedSharedStrings.index(parts.get(0).getInputStream(), 10);
         StylesTable styles = reader.getStylesTable();
 
         Iterator<InputStream> iter = reader.getSheetsData();
@@ -48,6 +54,11 @@ public class StreamingSheetTest {
         streamingSheet = new StreamingSheet("name", streamingSheetReader);
     }
 
+    @After
+    public void tearDown() throws Exception {
+        sst.close();
+    }
+
     @Test
     public void getReader() throws Exception {
         assertNotNull(streamingSheet.getReader());
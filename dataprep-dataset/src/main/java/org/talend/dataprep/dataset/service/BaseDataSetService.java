@@ -28,6 +28,7 @@ import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.dataset.DataSetMetadataBuilder;
 import org.talend.dataprep.dataset.event.DataSetImportedEvent;
 import org.talend.dataprep.dataset.service.analysis.DataSetAnalyzer;
+import org.talend.dataprep.dataset.service.analysis.synchronous.SampleRowSource;
 import org.talend.dataprep.dataset.service.analysis.synchronous.SynchronousDataSetAnalyzer;
 import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
@@ -58,6 +59,10 @@ public abstract class BaseDataSetService {
     @Autowired
     private List<SynchronousDataSetAnalyzer> synchronousAnalyzers;
 
+    /** Sample rows shared by synchronous analyzers. */
+    @Autowired
+    private SampleRowSource sampleRows;
+
     /**
      * Sort the synchronous analyzers.
      */
@@ -101,15 +106,20 @@ public abstract class BaseDataSetService {
     protected final void analyzeDataSet(String id, boolean performAsyncBackgroundAnalysis,
             List<Class<? extends DataSetAnalyzer>> analysersToSkip) {
 
-        // Calls all synchronous analysis first
+        // Calls all synchronous analysis first (sharing a single read of the sample rows)
         try {
-            for (SynchronousDataSetAnalyzer synchronousDataSetAnalyzer : synchronousAnalyzers) {
-                if (analysersToSkip.contains(synchronousDataSetAnalyzer.getClass())) {
-                    continue;
+            sampleRows.open();
+            try {
+                for (SynchronousDataSetAnalyzer synchronousDataSetAnalyzer : synchronousAnalyzers) {
+                    if (analysersToSkip.contains(synchronousDataSetAnalyzer.getClass())) {
+                        continue;
+                    }
+                    LOG.info("Running {}", synchronousDataSetAnalyzer.getClass());
+                    synchronousDataSetAnalyzer.analyze(id);
+                    LOG.info("Done running {}", synchronousDataSetAnalyzer.getClass());
                 }
-                LOG.info("Running {}", synchronousDataSetAnalyzer.getClass());
-                synchronousDataSetAnalyzer.analyze(id);
-                LOG.info("Done running {}", synchronousDataSetAnalyzer.getClass());
+            } finally {
+                sampleRows.close();
             }
         } catch (Exception e) {
             // Clean up content & metadata (don't keep invalid information)
@@ -344,6 +344,8 @@ public class DataSetService extends BaseDataSetService {
      * Returns the <b>full</b> data set content for given id.
      *
      * @param metadata If <code>true</code>, includes data set metadata information.
+     * @param from The tdp id of the first row to return.
+     * @param count The max number of rows to return (-1 for all rows).
      * @param dataSetId A data set id.
      * @return The full data set.
      */
@@ -354,6 +356,8 @@ public class DataSetService extends BaseDataSetService {
     public Callable<DataSet> get(
             @RequestParam(defaultValue = "true") @ApiParam(name = "metadata", value = "Include metadata information in the response") boolean metadata, //
             @RequestParam(defaultValue = "false") @ApiParam(name = "includeInternalContent", value = "Include internal content in the response") boolean includeInternalContent, //
+            @RequestParam(defaultValue = "1") @ApiParam(name = "from", value = "Tdp id of the first row to return") long from, //
+            @RequestParam(defaultValue = "-1") @ApiParam(name = "count", value = "Max number of rows to return (-1 for all rows)") long count, //
             @PathVariable(value = "id") @ApiParam(name = "id", value = "Id of the requested data set") String dataSetId) {
         return () -> {
             final Marker marker = Markers.dataset(dataSetId);
@@ -366,7 +370,12 @@ public class DataSetService extends BaseDataSetService {
                 if (metadata) {
                     dataSet.setMetadata(conversionService.convert(dataSetMetadata, UserDataSetMetadata.class));
                 }
-                Stream<DataSetRow> stream = contentStore.stream(dataSetMetadata, -1); // Disable line limit
+                Stream<DataSetRow> stream;
+                if (from > 1 || count >= 0) {
+                    stream = contentStore.stream(dataSetMetadata, from, count);
+                } else {
+                    stream = contentStore.stream(dataSetMetadata, -1); // Disable line limit
+                }
                 if (!includeInternalContent) {
                     LOG.debug("Skip internal content when serving data set #{} content.", dataSetId);
                     stream = stream.map(r -> {
@@ -908,6 +917,9 @@ public class DataSetService extends BaseDataSetService {
                     false, //
                     asList(ContentAnalysis.class, FormatAnalysis.class, SchemaAnalysis.class));
 
+            // no need to update invalid values here: the ones kept by content store depend on column type and domain,
+            // so they're now out of date and content store computes them again in background after next read
+
         } finally {
             lock.unlock();
         }
@@ -1048,7 +1060,7 @@ public class DataSetService extends BaseDataSetService {
         LOG.debug("listing semantic categories for dataset #{} column #{}", datasetId, columnId);
 
         final DataSetMetadata metadata = dataSetMetadataRepository.get(datasetId);
-        try (final Stream<DataSetRow> records = contentStore.stream(metadata)) {
+        try (final Stream<DataSetRow> records = contentStore.rows(metadata)) {
 
             final ColumnMetadata columnMetadata = metadata.getRowMetadata().getById(columnId);
             final Analyzer<Analyzers.Result> analyzer = analyzerService.build(columnMetadata, SEMANTIC);
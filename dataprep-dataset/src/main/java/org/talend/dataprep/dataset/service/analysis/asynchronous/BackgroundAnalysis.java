@@ -15,7 +15,9 @@ package org.talend.dataprep.dataset.service.analysis.asynchronous;
 
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_ANALYZE_DATASET_QUALITY;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang.StringUtils;
@@ -38,7 +40,8 @@ import org.talend.dataquality.common.inference.Analyzers;
 import org.talend.dataquality.common.inference.ValueQualityStatistics;
 
 /**
- * Compute statistics analysis on the full dataset.
+ * Compute statistics analysis on the full dataset. Column types and statistics are computed while reading content once
+ * (content is read again only if column types found on full content differ from the ones found on the sample).
  */
 @Component
 public class BackgroundAnalysis {
@@ -86,43 +89,62 @@ public class BackgroundAnalysis {
             if (columns.isEmpty()) {
                 LOGGER.debug("Skip statistics of {} (no column information).", metadata.getId());
             } else {
-                // base analysis
-                try (final Stream<DataSetRow> stream = store.stream(metadata)) {
-                    try (Analyzer<Analyzers.Result> analyzer = analyzerService.schemaAnalysis(columns)) {
-                        computeStatistics(analyzer, columns, stream);
-                        LOGGER.debug("Base statistics analysis done for{}", dataSetId);
-                        // Save base analysis
-                        saveAnalyzerResults(dataSetId, analyzer);
-                    }
+                // Types and statistics are computed in a single scan: statistics that depend on types (e.g. quality)
+                // are computed with the types found by synchronous analysis on the sample.
+                final Map<String, String> sampleSchema = getSchema(columns);
+                final List<Analyzers.Result> results;
+                final List<ColumnMetadata> savedColumns;
+                try (final Stream<DataSetRow> stream = store.rows(metadata);
+                        Analyzer<Analyzers.Result> schemaAnalyzer = analyzerService.build(columns, AnalyzerService.Analysis.TYPE);
+                        Analyzer<Analyzers.Result> fullAnalyzer = analyzerService.full(columns)) {
+                    computeStatistics(columns, stream, schemaAnalyzer, fullAnalyzer);
+                    LOGGER.debug("Statistics analysis done for{}", dataSetId);
+                    // Save analysis
+                    savedColumns = saveAnalyzerResults(dataSetId, schemaAnalyzer, fullAnalyzer);
+                    results = fullAnalyzer.getResult();
                 } catch (Exception e) {
-                    LOGGER.warn("Base statistics analysis, dataset {} generates an error", dataSetId, e);
+                    LOGGER.warn("Statistics analysis, dataset {} generates an error", dataSetId, e);
                     throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
                 }
-                // advanced analysis
-                try (final Stream<DataSetRow> stream = store.stream(metadata)) {
-                    try (Analyzer<Analyzers.Result> analyzer = analyzerService.full(columns)) {
-                        computeStatistics(analyzer, columns, stream);
-                        updateNbRecords(metadata, analyzer.getResult());
+                if (savedColumns == null) {
+                    LOGGER.info("Unable to save statistics of data set #{}: seems to be removed.", dataSetId);
+                    return;
+                }
+                if (sampleSchema.equals(getSchema(savedColumns))) {
+                    updateNbRecords(metadata, results);
+                } else {
+                    // Types found on full content differ from sample ones: compute statistics again with saved types
+                    try (final Stream<DataSetRow> stream = store.rows(metadata);
+                            Analyzer<Analyzers.Result> fullAnalyzer = analyzerService.full(savedColumns)) {
+                        computeStatistics(savedColumns, stream, fullAnalyzer);
+                        updateNbRecords(metadata, fullAnalyzer.getResult());
                         LOGGER.debug("Advanced statistics analysis done for{}", dataSetId);
                         // Save advanced analysis
-                        saveAnalyzerResults(dataSetId, analyzer);
+                        saveAnalyzerResults(dataSetId, fullAnalyzer);
+                    } catch (Exception e) {
+                        LOGGER.warn("Advanced statistics analysis, dataset {} generates an error", dataSetId, e);
+                        throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
                     }
-                } catch (Exception e) {
-                    LOGGER.warn("Advanced statistics analysis, dataset {} generates an error", dataSetId, e);
-                    throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
                 }
                 // Tag data set quality: now analyzed
                 DistributedLock datasetLock = repository.createDatasetMetadataLock(metadata.getId());
                 try {
                     datasetLock.lock();
+                    // saved metadata holds the statistics computed with the final types (metadata holds sample ones)
                     final DataSetMetadata dataSetMetadata = repository.get(dataSetId);
                     if (dataSetMetadata != null) {
+                        dataSetMetadata.getContent().setNbRecords(metadata.getContent().getNbRecords());
                         dataSetMetadata.getLifecycle().qualityAnalyzed(true);
-                        repository.save(metadata);
+                        repository.save(dataSetMetadata);
                     }
                 } finally {
                     datasetLock.unlock();
                 }
+                // Keep invalid values (computed with the final column information) for next reads
+                final DataSetMetadata analyzed = repository.get(dataSetId);
+                if (analyzed != null) {
+                    store.updateInvalidValues(analyzed);
+                }
                 LOGGER.info("Statistics analysis done for {}", dataSetId);
             }
         } else {
@@ -130,20 +152,45 @@ public class BackgroundAnalysis {
         }
     }
 
-    private void saveAnalyzerResults(String id, Analyzer<Analyzers.Result> analyzer) {
+    /**
+     * Adapts the data set metadata in repository with the analyzers results.
+     *
+     * @param id The data set id.
+     * @param analyzers The analyzers whose results are saved.
+     * @return The columns as saved in repository, or <code>null</code> if data set no longer exists.
+     */
+    @SafeVarargs
+    private final List<ColumnMetadata> saveAnalyzerResults(String id, Analyzer<Analyzers.Result>... analyzers) {
         DistributedLock datasetLock = repository.createDatasetMetadataLock(id);
         try {
             datasetLock.lock();
             final DataSetMetadata dataSetMetadata = repository.get(id);
-            if (dataSetMetadata != null) {
-                adapter.adapt(dataSetMetadata.getRowMetadata().getColumns(), analyzer.getResult());
-                repository.save(dataSetMetadata);
+            if (dataSetMetadata == null) {
+                return null;
+            }
+            final List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
+            for (Analyzer<Analyzers.Result> analyzer : analyzers) {
+                adapter.adapt(columns, analyzer.getResult());
             }
+            repository.save(dataSetMetadata);
+            return columns;
         } finally {
             datasetLock.unlock();
         }
     }
 
+    /**
+     * @param columns the columns metadata.
+     * @return The type and semantic domain of each column (information statistics depend on).
+     */
+    private static Map<String, String> getSchema(List<ColumnMetadata> columns) {
+        final Map<String, String> schema = new HashMap<>();
+        for (ColumnMetadata column : columns) {
+            schema.put(column.getId(), column.getType() + '|' + column.getDomain());
+        }
+        return schema;
+    }
+
     /**
      * Update the number of records for the dataset.
      *
@@ -165,20 +212,26 @@ public class BackgroundAnalysis {
     }
 
     /**
-     * Compute the statistics for the given dataset metadata and content.
+     * Compute the statistics for the given dataset metadata and content. Content is read once for all analyzers.
      *
-     * @param analyzer the analyzer to perform.
      * @param columns the columns metadata.
      * @param stream the content to compute the statistics from.
+     * @param analyzers the analyzers to perform.
      */
-    private void computeStatistics(final Analyzer<Analyzers.Result> analyzer, final List<ColumnMetadata> columns,
-            final Stream<DataSetRow> stream) {
+    @SafeVarargs
+    private final void computeStatistics(final List<ColumnMetadata> columns, final Stream<DataSetRow> stream,
+            final Analyzer<Analyzers.Result>... analyzers) {
         // Create a content with the expected format for the StatisticsClientJson class
-        stream.map(row -> row.toArray(DataSetRow.SKIP_TDP_ID)).forEach(analyzer::analyze);
-        analyzer.end();
-
-        // Store results back in data set
-        adapter.adapt(columns, analyzer.getResult());
+        stream.map(row -> row.toArray(DataSetRow.SKIP_TDP_ID)).forEach(values -> {
+            for (Analyzer<Analyzers.Result> analyzer : analyzers) {
+                analyzer.analyze(values);
+            }
+        });
+        for (Analyzer<Analyzers.Result> analyzer : analyzers) {
+            analyzer.end();
+            // Store results back in data set
+            adapter.adapt(columns, analyzer.getResult());
+        }
     }
 
 }
@@ -27,7 +27,6 @@ import org.talend.dataprep.api.dataset.DataSetContent;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.service.analysis.DataSetAnalyzer;
-import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.lock.DistributedLock;
 import org.talend.dataprep.schema.csv.CSVFormatFamily;
@@ -49,9 +48,9 @@ public class ContentAnalysis implements SynchronousDataSetAnalyzer {
     @Autowired
     private DataSetMetadataRepository repository;
 
-    /** Dataset content store. */
+    /** Sample rows of the data set. */
     @Autowired
-    private ContentStoreRouter contentStore;
+    private SampleRowSource sampleRows;
 
     /**
      * @see DataSetAnalyzer#analyze(String)
@@ -72,9 +71,10 @@ public class ContentAnalysis implements SynchronousDataSetAnalyzer {
                 LOG.info("Indexing content of data set #{}...", metadata.getId());
 
                 updateHeaderAndFooter(metadata);
+                // Content is indexed once header is known (allows content store to index rows on first read).
+                metadata.getLifecycle().contentIndexed(true);
                 updateLimit(metadata);
 
-                metadata.getLifecycle().contentIndexed(true);
                 repository.save(metadata);
                 LOG.info("Indexed content of data set #{}.", dataSetId);
             } else {
@@ -113,7 +113,7 @@ public class ContentAnalysis implements SynchronousDataSetAnalyzer {
      */
     private void updateLimit(DataSetMetadata metadata) {
         // auto closable block is really important to make sure the stream is closed after the limit is set
-        try (final Stream<DataSetRow> stream = contentStore.stream(metadata)) {
+        try (final Stream<DataSetRow> stream = sampleRows.stream(metadata, -1)) {
             final Optional<DataSetRow> firstAfterLimit = stream.skip(sizeLimit).findAny();
             if (firstAfterLimit.isPresent()) {
                 metadata.getContent().setLimit(sizeLimit);
@@ -122,10 +122,10 @@ public class ContentAnalysis implements SynchronousDataSetAnalyzer {
     }
 
     /**
-     * @return this analysis order.
+     * @return this analysis order (before {@link SchemaAnalysis} so that all analyzers read rows with the right header).
      */
     @Override
     public int order() {
-        return 2;
+        return 1;
     }
 }
@@ -26,7 +26,6 @@ import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.StatisticsAdapter;
-import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
@@ -49,7 +48,7 @@ public class QualityAnalysis implements SynchronousDataSetAnalyzer {
     DataSetMetadataRepository repository;
 
     @Autowired
-    ContentStoreRouter store;
+    SampleRowSource sampleRows;
 
     @Autowired
     StatisticsAdapter adapter;
@@ -80,7 +79,7 @@ public class QualityAnalysis implements SynchronousDataSetAnalyzer {
                 LOGGER.debug("No need to recompute quality of data set #{} (statistics are completed).", dataSetId);
                 return;
             }
-            try (Stream<DataSetRow> stream = store.stream(metadata)) {
+            try (Stream<DataSetRow> stream = sampleRows.stream(metadata, -1)) {
                 if (!metadata.getLifecycle().schemaAnalyzed()) {
                     LOGGER.debug(
                             "Schema information must be computed before quality analysis can be performed, ignoring message");
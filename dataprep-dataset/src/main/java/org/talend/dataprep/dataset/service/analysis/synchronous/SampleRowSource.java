@@ -0,0 +1,224 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.service.analysis.synchronous;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetContent;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
+
+/**
+ * <p>
+ * Source of the sample rows used by {@link SynchronousDataSetAnalyzer synchronous analyzers}. Sample rows are the rows
+ * returned by {@link ContentStoreRouter#rows(DataSetMetadata)}.
+ * </p>
+ * <p>
+ * Between {@link #open()} and {@link #close()}, all analyzers running on the current thread share a single read of
+ * the content: rows are read once and the first rows are kept in memory (see {@link #capacity}) to be served again to
+ * the next analyzers. Content is read again only when the information used to read rows (format, header, columns...)
+ * changes, or when an analyzer needs more rows than the kept ones. Outside of {@link #open()} and {@link #close()},
+ * each call reads content.
+ * </p>
+ */
+@Component
+public class SampleRowSource {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SampleRowSource.class);
+
+    /**
+     * Max number of rows kept in memory. Defaults to the number of sample rows returned by content store, so analyzers
+     * that read all sample rows (e.g. after {@link ContentAnalysis} skipped them all) don't need to read content again.
+     */
+    @Value("${dataset.analysis.sample.rows:${dataset.records.limit:10000}}")
+    private int capacity;
+
+    /** Dataset content store. */
+    @Autowired
+    private ContentStoreRouter store;
+
+    /** The rows shared by analyzers running on current thread. */
+    private final ThreadLocal<SharedRows> current = new ThreadLocal<>();
+
+    /**
+     * Starts sharing rows between analyzers running on current thread.
+     */
+    public void open() {
+        close();
+        current.set(new SharedRows());
+    }
+
+    /**
+     * Stops sharing rows between analyzers running on current thread and releases all resources used to read rows.
+     */
+    public void close() {
+        final SharedRows rows = current.get();
+        if (rows != null) {
+            rows.reset(null);
+            current.remove();
+        }
+    }
+
+    /**
+     * @param metadata The data set metadata.
+     * @param limit The max number of rows to return (use -1 for all sample rows).
+     * @return The sample rows of the data set. Rows must not be modified.
+     */
+    public Stream<DataSetRow> stream(DataSetMetadata metadata, long limit) {
+        final SharedRows rows = current.get();
+        if (rows != null) {
+            final Stream<DataSetRow> shared = rows.stream(metadata, limit);
+            if (shared != null) {
+                return shared;
+            }
+            LOGGER.debug("More than {} sample rows needed for data set #{}, read content again.", capacity,
+                    metadata.getId());
+        }
+        final Stream<DataSetRow> stream = store.rows(metadata);
+        return limit < 0 ? stream : stream.limit(limit);
+    }
+
+    /**
+     * @return A key for everything rows depend on (rows read with different metadata but same key are the same).
+     */
+    private static String getKey(DataSetMetadata metadata) {
+        final DataSetContent content = metadata.getContent();
+        final List<String> columns = metadata.getRowMetadata().getColumns().stream() //
+                .map(ColumnMetadata::getId) //
+                .collect(Collectors.toList());
+        return StringUtils.join(new Object[] { metadata.getId(), //
+                content.getFormatFamilyId(), //
+                metadata.getEncoding(), //
+                metadata.getSheetName(), //
+                new TreeMap<>(content.getParameters()), //
+                content.getNbLinesInHeader(), //
+                columns }, '|');
+    }
+
+    /**
+     * A single read of content, with its first rows kept in memory.
+     */
+    private class SharedRows {
+
+        /** The first rows read from content. */
+        private final List<DataSetRow> buffer = new ArrayList<>();
+
+        /** The key of metadata used to read content. */
+        private String key;
+
+        /** The content being read. */
+        private Stream<DataSetRow> source;
+
+        private Iterator<DataSetRow> iterator;
+
+        /** Number of rows read from {@link #iterator}. */
+        private long read;
+
+        /**
+         * @return A stream of rows, or <code>null</code> if rows can't be served from this read (rows that are no longer
+         * in memory are needed).
+         */
+        private Stream<DataSetRow> stream(DataSetMetadata metadata, long limit) {
+            final String metadataKey = getKey(metadata);
+            if (!metadataKey.equals(key)) {
+                reset(metadata);
+                key = metadataKey;
+            }
+            if (read > buffer.size() && (limit < 0 || limit > buffer.size())) {
+                return null;
+            }
+            final Iterator<DataSetRow> rows = new Iterator<DataSetRow>() {
+
+                private int index;
+
+                private DataSetRow next;
+
+                @Override
+                public boolean hasNext() {
+                    if (next != null) {
+                        return true;
+                    }
+                    if (limit >= 0 && index >= limit) {
+                        return false;
+                    }
+                    if (index < buffer.size()) {
+                        next = buffer.get(index);
+                    } else if (index == read) {
+                        next = pull();
+                    } else {
+                        throw new IllegalStateException("Sample rows are no longer available.");
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public DataSetRow next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final DataSetRow row = next;
+                    next = null;
+                    index++;
+                    return row;
+                }
+            };
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false);
+        }
+
+        /**
+         * @return The next row of content (kept in memory if there's still room for it), or <code>null</code> if there's
+         * no more row.
+         */
+        private DataSetRow pull() {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            read++;
+            final DataSetRow row = iterator.next();
+            if (buffer.size() < capacity) {
+                // Content store may reuse the same row instance
+                final DataSetRow copy = row.clone();
+                buffer.add(copy);
+                return copy;
+            }
+            return row;
+        }
+
+        /**
+         * Closes current read and starts a new read of <code>metadata</code> content (if not <code>null</code>).
+         */
+        private void reset(DataSetMetadata metadata) {
+            if (source != null) {
+                source.close();
+            }
+            buffer.clear();
+            read = 0;
+            key = null;
+            source = metadata == null ? null : store.rows(metadata);
+            iterator = source == null ? null : source.iterator();
+        }
+    }
+}
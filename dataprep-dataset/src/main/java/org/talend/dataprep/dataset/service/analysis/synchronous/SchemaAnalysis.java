@@ -25,7 +25,6 @@ import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.StatisticsAdapter;
-import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
@@ -53,7 +52,7 @@ public class SchemaAnalysis implements SynchronousDataSetAnalyzer {
     DataSetMetadataRepository repository;
 
     @Autowired
-    ContentStoreRouter store;
+    SampleRowSource sampleRows;
 
     @Autowired
     StatisticsAdapter adapter;
@@ -75,7 +74,7 @@ public class SchemaAnalysis implements SynchronousDataSetAnalyzer {
                 return;
             }
             // Schema analysis
-            try (Stream<DataSetRow> stream = store.stream(metadata, 100)) {
+            try (Stream<DataSetRow> stream = sampleRows.stream(metadata, 100)) {
                 LOGGER.info("Analyzing schema in dataset #{}...", dataSetId);
                 // Configure analyzers
                 final List<ColumnMetadata> columns = metadata.getRowMetadata().getColumns();
@@ -100,6 +99,6 @@ public class SchemaAnalysis implements SynchronousDataSetAnalyzer {
 
     @Override
     public int order() {
-        return 1;
+        return 2;
     }
 }
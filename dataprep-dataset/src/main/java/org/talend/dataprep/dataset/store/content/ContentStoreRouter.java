@@ -97,6 +97,30 @@ public class ContentStoreRouter extends DataSetContentStore {
         return target.stream(dataSetMetadata);
     }
 
+    @Override
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.stream(dataSetMetadata, limit);
+    }
+
+    @Override
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long fromTdpId, long count) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.stream(dataSetMetadata, fromTdpId, count);
+    }
+
+    @Override
+    public Stream<DataSetRow> rows(DataSetMetadata dataSetMetadata, long limit) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.rows(dataSetMetadata, limit);
+    }
+
+    @Override
+    public void updateInvalidValues(DataSetMetadata dataSetMetadata) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        target.updateInvalidValues(dataSetMetadata);
+    }
+
     /**
      * @see DataSetContentStore#clear()
      */
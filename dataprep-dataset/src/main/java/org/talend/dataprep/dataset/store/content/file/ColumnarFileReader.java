@@ -0,0 +1,303 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.file;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.talend.dataprep.dataset.store.content.file.ColumnarFileWriter.DICTIONARY;
+import static org.talend.dataprep.dataset.store.content.file.ColumnarFileWriter.MAGIC;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.lang.StringUtils;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.DataSetErrorCodes;
+
+/**
+ * Reads files written by {@link ColumnarFileWriter}. Column chunks are read using memory mapped buffers, and only chunks
+ * of the requested columns are read.
+ *
+ * @see ColumnarFileWriter
+ */
+class ColumnarFileReader implements Closeable {
+
+    private static final int TRAILER_SIZE = 12; // footer offset (long) + magic (int)
+
+    private final FileChannel channel;
+
+    private final String signature;
+
+    private final List<String> columns;
+
+    private final int[] blockRowCounts;
+
+    private final long[][] chunkOffsets;
+
+    private final int[][] chunkLengths;
+
+    /**
+     * @param file A file written by {@link ColumnarFileWriter}.
+     * @throws IOException If file can't be read or isn't a complete columnar file.
+     */
+    ColumnarFileReader(File file) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            final long size = channel.size();
+            if (size < TRAILER_SIZE) {
+                throw new IOException("File '" + file + "' is not a columnar file.");
+            }
+            final ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_SIZE, TRAILER_SIZE);
+            final long footerOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC || footerOffset < 0 || footerOffset > size - TRAILER_SIZE) {
+                throw new IOException("File '" + file + "' is not a columnar file.");
+            }
+            final ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, footerOffset,
+                    size - TRAILER_SIZE - footerOffset);
+            signature = readString(footer);
+            final int columnCount = readVarInt(footer);
+            columns = new ArrayList<>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                columns.add(readString(footer));
+            }
+            final int blockCount = readVarInt(footer);
+            blockRowCounts = new int[blockCount];
+            chunkOffsets = new long[blockCount][columnCount];
+            chunkLengths = new int[blockCount][columnCount];
+            for (int i = 0; i < blockCount; i++) {
+                blockRowCounts[i] = readVarInt(footer);
+                for (int j = 0; j < columnCount; j++) {
+                    chunkOffsets[i][j] = footer.getLong();
+                    chunkLengths[i][j] = readVarInt(footer);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The signature of the content stored in file (used to check whether file is still up-to-date with raw
+     * content and metadata).
+     */
+    String getSignature() {
+        return signature;
+    }
+
+    /**
+     * @return The ids of the columns stored in file.
+     */
+    List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return The number of rows stored in file.
+     */
+    long getRowCount() {
+        long count = 0;
+        for (int blockRowCount : blockRowCounts) {
+            count += blockRowCount;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the rows stored in file with only values of <code>selectedColumns</code>. The returned stream reuses the
+     * same {@link DataSetRow} instance for all rows. Closing the stream closes this reader.
+     *
+     * @param selectedColumns The ids of the columns to read (ids not in file are ignored).
+     * @param limit The max number of rows to read (-1 for "no limit").
+     * @return The rows stored in file.
+     */
+    Stream<DataSetRow> stream(Collection<String> selectedColumns, long limit) {
+        return stream(selectedColumns, 0, limit);
+    }
+
+    /**
+     * Returns the rows stored in file starting at row <code>offset</code>. Block row counts are used as an index of rows:
+     * only blocks after the one that contains <code>offset</code> are read.
+     *
+     * @param selectedColumns The ids of the columns to read (ids not in file are ignored).
+     * @param offset The number of rows to skip.
+     * @param limit The max number of rows to read (-1 for "no limit").
+     * @return The rows stored in file.
+     * @see #stream(Collection, long)
+     */
+    Stream<DataSetRow> stream(Collection<String> selectedColumns, long offset, long limit) {
+        final List<Integer> indexes = new ArrayList<>(selectedColumns.size());
+        for (String selectedColumn : selectedColumns) {
+            final int index = columns.indexOf(selectedColumn);
+            if (index >= 0) {
+                indexes.add(index);
+            }
+        }
+        final RowIterator iterator = new RowIterator(indexes, limit);
+        if (offset > 0) {
+            iterator.seek(offset);
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false) //
+                .onClose(() -> {
+                    try {
+                        close();
+                    } catch (IOException e) {
+                        throw new TDPException(DataSetErrorCodes.UNABLE_TO_READ_DATASET_CONTENT, e);
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Decodes values of a column chunk
+    private String[] readChunk(int block, int column) throws IOException {
+        final MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, chunkOffsets[block][column],
+                chunkLengths[block][column]);
+        final String[] values = new String[blockRowCounts[block]];
+        if (readVarInt(chunk) == DICTIONARY) {
+            final String[] dictionary = new String[readVarInt(chunk)];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = readString(chunk);
+            }
+            for (int i = 0; i < values.length; i++) {
+                final int code = readVarInt(chunk);
+                values[i] = code == 0 ? null : dictionary[code - 1];
+            }
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = readString(chunk);
+            }
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        final int length = readVarInt(buffer) - 1;
+        if (length < 0) {
+            return null;
+        }
+        final String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            final byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, UTF_8);
+        }
+        return value;
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Iterates over rows, decoding requested columns one block at a time.
+     */
+    private class RowIterator implements Iterator<DataSetRow> {
+
+        private final List<Integer> indexes;
+
+        private final long limit;
+
+        private final DataSetRow row = new DataSetRow(new RowMetadata());
+
+        private final String[][] blockValues;
+
+        private int block = -1;
+
+        private int rowInBlock;
+
+        private long count;
+
+        private RowIterator(List<Integer> indexes, long limit) {
+            this.indexes = indexes;
+            this.limit = limit;
+            this.blockValues = new String[indexes.size()][];
+        }
+
+        // Positions iterator at row #offset, skipping whole blocks without reading them
+        private void seek(long offset) {
+            long remaining = offset;
+            int firstBlock = 0;
+            while (firstBlock < blockRowCounts.length && remaining >= blockRowCounts[firstBlock]) {
+                remaining -= blockRowCounts[firstBlock];
+                firstBlock++;
+            }
+            // Position at the end of the block before the one that contains offset
+            block = firstBlock - 1;
+            rowInBlock = block < 0 ? 0 : blockRowCounts[block];
+            if (remaining > 0 && hasNext()) {
+                rowInBlock = (int) remaining;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (limit >= 0 && count >= limit) {
+                return false;
+            }
+            while (block < 0 || rowInBlock >= blockRowCounts[block]) {
+                if (block + 1 >= blockRowCounts.length) {
+                    return false;
+                }
+                block++;
+                rowInBlock = 0;
+                try {
+                    for (int i = 0; i < indexes.size(); i++) {
+                        blockValues[i] = readChunk(block, indexes.get(i));
+                    }
+                } catch (IOException e) {
+                    throw new TDPException(DataSetErrorCodes.UNABLE_TO_READ_DATASET_CONTENT, e);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public DataSetRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            row.clear();
+            for (int i = 0; i < indexes.size(); i++) {
+                final String value = blockValues[i][rowInBlock];
+                row.set(columns.get(indexes.get(i)), value == null ? StringUtils.EMPTY : value);
+            }
+            rowInBlock++;
+            count++;
+            return row;
+        }
+    }
+}
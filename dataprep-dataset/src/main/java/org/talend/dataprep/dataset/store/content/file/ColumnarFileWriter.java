@@ -0,0 +1,218 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.file;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * <p>
+ * Writes data set content in a block-based columnar format. Rows are grouped in blocks of {@link #BLOCK_SIZE} rows, and
+ * each block stores values column by column (a <i>column chunk</i>), so a reader can only read columns it needs.
+ * </p>
+ * <p>
+ * File layout:
+ * <ul>
+ * <li>blocks: for each column, a column chunk. A column chunk starts with its encoding:
+ * <ul>
+ * <li>{@link #PLAIN}: each value as a length-prefixed UTF-8 string.</li>
+ * <li>{@link #DICTIONARY}: the distinct values (as in plain encoding) followed by the dictionary code of each value.</li>
+ * </ul>
+ * </li>
+ * <li>footer: the content signature (see {@link ColumnarFileReader#getSignature()}), the column ids, and for each block
+ * its row count and the offset and length of each column chunk.</li>
+ * <li>the footer offset (as long) and {@link #MAGIC}.</li>
+ * </ul>
+ * Lengths, codes and counts are written as variable length integers, <code>0</code> being used for <code>null</code>
+ * values (lengths and codes are written as <code>value + 1</code>).
+ * </p>
+ *
+ * @see ColumnarFileReader
+ */
+class ColumnarFileWriter implements Closeable {
+
+    static final int MAGIC = 0x54445043; // "TDPC"
+
+    static final int PLAIN = 0;
+
+    static final int DICTIONARY = 1;
+
+    /** Number of rows in a block. */
+    static final int BLOCK_SIZE = 4096;
+
+    private final String signature;
+
+    private final List<String> columns;
+
+    private final OutputStream output;
+
+    /** Values of current block (one list per column). */
+    private final List<List<String>> values;
+
+    /** Row count of each written block. */
+    private final List<Integer> blockRowCounts = new ArrayList<>();
+
+    /** Offset and length of each column chunk of each written block. */
+    private final List<long[]> chunkOffsets = new ArrayList<>();
+
+    private final List<int[]> chunkLengths = new ArrayList<>();
+
+    private long offset;
+
+    /**
+     * @param file The file to write to.
+     * @param signature The signature of the content (to detect stale files).
+     * @param columns The ids of the columns to store.
+     * @throws IOException In case of write error.
+     */
+    ColumnarFileWriter(File file, String signature, List<String> columns) throws IOException {
+        this.signature = signature;
+        this.columns = columns;
+        this.output = new BufferedOutputStream(new FileOutputStream(file), 64 * 1024);
+        this.values = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            values.add(new ArrayList<>(BLOCK_SIZE));
+        }
+    }
+
+    /**
+     * Adds a row to the file.
+     *
+     * @param row The values of the row, in the order of the columns given at construction.
+     * @throws IOException In case of write error.
+     */
+    void add(String[] row) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            values.get(i).add(i < row.length ? row[i] : null);
+        }
+        if (values.get(0).size() >= BLOCK_SIZE) {
+            writeBlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!columns.isEmpty() && !values.get(0).isEmpty()) {
+                writeBlock();
+            }
+            writeFooter();
+        } finally {
+            output.close();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        final int rowCount = values.get(0).size();
+        final long[] offsets = new long[columns.size()];
+        final int[] lengths = new int[columns.size()];
+        final Buffer chunk = new Buffer();
+        for (int i = 0; i < columns.size(); i++) {
+            chunk.reset();
+            writeChunk(chunk, values.get(i));
+            offsets[i] = offset;
+            lengths[i] = chunk.size();
+            chunk.writeTo(output);
+            offset += chunk.size();
+            values.get(i).clear();
+        }
+        blockRowCounts.add(rowCount);
+        chunkOffsets.add(offsets);
+        chunkLengths.add(lengths);
+    }
+
+    // Dictionary encoding is used when values are repeated enough in the block
+    private static void writeChunk(Buffer chunk, List<String> columnValues) throws IOException {
+        final Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (String value : columnValues) {
+            if (value != null && !dictionary.containsKey(value)) {
+                dictionary.put(value, dictionary.size());
+                if (dictionary.size() > columnValues.size() / 2) {
+                    break;
+                }
+            }
+        }
+        if (dictionary.size() <= columnValues.size() / 2) {
+            chunk.writeVarInt(DICTIONARY);
+            chunk.writeVarInt(dictionary.size());
+            for (String value : dictionary.keySet()) {
+                chunk.writeString(value);
+            }
+            for (String value : columnValues) {
+                chunk.writeVarInt(value == null ? 0 : dictionary.get(value) + 1);
+            }
+        } else {
+            chunk.writeVarInt(PLAIN);
+            for (String value : columnValues) {
+                chunk.writeString(value);
+            }
+        }
+    }
+
+    private void writeFooter() throws IOException {
+        final Buffer footer = new Buffer();
+        footer.writeString(signature);
+        footer.writeVarInt(columns.size());
+        for (String column : columns) {
+            footer.writeString(column);
+        }
+        footer.writeVarInt(blockRowCounts.size());
+        for (int i = 0; i < blockRowCounts.size(); i++) {
+            footer.writeVarInt(blockRowCounts.get(i));
+            for (int j = 0; j < columns.size(); j++) {
+                footer.writeLong(chunkOffsets.get(i)[j]);
+                footer.writeVarInt(chunkLengths.get(i)[j]);
+            }
+        }
+        footer.writeLong(offset);
+        footer.writeInt(MAGIC);
+        footer.writeTo(output);
+    }
+
+    /**
+     * A byte buffer with the encoding methods of the format.
+     */
+    private static class Buffer extends ByteArrayOutputStream {
+
+        private final DataOutputStream data = new DataOutputStream(this);
+
+        private void writeVarInt(int value) throws IOException {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                data.writeByte((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            data.writeByte(remaining);
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                writeVarInt(0);
+            } else {
+                final byte[] bytes = value.getBytes(UTF_8);
+                writeVarInt(bytes.length + 1);
+                data.write(bytes);
+            }
+        }
+
+        private void writeLong(long value) throws IOException {
+            data.writeLong(value);
+        }
+
+        private void writeInt(int value) throws IOException {
+            data.writeInt(value);
+        }
+    }
+}
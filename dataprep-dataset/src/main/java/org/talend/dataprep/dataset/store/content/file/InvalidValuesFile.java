@@ -0,0 +1,137 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.file;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.*;
+import java.util.BitSet;
+
+/**
+ * <p>
+ * Invalid values of a data set content: for each column, a bit set of the rows that hold an invalid value for this
+ * column. Invalid values are usually rare, so bit sets are small.
+ * </p>
+ * <p>
+ * File layout: {@link #MAGIC}, the signature of the content and of the information invalid values depend on (see
+ * {@link #getSignature()}), the number of columns, and for each column the words of its bit set (see
+ * {@link BitSet#toLongArray()}).
+ * </p>
+ */
+class InvalidValuesFile {
+
+    static final int MAGIC = 0x54445049; // "TDPI"
+
+    private final String signature;
+
+    private final BitSet[] columns;
+
+    /**
+     * @param signature The signature of the content and of the information invalid values depend on.
+     * @param columnCount The number of columns.
+     */
+    InvalidValuesFile(String signature, int columnCount) {
+        this(signature, new BitSet[columnCount]);
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = new BitSet();
+        }
+    }
+
+    private InvalidValuesFile(String signature, BitSet[] columns) {
+        this.signature = signature;
+        this.columns = columns;
+    }
+
+    /**
+     * Reads invalid values from a file.
+     *
+     * @param file The file to read.
+     * @return The invalid values read from <code>file</code>.
+     * @throws IOException In case of read error or if file is not an invalid values file.
+     */
+    static InvalidValuesFile read(File file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("File '" + file + "' is not an invalid values file.");
+            }
+            final byte[] signature = new byte[input.readInt()];
+            input.readFully(signature);
+            final BitSet[] columns = new BitSet[input.readInt()];
+            for (int i = 0; i < columns.length; i++) {
+                final long[] words = new long[input.readInt()];
+                for (int j = 0; j < words.length; j++) {
+                    words[j] = input.readLong();
+                }
+                columns[i] = BitSet.valueOf(words);
+            }
+            return new InvalidValuesFile(new String(signature, UTF_8), columns);
+        }
+    }
+
+    /**
+     * Writes invalid values to a file.
+     *
+     * @param file The file to write to.
+     * @throws IOException In case of write error.
+     */
+    void write(File file) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(MAGIC);
+            final byte[] signatureBytes = signature.getBytes(UTF_8);
+            output.writeInt(signatureBytes.length);
+            output.write(signatureBytes);
+            output.writeInt(columns.length);
+            for (BitSet column : columns) {
+                final long[] words = column.toLongArray();
+                output.writeInt(words.length);
+                for (long word : words) {
+                    output.writeLong(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The signature given when invalid values were computed (to detect stale files).
+     */
+    String getSignature() {
+        return signature;
+    }
+
+    /**
+     * Marks the value of a column as invalid.
+     *
+     * @param row The row index (first row is 0).
+     * @param column The column index.
+     */
+    void setInvalid(long row, int column) {
+        columns[column].set(toIndex(row));
+    }
+
+    /**
+     * @param row The row index (first row is 0).
+     * @param column The column index.
+     * @return <code>true</code> if the value of the column is invalid in this row.
+     */
+    boolean isInvalid(long row, int column) {
+        return row >= 0 && row <= Integer.MAX_VALUE && columns[column].get((int) row);
+    }
+
+    private static int toIndex(long row) {
+        if (row < 0 || row > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Row index " + row + " is out of range.");
+        }
+        return (int) row;
+    }
+}
@@ -18,18 +18,32 @@ import static org.talend.daikon.exception.ExceptionContext.build;
 import java.io.*;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetContent;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.dataset.row.RowMetadataUtils;
 import org.talend.dataprep.dataset.store.content.DataSetContentStore;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
@@ -38,6 +52,16 @@ import org.talend.dataprep.util.FilesHelper;
 
 /**
  * Local dataset content that stores content in files.
+ * <p>
+ * Once the data set schema is known, raw content is converted in background to a columnar file (see
+ * {@link ColumnarFileWriter}) and rows are read from this file instead of parsing raw content again. Raw content is kept
+ * for {@link #getAsRaw(DataSetMetadata, long) raw reads}, and for row reads until conversion completes.
+ * </p>
+ * <p>
+ * Invalid values computed by {@link #updateInvalidValues(DataSetMetadata)} are kept next to the columnar file (see
+ * {@link InvalidValuesFile}), so reads mark invalid values without analyzing rows. Kept invalid values become stale when
+ * information they depend on changes (e.g. a column type), they are then computed again in background after next read.
+ * </p>
  */
 @Component("ContentStore#local")
 @ConditionalOnProperty(name = "dataset.content.store", havingValue = "file", matchIfMissing = false)
@@ -46,9 +70,29 @@ public class LocalFileContentStore extends DataSetContentStore {
     /** This class' logger. */
     private static final Logger LOGGER = LoggerFactory.getLogger(LocalFileContentStore.class);
 
+    /** Suffix of the files holding content in columnar format. */
+    private static final String COLUMNAR_SUFFIX = ".columnar";
+
+    /** Suffix of the files holding invalid values. */
+    private static final String INVALID_SUFFIX = ".invalid";
+
     @Value("${dataset.content.store.file.location}")
     private String storeLocation;
 
+    /** <code>true</code> to read rows from a columnar copy of the raw content. */
+    @Value("${dataset.content.store.file.columnar:true}")
+    private boolean columnar;
+
+    /** Executor for conversions to columnar content. */
+    @Resource(name = "dataset#content#executor")
+    private TaskExecutor executor;
+
+    /** Ids of the data sets whose content is being converted (at most one conversion per data set at a time). */
+    private final Set<String> conversions = ConcurrentHashMap.newKeySet();
+
+    /** Ids of the data sets whose invalid values are being computed in background. */
+    private final Set<String> invalidValuesUpdates = ConcurrentHashMap.newKeySet();
+
     @PostConstruct
     public void init() {
         if (storeLocation == null) {
@@ -64,14 +108,26 @@ public class LocalFileContentStore extends DataSetContentStore {
         return new File(storeLocation + dataSetMetadata.getId());
     }
 
+    private File getColumnarFile(DataSetMetadata dataSetMetadata) {
+        return new File(storeLocation + dataSetMetadata.getId() + COLUMNAR_SUFFIX);
+    }
+
+    private File getInvalidValuesFile(DataSetMetadata dataSetMetadata) {
+        return new File(storeLocation + dataSetMetadata.getId() + INVALID_SUFFIX);
+    }
+
     @Override
     public void storeAsRaw(DataSetMetadata dataSetMetadata, InputStream dataSetContent) {
         final Marker marker = Markers.dataset(dataSetMetadata.getId());
         try {
             File dataSetFile = getFile(dataSetMetadata);
             FileUtils.touch(dataSetFile);
-            FileOutputStream fos = new FileOutputStream(dataSetFile);
-            IOUtils.copy(dataSetContent, fos);
+            try (FileOutputStream fos = new FileOutputStream(dataSetFile)) {
+                IOUtils.copy(dataSetContent, fos);
+            }
+            // Columnar content and invalid values no longer match raw content
+            FilesHelper.deleteQuietly(getColumnarFile(dataSetMetadata));
+            FilesHelper.deleteQuietly(getInvalidValuesFile(dataSetMetadata));
             LOGGER.debug(marker, "Data set stored to '{}'.", dataSetFile);
         } catch (IOException e) {
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_STORE_DATASET_CONTENT, e, build().put("id",
@@ -88,9 +144,257 @@ public class LocalFileContentStore extends DataSetContentStore {
         }
     }
 
+    /**
+     * Reads rows from the columnar copy of the raw content. This copy is created (or updated) in background on first read
+     * once data set schema is known and content is indexed, rows are read from raw content meanwhile.
+     *
+     * Columnar content is organized in blocks of rows, so reading rows from an offset only reads the block that contains
+     * the offset (no need to read previous rows).
+     *
+     * @see DataSetContentStore#rows(DataSetMetadata, long, long)
+     */
+    @Override
+    protected Stream<DataSetRow> rows(DataSetMetadata dataSetMetadata, long offset, long limit) {
+        if (columnar && isConvertible(dataSetMetadata)) {
+            final List<String> columns = getColumnIds(dataSetMetadata);
+            final String signature = getSignature(dataSetMetadata, columns);
+            final ColumnarFileReader reader = openColumnar(dataSetMetadata, signature);
+            if (reader != null) {
+                return reader.stream(columns, offset, limit);
+            }
+            scheduleConversion(dataSetMetadata, columns, signature);
+        }
+        return super.rows(dataSetMetadata, offset, limit);
+    }
+
+    /**
+     * Converts raw content to columnar content using {@link #executor}, unless a conversion of this data set is already
+     * in progress.
+     */
+    private void scheduleConversion(DataSetMetadata dataSetMetadata, List<String> columns, String signature) {
+        runOnce(conversions, dataSetMetadata.getId(), () -> {
+            // Another conversion may have completed since this one was scheduled
+            final ColumnarFileReader reader = openColumnar(dataSetMetadata, signature);
+            if (reader == null) {
+                convert(dataSetMetadata, columns, signature);
+            } else {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Unable to close columnar content of data set #{}.", dataSetMetadata.getId(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs <code>task</code> using {@link #executor}, unless a task for the same data set is already in progress.
+     *
+     * @param running The ids of the data sets with a task in progress.
+     * @param dataSetId The data set id.
+     * @param task The task to run.
+     */
+    private void runOnce(Set<String> running, String dataSetId, Runnable task) {
+        if (!running.add(dataSetId)) {
+            LOGGER.debug("Background task for data set #{} already in progress.", dataSetId);
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    running.remove(dataSetId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            running.remove(dataSetId);
+            LOGGER.debug("Unable to schedule background task for data set #{}.", dataSetId, e);
+        }
+    }
+
+    private boolean isConvertible(DataSetMetadata dataSetMetadata) {
+        return dataSetMetadata.getLifecycle().contentIndexed() //
+                && !dataSetMetadata.getRowMetadata().getColumns().isEmpty() //
+                && getFile(dataSetMetadata).exists();
+    }
+
+    private static List<String> getColumnIds(DataSetMetadata dataSetMetadata) {
+        return dataSetMetadata.getRowMetadata().getColumns().stream() //
+                .map(ColumnMetadata::getId) //
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return A signature of everything columnar content depends on: raw content and the information used to parse it.
+     */
+    private String getSignature(DataSetMetadata dataSetMetadata, List<String> columns) {
+        final DataSetContent content = dataSetMetadata.getContent();
+        final File rawFile = getFile(dataSetMetadata);
+        return StringUtils.join(new Object[] { content.getFormatFamilyId(), //
+                dataSetMetadata.getEncoding(), //
+                dataSetMetadata.getSheetName(), //
+                new TreeMap<>(content.getParameters()), //
+                content.getNbLinesInHeader(), //
+                columns, //
+                rawFile.length(), //
+                rawFile.lastModified() }, '|');
+    }
+
+    /**
+     * @return A reader for the columnar content of the data set, or <code>null</code> if there's no columnar content or if
+     * it doesn't match <code>signature</code>.
+     */
+    private ColumnarFileReader openColumnar(DataSetMetadata dataSetMetadata, String signature) {
+        final File file = getColumnarFile(dataSetMetadata);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            final ColumnarFileReader reader = new ColumnarFileReader(file);
+            if (signature.equals(reader.getSignature())) {
+                return reader;
+            }
+            reader.close();
+            LOGGER.debug("Columnar content of data set #{} is out of date.", dataSetMetadata.getId());
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read columnar content of data set #{}.", dataSetMetadata.getId(), e);
+        }
+        return null;
+    }
+
+    // Content is written to a temporary file, then moved to its final location once complete
+    private void convert(DataSetMetadata dataSetMetadata, List<String> columns, String signature) {
+        final Marker marker = Markers.dataset(dataSetMetadata.getId());
+        File tempFile = null;
+        try {
+            tempFile = File.createTempFile(dataSetMetadata.getId(), COLUMNAR_SUFFIX, new File(storeLocation));
+            try (ColumnarFileWriter writer = new ColumnarFileWriter(tempFile, signature, columns);
+                    Stream<DataSetRow> rows = super.rows(dataSetMetadata, 0, -1)) {
+                final String[] values = new String[columns.size()];
+                final Iterator<DataSetRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    final DataSetRow row = iterator.next();
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = row.get(columns.get(i));
+                    }
+                    writer.add(values);
+                }
+            }
+            final File columnarFile = getColumnarFile(dataSetMetadata);
+            Files.move(tempFile.toPath(), columnarFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug(marker, "Data set content converted to '{}'.", columnarFile);
+        } catch (Exception e) {
+            LOGGER.warn(marker, "Unable to convert data set content, raw content will be used.", e);
+            if (tempFile != null) {
+                FilesHelper.deleteQuietly(tempFile);
+            }
+        }
+    }
+
+    /**
+     * Marks invalid values using the invalid values computed by {@link #updateInvalidValues(DataSetMetadata)}, if they
+     * are still up to date. Otherwise invalid values are detected while reading, and computed again in background once
+     * quality analysis of the data set is done (so that they are computed with final column information).
+     *
+     * @see DataSetContentStore#invalidMarker(DataSetMetadata, long)
+     */
+    @Override
+    protected Function<DataSetRow, DataSetRow> invalidMarker(DataSetMetadata dataSetMetadata, long offset) {
+        if (!columnar || !isConvertible(dataSetMetadata)) {
+            return super.invalidMarker(dataSetMetadata, offset);
+        }
+        final File file = getInvalidValuesFile(dataSetMetadata);
+        if (file.exists()) {
+            try {
+                final InvalidValuesFile invalidValues = InvalidValuesFile.read(file);
+                if (getInvalidValuesSignature(dataSetMetadata).equals(invalidValues.getSignature())) {
+                    final List<String> columns = getColumnIds(dataSetMetadata);
+                    final AtomicLong row = new AtomicLong(offset);
+                    return r -> {
+                        final long current = row.getAndIncrement();
+                        for (int i = 0; i < columns.size(); i++) {
+                            if (invalidValues.isInvalid(current, i)) {
+                                r.setInvalid(columns.get(i));
+                            } else {
+                                r.unsetInvalid(columns.get(i));
+                            }
+                        }
+                        return r;
+                    };
+                }
+                LOGGER.debug("Invalid values of data set #{} are out of date.", dataSetMetadata.getId());
+            } catch (IOException e) {
+                LOGGER.warn("Unable to read invalid values of data set #{}.", dataSetMetadata.getId(), e);
+            }
+        }
+        if (dataSetMetadata.getLifecycle().qualityAnalyzed()) {
+            runOnce(invalidValuesUpdates, dataSetMetadata.getId(), () -> updateInvalidValues(dataSetMetadata));
+        }
+        return super.invalidMarker(dataSetMetadata, offset);
+    }
+
+    /**
+     * Computes invalid values with the same analysis as {@link DataSetContentStore#invalidMarker(DataSetMetadata, long)}
+     * and writes them to a file. In case of error, invalid values are detected while reading.
+     *
+     * @see DataSetContentStore#updateInvalidValues(DataSetMetadata)
+     */
+    @Override
+    public void updateInvalidValues(DataSetMetadata dataSetMetadata) {
+        if (!columnar || !isConvertible(dataSetMetadata)) {
+            return;
+        }
+        final Marker marker = Markers.dataset(dataSetMetadata.getId());
+        final List<String> columns = getColumnIds(dataSetMetadata);
+        final InvalidValuesFile invalidValues = new InvalidValuesFile(getInvalidValuesSignature(dataSetMetadata),
+                columns.size());
+        final Function<DataSetRow, DataSetRow> analysis = super.invalidMarker(dataSetMetadata, 0);
+        File tempFile = null;
+        try (Stream<DataSetRow> rows = rows(dataSetMetadata, 0, -1)) {
+            final Iterator<DataSetRow> iterator = rows.iterator();
+            long current = 0;
+            while (iterator.hasNext()) {
+                final DataSetRow row = analysis.apply(iterator.next());
+                for (int i = 0; i < columns.size(); i++) {
+                    if (row.isInvalid(columns.get(i))) {
+                        invalidValues.setInvalid(current, i);
+                    }
+                }
+                current++;
+            }
+            tempFile = File.createTempFile(dataSetMetadata.getId(), INVALID_SUFFIX, new File(storeLocation));
+            invalidValues.write(tempFile);
+            final File file = getInvalidValuesFile(dataSetMetadata);
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug(marker, "Invalid values of data set stored to '{}'.", file);
+        } catch (Exception e) {
+            LOGGER.warn(marker, "Unable to store invalid values of data set.", e);
+            if (tempFile != null) {
+                FilesHelper.deleteQuietly(tempFile);
+            }
+        }
+    }
+
+    /**
+     * @return A signature of everything invalid values depend on: the content and the column information used by
+     * quality analysis (type, domain and date pattern).
+     */
+    private String getInvalidValuesSignature(DataSetMetadata dataSetMetadata) {
+        final List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
+        final List<String> columnSignatures = columns.stream() //
+                .map(c -> c.getType() + ':' + c.getDomain() + ':' + RowMetadataUtils.getMostUsedDatePattern(c)) //
+                .collect(Collectors.toList());
+        return getSignature(dataSetMetadata, getColumnIds(dataSetMetadata)) + '|' + columnSignatures;
+    }
+
     @Override
     public void delete(DataSetMetadata dataSetMetadata) {
         try {
+            FilesHelper.deleteQuietly(getColumnarFile(dataSetMetadata));
+            FilesHelper.deleteQuietly(getInvalidValuesFile(dataSetMetadata));
             FilesHelper.delete(getFile(dataSetMetadata));
         } catch (IOException e) {
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_DELETE_DATASET, e, build().put("dataSetId", dataSetMetadata.getId()));
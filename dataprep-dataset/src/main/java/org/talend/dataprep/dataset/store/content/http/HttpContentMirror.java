@@ -0,0 +1,478 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.content.http;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.lang.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.util.FilesHelper;
+
+/**
+ * <p>
+ * Local mirror of remote http contents: each content is mirrored once to a local directory (file names are the SHA-1
+ * of the url) and served from there as long as the remote server reports it as not modified. Mirrored contents are
+ * revalidated on each read with <code>If-None-Match</code> (content's <code>ETag</code>) and
+ * <code>If-Modified-Since</code> (content's <code>Last-Modified</code>). Contents without any of these headers can't be
+ * revalidated: they are streamed from the remote server on each read and never mirrored.
+ * </p>
+ * <p>
+ * Downloaded content is written to the mirror while the caller reads it, so callers get first bytes without waiting
+ * for the whole content. Content is only mirrored once fully read: a download stopped before the end (e.g. caller only
+ * needed the first rows) is resumed on next read with a <code>Range</code> request (guarded by <code>If-Range</code>).
+ * A single read at a time writes the mirror of a content, concurrent reads of the same content are streamed from the
+ * remote server. Mirrored contents use at most {@link #maxSize} bytes of disk: least recently read contents are deleted
+ * first when this size is exceeded.
+ * </p>
+ */
+class HttpContentMirror {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpContentMirror.class);
+
+    /** Suffix of the mirrored contents. */
+    static final String CONTENT_SUFFIX = ".content";
+
+    /** Suffix of the contents being downloaded. */
+    static final String PART_SUFFIX = ".part";
+
+    /** Suffix of the validators (ETag, Last-Modified) of a content. */
+    static final String VALIDATORS_SUFFIX = ".validators";
+
+    /** Name of the url property in validators. */
+    static final String URL_PROPERTY = "url";
+
+    /** The http client to use. */
+    private final CloseableHttpClient httpClient;
+
+    /** Where contents are mirrored. */
+    private final File directory;
+
+    /** Max size (in bytes) of mirrored contents (ignored if <= 0). */
+    private final long maxSize;
+
+    /** Keys of the contents whose mirror is being written (by a single read at a time). */
+    private final Set<String> writing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param httpClient The http client to use.
+     * @param directory Where contents are mirrored (created if needed).
+     * @param maxSize Max size (in bytes) of mirrored contents (use -1 for no limit).
+     */
+    HttpContentMirror(CloseableHttpClient httpClient, File directory, long maxSize) {
+        this.httpClient = httpClient;
+        this.directory = directory;
+        this.maxSize = maxSize;
+        if (!directory.exists() && !directory.mkdirs()) {
+            LOGGER.warn("Unable to create http mirror directory '{}'.", directory);
+        }
+        LOGGER.info("Http content mirror location: {}", directory.getAbsolutePath());
+    }
+
+    /**
+     * Returns the content at <code>url</code>: from the local copy if it is still up to date, from the remote server
+     * otherwise (local copy is then updated while returned stream is read).
+     *
+     * @param url The url of the content.
+     * @return The content at <code>url</code>, caller must close it.
+     * @throws IOException In case of download error or if server answers with an error status.
+     */
+    InputStream get(String url) throws IOException {
+        final String key = DigestUtils.sha1Hex(url);
+        final boolean writer = writing.add(key);
+        try {
+            return fetch(url, key, writer);
+        } catch (IOException | RuntimeException e) {
+            if (writer) {
+                writing.remove(key);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Sends a request for <code>url</code>, conditional if there's a local copy.
+     *
+     * @param writer <code>true</code> if caller may write the local copy of <code>url</code> (it then stops being the
+     * writer once returned stream no longer writes the local copy).
+     * @return The content of <code>url</code>: the local copy if still up to date, a stream that writes the local copy
+     * while it is read (if <code>writer</code> and content can be revalidated), the remote content otherwise.
+     */
+    private InputStream fetch(String url, String key, boolean writer) throws IOException {
+        final File content = new File(directory, key + CONTENT_SUFFIX);
+        final File contentValidators = new File(directory, key + CONTENT_SUFFIX + VALIDATORS_SUFFIX);
+        final File part = new File(directory, key + PART_SUFFIX);
+        final File partValidators = new File(directory, key + PART_SUFFIX + VALIDATORS_SUFFIX);
+
+        final HttpGet get = new HttpGet(url);
+        get.setHeader("Accept", "*/*");
+        final Properties mirrored = content.exists() ? readValidators(contentValidators, url) : null;
+        final Properties resumed = writer && mirrored == null && part.length() > 0 ? readValidators(partValidators, url)
+                : null;
+        final String ifRange = resumed == null ? null : getIfRange(resumed);
+        final long partLength = part.length();
+        if (mirrored != null) {
+            setHeader(get, HttpHeaders.IF_NONE_MATCH, mirrored.getProperty(HttpHeaders.ETAG));
+            setHeader(get, HttpHeaders.IF_MODIFIED_SINCE, mirrored.getProperty(HttpHeaders.LAST_MODIFIED));
+        } else if (ifRange != null) {
+            get.setHeader(HttpHeaders.RANGE, "bytes=" + partLength + "-");
+            get.setHeader(HttpHeaders.IF_RANGE, ifRange);
+        }
+
+        final CloseableHttpResponse response = httpClient.execute(get);
+        try {
+            final int status = response.getStatusLine().getStatusCode();
+            if (status == HttpStatus.SC_NOT_MODIFIED && mirrored != null) {
+                LOGGER.debug("Content of {} not modified, read from mirror.", url);
+                response.close();
+                // record last access for eviction
+                if (!content.setLastModified(System.currentTimeMillis())) {
+                    LOGGER.debug("Unable to record access to '{}'.", content);
+                }
+                final InputStream local = new FileInputStream(content);
+                if (writer) {
+                    writing.remove(key);
+                }
+                return local;
+            }
+            if (status >= 400) {
+                throw new IOException("error fetching " + url + " -> " + response.getStatusLine());
+            }
+            final boolean append = status == HttpStatus.SC_PARTIAL_CONTENT && ifRange != null
+                    && getRangeStart(response) == partLength;
+            if (status / 100 != 2 || (status == HttpStatus.SC_PARTIAL_CONTENT && !append)) {
+                throw new IOException("unexpected status fetching " + url + " -> " + response.getStatusLine());
+            }
+            final InputStream remote = new ResponseInputStream(response);
+            if (!writer) {
+                LOGGER.debug("Content of {} already being mirrored, read from remote server.", url);
+                return remote;
+            }
+            if (append) {
+                LOGGER.debug("Resume download of {} to mirror from {}.", url, partLength);
+                final InputStream downloaded = new BoundedInputStream(new FileInputStream(part), partLength);
+                return new SequenceInputStream(downloaded,
+                        new MirroringInputStream(remote, key, new FileOutputStream(part, true)));
+            }
+            final Properties validators = new Properties();
+            validators.setProperty(URL_PROPERTY, url);
+            setProperty(validators, HttpHeaders.ETAG, response.getFirstHeader(HttpHeaders.ETAG));
+            setProperty(validators, HttpHeaders.LAST_MODIFIED, response.getFirstHeader(HttpHeaders.LAST_MODIFIED));
+            if (validators.size() == 1) {
+                // Can't be revalidated: local copy (if any) is no longer used
+                LOGGER.debug("Content of {} can't be revalidated, read from remote server.", url);
+                FilesHelper.deleteQuietly(contentValidators);
+                FilesHelper.deleteQuietly(content);
+                writing.remove(key);
+                return remote;
+            }
+            writeValidators(partValidators, validators);
+            LOGGER.debug("Download {} to mirror.", url);
+            return new MirroringInputStream(remote, key, new FileOutputStream(part));
+        } catch (IOException | RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Moves a fully downloaded content to its final location (its validators are then used to revalidate it).
+     */
+    private void complete(String key) {
+        final File part = new File(directory, key + PART_SUFFIX);
+        final File partValidators = new File(directory, key + PART_SUFFIX + VALIDATORS_SUFFIX);
+        try {
+            Files.move(part.toPath(), new File(directory, key + CONTENT_SUFFIX).toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+            Files.move(partValidators.toPath(), new File(directory, key + CONTENT_SUFFIX + VALIDATORS_SUFFIX).toPath(),
+                    REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to mirror downloaded content {}.", key, e);
+        }
+    }
+
+    /**
+     * @return The validators in <code>file</code> if they can be used to revalidate <code>url</code>'s content,
+     * <code>null</code> otherwise.
+     */
+    private static Properties readValidators(File file, String url) {
+        if (!file.exists()) {
+            return null;
+        }
+        final Properties validators = new Properties();
+        try (InputStream input = new FileInputStream(file)) {
+            validators.load(input);
+        } catch (IOException e) {
+            LOGGER.debug("Unable to read validators in '{}'.", file, e);
+            return null;
+        }
+        final boolean hasValidator = validators.containsKey(HttpHeaders.ETAG)
+                || validators.containsKey(HttpHeaders.LAST_MODIFIED);
+        return hasValidator && url.equals(validators.getProperty(URL_PROPERTY)) ? validators : null;
+    }
+
+    private static void writeValidators(File file, Properties validators) throws IOException {
+        try (OutputStream output = new FileOutputStream(file)) {
+            validators.store(output, null);
+        }
+    }
+
+    /**
+     * @return The value for <code>If-Range</code> header (a strong ETag or a date), or <code>null</code> if download
+     * can't be safely resumed.
+     */
+    private static String getIfRange(Properties validators) {
+        final String etag = validators.getProperty(HttpHeaders.ETAG);
+        if (etag != null && !etag.startsWith("W/")) {
+            return etag;
+        }
+        return validators.getProperty(HttpHeaders.LAST_MODIFIED);
+    }
+
+    /**
+     * @return The first byte position in <code>Content-Range</code> header (e.g. "bytes 100-199/200"), or -1 if absent
+     * or invalid.
+     */
+    private static long getRangeStart(CloseableHttpResponse response) {
+        final Header contentRange = response.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+        if (contentRange == null) {
+            return -1;
+        }
+        final String start = StringUtils.substringBetween(contentRange.getValue(), "bytes ", "-");
+        try {
+            return start == null ? -1 : Long.parseLong(start.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void setHeader(HttpGet get, String name, String value) {
+        if (value != null) {
+            get.setHeader(name, value);
+        }
+    }
+
+    private static void setProperty(Properties properties, String name, Header header) {
+        if (header != null) {
+            properties.setProperty(name, header.getValue());
+        }
+    }
+
+    /**
+     * Deletes least recently read contents until mirrored contents fit in {@link #maxSize}.
+     *
+     * @param current Key of the content just mirrored (never deleted, neither are contents being mirrored).
+     */
+    private void evict(String current) {
+        if (maxSize <= 0) {
+            return;
+        }
+        final File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        // group files (content, partial content, validators) per key
+        final Map<String, List<File>> entries = new HashMap<>();
+        long size = 0;
+        for (File file : files) {
+            entries.computeIfAbsent(StringUtils.substringBefore(file.getName(), "."), k -> new ArrayList<>()).add(file);
+            size += file.length();
+        }
+        if (size <= maxSize) {
+            return;
+        }
+        final List<String> keys = new ArrayList<>(entries.keySet());
+        keys.remove(current);
+        keys.removeAll(writing);
+        keys.sort(Comparator.comparingLong(key -> entries.get(key).stream().mapToLong(File::lastModified).max().orElse(0)));
+        for (String key : keys) {
+            if (size <= maxSize) {
+                break;
+            }
+            for (File file : entries.get(key)) {
+                final long length = file.length();
+                FilesHelper.deleteQuietly(file);
+                if (!file.exists()) {
+                    size -= length;
+                }
+            }
+            LOGGER.debug("Evicted mirrored content {} ({} bytes left).", key, size);
+        }
+    }
+
+    /**
+     * The content of a http response: closing the stream closes the response. If content was not fully read, the
+     * connection is closed without reading the remaining content.
+     */
+    private static class ResponseInputStream extends FilterInputStream {
+
+        private final CloseableHttpResponse response;
+
+        private boolean eof;
+
+        private ResponseInputStream(CloseableHttpResponse response) throws IOException {
+            super(response.getEntity().getContent());
+            this.response = response;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            eof = b < 0;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int read = super.read(b, off, len);
+            eof = read < 0;
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (eof) {
+                try {
+                    super.close(); // connection can be reused
+                } finally {
+                    response.close();
+                }
+            } else {
+                response.close();
+            }
+        }
+    }
+
+    /**
+     * A stream that writes the bytes read from downloaded content to the partial content of the mirror. Content is
+     * mirrored once fully read, partial content is kept (for a later resume) if stream is closed before.
+     */
+    private class MirroringInputStream extends FilterInputStream {
+
+        private final String key;
+
+        /** The partial content, <code>null</code> once closed (or if writing to it failed). */
+        private OutputStream part;
+
+        private boolean closed;
+
+        private MirroringInputStream(InputStream remote, String key, OutputStream part) {
+            super(remote);
+            this.key = key;
+            this.part = part;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b < 0) {
+                end(true);
+            } else {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read < 0) {
+                end(true);
+            } else {
+                write(b, off, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes must be written to the mirror too
+            final byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            final int read = read(buffer, 0, buffer.length);
+            return Math.max(read, 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                end(false);
+            }
+        }
+
+        private void write(byte[] b, int off, int len) {
+            if (part == null) {
+                return;
+            }
+            try {
+                part.write(b, off, len);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to write mirror of content {}, stop mirroring it.", key, e);
+                closePart();
+            }
+        }
+
+        private void closePart() {
+            if (part != null) {
+                try {
+                    part.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Unable to close partial content {}.", key, e);
+                }
+                part = null;
+            }
+        }
+
+        /**
+         * @param complete <code>true</code> if all content was read.
+         */
+        private void end(boolean complete) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            final boolean mirrored = complete && part != null;
+            closePart();
+            try {
+                if (mirrored) {
+                    complete(key);
+                    LOGGER.debug("Content {} mirrored.", key);
+                    evict(key);
+                }
+            } finally {
+                writing.remove(key);
+            }
+        }
+    }
+}
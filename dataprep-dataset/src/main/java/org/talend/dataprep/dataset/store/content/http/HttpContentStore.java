@@ -13,15 +13,19 @@
 
 package org.talend.dataprep.dataset.store.content.http;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 
+import javax.annotation.PostConstruct;
+
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.location.HttpLocation;
@@ -42,12 +46,43 @@ public class HttpContentStore extends DataSetContentStore {
     @Autowired
     private CloseableHttpClient httpClient;
 
+    /** True if remote contents should be mirrored on local disk. */
+    @Value("${dataset.content.store.http.mirror:true}")
+    private boolean mirrorEnabled;
+
+    /** Where remote contents are mirrored. */
+    @Value("${dataset.content.store.http.mirror.location:/tmp/dataprep/store/datasets/http}")
+    private String mirrorLocation;
+
+    /** Max size (in bytes) of mirrored contents. */
+    @Value("${dataset.content.store.http.mirror.size:1073741824}")
+    private long mirrorSize;
+
+    /** Local mirror of remote contents (null if disabled). */
+    private HttpContentMirror mirror;
+
+    @PostConstruct
+    public void init() {
+        if (mirrorEnabled) {
+            mirror = new HttpContentMirror(httpClient, new File(mirrorLocation), mirrorSize);
+        }
+    }
+
     /**
      * @see DataSetContentStore#getAsRaw(DataSetMetadata)
      */
     @Override
     public InputStream getAsRaw(DataSetMetadata dataSetMetadata, long limit) {
         HttpLocation location = (HttpLocation) dataSetMetadata.getLocation();
+        if (mirror != null) {
+            try {
+                final InputStream content = mirror.get(location.getUrl());
+                LOGGER.debug("HTTP remote dataset {} read from mirror of {}", dataSetMetadata, location.getUrl());
+                return content;
+            } catch (IOException e) {
+                throw new TDPException(DataSetErrorCodes.UNABLE_TO_READ_REMOTE_DATASET_CONTENT, e);
+            }
+        }
         HttpGet get = new HttpGet(location.getUrl());
         get.setHeader("Accept","*/*");
         CloseableHttpResponse response;
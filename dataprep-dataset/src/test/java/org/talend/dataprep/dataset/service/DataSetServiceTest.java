@@ -488,6 +488,22 @@ public class DataSetServiceTest extends DataSetBaseTest {
         assertEquals("statusCode is:" + statusCode, statusCode, OK.value());
     }
 
+    @Test
+    public void should_get_content_range() throws Exception {
+        // given
+        final String dataSetId = createCSVDataSet(this.getClass().getResourceAsStream(T_SHIRT_100_CSV), "range");
+        final String expectedThirtiethRow = from(when().get("/datasets/{id}/content?metadata=false", dataSetId).asString())
+                .getString("records[29]");
+
+        // when
+        final String content = when().get("/datasets/{id}/content?metadata=false&from=30&count=10", dataSetId).asString();
+
+        // then
+        final List<Integer> tdpIds = from(content).getList("records.tdpId");
+        assertThat(tdpIds, contains(30, 31, 32, 33, 34, 35, 36, 37, 38, 39));
+        assertEquals(expectedThirtiethRow, from(content).getString("records[0]"));
+    }
+
     @Test
     public void getNotExistingDataset() throws Exception {
         int statusCode = when().get("/datasets/1234/content").getStatusCode();
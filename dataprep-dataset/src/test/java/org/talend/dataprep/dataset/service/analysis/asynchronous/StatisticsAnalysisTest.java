@@ -16,7 +16,9 @@ package org.talend.dataprep.dataset.service.analysis.asynchronous;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
@@ -84,6 +86,27 @@ public class StatisticsAnalysisTest extends DataSetBaseTest {
         assertThat(metadata.getContent().getNbRecords(), is(4L));
     }
 
+    @Test
+    public void should_save_statistics_computed_with_full_content_types() throws Exception {
+        // given (first 100 rows, used to guess types, only hold integers in "value" column)
+        final StringBuilder content = new StringBuilder("id,value\n");
+        for (int i = 0; i < 300; i++) {
+            content.append(i).append(',').append(i < 100 ? String.valueOf(i) : "value " + i).append('\n');
+        }
+
+        // when
+        final DataSetMetadata metadata = initializeDataSetMetadata(
+                new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.UTF_8)));
+
+        // then (statistics are computed with the type found on full content)
+        final ColumnMetadata value = metadata.getRowMetadata().getById("0001");
+        assertThat(value.getType(), is("string"));
+        assertThat(value.getStatistics().getValid(), is(300L));
+        assertThat(value.getStatistics().getInvalid(), is(0L));
+        assertThat(metadata.getContent().getNbRecords(), is(300L));
+        assertThat(metadata.getLifecycle().qualityAnalyzed(), is(true));
+    }
+
     /**
      * Initialize a dataset with the given content. Perform the format and the schema analysis.
      *
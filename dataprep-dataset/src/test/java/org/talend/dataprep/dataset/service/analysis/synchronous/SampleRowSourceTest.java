@@ -0,0 +1,101 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.service.analysis.synchronous;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.dataset.DataSetBaseTest;
+import org.talend.dataprep.dataset.service.DataSetServiceTest;
+
+public class SampleRowSourceTest extends DataSetBaseTest {
+
+    @Autowired
+    FormatAnalysis formatAnalysis;
+
+    @Autowired
+    ContentAnalysis contentAnalysis;
+
+    @Autowired
+    SampleRowSource sampleRows;
+
+    @Test
+    public void should_share_rows_between_streams() throws Exception {
+        // given
+        final DataSetMetadata metadata = createDataSet("1234");
+
+        // when
+        final List<DataSetRow> firstRows;
+        final List<DataSetRow> allRows;
+        sampleRows.open();
+        try {
+            firstRows = collect(sampleRows.stream(metadata, 2));
+            allRows = collect(sampleRows.stream(metadata, -1));
+        } finally {
+            sampleRows.close();
+        }
+
+        // then
+        assertThat(firstRows.size(), is(2));
+        assertThat(allRows.size(), is(5));
+        assertThat(allRows.get(0), sameInstance(firstRows.get(0)));
+        assertThat(allRows.get(1), sameInstance(firstRows.get(1)));
+    }
+
+    @Test
+    public void should_read_content_again_when_not_shared() throws Exception {
+        // given
+        final DataSetMetadata metadata = createDataSet("5678");
+
+        // when
+        final List<DataSetRow> firstRows = copy(sampleRows.stream(metadata, 2));
+        final List<DataSetRow> allRows = copy(sampleRows.stream(metadata, -1));
+
+        // then
+        assertThat(firstRows.size(), is(2));
+        assertThat(allRows.size(), is(5));
+        assertThat(allRows.get(0), not(sameInstance(firstRows.get(0))));
+        assertThat(allRows.get(0).toArray(), is(firstRows.get(0).toArray()));
+    }
+
+    private DataSetMetadata createDataSet(String id) {
+        final DataSetMetadata metadata = metadataBuilder.metadata().id(id).build();
+        dataSetMetadataRepository.save(metadata);
+        contentStore.storeAsRaw(metadata, DataSetServiceTest.class.getResourceAsStream("../avengers.csv"));
+        formatAnalysis.analyze(id);
+        contentAnalysis.analyze(id);
+        return dataSetMetadataRepository.get(id);
+    }
+
+    private static List<DataSetRow> collect(Stream<DataSetRow> stream) {
+        try (Stream<DataSetRow> rows = stream) {
+            return rows.collect(Collectors.toList());
+        }
+    }
+
+    // Rows are copied as content store may reuse the same instance outside of shared reads
+    private static List<DataSetRow> copy(Stream<DataSetRow> stream) {
+        try (Stream<DataSetRow> rows = stream) {
+            return rows.map(DataSetRow::clone).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.file;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.util.FilesHelper;
+
+public class ColumnarFileTest {
+
+    private static final List<String> COLUMNS = Arrays.asList("0000", "0001", "0002");
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("ColumnarFileTest", ".columnar");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FilesHelper.deleteQuietly(file);
+    }
+
+    @Test
+    public void should_read_all_rows_and_columns() throws Exception {
+        // given
+        final int rowCount = ColumnarFileWriter.BLOCK_SIZE * 2 + 10;
+        write(rowCount);
+
+        // when
+        final List<Map<String, Object>> rows;
+        try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+            assertEquals("signature", reader.getSignature());
+            assertEquals(COLUMNS, reader.getColumns());
+            assertEquals(rowCount, reader.getRowCount());
+            rows = read(reader.stream(COLUMNS, -1));
+        }
+
+        // then
+        assertEquals(rowCount, rows.size());
+        for (int i = 0; i < rowCount; i++) {
+            final Map<String, Object> row = rows.get(i);
+            assertEquals("value " + i, row.get("0000")); // plain encoding
+            assertEquals(i % 2 == 0 ? "even" : "odd", row.get("0001")); // dictionary encoding
+            assertEquals(i % 3 == 0 ? "" : "\u00e9t\u00e9", row.get("0002")); // null values
+        }
+    }
+
+    @Test
+    public void should_read_selected_columns_with_limit() throws Exception {
+        // given
+        write(100);
+
+        // when
+        final List<Map<String, Object>> rows;
+        try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+            rows = read(reader.stream(Collections.singletonList("0001"), 10));
+        }
+
+        // then
+        assertEquals(10, rows.size());
+        for (Map<String, Object> row : rows) {
+            assertEquals(Collections.singleton("0001"), row.keySet());
+        }
+    }
+
+    @Test
+    public void should_read_rows_from_offset() throws Exception {
+        // given
+        final int rowCount = ColumnarFileWriter.BLOCK_SIZE * 2 + 10;
+        write(rowCount);
+
+        // then
+        assertRange(5, 10); // in first block
+        assertRange(ColumnarFileWriter.BLOCK_SIZE - 5, 10); // across blocks
+        assertRange(ColumnarFileWriter.BLOCK_SIZE, 10); // at block boundary
+        assertRange(ColumnarFileWriter.BLOCK_SIZE * 2 + 5, -1); // in last block
+        try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+            assertTrue(read(reader.stream(COLUMNS, rowCount + 1, -1)).isEmpty());
+        }
+    }
+
+    private void assertRange(long offset, long limit) throws IOException {
+        try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+            final List<Map<String, Object>> rows = read(reader.stream(COLUMNS, offset, limit));
+            final long expectedSize = limit < 0 ? reader.getRowCount() - offset : limit;
+            assertEquals(expectedSize, rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                assertEquals("value " + (offset + i), rows.get(i).get("0000"));
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void should_not_read_incomplete_file() throws Exception {
+        // given
+        write(100);
+        try (java.io.RandomAccessFile randomAccessFile = new java.io.RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(file.length() - 1);
+        }
+
+        // when
+        new ColumnarFileReader(file).close();
+    }
+
+    private void write(int rowCount) throws IOException {
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(file, "signature", COLUMNS)) {
+            for (int i = 0; i < rowCount; i++) {
+                writer.add(new String[] { "value " + i, i % 2 == 0 ? "even" : "odd", i % 3 == 0 ? null : "\u00e9t\u00e9" });
+            }
+        }
+    }
+
+    private static List<Map<String, Object>> read(Stream<DataSetRow> stream) {
+        try (Stream<DataSetRow> rows = stream) {
+            return rows.map(row -> new HashMap<>(row.values())).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.file;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.apache.commons.lang.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.util.FilesHelper;
+
+public class InvalidValuesFileTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("InvalidValuesFileTest", ".invalid");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FilesHelper.deleteQuietly(file);
+    }
+
+    @Test
+    public void should_read_invalid_values() throws Exception {
+        // given
+        final String signature = StringUtils.repeat("long signature ", 10000);
+        final InvalidValuesFile invalidValues = new InvalidValuesFile(signature, 3);
+        invalidValues.setInvalid(0, 0);
+        invalidValues.setInvalid(100000, 0);
+        invalidValues.setInvalid(5, 2);
+        invalidValues.write(file);
+
+        // when
+        final InvalidValuesFile read = InvalidValuesFile.read(file);
+
+        // then
+        assertEquals(signature, read.getSignature());
+        assertTrue(read.isInvalid(0, 0));
+        assertTrue(read.isInvalid(100000, 0));
+        assertFalse(read.isInvalid(1, 0));
+        assertFalse(read.isInvalid(5, 1));
+        assertTrue(read.isInvalid(5, 2));
+        assertFalse(read.isInvalid(200000, 2));
+    }
+
+    @Test(expected = IOException.class)
+    public void should_not_read_other_files() throws Exception {
+        Files.write(file.toPath(), "not an invalid values file".getBytes());
+        InvalidValuesFile.read(file);
+    }
+}
@@ -0,0 +1,254 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.content.file;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.quality.AnalyzerService;
+import org.talend.dataprep.schema.FormatFamily;
+import org.talend.dataprep.schema.FormatFamilyFactory;
+import org.talend.dataprep.schema.RowSource;
+import org.talend.dataprep.schema.Serializer;
+
+/**
+ * Unit test for the conversion of raw content to columnar content and for the kept invalid values in
+ * {@link LocalFileContentStore}.
+ */
+public class LocalFileContentStoreTest {
+
+    private File storeLocation;
+
+    private LocalFileContentStore store;
+
+    private TestSerializer serializer;
+
+    private DataSetMetadata metadata;
+
+    @Before
+    public void setUp() throws Exception {
+        storeLocation = Files.createTempDirectory("LocalFileContentStoreTest").toFile();
+        serializer = new TestSerializer();
+        final FormatFamily formatFamily = mock(FormatFamily.class);
+        when(formatFamily.getSerializer()).thenReturn(serializer);
+        final FormatFamilyFactory factory = mock(FormatFamilyFactory.class);
+        when(factory.getFormatFamily("test")).thenReturn(formatFamily);
+
+        store = new LocalFileContentStore();
+        ReflectionTestUtils.setField(store, "storeLocation", storeLocation.getAbsolutePath());
+        ReflectionTestUtils.setField(store, "columnar", true);
+        ReflectionTestUtils.setField(store, "executor", new SyncTaskExecutor());
+        ReflectionTestUtils.setField(store, "factory", factory);
+        ReflectionTestUtils.setField(store, "service", new AnalyzerService());
+        store.init();
+
+        metadata = new DataSetMetadata();
+        metadata.setId("dataset");
+        metadata.getContent().setFormatFamilyId("test");
+        metadata.getLifecycle().contentIndexed(true);
+        metadata.setRowMetadata(new RowMetadata(Arrays.asList( //
+                column().id(0).name("id").type(Type.STRING).build(), //
+                column().id(1).name("name").type(Type.STRING).build())));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteQuietly(storeLocation);
+    }
+
+    @Test
+    public void should_read_rows_from_columnar_content_once_converted() throws Exception {
+        // given
+        store.storeAsRaw(metadata, content("1,Superman", "2,Batman"));
+
+        // when
+        final List<String> first = read();
+        final int rawReadsAfterFirst = serializer.reads.get();
+        final List<String> second = read();
+
+        // then
+        assertEquals(Arrays.asList("1:Superman", "2:Batman"), first);
+        assertEquals(first, second);
+        assertEquals(2, rawReadsAfterFirst); // one for conversion, one for first read
+        assertEquals(2, serializer.reads.get()); // second read only used columnar content
+    }
+
+    @Test
+    public void should_convert_once_for_concurrent_readers() throws Exception {
+        // given
+        final List<Runnable> scheduled = new ArrayList<>();
+        ReflectionTestUtils.setField(store, "executor", (TaskExecutor) scheduled::add);
+        store.storeAsRaw(metadata, content("1,Superman", "2,Batman"));
+
+        // when
+        final List<String> first = read();
+        final List<String> second = read();
+
+        // then
+        assertEquals(first, second);
+        assertEquals(1, scheduled.size());
+        assertEquals(2, serializer.reads.get()); // both reads used raw content while conversion is pending
+
+        // when
+        scheduled.get(0).run();
+        final List<String> third = read();
+
+        // then
+        assertEquals(first, third);
+        assertEquals(3, serializer.reads.get()); // conversion read raw content, third read didn't
+    }
+
+    @Test
+    public void should_convert_again_when_raw_content_changes() throws Exception {
+        // given
+        store.storeAsRaw(metadata, content("1,Superman", "2,Batman"));
+        read();
+
+        // when
+        store.storeAsRaw(metadata, content("3,Wonder Woman"));
+        final List<String> rows = read();
+
+        // then
+        assertEquals(Collections.singletonList("3:Wonder Woman"), rows);
+    }
+
+    @Test
+    public void should_mark_invalid_values_from_stored_values() throws Exception {
+        // given
+        metadata.getRowMetadata().getById("0000").setType(Type.INTEGER.getName());
+        store.storeAsRaw(metadata, content("1,Superman", "x,Batman"));
+        store.updateInvalidValues(metadata);
+        final AnalyzerService analyzerService = mock(AnalyzerService.class);
+        ReflectionTestUtils.setField(store, "service", analyzerService);
+
+        // when
+        final List<Boolean> invalid = readInvalid();
+
+        // then
+        assertEquals(Arrays.asList(false, true), invalid);
+        verifyZeroInteractions(analyzerService); // rows were not analyzed
+    }
+
+    @Test
+    public void should_analyze_rows_when_stored_values_are_stale() throws Exception {
+        // given
+        metadata.getRowMetadata().getById("0000").setType(Type.INTEGER.getName());
+        metadata.getLifecycle().qualityAnalyzed(true);
+        store.storeAsRaw(metadata, content("1,Superman", "x,Batman"));
+        store.updateInvalidValues(metadata);
+        final List<Runnable> scheduled = new ArrayList<>();
+        ReflectionTestUtils.setField(store, "executor", (TaskExecutor) scheduled::add);
+
+        // when
+        metadata.getRowMetadata().getById("0000").setType(Type.STRING.getName());
+        final List<Boolean> invalid = readInvalid();
+
+        // then: stored values are ignored, and computed again in background
+        assertEquals(Arrays.asList(false, false), invalid);
+        assertEquals(1, scheduled.size());
+    }
+
+    @Test
+    public void should_compute_invalid_values_again_after_domain_change() throws Exception {
+        // given
+        metadata.getRowMetadata().getById("0000").setType(Type.INTEGER.getName());
+        metadata.getLifecycle().qualityAnalyzed(true);
+        store.storeAsRaw(metadata, content("1,Superman", "x,Batman"));
+        store.updateInvalidValues(metadata);
+        final List<Runnable> scheduled = new ArrayList<>();
+        ReflectionTestUtils.setField(store, "executor", (TaskExecutor) scheduled::add);
+        metadata.getRowMetadata().getById("0000").setDomain("FR_POSTAL_CODE");
+        readInvalid();
+
+        // when
+        assertEquals(1, scheduled.size());
+        scheduled.get(0).run();
+        final AnalyzerService analyzerService = mock(AnalyzerService.class);
+        ReflectionTestUtils.setField(store, "service", analyzerService);
+        readInvalid();
+
+        // then: invalid values computed with new domain are used
+        verifyZeroInteractions(analyzerService);
+    }
+
+    private List<String> read() {
+        try (Stream<DataSetRow> rows = store.rows(metadata, -1)) {
+            return rows.map(r -> r.get("0000") + ":" + r.get("0001")).collect(Collectors.toList());
+        }
+    }
+
+    private List<Boolean> readInvalid() {
+        try (Stream<DataSetRow> rows = store.stream(metadata, -1)) {
+            return rows.map(r -> r.isInvalid("0000")).collect(Collectors.toList());
+        }
+    }
+
+    private static InputStream content(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(UTF_8));
+    }
+
+    /**
+     * A serializer that reads rows from "id,name" lines and counts reads of raw content.
+     */
+    private static class TestSerializer implements Serializer, RowSource {
+
+        private final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public InputStream serialize(InputStream rawContent, DataSetMetadata metadata, long limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Stream<DataSetRow> stream(InputStream rawContent, DataSetMetadata metadata, long limit) {
+            reads.incrementAndGet();
+            try {
+                final List<DataSetRow> rows = new ArrayList<>();
+                for (String line : IOUtils.readLines(rawContent, UTF_8)) {
+                    final String[] values = line.split(",");
+                    final Map<String, String> row = new HashMap<>();
+                    row.put("0000", values[0]);
+                    row.put("0001", values[1]);
+                    rows.add(new DataSetRow(metadata.getRowMetadata(), row));
+                }
+                return rows.stream().onClose(() -> IOUtils.closeQuietly(rawContent));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.content.http;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.http.HttpHeaders;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Unit test for {@link HttpContentMirror}, against a local http server that supports ETag and Range requests.
+ */
+public class HttpContentMirrorTest {
+
+    private final Map<String, byte[]> contents = new ConcurrentHashMap<>();
+
+    private final AtomicInteger downloads = new AtomicInteger();
+
+    private final AtomicInteger partialDownloads = new AtomicInteger();
+
+    private final AtomicInteger notModified = new AtomicInteger();
+
+    /** <code>false</code> to send contents without ETag (contents can't be revalidated). */
+    private volatile boolean etags = true;
+
+    private HttpServer server;
+
+    private CloseableHttpClient httpClient;
+
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        httpClient = HttpClients.createDefault();
+        directory = Files.createTempDirectory("HttpContentMirrorTest").toFile();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop(0);
+        httpClient.close();
+        FileUtils.deleteDirectory(directory);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        final byte[] body = contents.get(exchange.getRequestURI().getPath());
+        if (body == null) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        final String etag = etags ? '"' + DigestUtils.sha1Hex(body) + '"' : null;
+        final Headers request = exchange.getRequestHeaders();
+        if (etag != null) {
+            exchange.getResponseHeaders().set(HttpHeaders.ETAG, etag);
+        }
+        if (etag != null && etag.equals(request.getFirst(HttpHeaders.IF_NONE_MATCH))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        int start = 0;
+        final String range = request.getFirst(HttpHeaders.RANGE);
+        if (range != null && etag != null && etag.equals(request.getFirst(HttpHeaders.IF_RANGE))) {
+            start = Integer.parseInt(StringUtils.substringBetween(range, "bytes=", "-"));
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + start + "-" + (body.length - 1) + "/" + body.length);
+            partialDownloads.incrementAndGet();
+            exchange.sendResponseHeaders(206, body.length - start);
+        } else {
+            downloads.incrementAndGet();
+            exchange.sendResponseHeaders(200, body.length);
+        }
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body, start, body.length - start);
+        }
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    private static String read(InputStream content) throws IOException {
+        try (InputStream input = content) {
+            return IOUtils.toString(input, UTF_8);
+        }
+    }
+
+    @Test
+    public void should_download_content_once() throws Exception {
+        // given
+        contents.put("/data.csv", "id;name\n1;first\n".getBytes(UTF_8));
+        final HttpContentMirror mirror = new HttpContentMirror(httpClient, directory, -1);
+
+        // when
+        final String first = read(mirror.get(url("/data.csv")));
+        final String second = read(mirror.get(url("/data.csv")));
+
+        // then
+        assertEquals("id;name\n1;first\n", first);
+        assertEquals(first, second);
+        assertEquals(1, downloads.get());
+        assertEquals(1, notModified.get());
+    }
+
+    @Test
+    public void should_download_modified_content() throws Exception {
+        // given
+        contents.put("/data.csv", "id;name\n1;first\n".getBytes(UTF_8));
+        final HttpContentMirror mirror = new HttpContentMirror(httpClient, directory, -1);
+        read(mirror.get(url("/data.csv")));
+
+        // when
+        contents.put("/data.csv", "id;name\n1;first\n2;second\n".getBytes(UTF_8));
+        final String modified = read(mirror.get(url("/data.csv")));
+
+        // then
+        assertEquals("id;name\n1;first\n2;second\n", modified);
+        assertEquals(2, downloads.get());
+        assertEquals(0, notModified.get());
+    }
+
+    @Test
+    public void should_resume_interrupted_download() throws Exception {
+        // given
+        final byte[] body = "id;name\n1;first\n2;second\n".getBytes(UTF_8);
+        contents.put("/data.csv", body);
+        final String key = DigestUtils.sha1Hex(url("/data.csv"));
+        Files.write(new File(directory, key + HttpContentMirror.PART_SUFFIX).toPath(), "id;name\n1;fi".getBytes(UTF_8));
+        final Properties validators = new Properties();
+        validators.setProperty(HttpContentMirror.URL_PROPERTY, url("/data.csv"));
+        validators.setProperty(HttpHeaders.ETAG, '"' + DigestUtils.sha1Hex(body) + '"');
+        try (OutputStream output = new FileOutputStream(
+                new File(directory, key + HttpContentMirror.PART_SUFFIX + HttpContentMirror.VALIDATORS_SUFFIX))) {
+            validators.store(output, null);
+        }
+        final HttpContentMirror mirror = new HttpContentMirror(httpClient, directory, -1);
+
+        // when
+        final String content = read(mirror.get(url("/data.csv")));
+
+        // then
+        assertEquals("id;name\n1;first\n2;second\n", content);
+        assertEquals(1, partialDownloads.get());
+        assertEquals(0, downloads.get());
+        assertFalse(new File(directory, key + HttpContentMirror.PART_SUFFIX).exists());
+    }
+
+    @Test
+    public void should_evict_least_recently_read_content() throws Exception {
+        // given
+        contents.put("/first.csv", StringUtils.repeat("a", 600).getBytes(UTF_8));
+        contents.put("/second.csv", StringUtils.repeat("b", 600).getBytes(UTF_8));
+        final HttpContentMirror mirror = new HttpContentMirror(httpClient, directory, 1000);
+
+        // when
+        read(mirror.get(url("/first.csv")));
+        read(mirror.get(url("/second.csv")));
+
+        // then
+        final String first = DigestUtils.sha1Hex(url("/first.csv"));
+        final String second = DigestUtils.sha1Hex(url("/second.csv"));
+        assertFalse(new File(directory, first + HttpContentMirror.CONTENT_SUFFIX).exists());
+        assertTrue(new File(directory, second + HttpContentMirror.CONTENT_SUFFIX).exists());
+        read(mirror.get(url("/first.csv")));
+        assertEquals(3, downloads.get());
+    }
+
+    @Test
+    public void should_stream_content_that_cannot_be_revalidated() throws Exception {
+        // given
+        etags = false;
+        contents.put("/data.csv", "id;name\n1;first\n".getBytes(UTF_8));
+        final HttpContentMirror mirror = new HttpContentMirror(httpClient, directory, -1);
+
+        // when
+        final String first = read(mirror.get(url("/data.csv")));
+        final String second = read(mirror.get(url("/data.csv")));
+
+        // then
+        assertEquals("id;name\n1;first\n", first);
+        assertEquals(first, second);
+        assertEquals(2, downloads.get());
+        final String key = DigestUtils.sha1Hex(url("/data.csv"));
+        assertFalse(new File(directory, key + HttpContentMirror.CONTENT_SUFFIX).exists());
+        assertFalse(new File(directory, key + HttpContentMirror.PART_SUFFIX).exists());
+    }
+
+    @Test
+    public void should_resume_download_after_partial_read() throws Exception {
+        // given
+        final String body = StringUtils.repeat("1;value\n", 100000);
+        contents.put("/data.csv", body.getBytes(UTF_8));
+        final HttpContentMirror mirror = new HttpContentMirror(httpClient, directory, -1);
+        final String key = DigestUtils.sha1Hex(url("/data.csv"));
+
+        // when
+        final byte[] head = new byte[16];
+        try (InputStream content = mirror.get(url("/data.csv"))) {
+            IOUtils.readFully(content, head);
+        }
+
+        // then
+        assertEquals(body.substring(0, 16), new String(head, UTF_8));
+        assertFalse(new File(directory, key + HttpContentMirror.CONTENT_SUFFIX).exists());
+        assertTrue(new File(directory, key + HttpContentMirror.PART_SUFFIX).length() >= 16);
+
+        // when
+        final String content = read(mirror.get(url("/data.csv")));
+
+        // then
+        assertEquals(body, content);
+        assertEquals(1, downloads.get());
+        assertEquals(1, partialDownloads.get());
+        assertTrue(new File(directory, key + HttpContentMirror.CONTENT_SUFFIX).exists());
+    }
+
+    @Test
+    public void should_stream_content_being_mirrored_by_another_read() throws Exception {
+        // given
+        contents.put("/data.csv", "id;name\n1;first\n".getBytes(UTF_8));
+        final HttpContentMirror mirror = new HttpContentMirror(httpClient, directory, -1);
+
+        // when
+        try (InputStream mirroring = mirror.get(url("/data.csv"))) {
+            final String concurrent = read(mirror.get(url("/data.csv")));
+
+            // then
+            assertEquals("id;name\n1;first\n", concurrent);
+            assertEquals("id;name\n1;first\n", IOUtils.toString(mirroring, UTF_8));
+        }
+        assertEquals(2, downloads.get());
+        read(mirror.get(url("/data.csv")));
+        assertEquals(1, notModified.get());
+    }
+
+    @Test(expected = IOException.class)
+    public void should_fail_on_missing_content() throws Exception {
+        new HttpContentMirror(httpClient, directory, -1).get(url("/cannot/be/reached"));
+    }
+}
@@ -26,7 +26,12 @@ public class ConfiguredCacheWriter {
         final ObjectMapper mapper = new ObjectMapper();
         final ObjectWriter objectWriter = mapper.writerFor(object.getClass());
         try(final OutputStream output = contentCache.put(key, ttl)) {
-            objectWriter.writeValue(output, object);
+            try {
+                objectWriter.writeValue(output, object);
+            } catch (IOException | RuntimeException e) {
+                contentCache.evict(key);
+                throw e;
+            }
             LOGGER.debug("New metadata cache entry -> {}.", key.getKey());
         }
     }
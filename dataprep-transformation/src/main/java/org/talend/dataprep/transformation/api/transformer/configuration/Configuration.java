@@ -23,6 +23,7 @@ import org.apache.commons.lang.StringUtils;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.export.ExportParameters;
+import org.talend.dataprep.api.filter.FilterService;
 import org.talend.dataprep.api.preparation.PreparationMessage;
 import org.talend.dataprep.format.export.ExportFormat;
 import org.talend.dataprep.transformation.format.JsonFormat;
@@ -38,6 +39,11 @@ public class Configuration {
 
     private final Function<RowMetadata, Predicate<DataSetRow>> outFilter;
 
+    /**
+     * The out filter as string (if known).
+     */
+    private final String outFilterDefinition;
+
     private final Supplier<Node> monitorSupplier;
 
     private final String stepId;
@@ -67,6 +73,11 @@ public class Configuration {
      */
     private final OutputStream output;
 
+    /**
+     * Where to cache the transformed content (<code>null</code> if content is not cached).
+     */
+    private final OutputStream cacheOutput;
+
     private final boolean allowMetadataChange;
 
     private final boolean globalStatistics;
@@ -81,8 +92,10 @@ public class Configuration {
      * Constructor for the transformer configuration.
      */
     protected Configuration(final OutputStream output, //
+                            final OutputStream cacheOutput, //
                             final Predicate<DataSetRow> filter, //
                             final Function<RowMetadata, Predicate<DataSetRow>> outFilter, //
+                            final String outFilterDefinition, //
                             final Supplier<Node> monitorSupplier, //
                             final ExportParameters.SourceType sourceType, //
                             final String format, //
@@ -94,8 +107,10 @@ public class Configuration {
                             boolean globalStatistics, //
                             final Volume dataVolume) {
         this.output = output;
+        this.cacheOutput = cacheOutput;
         this.filter = filter;
         this.outFilter = outFilter;
+        this.outFilterDefinition = outFilterDefinition;
         this.monitorSupplier = monitorSupplier;
         this.sourceType = sourceType;
         this.format = format;
@@ -151,6 +166,13 @@ public class Configuration {
         return output;
     }
 
+    /**
+     * @return Where to cache the transformed content (<code>null</code> if content is not cached).
+     */
+    public OutputStream cacheOutput() {
+        return cacheOutput;
+    }
+
     public Volume volume() {
         return dataVolume;
     }
@@ -167,6 +189,14 @@ public class Configuration {
         return outFilter;
     }
 
+    /**
+     * @return The out filter as string or <code>null</code> if out filter was not set from a string.
+     * @see Builder#outFilter(String, FilterService)
+     */
+    public String getOutFilterDefinition() {
+        return outFilterDefinition;
+    }
+
     public boolean isGlobalStatistics() {
         return globalStatistics;
     }
@@ -218,6 +248,11 @@ public class Configuration {
          */
         private OutputStream output;
 
+        /**
+         * Where to cache the transformed content.
+         */
+        private OutputStream cacheOutput;
+
         /**
          * Gives hint on the amount of data the transformer may expect
          */
@@ -235,6 +270,8 @@ public class Configuration {
 
         private Function<RowMetadata, Predicate<DataSetRow>> outFilter = metadata -> r -> true;
 
+        private String outFilterDefinition;
+
         private boolean globalStatistics = true;
 
         public Builder monitor(Supplier<Node> monitorSupplier) {
@@ -251,11 +288,22 @@ public class Configuration {
             return this;
         }
 
+        /**
+         * @param cacheOutput where to cache the transformed dataset (content written there may use a different format
+         * than the one written to {@link #output(OutputStream)}, see
+         * {@link org.talend.dataprep.transformation.cache.CacheContentReader}).
+         * @return the mapper to chain calls.
+         */
+        public Builder cacheOutput(final OutputStream cacheOutput) {
+            this.cacheOutput = cacheOutput;
+            return this;
+        }
+
         /**
          * @return a new {@link Configuration} from the mapper setup.
          */
         public Configuration build() {
-            return new Configuration(output, filter, outFilter, monitorSupplier, sourceType, format, actions, arguments, preparation, stepId, allowMetadataChange, globalStatistics, dataVolume);
+            return new Configuration(output, cacheOutput, filter, outFilter, outFilterDefinition, monitorSupplier, sourceType, format, actions, arguments, preparation, stepId, allowMetadataChange, globalStatistics, dataVolume);
         }
 
         /**
@@ -337,6 +385,21 @@ public class Configuration {
 
         public Builder outFilter(Function<RowMetadata, Predicate<DataSetRow>> outFilter) {
             this.outFilter = outFilter;
+            this.outFilterDefinition = null;
+            return this;
+        }
+
+        /**
+         * Builder DSL for out filter setter: knowing the filter definition allows transformation to evaluate filter
+         * before actions when possible.
+         *
+         * @param outFilter The out filter as string.
+         * @param filterService The service to build filter.
+         * @return The mapper
+         */
+        public Builder outFilter(final String outFilter, final FilterService filterService) {
+            this.outFilter = rm -> filterService.build(outFilter, rm);
+            this.outFilterDefinition = outFilter;
             return this;
         }
     }
@@ -13,17 +13,23 @@
 package org.talend.dataprep.transformation.api.transformer.json;
 
 import static org.talend.dataprep.cache.ContentCache.TimeToLive.DEFAULT;
+import static org.talend.dataprep.transformation.api.transformer.configuration.Configuration.Volume.LARGE;
 import static org.talend.dataprep.transformation.api.transformer.configuration.Configuration.Volume.SMALL;
 
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.commons.io.output.TeeOutputStream;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.filter.FilterService;
 import org.talend.dataprep.api.preparation.PreparationMessage;
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.cache.ContentCache;
@@ -31,20 +37,27 @@ import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.quality.AnalyzerService;
 import org.talend.dataprep.transformation.api.action.ActionParser;
 import org.talend.dataprep.transformation.api.transformer.ConfiguredCacheWriter;
+import org.talend.dataprep.transformation.api.transformer.TeeWriter;
 import org.talend.dataprep.transformation.api.transformer.Transformer;
 import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
 import org.talend.dataprep.transformation.api.transformer.configuration.Configuration;
+import org.talend.dataprep.transformation.cache.CacheContentWriter;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
 import org.talend.dataprep.transformation.cache.TransformationMetadataCacheKey;
+import org.talend.dataprep.transformation.format.CSVFormat;
+import org.talend.dataprep.transformation.format.JsonFormat;
 import org.talend.dataprep.transformation.format.WriterRegistrationService;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
 import org.talend.dataprep.transformation.pipeline.Pipeline;
 import org.talend.dataprep.transformation.pipeline.Visitor;
 import org.talend.dataprep.transformation.pipeline.model.WriterNode;
+import org.talend.dataprep.transformation.pipeline.node.FusedActionNode;
 import org.talend.dataprep.transformation.pipeline.node.StepNode;
 import org.talend.dataprep.transformation.service.PreparationUpdater;
 import org.talend.dataprep.transformation.service.TransformationRowMetadataUtils;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 @Component
 public class PipelineTransformer implements Transformer {
 
@@ -77,6 +90,45 @@ public class PipelineTransformer implements Transformer {
     @Autowired
     private PreparationUpdater preparationUpdater;
 
+    @Autowired
+    private FilterService filterService;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    /**
+     * Number of threads used to run actions (1 to run actions on the calling thread). Export strategies don't tell
+     * content volume (they all use {@link Configuration.Volume#SMALL}), so this only depends on configuration.
+     */
+    @Value("${transformation.pipeline.parallelism:1}")
+    private int parallelism;
+
+    /** Number of rows sent at once in the pipeline for large content (1 to send rows one by one). */
+    @Value("${transformation.pipeline.batch.size.large:200}")
+    private int largeBatchSize;
+
+    /**
+     * Number of rows sent at once in the pipeline for small content, which is what all export strategies configure (1
+     * to send rows one by one).
+     */
+    @Value("${transformation.pipeline.batch.size.small:100}")
+    private int smallBatchSize;
+
+    /** Max number of bytes used to keep rows in memory during type detection (rows are stored on disk above it). */
+    @Value("${transformation.pipeline.reservoir.memory:16777216}")
+    private long reservoirMemoryThreshold;
+
+    /** Number of rows used to decide types of global statistics before rows are written (0 to wait for all rows). */
+    @Value("${transformation.pipeline.type.detection.sample:0}")
+    private long typeDetectionSampleSize;
+
+    /**
+     * Max number of chunks of rows waiting for statistics computed in background (0 to compute statistics before rows
+     * are written). Like {@link #parallelism}, this only depends on configuration.
+     */
+    @Value("${transformation.pipeline.statistics.queue:64}")
+    private int statisticsQueueSize;
+
     @Override
     public void transform(DataSet input, Configuration configuration) {
         final RowMetadata rowMetadata = input.getMetadata().getRowMetadata();
@@ -84,25 +136,39 @@ public class PipelineTransformer implements Transformer {
         // prepare the fallback row metadata
         RowMetadata fallBackRowMetadata = transformationRowMetadataUtils.getMatchingEmptyRowMetadata(rowMetadata);
 
-        final TransformerWriter writer = writerRegistrationService.getWriter(configuration.formatId(), configuration.output(),
-                configuration.getArguments());
+        // CSV output does not contain statistics: when rows are filtered out, skip statistics so the filter can be
+        // evaluated before actions (and don't cache metadata computed on the filtered rows only)
+        final boolean filteredCsv = configuration.getOutFilterDefinition() != null
+                && CSVFormat.CSV.equals(configuration.formatId());
+
+        final TransformerWriter writer = getWriter(configuration);
         final ConfiguredCacheWriter metadataWriter = new ConfiguredCacheWriter(contentCache, DEFAULT);
-        final TransformationMetadataCacheKey metadataKey = cacheKeyGenerator.generateMetadataKey(configuration.getPreparationId(),
-                configuration.stepId(), configuration.getSourceType());
+        final TransformationMetadataCacheKey metadataKey = filteredCsv ? null
+                : cacheKeyGenerator.generateMetadataKey(configuration.getPreparationId(), configuration.stepId(),
+                        configuration.getSourceType());
         final PreparationMessage preparation = configuration.getPreparation();
-        final Pipeline pipeline = Pipeline.Builder.builder().withAnalyzerService(analyzerService) //
+        final Pipeline.Builder pipelineBuilder = Pipeline.Builder.builder().withAnalyzerService(analyzerService) //
                 .withActionRegistry(actionRegistry) //
                 .withPreparation(preparation) //
                 .withActions(actionParser.parse(configuration.getActions())) //
                 .withInitialMetadata(rowMetadata, configuration.volume() == SMALL) //
                 .withMonitor(configuration.getMonitor()) //
                 .withFilter(configuration.getFilter()) //
-                .withFilterOut(configuration.getOutFilter()) //
                 .withOutput(() -> new WriterNode(writer, metadataWriter, metadataKey, fallBackRowMetadata)) //
                 .withStatisticsAdapter(adapter) //
-                .withGlobalStatistics(configuration.isGlobalStatistics()) //
+                .withGlobalStatistics(configuration.isGlobalStatistics() && !filteredCsv) //
                 .allowMetadataChange(configuration.isAllowMetadataChange()) //
-                .build();
+                .withParallelism(parallelism) //
+                .withBatchSize(configuration.volume() == LARGE ? largeBatchSize : smallBatchSize) //
+                .withReservoirMemoryThreshold(reservoirMemoryThreshold) //
+                .withTypeDetectionSampleSize(typeDetectionSampleSize) //
+                .withStatisticsQueueSize(statisticsQueueSize);
+        if (configuration.getOutFilterDefinition() != null) {
+            pipelineBuilder.withFilterOut(configuration.getOutFilterDefinition(), filterService);
+        } else {
+            pipelineBuilder.withFilterOut(configuration.getOutFilter());
+        }
+        final Pipeline pipeline = pipelineBuilder.build();
         try {
             LOGGER.debug("Before transformation: {}", pipeline);
             pipeline.execute(input);
@@ -110,7 +176,7 @@ public class PipelineTransformer implements Transformer {
             LOGGER.debug("After transformation: {}", pipeline);
         }
 
-        if (preparation != null) {
+        if (preparation != null && !filteredCsv) {
             List<Step> stepsToUpdate = new ArrayList<>();
             pipeline.accept(new Visitor() {
                 @Override
@@ -118,6 +184,12 @@ public class PipelineTransformer implements Transformer {
                     stepsToUpdate.add(stepNode.getStep());
                     super.visitStepNode(stepNode);
                 }
+
+                @Override
+                public void visitFusedAction(FusedActionNode fusedActionNode) {
+                    stepsToUpdate.addAll(fusedActionNode.getSteps());
+                    super.visitFusedAction(fusedActionNode);
+                }
             });
 
             preparation.setSteps(stepsToUpdate);
@@ -125,6 +197,26 @@ public class PipelineTransformer implements Transformer {
         }
     }
 
+    /**
+     * @return The writer for configuration's output, that also writes to configuration's cache output (if any). JSON
+     * content is cached in a binary format (see {@link CacheContentWriter}) that is cheaper to read back, content in
+     * other formats is cached as is.
+     */
+    private TransformerWriter getWriter(Configuration configuration) {
+        final OutputStream cacheOutput = configuration.cacheOutput();
+        if (cacheOutput == null) {
+            return writerRegistrationService.getWriter(configuration.formatId(), configuration.output(),
+                    configuration.getArguments());
+        }
+        if (JsonFormat.JSON.equals(configuration.formatId())) {
+            final TransformerWriter writer = writerRegistrationService.getWriter(configuration.formatId(),
+                    configuration.output(), configuration.getArguments());
+            return new TeeWriter(writer, new CacheContentWriter(cacheOutput, mapper));
+        }
+        return writerRegistrationService.getWriter(configuration.formatId(),
+                new TeeOutputStream(configuration.output(), cacheOutput), configuration.getArguments());
+    }
+
     @Override
     public boolean accept(Configuration configuration) {
         return Configuration.class.equals(configuration.getClass());
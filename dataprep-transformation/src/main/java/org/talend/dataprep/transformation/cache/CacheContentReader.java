@@ -0,0 +1,219 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import static org.talend.dataprep.transformation.cache.CacheContentWriter.*;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.dataset.row.FlagNames;
+import org.talend.dataprep.api.dataset.row.RowCodec;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads transformation results cached by {@link CacheContentWriter}. Content cached as JSON (before binary format was
+ * used) is also accepted.
+ */
+public final class CacheContentReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CacheContentReader() {
+    }
+
+    /**
+     * Reads the records of a cached content. Records are read from <code>content</code> while data set records are
+     * consumed (so <code>content</code> must not be closed before), and the same {@link DataSetRow} instance is used
+     * for all records. Data set metadata is not set (as for data sets read from JSON content, metadata is cached
+     * separately).
+     *
+     * @param content The cached content.
+     * @param mapper The mapper used to read JSON content.
+     * @return The data set in <code>content</code>.
+     * @throws IOException In case of read error.
+     */
+    public static DataSet read(InputStream content, ObjectMapper mapper) throws IOException {
+        final BufferedInputStream input = new BufferedInputStream(content, BUFFER_SIZE);
+        if (!isBinary(input)) {
+            return mapper.readerFor(DataSet.class).readValue(mapper.getFactory().createParser(input));
+        }
+        final Iterator<DataSetRow> records = new RecordIterator(new Reader(new DataInputStream(input)));
+        final DataSet dataSet = new DataSet();
+        dataSet.setRecords(StreamSupport.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED), false));
+        return dataSet;
+    }
+
+    /**
+     * Writes a cached content as JSON (same JSON as the one written by
+     * {@link org.talend.dataprep.transformation.format.JsonWriter JsonWriter}).
+     *
+     * @param content The cached content.
+     * @param output Where to write JSON content (not closed by this method).
+     * @param mapper The mapper used to write JSON content.
+     * @throws IOException In case of read or write error.
+     */
+    public static void toJson(InputStream content, OutputStream output, ObjectMapper mapper) throws IOException {
+        final BufferedInputStream input = new BufferedInputStream(content, BUFFER_SIZE);
+        if (!isBinary(input)) {
+            IOUtils.copyLarge(input, output);
+            return;
+        }
+        final Reader reader = new Reader(new DataInputStream(input));
+        final JsonGenerator generator = mapper.getFactory().createGenerator(output);
+        generator.writeStartObject();
+        generator.writeFieldName("records");
+        generator.writeStartArray();
+        while (reader.next()) {
+            generator.writeStartObject();
+            for (int i = 0; i < reader.codec.size(); i++) {
+                generator.writeFieldName(reader.codec.getKey(i));
+                if (reader.codec.getValue(i) == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeString(reader.codec.getValue(i));
+                }
+            }
+            if (reader.codec.getTdpId() != null) {
+                generator.writeNumberField(FlagNames.TDP_ID, reader.codec.getTdpId());
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeFieldName("metadata");
+        generator.writeStartObject();
+        generator.writeFieldName("columns");
+        generator.writeRawValue(reader.columns);
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    /**
+     * @return <code>true</code> if <code>input</code> starts with {@link CacheContentWriter#MAGIC} (which is then
+     * skipped), <code>false</code> otherwise (<code>input</code> is left unchanged).
+     */
+    private static boolean isBinary(BufferedInputStream input) throws IOException {
+        input.mark(MAGIC.length);
+        final byte[] magic = new byte[MAGIC.length];
+        final int read = IOUtils.read(input, magic);
+        if (read == MAGIC.length && Arrays.equals(magic, MAGIC)) {
+            return true;
+        }
+        input.reset();
+        return false;
+    }
+
+    /**
+     * Reads records one by one, buffers are reused from one record to the other.
+     */
+    private static class Reader {
+
+        /** Reader of the current record (header's column ids are the first keys of its dictionary). */
+        private final RowCodec.Reader codec;
+
+        /** Columns (as a JSON array) once all records are read. */
+        private String columns;
+
+        private Reader(DataInputStream input) throws IOException {
+            this.codec = new RowCodec.Reader(input);
+            final int headerSize = codec.readVarInt();
+            for (int i = 0; i < headerSize; i++) {
+                codec.defineKey();
+            }
+        }
+
+        /**
+         * Reads next record.
+         *
+         * @return <code>true</code> if a record was read, <code>false</code> if there's no more records.
+         */
+        private boolean next() throws IOException {
+            if (columns != null) {
+                return false;
+            }
+            final int flags = codec.readFlags();
+            if ((flags & ROW) == 0) {
+                columns = codec.readString();
+                return false;
+            }
+            codec.readRow(flags);
+            return true;
+        }
+    }
+
+    /**
+     * Iterator over the records of a binary content, same {@link DataSetRow} instance is returned for all records (as
+     * for records read from JSON content).
+     */
+    private static class RecordIterator implements Iterator<DataSetRow> {
+
+        private final Reader reader;
+
+        private final DataSetRow row = new DataSetRow(new RowMetadata());
+
+        /** <code>null</code> until next record is read. */
+        private Boolean hasNext;
+
+        private RecordIterator(Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext == null) {
+                try {
+                    hasNext = reader.next();
+                } catch (IOException e) {
+                    throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public DataSetRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+            row.clear();
+            final RowCodec.Reader codec = reader.codec;
+            if (codec.isDeleted()) {
+                row.setDeleted(true);
+            }
+            if (codec.getTdpId() != null) {
+                row.setTdpId(codec.getTdpId());
+            }
+            for (int i = 0; i < codec.size(); i++) {
+                // null values are read as empty values (as for JSON content)
+                row.set(codec.getKey(i), StringUtils.defaultString(codec.getValue(i)));
+            }
+            return row;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.dataset.row.FlagNames;
+import org.talend.dataprep.api.dataset.row.RowCodec;
+import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p>
+ * Writes transformed content in the binary format used to cache transformation results (read back with
+ * {@link CacheContentReader}, without any JSON parsing). Content is written as:
+ * <ul>
+ * <li>a header: {@link #MAGIC} bytes, then the ids of the columns (the first entries of the key dictionary)</li>
+ * <li>each row in {@link RowCodec} format, its flag byte has {@link #ROW} set</li>
+ * <li>a trailer: an {@link #END} byte, then the columns of the final row metadata as a length-prefixed JSON array.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Structure methods ({@link #startObject()}, {@link #fieldName(String)}...) are ignored: the structure of the content
+ * is always the one written by {@link org.talend.dataprep.transformation.pipeline.model.WriterNode}. Rows with diff
+ * information are not supported (transformation results in cache never hold diffs).
+ * </p>
+ */
+public class CacheContentWriter implements TransformerWriter {
+
+    /** First bytes of the content (can't be the first bytes of a JSON content), the last one is the format version. */
+    static final byte[] MAGIC = { 0, 'T', 'D', 'P', 1 };
+
+    /** Flag of a row record. */
+    static final int ROW = 0x80;
+
+    /** Marker of the end of rows. */
+    static final int END = 0;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataOutputStream output;
+
+    private final RowCodec.Writer writer;
+
+    private final ObjectMapper mapper;
+
+    private boolean headerWritten;
+
+    /**
+     * @param output Where to write the content.
+     * @param mapper The mapper used to write the row metadata.
+     */
+    public CacheContentWriter(OutputStream output, ObjectMapper mapper) {
+        this.output = new DataOutputStream(new BufferedOutputStream(output, BUFFER_SIZE));
+        this.writer = new RowCodec.Writer(this.output);
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void write(RowMetadata rowMetadata) throws IOException {
+        writeHeader(rowMetadata);
+        output.writeByte(END);
+        writer.writeString(mapper.writeValueAsString(rowMetadata.getColumns()));
+    }
+
+    @Override
+    public void write(DataSetRow row) throws IOException {
+        writeHeader(row.getRowMetadata());
+        // same values as the JSON content (see JsonWriter), tdp id excluded
+        final Map<String, Object> values = row.values();
+        int size = 0;
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (isWritten(entry)) {
+                size++;
+            }
+        }
+        writer.writeRowStart(row, ROW, size);
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (isWritten(entry)) {
+                writer.writeValue(entry.getKey(), (String) entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    private static boolean isWritten(Map.Entry<String, Object> entry) {
+        return (entry.getValue() == null || entry.getValue() instanceof String)
+                && !FlagNames.TDP_ID.equals(entry.getKey());
+    }
+
+    // Column ids are the first keys of the dictionary so that rows only use their codes
+    private void writeHeader(RowMetadata rowMetadata) throws IOException {
+        if (headerWritten) {
+            return;
+        }
+        headerWritten = true;
+        output.write(MAGIC);
+        if (rowMetadata == null) {
+            writer.writeVarInt(0);
+            return;
+        }
+        final List<ColumnMetadata> columns = rowMetadata.getColumns();
+        writer.writeVarInt(columns.size());
+        for (ColumnMetadata column : columns) {
+            writer.defineKey(column.getId());
+        }
+    }
+}
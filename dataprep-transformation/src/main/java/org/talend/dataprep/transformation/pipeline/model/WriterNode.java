@@ -15,6 +15,8 @@ package org.talend.dataprep.transformation.pipeline.model;
 import static org.talend.dataprep.transformation.pipeline.Signal.END_OF_STREAM;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
@@ -56,7 +58,7 @@ public class WriterNode extends BasicNode implements Monitored {
      *
      * @param writer the transformer writer.
      * @param metadataCacheWriter the metadata cache writer.
-     * @param metadataKey the transformation metadata cache key to use.
+     * @param metadataKey the transformation metadata cache key to use (<code>null</code> not to cache metadata).
      * @param fallBackRowMetadata fallback raw metadata to be able to write an empty content even if no row/rowMetadata id
      * received.
      */
@@ -104,10 +106,53 @@ public class WriterNode extends BasicNode implements Monitored {
         }
     }
 
+    /**
+     * Synchronized method not to clash with the signal method.
+     *
+     * @see WriterNode#signal(Signal)
+     * @see RuntimeNode#receiveBatch(DataSetRow[], RowMetadata)
+     */
+    @Override
+    public synchronized void receiveBatch(DataSetRow[] rows, RowMetadata metadata) {
+
+        // do not write these rows if the writer is stopped
+        if (isStopped.get()) {
+            LOGGER.debug("already finished or canceled, let's skip these rows");
+            return;
+        }
+
+        final long start = System.currentTimeMillis();
+        try {
+            if (!startRecords) {
+                writer.startObject();
+                writer.fieldName("records");
+                writer.startArray();
+                startRecords = true;
+            }
+            lastRowMetadata = metadata;
+            final List<DataSetRow> writtenRows = new ArrayList<>(rows.length);
+            for (DataSetRow row : rows) {
+                if (row.shouldWrite()) {
+                    writer.write(row);
+                    writtenRows.add(row);
+                }
+            }
+            if (!writtenRows.isEmpty()) {
+                super.receiveBatch(writtenRows.toArray(new DataSetRow[writtenRows.size()]), metadata);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Unable to write record.", e);
+        } finally {
+            totalTime += System.currentTimeMillis() - start;
+            count += rows.length;
+        }
+    }
+
     /**
      * Synchronized method not to clash with the receive method.
      *
      * @see WriterNode#receive(DataSetRow, RowMetadata)
+     * @see WriterNode#receiveBatch(DataSetRow[], RowMetadata)
      * @see RuntimeNode#signal(Signal)
      */
     @Override
@@ -179,6 +224,9 @@ public class WriterNode extends BasicNode implements Monitored {
         }
 
         // Cache computed metadata for later reuse
+        if (metadataKey == null) {
+            return;
+        }
         try {
             metadataCacheWriter.write(metadataKey, lastRowMetadata);
             writer.flush();
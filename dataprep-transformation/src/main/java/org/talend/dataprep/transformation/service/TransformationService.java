@@ -109,6 +109,7 @@ import org.talend.dataprep.transformation.api.transformer.configuration.Configur
 import org.talend.dataprep.transformation.api.transformer.configuration.PreviewConfiguration;
 import org.talend.dataprep.transformation.api.transformer.suggestion.Suggestion;
 import org.talend.dataprep.transformation.api.transformer.suggestion.SuggestionEngine;
+import org.talend.dataprep.transformation.cache.CacheContentReader;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
 import org.talend.dataprep.transformation.cache.TransformationMetadataCacheKey;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
@@ -118,6 +119,7 @@ import org.talend.dataquality.common.inference.Analyzers;
 import org.talend.dataquality.semantic.broadcast.BroadcastIndexObject;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -377,8 +379,7 @@ public class TransformationService extends BaseTransformationService {
         );
 
         try (final InputStream metadata = contentCache.get(metadataKey); //
-            final InputStream content = contentCache.get(contentKey); //
-            final JsonParser contentParser = mapper.getFactory().createParser(content)) {
+            final InputStream content = contentCache.get(contentKey)) {
 
             // build metadata
             final RowMetadata rowMetadata = mapper.readerFor(RowMetadata.class).readValue(metadata);
@@ -386,7 +387,7 @@ public class TransformationService extends BaseTransformationService {
             dataSetMetadata.setRowMetadata(rowMetadata);
 
             // build dataset
-            final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(contentParser);
+            final DataSet dataSet = CacheContentReader.read(content, mapper);
             dataSet.setMetadata(dataSetMetadata);
 
             // trigger diff
@@ -403,8 +404,18 @@ public class TransformationService extends BaseTransformationService {
     }
 
     private void executeDiffOnDataset(final PreviewParameters previewParameters, final OutputStream output) {
+        // diff only processes rows between min and max tdp ids (see PipelineDiffTransformer), only get these rows
+        long fromTdpId = 1;
+        long count = -1;
+        final List<Long> tdpIds = parseTdpIds(previewParameters.getTdpIds());
+        if (!tdpIds.isEmpty()) {
+            fromTdpId = Collections.min(tdpIds);
+            count = Collections.max(tdpIds) - fromTdpId + 1;
+        }
+
         // because of dataset records streaming, the dataset content must be within an auto closeable block
-        final DataSetGet dataSetGet = context.getBean(DataSetGet.class, previewParameters.getDataSetId(), false, true);
+        final DataSetGet dataSetGet = context.getBean(DataSetGet.class, previewParameters.getDataSetId(), false, true,
+                fromTdpId, count);
 
         boolean identityReleased = false;
         securityProxy.asTechnicalUser();
@@ -433,6 +444,21 @@ public class TransformationService extends BaseTransformationService {
         }
     }
 
+    private List<Long> parseTdpIds(final String tdpIds) {
+        if (StringUtils.isEmpty(tdpIds)) {
+            return Collections.emptyList();
+        }
+        try {
+            final List<Long> result = new ArrayList<>();
+            for (JsonNode tdpId : mapper.readTree(tdpIds)) {
+                result.add(tdpId.longValue());
+            }
+            return result;
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNABLE_TO_PARSE_ACTIONS, e);
+        }
+    }
+
     private boolean shouldApplyDiffToSampleSource(final PreviewParameters previewParameters) {
         if (previewParameters.getSourceType() != HEAD && previewParameters.getPreparationId() != null) {
             final TransformationMetadataCacheKey metadataKey = cacheKeyGenerator.generateMetadataKey( //
@@ -449,7 +475,8 @@ public class TransformationService extends BaseTransformationService {
                     previewParameters.getSourceType() //
             );
 
-            return contentCache.has(metadataKey) && contentCache.has(contentKey);
+            // content first: metadata is cached at the end of the transformation, before its content entry is published
+            return contentCache.has(contentKey) && contentCache.has(metadataKey);
         }
         return false;
     }
@@ -781,7 +808,7 @@ public class TransformationService extends BaseTransformationService {
                 .build();
 
         // if the preparation is not cached, let's compute it to have some cache
-        if (!contentCache.has(metadataKey) || !contentCache.has(contentKey)) {
+        if (!contentCache.has(contentKey) || !contentCache.has(metadataKey)) {
             addPreparationInCache(preparation, stepId);
         }
 
@@ -836,8 +863,8 @@ public class TransformationService extends BaseTransformationService {
         final Analyzer<Analyzers.Result> analyzer = analyzerService.build(columnMetadata, SEMANTIC);
         analyzer.init();
 
-        try (final JsonParser parser = mapper.getFactory().createParser(records)) {
-            final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
+        try (final InputStream content = records) {
+            final DataSet dataSet = CacheContentReader.read(content, mapper);
             dataSet.getRecords() //
                     .map(r -> r.get(columnId)) //
                     .forEach(analyzer::analyze);
@@ -12,6 +12,8 @@
 
 package org.talend.dataprep.transformation.service.export;
 
+import java.io.InputStream;
+
 import org.apache.commons.lang.StringUtils;
 import org.apache.poi.util.IOUtils;
 import org.slf4j.Logger;
@@ -23,8 +25,10 @@ import org.talend.dataprep.api.export.ExportParameters;
 import org.talend.dataprep.api.preparation.PreparationMessage;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.PreparationErrorCodes;
+import org.talend.dataprep.transformation.cache.CacheContentReader;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
 import org.talend.dataprep.transformation.cache.TransformationCacheKey;
+import org.talend.dataprep.transformation.format.JsonFormat;
 import org.talend.dataprep.transformation.service.ExportStrategy;
 import org.talend.dataprep.transformation.service.ExportUtils;
 
@@ -66,7 +70,16 @@ public class CachedExportStrategy extends StandardExportStrategy {
     public StreamingResponseBody execute(ExportParameters parameters) {
         final TransformationCacheKey contentKey = getCacheKey(parameters);
         ExportUtils.setExportHeaders(parameters.getExportName(), getFormat(parameters.getExportType()));
-        return outputStream -> IOUtils.copy(contentCache.get(contentKey), outputStream);
+        return outputStream -> {
+            try (InputStream content = contentCache.get(contentKey)) {
+                if (JsonFormat.JSON.equals(parameters.getExportType())) {
+                    // JSON content is cached in a binary format
+                    CacheContentReader.toJson(content, outputStream, mapper);
+                } else {
+                    IOUtils.copy(content, outputStream);
+                }
+            }
+        };
     }
 
     private TransformationCacheKey getCacheKey(ExportParameters parameters) {
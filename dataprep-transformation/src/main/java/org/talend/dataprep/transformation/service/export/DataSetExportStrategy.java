@@ -64,7 +64,7 @@ public class DataSetExportStrategy extends StandardExportStrategy {
                     // get the actions to apply (no preparation ==> dataset export ==> no actions)
                     Configuration configuration = Configuration.builder() //
                             .args(parameters.getArguments()) //
-                            .outFilter(rm -> filterService.build(parameters.getFilter(), rm)) //
+                            .outFilter(parameters.getFilter(), filterService) //
                             .format(format.getName()) //
                             .volume(Configuration.Volume.SMALL) //
                             .output(outputStream) //
@@ -19,7 +19,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.apache.commons.io.output.TeeOutputStream;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,14 +36,13 @@ import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.TransformationErrorCodes;
 import org.talend.dataprep.format.export.ExportFormat;
 import org.talend.dataprep.transformation.api.transformer.configuration.Configuration;
+import org.talend.dataprep.transformation.cache.CacheContentReader;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
 import org.talend.dataprep.transformation.cache.TransformationCacheKey;
 import org.talend.dataprep.transformation.cache.TransformationMetadataCacheKey;
 import org.talend.dataprep.transformation.service.ExportStrategy;
 import org.talend.dataprep.transformation.service.ExportUtils;
 
-import com.fasterxml.jackson.core.JsonParser;
-
 /**
  * A {@link ExportStrategy strategy} to export a preparation (using its default data set), using any information
  * available in cache (metadata and content).
@@ -97,9 +95,9 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
         final ExportFormat format = getFormat(parameters.getExportType());
 
         // Get content from previous step
-        try (JsonParser parser = mapper.getFactory().createParser(contentCache.get(transformationCacheKey))) {
+        try (InputStream content = contentCache.get(transformationCacheKey)) {
             // Create dataset
-            final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
+            final DataSet dataSet = CacheContentReader.read(content, mapper);
             dataSet.setMetadata(metadata);
 
             // get the actions to apply (no preparation ==> dataset export ==> no actions)
@@ -109,7 +107,7 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
 
             LOGGER.debug("Running optimized strategy for preparation {} @ step #{}", preparationId, version);
 
-            // create tee to broadcast to cache + service output
+            // key of the transformed content in cache
             final TransformationCacheKey key = cacheKeyGenerator.generateContentKey(
                     dataSetId,
                     preparationId,
@@ -121,23 +119,27 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
             LOGGER.debug("Cache key: " + key.getKey());
             LOGGER.debug("Cache key details: " + key.toString());
 
-            try (final TeeOutputStream tee = new TeeOutputStream(outputStream, contentCache.put(key, ContentCache.TimeToLive.DEFAULT))) {
-                final Configuration configuration = Configuration.builder() //
-                        .args(parameters.getArguments()) //
-                        .outFilter(rm -> filterService.build(parameters.getFilter(), rm)) //
-                        .sourceType(parameters.getFrom())
-                        .format(format.getName()) //
-                        .actions(actions) //
-                        .preparation(preparation) //
-                        .stepId(version) //
-                        .volume(Configuration.Volume.SMALL) //
-                        .output(tee) //
-                        .build();
-                factory.get(configuration).transform(dataSet, configuration);
-                tee.flush();
-            } catch (Throwable e) { // NOSONAR
-                contentCache.evict(key);
-                throw e;
+            try (final OutputStream cacheEntry = contentCache.put(key, ContentCache.TimeToLive.DEFAULT)) {
+                try {
+                    final Configuration configuration = Configuration.builder() //
+                            .args(parameters.getArguments()) //
+                            .outFilter(parameters.getFilter(), filterService) //
+                            .sourceType(parameters.getFrom())
+                            .format(format.getName()) //
+                            .actions(actions) //
+                            .preparation(preparation) //
+                            .stepId(version) //
+                            .volume(Configuration.Volume.SMALL) //
+                            .output(outputStream) //
+                            .cacheOutput(cacheEntry) //
+                            .build();
+                    factory.get(configuration).transform(dataSet, configuration);
+                    outputStream.flush();
+                } catch (Throwable e) { // NOSONAR
+                    // evict before the cache entry is closed so that partial content is never published
+                    contentCache.evict(key);
+                    throw e;
+                }
             }
         } catch (TDPException e) {
             throw e;
@@ -17,7 +17,6 @@ import static org.talend.dataprep.api.export.ExportParameters.SourceType.HEAD;
 import java.io.InputStream;
 import java.io.OutputStream;
 
-import org.apache.commons.io.output.TeeOutputStream;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -116,24 +115,27 @@ public class PreparationExportStrategy extends StandardExportStrategy {
                 LOGGER.debug("Cache key: " + key.getKey());
                 LOGGER.debug("Cache key details: " + key.toString());
 
-                try (final TeeOutputStream tee = new TeeOutputStream(outputStream,
-                        contentCache.put(key, ContentCache.TimeToLive.DEFAULT))) {
-                    final Configuration configuration = Configuration.builder() //
-                            .args(parameters.getArguments()) //
-                            .outFilter(rm -> filterService.build(parameters.getFilter(), rm)) //
-                            .sourceType(parameters.getFrom())
-                            .format(format.getName()) //
-                            .actions(actions) //
-                            .preparation(getPreparation(preparationId)) //
-                            .stepId(version) //
-                            .volume(Configuration.Volume.SMALL) //
-                            .output(tee) //
-                            .build();
-                    factory.get(configuration).transform(dataSet, configuration);
-                    tee.flush();
-                } catch (Throwable e) { // NOSONAR
-                    contentCache.evict(key);
-                    throw e;
+                try (final OutputStream cacheEntry = contentCache.put(key, ContentCache.TimeToLive.DEFAULT)) {
+                    try {
+                        final Configuration configuration = Configuration.builder() //
+                                .args(parameters.getArguments()) //
+                                .outFilter(parameters.getFilter(), filterService) //
+                                .sourceType(parameters.getFrom())
+                                .format(format.getName()) //
+                                .actions(actions) //
+                                .preparation(getPreparation(preparationId)) //
+                                .stepId(version) //
+                                .volume(Configuration.Volume.SMALL) //
+                                .output(outputStream) //
+                                .cacheOutput(cacheEntry) //
+                                .build();
+                        factory.get(configuration).transform(dataSet, configuration);
+                        outputStream.flush();
+                    } catch (Throwable e) { // NOSONAR
+                        // evict before the cache entry is closed so that partial content is never published
+                        contentCache.evict(key);
+                        throw e;
+                    }
                 }
             }
         } catch (TDPException e) {
@@ -0,0 +1,148 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+import static uk.co.datumedge.hamcrest.json.SameJSONAs.sameJSONAs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit test for the CacheContentReader (and the CacheContentWriter).
+ *
+ * @see CacheContentReader
+ * @see CacheContentWriter
+ */
+public class CacheContentReaderTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private RowMetadata rowMetadata;
+
+    @Before
+    public void setUp() throws Exception {
+        rowMetadata = new RowMetadata(Arrays.asList( //
+                column().id(0).name("id").type(Type.STRING).build(), //
+                column().id(1).name("firstname").type(Type.STRING).build()));
+    }
+
+    @Test
+    public void shouldReadWrittenRecords() throws Exception {
+        // given
+        final byte[] content = write(row(1L, "1", "Superman"), row(2L, "2", "Batman"));
+
+        // when
+        final DataSet dataSet = CacheContentReader.read(new ByteArrayInputStream(content), mapper);
+        final List<String> records = dataSet.getRecords() //
+                .map(r -> r.getTdpId() + ":" + r.get("0000") + ":" + r.get("0001")) //
+                .collect(Collectors.toList());
+
+        // then
+        assertThat(records, is(Arrays.asList("1:1:Superman", "2:2:Batman")));
+    }
+
+    @Test
+    public void shouldReadDeletedFlag() throws Exception {
+        // given
+        final DataSetRow deleted = row(2L, "2", "Batman");
+        deleted.setDeleted(true);
+        final byte[] content = write(row(1L, "1", "Superman"), deleted);
+
+        // when
+        final DataSet dataSet = CacheContentReader.read(new ByteArrayInputStream(content), mapper);
+        final List<Boolean> flags = dataSet.getRecords().map(DataSetRow::isDeleted).collect(Collectors.toList());
+
+        // then
+        assertThat(flags, is(Arrays.asList(false, true)));
+    }
+
+    @Test
+    public void shouldWriteRecordsAsJson() throws Exception {
+        // given
+        final byte[] content = write(row(1L, "1", "Superman"));
+        final ByteArrayOutputStream json = new ByteArrayOutputStream();
+
+        // when
+        CacheContentReader.toJson(new ByteArrayInputStream(content), json, mapper);
+
+        // then
+        final String expected = "{\"records\":[{\"0000\":\"1\",\"0001\":\"Superman\",\"tdpId\":1}]," //
+                + "\"metadata\":{\"columns\":" + mapper.writeValueAsString(rowMetadata.getColumns()) + "}}";
+        assertThat(new String(json.toByteArray(), UTF_8), sameJSONAs(expected));
+    }
+
+    @Test
+    public void shouldReadJsonContent() throws Exception {
+        // given
+        final String json = "{\"records\":[{\"0000\":\"1\",\"0001\":\"Superman\",\"tdpId\":1}]}";
+
+        // when
+        final DataSet dataSet = CacheContentReader.read(new ByteArrayInputStream(json.getBytes(UTF_8)), mapper);
+        final List<String> names = dataSet.getRecords().map(r -> r.get("0001")).collect(Collectors.toList());
+
+        // then
+        assertThat(names, is(Arrays.asList("Superman")));
+    }
+
+    @Test
+    public void shouldCopyJsonContent() throws Exception {
+        // given
+        final String json = "{\"records\":[{\"0000\":\"1\",\"0001\":\"Superman\",\"tdpId\":1}]}";
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        CacheContentReader.toJson(new ByteArrayInputStream(json.getBytes(UTF_8)), output, mapper);
+
+        // then
+        assertThat(new String(output.toByteArray(), UTF_8), is(json));
+    }
+
+    private DataSetRow row(long tdpId, String id, String firstName) {
+        final Map<String, String> values = new HashMap<>();
+        values.put("0000", id);
+        values.put("0001", firstName);
+        final DataSetRow row = new DataSetRow(rowMetadata, values);
+        row.setTdpId(tdpId);
+        return row;
+    }
+
+    private byte[] write(DataSetRow... rows) throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final CacheContentWriter writer = new CacheContentWriter(output, mapper);
+        for (DataSetRow row : rows) {
+            writer.write(row);
+        }
+        writer.write(rowMetadata);
+        writer.flush();
+        return output.toByteArray();
+    }
+}
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.GZIPInputStream;
 
 import org.apache.commons.io.IOUtils;
@@ -38,12 +39,16 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.talend.dataprep.api.preparation.Preparation;
 import org.talend.dataprep.cache.ContentCache;
 import org.talend.dataprep.cache.ContentCacheKey;
 import org.talend.dataprep.preparation.store.PreparationRepository;
+import org.talend.dataprep.transformation.api.transformer.json.PipelineTransformer;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
 import org.talend.dataprep.transformation.cache.TransformationCacheKey;
+import org.talend.dataprep.transformation.pipeline.node.ParallelNode;
+import org.talend.dataprep.transformation.pipeline.node.StatisticsNode;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.jayway.restassured.response.Response;
@@ -65,6 +70,9 @@ public class TransformationServiceTest extends TransformationServiceBaseTest {
     @Autowired
     PreparationRepository preparationRepository;
 
+    @Autowired
+    private PipelineTransformer pipelineTransformer;
+
     @Before
     public void customSetUp() throws Exception {
         contentCache.clear();
@@ -158,6 +166,70 @@ public class TransformationServiceTest extends TransformationServiceBaseTest {
         JSONAssert.assertEquals(expectedContent, transformedContent, false);
     }
 
+    @Test
+    public void uppercaseActionOnSeveralThreads() throws Exception {
+        // given
+        String dataSetId = createDataset("input_dataset.csv", "uppercase" + UUID.randomUUID().toString(), "text/csv");
+        String preparationId = createEmptyPreparationFromDataset(dataSetId, "uppercase prep");
+        applyActionFromFile(preparationId, "uppercase_action.json");
+        applyActionFromFile(preparationId, "lowercase_filtered_action.json");
+        final AtomicInteger workers = (AtomicInteger) ReflectionTestUtils.getField(ParallelNode.class, "WORKER_COUNT");
+        final int workersBefore = workers.get();
+        ReflectionTestUtils.setField(pipelineTransformer, "parallelism", 4);
+
+        // when
+        final String transformedContent;
+        try {
+            transformedContent = given() //
+                    .expect().statusCode(200).log().ifError()//
+                    .when() //
+                    .get("/apply/preparation/{preparationId}/dataset/{datasetId}/{format}", preparationId, dataSetId, "JSON") //
+                    .asString();
+        } finally {
+            ReflectionTestUtils.setField(pipelineTransformer, "parallelism", 1);
+        }
+
+        // then (export strategy ran actions on worker threads, with same result)
+        String expectedContent = IOUtils.toString(this.getClass().getResourceAsStream("uppercase_expected.json"));
+        JSONAssert.assertEquals(expectedContent, transformedContent, false);
+        assertTrue(workers.get() > workersBefore);
+    }
+
+    @Test
+    public void uppercaseActionWithStatisticsInBackground() throws Exception {
+        // given
+        String dataSetId = createDataset("input_dataset.csv", "uppercase" + UUID.randomUUID().toString(), "text/csv");
+        String preparationId = createEmptyPreparationFromDataset(dataSetId, "uppercase prep");
+        applyActionFromFile(preparationId, "uppercase_action.json");
+        final AtomicInteger workers = (AtomicInteger) ReflectionTestUtils.getField(StatisticsNode.class, "WORKER_COUNT");
+        final int queueSize = (int) ReflectionTestUtils.getField(pipelineTransformer, "statisticsQueueSize");
+        final String sequentialContent;
+        ReflectionTestUtils.setField(pipelineTransformer, "statisticsQueueSize", 0);
+        try {
+            sequentialContent = given() //
+                    .expect().statusCode(200).log().ifError()//
+                    .when() //
+                    .get("/apply/preparation/{preparationId}/dataset/{datasetId}/{format}", preparationId, dataSetId, "JSON") //
+                    .asString();
+        } finally {
+            ReflectionTestUtils.setField(pipelineTransformer, "statisticsQueueSize", queueSize);
+        }
+        contentCache.clear();
+        final int workersBefore = workers.get();
+
+        // when
+        final String transformedContent = given() //
+                .expect().statusCode(200).log().ifError()//
+                .when() //
+                .get("/apply/preparation/{preparationId}/dataset/{datasetId}/{format}", preparationId, dataSetId, "JSON") //
+                .asString();
+
+        // then (statistics were computed by a background worker, with same result)
+        assertTrue(queueSize > 0);
+        assertTrue(workers.get() > workersBefore);
+        JSONAssert.assertEquals(sequentialContent, transformedContent, false);
+    }
+
     @Test
     public void lowercaseActionWithFilter() throws Exception {
         // given